@@ -103,8 +103,7 @@ public class OrderWorkerSwingAppSteps extends ConfigSteps {
 	@Then("The order view list contains an element with the following values")
 	public void the_order_view_list_contains_an_element_with_the_following_values(List<List<String>> values) {
 		values.forEach(v -> assertThat(orderViewWindow.list().contents())
-				.anySatisfy(e -> assertThat(e).contains(v.get(0), v.get(1), v.get(2), v.get(3), v.get(4), v.get(5),
-						v.get(6), v.get(7), v.get(8), v.get(9), v.get(10))));
+				.anySatisfy(e -> assertThat(e).contains(v.get(0), v.get(1), v.get(3), v.get(4), v.get(6))));
 
 	}
 
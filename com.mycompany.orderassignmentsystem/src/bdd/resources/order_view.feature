@@ -21,6 +21,13 @@ Feature: Order Application Frame Specification of the behavior of the Order Appl
 	When The user clicks the order view "Add" button
 	Then The order view list contains an element with the following values
 		|	1 | Jhon | 3401372678 | PLUMBER | PENDING | Piazza Luigi | 12-12-2024 | Bring Tape Please | Leo | 3401372678 | PLUMBER |
+	And The user enters the following values in the order view
+		|OrderId|
+		| 1 |
+	When The user clicks the order view "Fetch" button
+	Then The order view fields contains an element with the following values
+		|OrderId| CustomerName | CustomerPhone | OrderCategory | OrderStatus |  CustomerAddress | SelectedDate	| OrderDescription| worker_name | worker_phone | worker_category |
+		|	1 | Jhon | 3401372678 | PLUMBER | PENDING | Piazza Luigi | 12-12-2024 | Bring Tape Please | Leo | 3401372678 | PLUMBER |
 	@AddNewOrderForError
 	Scenario: Add a new Order without worker
 	Given The database contains worker with the following values
@@ -44,6 +51,13 @@ Feature: Order Application Frame Specification of the behavior of the Order Appl
 	When The user clicks the order view "Update" button
 	Then The order view list contains an element with the following values
 		| 1 | Jhon | 3401372678 | PLUMBER | COMPLETED | Piazza Luigi | 12-12-2024 | Bring Tape Please | Leo | 3401372678 | PLUMBER |
+	And The user enters the following values in the order view
+		|OrderId|
+		| 1 |
+	When The user clicks the order view "Fetch" button
+	Then The order view fields contains an element with the following values
+		|OrderId| CustomerName | CustomerPhone | OrderCategory | OrderStatus |  CustomerAddress | SelectedDate	| OrderDescription| worker_name | worker_phone | worker_category |
+		| 1 | Jhon | 3401372678 | PLUMBER | COMPLETED | Piazza Luigi | 12-12-2024 | Bring Tape Please | Leo | 3401372678 | PLUMBER |
 	@UpdateOrderForError
 	Scenario: Update an order with invalid phone number
 	Given The database contains the order with the following values
@@ -85,7 +99,7 @@ Feature: Order Application Frame Specification of the behavior of the Order Appl
 		| 2 | Alic | 3401372679 | PLUMBER | PENDING | Piazza Luigi | 12-12-2024 | Bring Tape Please | Bob | 3401372672 | PLUMBER |
 	When The Order View is shown
 	Then The user select order from the list
-		| 3401372679 |
+		| Alic |
 	When The user clicks the order view "Delete" button
 	Then The order view list contains an element with the following values
 		|	1 | Jhon | 3401372678 | PLUMBER | PENDING | Piazza Luigi | 12-12-2024 | Bring Tape Please | Leo | 3401372671 | PLUMBER |
@@ -96,12 +110,12 @@ Feature: Order Application Frame Specification of the behavior of the Order Appl
 		| 2 | Alic | 3401372679 | PLUMBER | PENDING | Piazza Luigi | 12-12-2024 | Bring Tape Please | Bob | 3401372672 | PLUMBER |
 	When The Order View is shown
 	Then The user select order from the list
-		| 3401372679 |
+		| Alic |
 	And The database deletes the order with the following values
 		| 2 | Alic | 3401372679 | PLUMBER | PENDING | Piazza Luigi | 12-12-2024 | Bring Tape Please | Bob | 3401372672 | PLUMBER |
 	When The user clicks the order view "Delete" button
 	Then An no entry found error is shown in order view containing the following values
-		|	3401372679 |
+		|	2 |
 	@SearchOrder
 	Scenario: Search order by customer name
 	Given The database contains the order with the following values
@@ -56,6 +56,7 @@ import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
 import com.mycompany.orderassignmentsystem.enumerations.OrderSearchOptions;
 import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
 import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.OrderSummary;
 import com.mycompany.orderassignmentsystem.model.Worker;
 import com.mycompany.orderassignmentsystem.repository.OrderRepository;
 import com.mycompany.orderassignmentsystem.repository.WorkerRepository;
@@ -210,7 +211,7 @@ public class OrderControllerIT {
 		orderController.allOrders();
 
 		// Verify
-		verify(orderView).showAllOrder(asList(savedOrder));
+		verify(orderView).showAllOrder(asList(OrderSummary.of(savedOrder)));
 	}
 
 	/**
@@ -360,7 +361,7 @@ public class OrderControllerIT {
 		orderController.searchOrder(order.getOrderId().toString(), OrderSearchOptions.ORDER_ID);
 
 		// Verify
-		verify(orderView).showSearchResultForOrder(asList(order));
+		verify(orderView).showSearchResultForOrder(asList(OrderSummary.of(order)));
 
 	}
 
@@ -379,7 +380,7 @@ public class OrderControllerIT {
 		orderController.searchOrder(searchText, OrderSearchOptions.WORKER_ID);
 
 		// Verify
-		verify(orderView).showSearchResultForOrder(asList(order));
+		verify(orderView).showSearchResultForOrder(asList(OrderSummary.of(order)));
 
 	}
 
@@ -398,7 +399,7 @@ public class OrderControllerIT {
 		orderController.searchOrder(searchText, OrderSearchOptions.CUSTOMER_PHONE);
 
 		// Verify
-		verify(orderView).showSearchResultForOrder(asList(order));
+		verify(orderView).showSearchResultForOrder(asList(OrderSummary.of(order)));
 
 	}
 
@@ -417,7 +418,7 @@ public class OrderControllerIT {
 		orderController.searchOrder(searchText, OrderSearchOptions.DATE);
 
 		// Verify
-		verify(orderView).showSearchResultForOrder(asList(order));
+		verify(orderView).showSearchResultForOrder(asList(OrderSummary.of(order)));
 
 	}
 
@@ -436,7 +437,7 @@ public class OrderControllerIT {
 		orderController.searchOrder(searchText, OrderSearchOptions.STATUS);
 
 		// Verify
-		verify(orderView).showSearchResultForOrder(asList(order));
+		verify(orderView).showSearchResultForOrder(asList(OrderSummary.of(order)));
 
 	}
 
@@ -455,7 +456,7 @@ public class OrderControllerIT {
 		orderController.searchOrder(searchText, OrderSearchOptions.CATEGORY);
 
 		// Verify
-		verify(orderView).showSearchResultForOrder(asList(order));
+		verify(orderView).showSearchResultForOrder(asList(OrderSummary.of(order)));
 
 	}
 
@@ -474,7 +475,7 @@ public class OrderControllerIT {
 		orderController.searchOrder(searchText, OrderSearchOptions.CUSTOMER_NAME);
 
 		// Verify
-		verify(orderView).showSearchResultForOrder(asList(order));
+		verify(orderView).showSearchResultForOrder(asList(OrderSummary.of(order)));
 
 	}
 }
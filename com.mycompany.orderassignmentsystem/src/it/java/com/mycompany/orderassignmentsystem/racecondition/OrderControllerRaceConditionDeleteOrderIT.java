@@ -8,6 +8,8 @@
  *
  * The methods tested include:
  * - deleteOrder() for concurrent deletion of orders.
+ * - createOrUpdateOrder() for concurrent updates of the same order version,
+ *   of which only one may win, and of different orders, which all succeed.
  * 
  * The setup and teardown methods handle the initialisation and cleanup of mock objects.
  *
@@ -31,6 +33,10 @@ package com.mycompany.orderassignmentsystem.racecondition;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -51,6 +57,7 @@ import com.mycompany.orderassignmentsystem.configurations.DBConfig;
 import com.mycompany.orderassignmentsystem.controller.OrderController;
 import com.mycompany.orderassignmentsystem.controller.utils.ValidationConfigurations;
 import com.mycompany.orderassignmentsystem.controller.utils.extensions.ExtendedValidationConfigurations;
+import com.mycompany.orderassignmentsystem.enumerations.OperationType;
 import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
 import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
 import com.mycompany.orderassignmentsystem.model.CustomerOrder;
@@ -154,4 +161,67 @@ public class OrderControllerRaceConditionDeleteOrderIT {
 		assertThat(orderRepository.findAll()).isEmpty();
 
 	}
+
+	/**
+	 * Update order concurrent with the same version.
+	 */
+	@Test
+	public void updateOrderConcurrentWithTheSameVersion() {
+
+		List<Thread> threads = IntStream.range(0, 10).mapToObj(i -> new Thread(() -> {
+			try {
+				new OrderController(orderRepository, orderView, workerRepository, validationConfig)
+						.createOrUpdateOrder(copyOfSavedOrder("Description " + i), OperationType.UPDATE);
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+		})).peek(t -> t.start()).collect(Collectors.toList());
+		await().atMost(10, TimeUnit.SECONDS).until(() -> threads.stream().noneMatch(t -> t.isAlive()));
+
+		assertThat(orderRepository.findById(savedOrder.getOrderId()).getVersion())
+				.isEqualTo(savedOrder.getVersion() + 1);
+		verify(orderView).orderModified(any(CustomerOrder.class));
+		verify(orderView, times(9)).showConflictError(anyString(), any(CustomerOrder.class));
+	}
+
+	/**
+	 * Update different orders concurrent.
+	 */
+	@Test
+	public void updateDifferentOrdersConcurrent() {
+		List<CustomerOrder> orders = IntStream.range(0, 10)
+				.mapToObj(i -> orderRepository.save(new CustomerOrder("Jhon", "Piazza Luigi Dalla", "3401372678",
+						"12-12-2024", "No description", OrderCategory.PLUMBER, OrderStatus.COMPLETED, worker)))
+				.collect(Collectors.toList());
+
+		List<Thread> threads = orders.stream().map(order -> new Thread(() -> {
+			try {
+				order.setOrderDescription("Updated description");
+				new OrderController(orderRepository, orderView, workerRepository, validationConfig)
+						.createOrUpdateOrder(order, OperationType.UPDATE);
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+		})).peek(t -> t.start()).collect(Collectors.toList());
+		await().atMost(10, TimeUnit.SECONDS).until(() -> threads.stream().noneMatch(t -> t.isAlive()));
+
+		assertThat(orderRepository.findByOrderStatus(OrderStatus.COMPLETED)).hasSize(10)
+				.allSatisfy(order -> assertThat(order.getOrderDescription()).isEqualTo("Updated description"));
+		verify(orderView, times(10)).orderModified(any(CustomerOrder.class));
+	}
+
+	/**
+	 * Copies the saved order, version included, as an operator who fetched it
+	 * would send it back.
+	 *
+	 * @param description the new description
+	 * @return the order to update
+	 */
+	private CustomerOrder copyOfSavedOrder(String description) {
+		CustomerOrder order = new CustomerOrder(savedOrder.getOrderId(), savedOrder.getCustomerName(),
+				savedOrder.getCustomerAddress(), savedOrder.getCustomerPhoneNumber(), savedOrder.getAppointmentDate(),
+				description, savedOrder.getOrderCategory(), savedOrder.getOrderStatus(), worker);
+		order.setVersion(savedOrder.getVersion());
+		return order;
+	}
 }
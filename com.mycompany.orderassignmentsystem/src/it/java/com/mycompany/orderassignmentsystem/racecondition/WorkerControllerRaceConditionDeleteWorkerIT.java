@@ -8,6 +8,8 @@
  *
  * The methods tested include:
  * - deleteWorker() for concurrent deletion of workers.
+ * - createOrUpdateWorker() for concurrent updates of the same worker version,
+ *   of which only one may win.
  * 
  * The setup and teardown methods handle the initialisation and cleanup of mock objects.
  *
@@ -30,6 +32,10 @@ package com.mycompany.orderassignmentsystem.racecondition;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -50,6 +56,7 @@ import com.mycompany.orderassignmentsystem.configurations.DBConfig;
 import com.mycompany.orderassignmentsystem.controller.WorkerController;
 import com.mycompany.orderassignmentsystem.controller.utils.ValidationConfigurations;
 import com.mycompany.orderassignmentsystem.controller.utils.extensions.ExtendedValidationConfigurations;
+import com.mycompany.orderassignmentsystem.enumerations.OperationType;
 import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
 import com.mycompany.orderassignmentsystem.model.Worker;
 import com.mycompany.orderassignmentsystem.repository.WorkerRepository;
@@ -139,4 +146,30 @@ public class WorkerControllerRaceConditionDeleteWorkerIT {
 		assertThat(workerRepository.findAll()).isEmpty();
 
 	}
+
+	/**
+	 * Update worker concurrent with the same version.
+	 */
+	@Test
+	public void updateWorkerConcurrentWithTheSameVersion() {
+		Worker savedWorker = workerRepository.save(new Worker("John", "3401372678", OrderCategory.PLUMBER));
+
+		List<Thread> threads = IntStream.range(0, 10).mapToObj(i -> new Thread(() -> {
+			try {
+				Worker update = new Worker(savedWorker.getWorkerId(), "John " + (char) ('a' + i), "3401372678",
+						OrderCategory.PLUMBER);
+				update.setVersion(savedWorker.getVersion());
+				new WorkerController(workerRepository, workerView, validationConfig).createOrUpdateWorker(update,
+						OperationType.UPDATE);
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+		})).peek(t -> t.start()).collect(Collectors.toList());
+		await().atMost(10, TimeUnit.SECONDS).until(() -> threads.stream().noneMatch(t -> t.isAlive()));
+
+		assertThat(workerRepository.findByIdWithoutOrders(savedWorker.getWorkerId()).getVersion())
+				.isEqualTo(savedWorker.getVersion() + 1);
+		verify(workerView).workerModified(any(Worker.class));
+		verify(workerView, times(9)).showConflictError(anyString(), any(Worker.class));
+	}
 }
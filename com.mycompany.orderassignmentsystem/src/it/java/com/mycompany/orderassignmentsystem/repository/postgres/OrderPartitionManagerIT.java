@@ -0,0 +1,322 @@
+/*
+ * Integration tests for the OrderPartitionManager class.
+ *
+ * These tests verify the partitioning of the CustomerOrder table on
+ * PostgreSQL: a populated table is converted with its orders moved into
+ * monthly partitions, an order kept in the default partition is moved into
+ * the partition of its month once that month gets one, the trigger replacing
+ * the partial unique index reports a second pending order of a worker as a
+ * violation of ONE_PENDING_ORDER_PER_WORKER, a date search only reads the
+ * partition of its date, and a second start changes nothing.
+ *
+ * Methods tested include:
+ * - apply()
+ *
+ * The databaseConfig variable is responsible for starting the Docker container.
+ * If the test is run from Eclipse, it runs the Docker container using Testcontainers.
+ * If the test is run using a Maven command, it starts a Docker container without test containers.
+ *
+ * Each test follows a structured approach with three main phases:
+ * 1. Setup: Created environment for the test.
+ * 3. Exercise: Calling an instance method.
+ * 4. Verify: Verify that the outcome matches the expected behaviour.
+ *
+ * @see OrderPartitionManager
+ * @see PostgresSchemaManager
+ * @see DatabaseConfig
+ * @see DBConfig
+ */
+
+package com.mycompany.orderassignmentsystem.repository.postgres;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.Session;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.mycompany.orderassignmentsystem.DatabaseConfig;
+import com.mycompany.orderassignmentsystem.configurations.DBConfig;
+import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.Worker;
+import com.mycompany.orderassignmentsystem.repository.OrderRepository;
+import com.mycompany.orderassignmentsystem.repository.UniqueConstraintException;
+
+/**
+ * The Class OrderPartitionManagerIT.
+ */
+public class OrderPartitionManagerIT {
+
+	/** The format of the appointment dates. */
+	private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+	/** The Constant JANUARY. */
+	private static final YearMonth JANUARY = YearMonth.of(2024, 1);
+
+	/** The Constant MARCH. */
+	private static final YearMonth MARCH = YearMonth.of(2024, 3);
+
+	/**
+	 * This variable is responsible for starting the Docker container. If the test
+	 * is run from Eclipse, it runs the Docker container using Testcontainers. If
+	 * the test is run using a Maven command, it starts a Docker container without
+	 * test containers.
+	 */
+	private static DBConfig databaseConfig;
+
+	/** The entity manager factory. */
+	private EntityManagerFactory entityManagerFactory;
+
+	/** The order repository. */
+	private OrderDatabaseRepository orderRepository;
+
+	/** The worker. */
+	private Worker worker;
+
+	/** The other worker. */
+	private Worker otherWorker;
+
+	/**
+	 * Setup.
+	 */
+	@BeforeClass
+	public static void setup() {
+		databaseConfig = DatabaseConfig.getDatabaseConfig();
+		databaseConfig.testAndStartDatabaseConnection();
+	}
+
+	/**
+	 * Sets the up, on a schema created again by Hibernate.
+	 */
+	@Before
+	public void setUp() {
+		entityManagerFactory = databaseConfig.getEntityManagerFactory();
+		orderRepository = new OrderDatabaseRepository(entityManagerFactory);
+		WorkerDatabaseRepository workerRepository = new WorkerDatabaseRepository(entityManagerFactory);
+		worker = workerRepository.save(new Worker("Bob", "3401372678", OrderCategory.PLUMBER));
+		otherWorker = workerRepository.save(new Worker("Alic", "3401372679", OrderCategory.PLUMBER));
+		new PostgresSchemaManager(entityManagerFactory).apply();
+	}
+
+	/**
+	 * Tear down.
+	 */
+	@After
+	public void tearDown() {
+		entityManagerFactory.close();
+	}
+
+	/**
+	 * Test apply partitions a populated table.
+	 */
+	@Test
+	public void testApplyPartitionsAPopulatedTable() {
+		// Setup
+		CustomerOrder january = orderRepository.save(order(JANUARY.atDay(12), OrderStatus.COMPLETED, worker));
+		CustomerOrder march = orderRepository.save(order(MARCH.atDay(3), OrderStatus.PENDING, worker));
+
+		// Exercise
+		new OrderPartitionManager(entityManagerFactory, 1).apply();
+
+		// Verify
+		assertThat(isPartitioned()).isTrue();
+		assertThat(partitions()).contains(OrderPartitionManager.partitionName(JANUARY),
+				OrderPartitionManager.partitionName(MARCH), OrderPartitionManager.DEFAULT_PARTITION,
+				OrderPartitionManager.partitionName(YearMonth.now()),
+				OrderPartitionManager.partitionName(YearMonth.now().plusMonths(1)));
+		assertThat(count(OrderPartitionManager.partitionName(JANUARY))).isEqualTo(1);
+		assertThat(count(OrderPartitionManager.partitionName(MARCH))).isEqualTo(1);
+		assertThat(count(OrderPartitionManager.DEFAULT_PARTITION)).isZero();
+		assertThat(orderRepository.findAll()).containsExactlyInAnyOrder(january, march);
+		assertThat(query("SELECT a.attname::text FROM pg_index i"
+				+ " JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = ANY (i.indkey)"
+				+ " WHERE i.indrelid = 'customerorder'::regclass AND i.indisprimary"))
+				.containsExactlyInAnyOrder("orderid", "appointment_date");
+	}
+
+	/**
+	 * Test apply moves a stray order out of the default partition.
+	 */
+	@Test
+	public void testApplyMovesAStrayOrderOutOfTheDefaultPartition() {
+		// Setup
+		YearMonth nextMonth = YearMonth.now().plusMonths(1);
+		new OrderPartitionManager(entityManagerFactory, 0).apply();
+		CustomerOrder stray = orderRepository.save(order(nextMonth.atDay(10), OrderStatus.PENDING, worker));
+		assertThat(count(OrderPartitionManager.DEFAULT_PARTITION)).isEqualTo(1);
+
+		// Exercise
+		new OrderPartitionManager(entityManagerFactory, 1).apply();
+
+		// Verify
+		assertThat(count(OrderPartitionManager.DEFAULT_PARTITION)).isZero();
+		assertThat(count(OrderPartitionManager.partitionName(nextMonth))).isEqualTo(1);
+		assertThat(orderRepository.findById(stray.getOrderId())).isEqualTo(stray);
+	}
+
+	/**
+	 * Test the trigger rejects a second pending order of a worker as a violation
+	 * of the one pending order per worker constraint.
+	 */
+	@Test
+	public void testTheTriggerRejectsASecondPendingOrderOfAWorker() {
+		// Setup
+		new OrderPartitionManager(entityManagerFactory, 1).apply();
+		orderRepository.save(order(JANUARY.atDay(12), OrderStatus.PENDING, worker));
+		CustomerOrder second = order(MARCH.atDay(3), OrderStatus.PENDING, worker);
+
+		// Exercise & Verify
+		assertThatThrownBy(() -> orderRepository.save(second)).isInstanceOfSatisfying(
+				UniqueConstraintException.class,
+				e -> assertThat(e.isViolationOf(OrderRepository.ONE_PENDING_ORDER_PER_WORKER)).isTrue());
+		assertThat(orderRepository.save(order(MARCH.atDay(3), OrderStatus.PENDING, otherWorker))).isNotNull();
+		assertThat(orderRepository.save(order(MARCH.atDay(4), OrderStatus.COMPLETED, worker))).isNotNull();
+	}
+
+	/**
+	 * Test a date search only reads the partition of the date.
+	 */
+	@Test
+	public void testADateSearchOnlyReadsThePartitionOfTheDate() {
+		// Setup
+		CustomerOrder january = orderRepository.save(order(JANUARY.atDay(12), OrderStatus.COMPLETED, worker));
+		orderRepository.save(order(MARCH.atDay(3), OrderStatus.COMPLETED, worker));
+		new OrderPartitionManager(entityManagerFactory, 1).apply();
+
+		// Exercise
+		String plan = plan(JANUARY.atDay(12));
+
+		// Verify
+		assertThat(plan).contains(OrderPartitionManager.partitionName(JANUARY))
+				.doesNotContain(OrderPartitionManager.partitionName(MARCH))
+				.doesNotContain(OrderPartitionManager.DEFAULT_PARTITION);
+		assertThat(orderRepository.findByDate(DATE_FORMAT.format(JANUARY.atDay(12)))).containsExactly(january);
+	}
+
+	/**
+	 * Test a second start is a no-op.
+	 */
+	@Test
+	public void testASecondStartIsANoOp() {
+		// Setup
+		CustomerOrder january = orderRepository.save(order(JANUARY.atDay(12), OrderStatus.PENDING, worker));
+		new OrderPartitionManager(entityManagerFactory, 1).apply();
+		List<Object> partitions = partitions();
+
+		// Exercise
+		new PostgresSchemaManager(entityManagerFactory).apply();
+		new OrderPartitionManager(entityManagerFactory, 1).apply();
+
+		// Verify
+		assertThat(isPartitioned()).isTrue();
+		assertThat(partitions()).isEqualTo(partitions);
+		assertThat(orderRepository.findAll()).containsExactly(january);
+		assertThat(query("SELECT tgname::text FROM pg_trigger"
+				+ " WHERE tgrelid = 'customerorder'::regclass AND NOT tgisinternal"))
+				.containsExactly(OrderRepository.ONE_PENDING_ORDER_PER_WORKER);
+		assertThat(query("SELECT indexname::text FROM pg_indexes WHERE indexname = '"
+				+ OrderRepository.ONE_PENDING_ORDER_PER_WORKER + "'")).isEmpty();
+	}
+
+	/**
+	 * Creates an order of the worker.
+	 *
+	 * @param date   the appointment date
+	 * @param status the order status
+	 * @param worker the worker
+	 * @return the order
+	 */
+	private static CustomerOrder order(LocalDate date, OrderStatus status, Worker worker) {
+		return new CustomerOrder("Jhon", "1234 Main Street , Apt 101, Springfield, USA 12345", "3401372671",
+				DATE_FORMAT.format(date), "Please be on time", OrderCategory.PLUMBER, status, worker);
+	}
+
+	/**
+	 * Checks whether the CustomerOrder table is partitioned.
+	 *
+	 * @return true, if the table is partitioned
+	 */
+	private boolean isPartitioned() {
+		return !query("SELECT 1 FROM pg_class WHERE relname = '" + OrderPartitionManager.TABLE
+				+ "' AND relkind = 'p'").isEmpty();
+	}
+
+	/**
+	 * Lists the partitions of the CustomerOrder table.
+	 *
+	 * @return the partition names, sorted
+	 */
+	private List<Object> partitions() {
+		return query("SELECT c.relname::text FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid"
+				+ " WHERE i.inhparent = 'customerorder'::regclass ORDER BY 1");
+	}
+
+	/**
+	 * Counts the rows of a table.
+	 *
+	 * @param table the table
+	 * @return the number of rows
+	 */
+	private long count(String table) {
+		return ((Number) query("SELECT COUNT(*) FROM " + table).get(0)).longValue();
+	}
+
+	/**
+	 * Runs a query returning a single column.
+	 *
+	 * @param sql the query
+	 * @return the values of the column
+	 */
+	@SuppressWarnings("unchecked")
+	private List<Object> query(String sql) {
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		try {
+			return entityManager.createNativeQuery(sql).getResultList();
+		} finally {
+			entityManager.close();
+		}
+	}
+
+	/**
+	 * Explains the date search, with the date bound as the repository binds it.
+	 *
+	 * @param date the appointment date
+	 * @return the query plan
+	 */
+	private String plan(LocalDate date) {
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		StringBuilder plan = new StringBuilder();
+		try {
+			entityManager.unwrap(Session.class).doWork(connection -> {
+				try (PreparedStatement explain = connection
+						.prepareStatement("EXPLAIN SELECT * FROM CustomerOrder WHERE appointment_date = ?")) {
+					explain.setDate(1, Date.valueOf(date));
+					try (ResultSet lines = explain.executeQuery()) {
+						while (lines.next()) {
+							plan.append(lines.getString(1)).append('\n');
+						}
+					}
+				}
+			});
+		} finally {
+			entityManager.close();
+		}
+		return plan.toString();
+	}
+}
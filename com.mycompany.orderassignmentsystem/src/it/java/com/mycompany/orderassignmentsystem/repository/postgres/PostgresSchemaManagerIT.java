@@ -0,0 +1,255 @@
+/*
+ * Integration tests for the PostgresSchemaManager class.
+ *
+ * These tests verify the schema changes on PostgreSQL that hbm2ddl cannot
+ * express: the partial unique index allowing one pending order per worker,
+ * the conversion of an appointment date column created as a string, the drop
+ * of the unique phone number constraints created under generated names, and
+ * the trigram and text_pattern_ops indexes of the name and phone number
+ * searches.
+ *
+ * Methods tested include:
+ * - apply()
+ *
+ * The databaseConfig variable is responsible for starting the Docker container.
+ * If the test is run from Eclipse, it runs the Docker container using Testcontainers.
+ * If the test is run using a Maven command, it starts a Docker container without test containers.
+ *
+ * Each test follows a structured approach with three main phases:
+ * 1. Setup: Created environment for the test.
+ * 3. Exercise: Calling an instance method.
+ * 4. Verify: Verify that the outcome matches the expected behaviour.
+ *
+ * @see PostgresSchemaManager
+ * @see DatabaseConfig
+ * @see DBConfig
+ */
+
+package com.mycompany.orderassignmentsystem.repository.postgres;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.mycompany.orderassignmentsystem.DatabaseConfig;
+import com.mycompany.orderassignmentsystem.configurations.DBConfig;
+import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.Worker;
+import com.mycompany.orderassignmentsystem.repository.OrderRepository;
+import com.mycompany.orderassignmentsystem.repository.UniqueConstraintException;
+import com.mycompany.orderassignmentsystem.repository.WorkerRepository;
+
+/**
+ * The Class PostgresSchemaManagerIT.
+ */
+public class PostgresSchemaManagerIT {
+
+	/** The Constant LEGACY_CONSTRAINT, as Hibernate named unique constraints. */
+	private static final String LEGACY_CONSTRAINT = "uk_3q6l2cx5k0xk7eqpyq2x4u0hy";
+
+	/**
+	 * This variable is responsible for starting the Docker container. If the test
+	 * is run from Eclipse, it runs the Docker container using Testcontainers. If
+	 * the test is run using a Maven command, it starts a Docker container without
+	 * test containers.
+	 */
+	private static DBConfig databaseConfig;
+
+	/** The entity manager factory. */
+	private EntityManagerFactory entityManagerFactory;
+
+	/** The order repository. */
+	private OrderDatabaseRepository orderRepository;
+
+	/** The worker. */
+	private Worker worker;
+
+	/**
+	 * Setup.
+	 */
+	@BeforeClass
+	public static void setup() {
+		databaseConfig = DatabaseConfig.getDatabaseConfig();
+		databaseConfig.testAndStartDatabaseConnection();
+	}
+
+	/**
+	 * Sets the up, on a schema created again by Hibernate.
+	 */
+	@Before
+	public void setUp() {
+		entityManagerFactory = databaseConfig.getEntityManagerFactory();
+		orderRepository = new OrderDatabaseRepository(entityManagerFactory);
+		worker = new WorkerDatabaseRepository(entityManagerFactory)
+				.save(new Worker("Bob", "3401372678", OrderCategory.PLUMBER));
+	}
+
+	/**
+	 * Tear down.
+	 */
+	@After
+	public void tearDown() {
+		entityManagerFactory.close();
+	}
+
+	/**
+	 * Test apply creates the partial index of the pending orders.
+	 */
+	@Test
+	public void testApplyCreatesThePartialIndexOfThePendingOrders() {
+		// Exercise
+		new PostgresSchemaManager(entityManagerFactory).apply();
+
+		// Verify
+		assertThat(query("SELECT indexdef FROM pg_indexes WHERE indexname = '"
+				+ OrderRepository.ONE_PENDING_ORDER_PER_WORKER + "'")).singleElement()
+				.satisfies(definition -> assertThat((String) definition).startsWith("CREATE UNIQUE INDEX")
+						.contains("WHERE"));
+		orderRepository.save(order(OrderStatus.PENDING));
+		orderRepository.save(order(OrderStatus.COMPLETED));
+		assertThatThrownBy(() -> orderRepository.save(order(OrderStatus.PENDING))).isInstanceOfSatisfying(
+				UniqueConstraintException.class,
+				e -> assertThat(e.isViolationOf(OrderRepository.ONE_PENDING_ORDER_PER_WORKER)).isTrue());
+	}
+
+	/**
+	 * Test apply converts an appointment date column created as a string.
+	 */
+	@Test
+	public void testApplyConvertsAnAppointmentDateColumnCreatedAsAString() {
+		// Setup
+		CustomerOrder order = orderRepository.save(order(OrderStatus.PENDING));
+		execute("ALTER TABLE CustomerOrder ALTER COLUMN appointment_date TYPE varchar(255)"
+				+ " USING to_char(appointment_date, 'DD-MM-YYYY')");
+
+		// Exercise
+		new PostgresSchemaManager(entityManagerFactory).apply();
+
+		// Verify
+		assertThat(query("SELECT data_type::text FROM information_schema.columns"
+				+ " WHERE table_name = 'customerorder' AND column_name = 'appointment_date'"))
+				.containsExactly("date");
+		assertThat(orderRepository.findById(order.getOrderId()).getAppointmentDate())
+				.isEqualTo(order.getAppointmentDate());
+		assertThat(orderRepository.findByDate(order.getAppointmentDate())).containsExactly(order);
+	}
+
+	/**
+	 * Test apply drops the legacy unique constraints of the worker phone number.
+	 */
+	@Test
+	public void testApplyDropsTheLegacyUniqueConstraintsOfTheWorkerPhoneNumber() {
+		// Setup
+		execute("ALTER TABLE Worker ADD CONSTRAINT " + LEGACY_CONSTRAINT + " UNIQUE (workerPhoneNumber)");
+
+		// Exercise
+		new PostgresSchemaManager(entityManagerFactory).apply();
+
+		// Verify
+		assertThat(query("SELECT conname::text FROM pg_constraint"
+				+ " WHERE conrelid = 'worker'::regclass AND contype = 'u'"))
+				.containsExactly(WorkerRepository.UNIQUE_PHONE_NUMBER);
+	}
+
+	/**
+	 * Test apply creates the indexes of the name and phone number searches.
+	 */
+	@Test
+	public void testApplyCreatesTheIndexesOfTheNameAndPhoneNumberSearches() {
+		// Exercise
+		new PostgresSchemaManager(entityManagerFactory).apply();
+
+		// Verify
+		assertThat(query("SELECT extname::text FROM pg_extension")).contains(NameSearch.TRIGRAM_EXTENSION);
+		assertThat(indexDefinition("idx_customer_order_customer_name_trgm")).contains("gin_trgm_ops");
+		assertThat(indexDefinition("idx_worker_worker_name_trgm")).contains("gin_trgm_ops");
+		assertThat(indexDefinition("idx_customer_order_customer_phone_prefix")).contains("text_pattern_ops");
+		assertThat(indexDefinition("idx_worker_worker_phone_prefix")).contains("text_pattern_ops");
+	}
+
+	/**
+	 * Test a second apply is a no-op.
+	 */
+	@Test
+	public void testASecondApplyIsANoOp() {
+		// Setup
+		CustomerOrder order = orderRepository.save(order(OrderStatus.PENDING));
+		new PostgresSchemaManager(entityManagerFactory).apply();
+		List<Object> indexes = query("SELECT indexdef FROM pg_indexes"
+				+ " WHERE tablename IN ('customerorder', 'worker') ORDER BY 1");
+
+		// Exercise
+		new PostgresSchemaManager(entityManagerFactory).apply();
+
+		// Verify
+		assertThat(query("SELECT indexdef FROM pg_indexes"
+				+ " WHERE tablename IN ('customerorder', 'worker') ORDER BY 1")).isEqualTo(indexes);
+		assertThat(orderRepository.findAll()).containsExactly(order);
+	}
+
+	/**
+	 * Creates an order of the worker.
+	 *
+	 * @param status the order status
+	 * @return the order
+	 */
+	private CustomerOrder order(OrderStatus status) {
+		return new CustomerOrder("Jhon", "1234 Main Street , Apt 101, Springfield, USA 12345", "3401372671",
+				"12-12-2024", "Please be on time", OrderCategory.PLUMBER, status, worker);
+	}
+
+	/**
+	 * Gets the definition of an index.
+	 *
+	 * @param name the index name
+	 * @return the index definition
+	 */
+	private String indexDefinition(String name) {
+		List<Object> definitions = query("SELECT indexdef FROM pg_indexes WHERE indexname = '" + name + "'");
+		assertThat(definitions).as("index %s", name).hasSize(1);
+		return (String) definitions.get(0);
+	}
+
+	/**
+	 * Runs a query returning a single column.
+	 *
+	 * @param sql the query
+	 * @return the values of the column
+	 */
+	@SuppressWarnings("unchecked")
+	private List<Object> query(String sql) {
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		try {
+			return entityManager.createNativeQuery(sql).getResultList();
+		} finally {
+			entityManager.close();
+		}
+	}
+
+	/**
+	 * Runs a statement in its own transaction.
+	 *
+	 * @param sql the statement
+	 */
+	private void execute(String sql) {
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		try {
+			entityManager.getTransaction().begin();
+			entityManager.createNativeQuery(sql).executeUpdate();
+			entityManager.getTransaction().commit();
+		} finally {
+			entityManager.close();
+		}
+	}
+}
@@ -52,6 +52,7 @@ import com.mycompany.orderassignmentsystem.enumerations.OperationType;
 import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
 import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
 import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.OrderSummary;
 import com.mycompany.orderassignmentsystem.model.Worker;
 import com.mycompany.orderassignmentsystem.repository.OrderRepository;
 import com.mycompany.orderassignmentsystem.repository.WorkerRepository;
@@ -223,7 +224,7 @@ public class OrderSwingViewIT extends AssertJSwingJUnitTestCase {
 		order1 = orderRepository.save(order1);
 		order2 = orderRepository.save(order2);
 		GuiActionRunner.execute(() -> orderController.allOrders());
-		assertThat(window.list().contents()).containsExactly(order1.toString(), order2.toString());
+		assertThat(window.list().contents()).containsExactly(OrderSummary.of(order1).toString(), OrderSummary.of(order2).toString());
 	}
 
 	/**
@@ -247,7 +248,7 @@ public class OrderSwingViewIT extends AssertJSwingJUnitTestCase {
 		CustomerOrder createdOrder = orderRepository.findAll().get(0);
 
 		await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
-			assertThat(window.list().contents()).containsExactly(createdOrder.toString());
+			assertThat(window.list().contents()).containsExactly(OrderSummary.of(createdOrder).toString());
 		});
 	}
 
@@ -307,7 +308,7 @@ public class OrderSwingViewIT extends AssertJSwingJUnitTestCase {
 		order1.setOrderId(ORDER_ID_1);
 		order1.setCustomerName(updatedName);
 		await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
-			assertThat(window.list().contents()).containsExactly(order1.toString());
+			assertThat(window.list().contents()).containsExactly(OrderSummary.of(order1).toString());
 		});
 	}
 
@@ -368,7 +369,7 @@ public class OrderSwingViewIT extends AssertJSwingJUnitTestCase {
 		window.textBox("txtCustomerPhone").enterText(updatedPhone);
 		window.button(JButtonMatcher.withName("btnUpdate")).click();
 		await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
-			assertThat(window.list().contents()).containsExactly(order1.toString());
+			assertThat(window.list().contents()).containsExactly(OrderSummary.of(order1).toString());
 		});
 		order1.setCustomerPhoneNumber(updatedPhone);
 		window.label("showError")
@@ -401,7 +402,7 @@ public class OrderSwingViewIT extends AssertJSwingJUnitTestCase {
 		window.comboBox("cmbSearchBy").selectItem(searchOptionIndex);
 		window.button(JButtonMatcher.withName("btnSearchOrder")).click();
 
-		assertThat(window.list("listOrders").contents()).containsExactly(order1.toString());
+		assertThat(window.list("listOrders").contents()).containsExactly(OrderSummary.of(order1).toString());
 
 	}
 
@@ -430,7 +431,7 @@ public class OrderSwingViewIT extends AssertJSwingJUnitTestCase {
 		window.comboBox("cmbSearchBy").selectItem(searchOptionIndex);
 		window.button(JButtonMatcher.withName("btnSearchOrder")).click();
 
-		assertThat(window.list().contents()).containsExactly(order1.toString(), order2.toString());
+		assertThat(window.list().contents()).containsExactly(OrderSummary.of(order1).toString(), OrderSummary.of(order2).toString());
 		window.label("showSearchErrorLbl")
 				.requireText("No orders found with customer name: " + searchText + ": " + searchText);
 	}
@@ -457,11 +458,11 @@ public class OrderSwingViewIT extends AssertJSwingJUnitTestCase {
 		window.comboBox("cmbSearchBy").selectItem(searchOptionIndex);
 		window.button(JButtonMatcher.withName("btnSearchOrder")).click();
 
-		assertThat(window.list().contents()).containsExactly(order1.toString());
+		assertThat(window.list().contents()).containsExactly(OrderSummary.of(order1).toString());
 
 		window.button(JButtonMatcher.withName("btnClearSearch")).click();
 
-		assertThat(window.list().contents()).containsExactly(order1.toString(), order2.toString());
+		assertThat(window.list().contents()).containsExactly(OrderSummary.of(order1).toString(), OrderSummary.of(order2).toString());
 
 	}
 
@@ -495,13 +496,15 @@ public class OrderSwingViewIT extends AssertJSwingJUnitTestCase {
 
 		GuiActionRunner.execute(() -> {
 			orderController.allWorkers();
-			orderSwingView.getOrderListModel().addElement(order1);
+			orderSwingView.getOrderListModel().addElement(OrderSummary.of(order1));
 		});
 		window.list().selectItem(0);
 		window.button(JButtonMatcher.withName("btnDelete")).click();
-		assertThat(window.list().contents()).containsExactly(order1.toString());
+		assertThat(window.list().contents()).containsExactly(OrderSummary.of(order1).toString());
+		CustomerOrder selected = new CustomerOrder();
+		selected.setOrderId(order1.getOrderId());
 		window.label("showErrorNotFoundLbl")
-				.requireText("No order found with ID: " + order1.getOrderId() + ": " + order1);
+				.requireText("No order found with ID: " + order1.getOrderId() + ": " + selected);
 	}
 
 	/**
@@ -0,0 +1,124 @@
+package com.mycompany.orderassignmentsystem.app;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManagerFactory;
+
+import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+import com.mycompany.orderassignmentsystem.model.AppointmentDateConverter;
+import com.mycompany.orderassignmentsystem.repository.OrderFilter;
+import com.mycompany.orderassignmentsystem.repository.postgres.OrderDatabaseRepository;
+import com.mycompany.orderassignmentsystem.transfer.ExportFormat;
+import com.mycompany.orderassignmentsystem.transfer.OrderExporter;
+
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.ParentCommand;
+import picocli.CommandLine.Spec;
+
+/**
+ * The export subcommand, which writes the orders of the database given by the
+ * options of {@link OrderWorkerAssignmentSwingApp} to a CSV or JSON Lines file
+ * without opening the GUI.
+ *
+ * - Command Line Options: - `--output`: Specifies the file written. -
+ * `--format`: Specifies the format, CSV or JSONL (default: CSV). - `--gzip`:
+ * Gzips the file. - `--status`, `--category`: Export only the orders of the
+ * status or category. - `--from`, `--to`: Export only the orders with an
+ * appointment between the days, in dd-MM-yyyy form, both included.
+ *
+ * @see OrderExporter
+ */
+@Command(name = "export", mixinStandardHelpOptions = true, description = "Export orders to a CSV or JSON Lines file")
+public class ExportCommand implements Callable<Integer> {
+
+	/** The application holding the database options. */
+	@ParentCommand
+	private OrderWorkerAssignmentSwingApp app;
+
+	/** The command specification. */
+	@Spec
+	private CommandSpec spec;
+
+	/** The file written. */
+	@Option(names = { "--output" }, required = true, description = "File written")
+	private Path outputFile;
+
+	/** The format. */
+	@Option(names = { "--format" }, description = "Format: ${COMPLETION-CANDIDATES}")
+	private ExportFormat format = ExportFormat.CSV;
+
+	/** Whether the file is gzipped. */
+	@Option(names = { "--gzip" }, description = "Gzip the file")
+	private boolean gzip;
+
+	/** The status of the exported orders. */
+	@Option(names = { "--status" }, description = "Status of the exported orders")
+	private OrderStatus status;
+
+	/** The category of the exported orders. */
+	@Option(names = { "--category" }, description = "Category of the exported orders")
+	private OrderCategory category;
+
+	/** The first appointment day. */
+	@Option(names = { "--from" }, description = "First appointment day (dd-MM-yyyy)")
+	private String from;
+
+	/** The last appointment day. */
+	@Option(names = { "--to" }, description = "Last appointment day (dd-MM-yyyy)")
+	private String to;
+
+	/**
+	 * Call.
+	 *
+	 * @return the exit code
+	 * @throws Exception the exception
+	 */
+	@Override
+	public Integer call() throws Exception {
+		OrderFilter filter;
+		try {
+			filter = new OrderFilter(status, category, parseDay(from, "--from"), parseDay(to, "--to"));
+		} catch (IllegalArgumentException e) {
+			throw new ParameterException(spec.commandLine(), e.getMessage());
+		}
+		EntityManagerFactory entityManagerFactory = app.createEntityManagerFactory();
+		try {
+			long start = System.nanoTime();
+			long exported = new OrderExporter(new OrderDatabaseRepository(entityManagerFactory)).export(filter,
+					format, gzip, outputFile);
+			spec.commandLine().getOut().printf("%s: %d orders exported in %d ms%n", outputFile, exported,
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+			spec.commandLine().getOut().flush();
+			return 0;
+		} finally {
+			entityManagerFactory.close();
+		}
+	}
+
+	/**
+	 * Parses a day option.
+	 *
+	 * @param day    the value, or null
+	 * @param option the option name
+	 * @return the day, or null
+	 */
+	private LocalDate parseDay(String day, String option) {
+		if (day == null) {
+			return null;
+		}
+		try {
+			return LocalDate.parse(day, AppointmentDateConverter.FORMAT);
+		} catch (DateTimeParseException e) {
+			throw new ParameterException(spec.commandLine(),
+					"Invalid value for option '" + option + "': '" + day + "' is not a dd-MM-yyyy date");
+		}
+	}
+}
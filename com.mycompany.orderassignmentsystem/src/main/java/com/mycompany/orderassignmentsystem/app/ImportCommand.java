@@ -0,0 +1,114 @@
+package com.mycompany.orderassignmentsystem.app;
+
+import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import javax.persistence.EntityManagerFactory;
+
+import com.mycompany.orderassignmentsystem.controller.utils.extensions.ExtendedValidationConfigurations;
+import com.mycompany.orderassignmentsystem.repository.postgres.OrderDatabaseRepository;
+import com.mycompany.orderassignmentsystem.repository.postgres.PostgresSchemaManager;
+import com.mycompany.orderassignmentsystem.repository.postgres.WorkerDatabaseRepository;
+import com.mycompany.orderassignmentsystem.transfer.CsvImporter;
+import com.mycompany.orderassignmentsystem.transfer.ImportReport;
+
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.ParentCommand;
+import picocli.CommandLine.Spec;
+
+/**
+ * The import subcommand, which imports workers and orders from CSV files into
+ * the database given by the options of {@link OrderWorkerAssignmentSwingApp}
+ * without opening the GUI. The workers are imported first, so that the orders
+ * of the same run can refer to them.
+ *
+ * - Command Line Options: - `--workers`: Specifies the CSV file of workers. -
+ * `--orders`: Specifies the CSV file of orders. - `--batch-size`: Specifies the
+ * number of rows written together (default: 500).
+ *
+ * The summary of every file and its first rejected lines are printed; the exit
+ * code is 1 if any line was rejected.
+ *
+ * @see CsvImporter
+ */
+@Command(name = "import", mixinStandardHelpOptions = true, description = "Import workers and orders from CSV files")
+public class ImportCommand implements Callable<Integer> {
+
+	/** The application holding the database options. */
+	@ParentCommand
+	private OrderWorkerAssignmentSwingApp app;
+
+	/** The command specification. */
+	@Spec
+	private CommandSpec spec;
+
+	/** The CSV file of workers. */
+	@Option(names = { "--workers" }, description = "CSV file of workers")
+	private Path workersFile;
+
+	/** The CSV file of orders. */
+	@Option(names = { "--orders" }, description = "CSV file of orders")
+	private Path ordersFile;
+
+	/** The number of rows written together. */
+	@Option(names = { "--batch-size" }, description = "Number of rows written together")
+	private int batchSize = 500;
+
+	/**
+	 * Call.
+	 *
+	 * @return the exit code
+	 * @throws Exception the exception
+	 */
+	@Override
+	public Integer call() throws Exception {
+		if (workersFile == null && ordersFile == null) {
+			throw new ParameterException(spec.commandLine(), "Missing file to import: --workers or --orders");
+		}
+		EntityManagerFactory entityManagerFactory = app.createEntityManagerFactory();
+		try {
+			new PostgresSchemaManager(entityManagerFactory).apply();
+			CsvImporter importer = new CsvImporter(new OrderDatabaseRepository(entityManagerFactory),
+					new WorkerDatabaseRepository(entityManagerFactory), new ExtendedValidationConfigurations(),
+					batchSize);
+			List<ImportReport> reports = new ArrayList<>();
+			if (workersFile != null) {
+				reports.add(importer.importWorkers(workersFile));
+			}
+			if (ordersFile != null) {
+				reports.add(importer.importOrders(ordersFile));
+			}
+			return print(reports);
+		} finally {
+			entityManagerFactory.close();
+		}
+	}
+
+	/**
+	 * Prints the reports.
+	 *
+	 * @param reports the reports
+	 * @return the exit code, 1 if any line was rejected
+	 */
+	private int print(List<ImportReport> reports) {
+		PrintWriter out = spec.commandLine().getOut();
+		boolean rejected = false;
+		for (ImportReport report : reports) {
+			out.println(report);
+			report.getRejections().forEach(rejection -> out.println("  " + rejection));
+			long unlisted = report.getRejected() - report.getRejections().size();
+			if (unlisted > 0) {
+				out.println("  ... and " + unlisted + " more rejected lines");
+			}
+			rejected |= report.getRejected() > 0;
+		}
+		out.flush();
+		return rejected ? 1 : 0;
+	}
+}
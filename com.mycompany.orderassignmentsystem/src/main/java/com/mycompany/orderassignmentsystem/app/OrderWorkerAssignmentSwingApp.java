@@ -1,9 +1,19 @@
 package com.mycompany.orderassignmentsystem.app;
 
 import java.awt.EventQueue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
@@ -15,8 +25,21 @@ import com.mycompany.orderassignmentsystem.controller.OrderController;
 import com.mycompany.orderassignmentsystem.controller.WorkerController;
 import com.mycompany.orderassignmentsystem.controller.utils.ValidationConfigurations;
 import com.mycompany.orderassignmentsystem.controller.utils.extensions.ExtendedValidationConfigurations;
+import com.mycompany.orderassignmentsystem.model.OrderSummary;
+import com.mycompany.orderassignmentsystem.model.Worker;
+import com.mycompany.orderassignmentsystem.repository.OrderArchiver;
+import com.mycompany.orderassignmentsystem.repository.OrderRepository;
+import com.mycompany.orderassignmentsystem.repository.WorkerRepository;
+import com.mycompany.orderassignmentsystem.repository.cache.CachingOrderRepository;
+import com.mycompany.orderassignmentsystem.repository.cache.CachingWorkerRepository;
+import com.mycompany.orderassignmentsystem.repository.memory.InMemoryOrderRepository;
+import com.mycompany.orderassignmentsystem.repository.memory.InMemoryWorkerRepository;
+import com.mycompany.orderassignmentsystem.repository.memory.WriteBehindOrderRepository;
 import com.mycompany.orderassignmentsystem.repository.postgres.OrderDatabaseRepository;
+import com.mycompany.orderassignmentsystem.repository.postgres.OrderPartitionManager;
+import com.mycompany.orderassignmentsystem.repository.postgres.PostgresSchemaManager;
 import com.mycompany.orderassignmentsystem.repository.postgres.WorkerDatabaseRepository;
+import com.mycompany.orderassignmentsystem.transfer.ViewSnapshot;
 import com.mycompany.orderassignmentsystem.view.swing.OrderSwingView;
 import com.mycompany.orderassignmentsystem.view.swing.WorkerSwingView;
 
@@ -37,13 +60,41 @@ import picocli.CommandLine.Option;
  * database name (default: "orderWorkerTestDb"). - `--postgres-user`: Specifies
  * the PostgreSQL user (default: "testUser"). - `--postgres-pass`: Specifies the
  * PostgreSQL password. - `--postgres-port`: Specifies the PostgreSQL port
- * (default: "5432").
+ * (default: "5432"). - `--worker-cache-size`: Specifies the number of workers
+ * kept in memory (default: 500). - `--worker-cache-ttl`: Specifies the seconds
+ * after which a cached worker is read again (default: 300). -
+ * `--order-cache-max-result`: Specifies the largest category or status search
+ * result kept in memory (default: 1000). - `--order-cache-ttl`: Specifies the
+ * seconds after which a cached search result is read again (default: 60). -
+ * `--in-memory`: Keeps all orders and workers in memory, indexed for every
+ * search, and writes through to the database instead of using the caches. -
+ * `--write-behind-journal`: Keeps all data in memory like `--in-memory`, but
+ * acknowledges order updates once they are journaled to the given file and
+ * writes them to the database in batches. - `--write-behind-batch`: Specifies
+ * the number of buffered updates that triggers a write (default: 100). -
+ * `--write-behind-staleness`: Specifies the seconds after which a buffered
+ * update is written at the latest (default: 5). - `--partition-orders`:
+ * Partitions the order table by appointment month. -
+ * `--order-partitions-ahead`: Specifies the number of upcoming months that get
+ * a partition at start (default: 3). - `--archive-after-days`: Archives the
+ * completed and cancelled orders this many days after their appointment;
+ * nothing is archived without it. - `--archive-interval`: Specifies the hours
+ * between two archive runs (default: 24). - `--snapshot`: Specifies the file
+ * the worker and order lists are saved to on exit; at the next start they are
+ * shown from it at once and read again from the database in the background.
+ * 
+ * - Subcommands: - `import`: Imports workers and orders from CSV files without
+ * opening the GUI. - `export`: Exports orders to a CSV or JSON Lines file
+ * without opening the GUI.
  * 
  * - Main Method: - Executes the application with the provided command line
  * arguments.
  * 
- * - Call Method: - Runs the application on the Event Dispatch Thread (EDT) to
- * ensure thread safety for Swing components.
+ * - Call Method: - Starts the application in concurrent phases: the entity
+ * manager factory is built on a bootstrap thread while the frames are built and
+ * shown, loading, on the Event Dispatch Thread (EDT); the worker and order lists
+ * are then read in parallel off the EDT and shown on it. The duration of every
+ * phase is logged once the application is ready.
  * 
  * Note: This application uses Hibernate for database operations and Apache
  * Log4j for logging.
@@ -52,17 +103,42 @@ import picocli.CommandLine.Option;
  * @see WorkerController
  * @see OrderDatabaseRepository
  * @see WorkerDatabaseRepository
+ * @see CachingOrderRepository
+ * @see CachingWorkerRepository
+ * @see InMemoryOrderRepository
+ * @see InMemoryWorkerRepository
+ * @see WriteBehindOrderRepository
+ * @see OrderPartitionManager
+ * @see OrderArchiver
+ * @see ImportCommand
+ * @see ExportCommand
+ * @see ViewSnapshot
  * @see OrderSwingView
  * @see WorkerSwingView
  * @see ValidationConfigurations
  * @see ExtendedValidationConfigurations
  */
-@Command(mixinStandardHelpOptions = true)
+@Command(mixinStandardHelpOptions = true, subcommands = { ImportCommand.class, ExportCommand.class })
 public class OrderWorkerAssignmentSwingApp implements Callable<Void> {
 
+	/** The number of threads running the start phases off the EDT. */
+	private static final int BOOTSTRAP_THREADS = 3;
+
 	/** The entity manager factory. */
 	private EntityManagerFactory entityManagerFactory;
 
+	/** The order repository, set once the database is ready. */
+	private OrderRepository orderRepository;
+
+	/** The worker repository, set once the database is ready. */
+	private WorkerRepository workerRepository;
+
+	/** The order view, set once the frames are built. */
+	private OrderSwingView orderView;
+
+	/** The worker view, set once the frames are built. */
+	private WorkerSwingView workerView;
+
 	/** The properties. */
 	private Map<String, String> properties = new HashMap<>();
 
@@ -86,6 +162,58 @@ public class OrderWorkerAssignmentSwingApp implements Callable<Void> {
 	@Option(names = { "--postgres-port" }, description = "Postgresql port")
 	private String port = "5432";
 
+	/** The worker cache size. */
+	@Option(names = { "--worker-cache-size" }, description = "Number of workers kept in memory")
+	private int workerCacheSize = 500;
+
+	/** The worker cache time to live. */
+	@Option(names = { "--worker-cache-ttl" }, description = "Seconds after which a cached worker is read again")
+	private long workerCacheTtl = 300;
+
+	/** The largest cached order search result. */
+	@Option(names = { "--order-cache-max-result" }, description = "Largest order search result kept in memory")
+	private int orderCacheMaxResult = 1000;
+
+	/** The order search cache time to live. */
+	@Option(names = { "--order-cache-ttl" }, description = "Seconds after which a cached order search is read again")
+	private long orderCacheTtl = 60;
+
+	/** Whether all data is kept in memory. */
+	@Option(names = { "--in-memory" }, description = "Keep all data in memory, writing through to the database")
+	private boolean inMemory;
+
+	/** The journal of the buffered order updates, enabling write-behind. */
+	@Option(names = { "--write-behind-journal" }, description = "Journal file of the buffered order updates")
+	private Path writeBehindJournal;
+
+	/** The number of buffered order updates that triggers a write. */
+	@Option(names = { "--write-behind-batch" }, description = "Number of buffered order updates written together")
+	private int writeBehindBatch = 100;
+
+	/** The maximum staleness of a buffered order update. */
+	@Option(names = { "--write-behind-staleness" }, description = "Seconds after which a buffered update is written")
+	private long writeBehindStaleness = 5;
+
+	/** Whether the order table is partitioned by appointment month. */
+	@Option(names = { "--partition-orders" }, description = "Partition the orders by appointment month")
+	private boolean partitionOrders;
+
+	/** The number of upcoming months that get a partition at start. */
+	@Option(names = { "--order-partitions-ahead" }, description = "Number of upcoming months partitioned at start")
+	private int orderPartitionsAhead = 3;
+
+	/** The days after its appointment that a terminal order is archived. */
+	@Option(names = { "--archive-after-days" }, description = "Days after which finished orders are archived")
+	private Integer archiveAfterDays;
+
+	/** The hours between two archive runs. */
+	@Option(names = { "--archive-interval" }, description = "Hours between two archive runs")
+	private long archiveInterval = 24;
+
+	/** The snapshot of the lists shown at start, null for none. */
+	@Option(names = { "--snapshot" }, description = "File of the lists saved on exit and shown at start")
+	private Path snapshotFile;
+
 	/** The Constant LOGGER. */
 	private static final Logger LOGGER = LogManager.getLogger(OrderWorkerAssignmentSwingApp.class);
 
@@ -95,10 +223,44 @@ public class OrderWorkerAssignmentSwingApp implements Callable<Void> {
 	 * @param args the command line arguments
 	 */
 	public static void main(String[] args) {
-		new CommandLine(new OrderWorkerAssignmentSwingApp()).execute(args);
+		int exitCode = new CommandLine(new OrderWorkerAssignmentSwingApp()).execute(args);
+		// the GUI keeps running on the event dispatch thread after a successful call
+		if (exitCode != 0) {
+			System.exit(exitCode);
+		}
 
 	}
 
+	/**
+	 * Creates the entity manager factory of the database given on the command
+	 * line.
+	 *
+	 * @return the entity manager factory
+	 */
+	EntityManagerFactory createEntityManagerFactory() {
+		// Persistence Unit for postgresql database
+		String persistenceUnitName = "OriginalPersistenceUnit";
+
+		// properties of database modified based on the user input
+		// from command line arguments
+		String jdbcUrl = "jdbc:postgresql://" + host + ":" + port + "/" + database;
+		properties.put("javax.persistence.jdbc.url", jdbcUrl);
+		properties.put("javax.persistence.jdbc.user", user);
+		properties.put("javax.persistence.jdbc.password", password);
+		properties.put("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
+		properties.put("hibernate.hbm2ddl.auto", "update");
+		// partitioned tables are updated like plain ones instead of created again
+		properties.put("hibernate.hbm2ddl.extra_physical_table_types", "PARTITIONED TABLE");
+
+		// JDBC batching for bulk writes
+		properties.put("hibernate.jdbc.batch_size", "50");
+		properties.put("hibernate.order_inserts", "true");
+		properties.put("hibernate.order_updates", "true");
+		properties.put("hibernate.jdbc.batch_versioned_data", "true");
+
+		return Persistence.createEntityManagerFactory(persistenceUnitName, properties);
+	}
+
 	/**
 	 * Call.
 	 *
@@ -107,58 +269,246 @@ public class OrderWorkerAssignmentSwingApp implements Callable<Void> {
 	 */
 	@Override
 	public Void call() throws Exception {
-		EventQueue.invokeLater(() -> {
-			try {
-				// Persistence Unit for postgresql database
-				String persistenceUnitName = "OriginalPersistenceUnit";
-
-				// properties of database modified based on the user input
-				// from command line arguments
-				String jdbcUrl = "jdbc:postgresql://" + host + ":" + port + "/" + database;
-				properties.put("javax.persistence.jdbc.url", jdbcUrl);
-				properties.put("javax.persistence.jdbc.user", user);
-				properties.put("javax.persistence.jdbc.password", password);
-				properties.put("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
-				properties.put("hibernate.hbm2ddl.auto", "update");
-
-				// entity manager factory for database connection
-				entityManagerFactory = Persistence.createEntityManagerFactory(persistenceUnitName, properties);
-
-				// Database repositories
-				OrderDatabaseRepository orderRepository = new OrderDatabaseRepository(entityManagerFactory);
-				WorkerDatabaseRepository workerRepository = new WorkerDatabaseRepository(entityManagerFactory);
-
-				// Forms
-				WorkerSwingView workerView = new WorkerSwingView();
-				OrderSwingView orderView = new OrderSwingView();
-
-				// Validation configurations class for user input
-				ValidationConfigurations validationConfigurations = new ExtendedValidationConfigurations();
-
-				// Controller for both entities order & worker
-				OrderController orderController = new OrderController(orderRepository, orderView, workerRepository,
-						validationConfigurations);
-				WorkerController workerController = new WorkerController(workerRepository, workerView,
-						validationConfigurations);
-
-				// Getting all workers for worker list in worker view
-				workerController.getAllWorkers();
-
-				// Setting controller to view and starting the view
-				workerView.setWorkerController(workerController);
-				orderView.setOrderController(orderController);
-				orderView.setWorkerSwingView(workerView);
-				orderView.setVisible(true);
-
-				// Getting all orders for order list in order view
-				orderController.allOrders();
-
-				// Getting all worker for the combo box in order view
-				orderController.allWorkers();
-			} catch (Exception e) {
-				LOGGER.error("Exception", e);
-			}
+		StartupTimings timings = new StartupTimings();
+		ExecutorService bootstrap = Executors.newFixedThreadPool(BOOTSTRAP_THREADS, runnable -> {
+			Thread thread = new Thread(runnable, "bootstrap");
+			thread.setDaemon(true);
+			return thread;
 		});
+		Executor eventDispatchThread = EventQueue::invokeLater;
+
+		// Database and frames built concurrently
+		CompletableFuture<Void> database = CompletableFuture
+				.runAsync(timings.timedRun("entity manager factory",
+						() -> entityManagerFactory = createEntityManagerFactory()), bootstrap)
+				.thenRun(timings.timedRun("schema", this::applySchema))
+				.thenRun(timings.timedRun("repositories", this::createRepositories));
+		CompletableFuture<Void> frames = CompletableFuture.runAsync(timings.timedRun("frames", this::createFrames),
+				eventDispatchThread);
+
+		// Lists of the last run, if saved, shown as soon as the frames are
+		CompletableFuture<ViewSnapshot> snapshot = CompletableFuture
+				.supplyAsync(timings.timed("snapshot", this::readSnapshot), bootstrap);
+		CompletableFuture<Boolean> snapshotShown = frames.thenCombineAsync(snapshot,
+				(none, saved) -> showSnapshot(saved), eventDispatchThread);
+
+		// Controllers set to the views once both are ready
+		CompletableFuture<Void> controllers = CompletableFuture.allOf(database, frames)
+				.thenRunAsync(timings.timedRun("controllers", this::createControllers), eventDispatchThread);
+
+		// Worker and order lists read in parallel, then shown; the input stays
+		// blocked until then, so a search or selection made on the snapshot lists
+		// is not replaced under the user
+		CompletableFuture<List<Worker>> workers = database
+				.thenApplyAsync(timings.timedApply("worker list", none -> workerRepository.findAll()), bootstrap);
+		CompletableFuture<List<OrderSummary>> orders = database.thenApplyAsync(
+				timings.timedApply("order list", none -> orderRepository.findAllSummaries()), bootstrap);
+		CompletableFuture.allOf(controllers, snapshotShown, workers, orders)
+				.thenRunAsync(timings.timedRun("lists shown", () -> {
+					showLists(workers.join(), orders.join());
+					orderView.showLoading(null);
+				}), eventDispatchThread)
+				.whenComplete((none, failure) -> {
+					bootstrap.shutdown();
+					if (failure == null) {
+						LOGGER.info("Started: {}", timings.summary());
+						return;
+					}
+					LOGGER.error("Exception", failure);
+					EventQueue.invokeLater(() -> {
+						if (orderView != null) {
+							orderView.showLoading("The application could not start, see the log.");
+						}
+					});
+				});
 		return null;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Applies the PostgreSQL specific schema changes not covered by hbm2ddl.
+	 */
+	private void applySchema() {
+		new PostgresSchemaManager(entityManagerFactory).apply();
+		if (partitionOrders) {
+			new OrderPartitionManager(entityManagerFactory, orderPartitionsAhead).apply();
+		}
+	}
+
+	/**
+	 * Creates the repositories selected by the options, and the jobs and
+	 * shutdown hooks that go with them.
+	 */
+	private void createRepositories() {
+		WriteBehindOrderRepository writeBehindOrders = null;
+		if (inMemory || writeBehindJournal != null) {
+			// All data in memory, written through to the database
+			OrderDatabaseRepository orderDatabase = new OrderDatabaseRepository(entityManagerFactory);
+			InMemoryOrderRepository inMemoryOrders = new InMemoryOrderRepository(orderDatabase);
+			WorkerDatabaseRepository workerDatabase = new WorkerDatabaseRepository(entityManagerFactory);
+			if (writeBehindJournal == null) {
+				orderRepository = inMemoryOrders;
+				workerRepository = new InMemoryWorkerRepository(inMemoryOrders, workerDatabase);
+			} else {
+				// order updates journaled and written to the database in batches, before any worker write
+				writeBehindOrders = new WriteBehindOrderRepository(inMemoryOrders, orderDatabase, writeBehindJournal,
+						writeBehindBatch, Duration.ofSeconds(writeBehindStaleness));
+				orderRepository = writeBehindOrders;
+				workerRepository = new InMemoryWorkerRepository(inMemoryOrders, workerDatabase,
+						writeBehindOrders::flush);
+			}
+		} else {
+			// Database repositories behind their caches
+			CachingOrderRepository cachingOrders = new CachingOrderRepository(
+					new OrderDatabaseRepository(entityManagerFactory), orderCacheMaxResult,
+					Duration.ofSeconds(orderCacheTtl));
+			CachingWorkerRepository cachingWorkers = new CachingWorkerRepository(
+					new WorkerDatabaseRepository(entityManagerFactory), workerCacheSize,
+					Duration.ofSeconds(workerCacheTtl));
+			orderRepository = cachingOrders;
+			workerRepository = cachingWorkers;
+
+			// cache statistics for sizing the caches
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> LOGGER.info(
+					"Worker cache: {}; worker list cache: {}; order search cache: {};"
+							+ " order summary search cache: {}",
+					cachingWorkers.getWorkerStatistics(), cachingWorkers.getWorkerListStatistics(),
+					cachingOrders.getStatistics(), cachingOrders.getSummaryStatistics())));
+		}
+
+		OrderArchiver archiver = null;
+		if (archiveAfterDays != null) {
+			// completed and cancelled orders moved out of the order table
+			archiver = new OrderArchiver(orderRepository, archiveAfterDays, Clock.systemDefaultZone());
+			archiver.start(Duration.ofHours(archiveInterval));
+		}
+
+		closeOnExit(archiver, writeBehindOrders);
+	}
+
+	/**
+	 * Creates the forms and shows the order form, loading.
+	 */
+	private void createFrames() {
+		workerView = new WorkerSwingView();
+		orderView = new OrderSwingView();
+		orderView.setWorkerSwingView(workerView);
+		orderView.showLoading("Loading orders and workers...");
+		orderView.setVisible(true);
+	}
+
+	/**
+	 * Creates the controllers and sets them to the views.
+	 */
+	private void createControllers() {
+		// Validation configurations class for user input
+		ValidationConfigurations validationConfigurations = new ExtendedValidationConfigurations();
+
+		// Controller for both entities order & worker
+		OrderController orderController = new OrderController(orderRepository, orderView, workerRepository,
+				validationConfigurations);
+		WorkerController workerController = new WorkerController(workerRepository, workerView,
+				validationConfigurations);
+		workerView.setWorkerController(workerController);
+		orderView.setOrderController(orderController);
+	}
+
+	/**
+	 * Shows the lists of the snapshot, if any, under a message that keeps the
+	 * input blocked until the lists are read again.
+	 *
+	 * @param snapshot the snapshot, or null
+	 * @return true, if the lists were shown
+	 */
+	private boolean showSnapshot(ViewSnapshot snapshot) {
+		if (snapshot == null) {
+			return false;
+		}
+		showLists(snapshot.getWorkers(), snapshot.getOrders());
+		orderView.showLoading("Refreshing orders and workers...");
+		return true;
+	}
+
+	/**
+	 * Shows the worker and order lists in the views.
+	 *
+	 * @param workers the workers
+	 * @param orders  the order summaries
+	 */
+	private void showLists(List<Worker> workers, List<OrderSummary> orders) {
+		// worker list in worker view
+		workerView.showAllWorkers(workers);
+		// order list in order view
+		orderView.showAllOrder(orders);
+		// workers for the combo box in order view
+		orderView.showAllWorkers(workers);
+	}
+
+	/**
+	 * Reads the snapshot of the lists of the last run.
+	 *
+	 * @return the snapshot, or null if there is none or it cannot be read
+	 */
+	private ViewSnapshot readSnapshot() {
+		if (snapshotFile == null || !Files.exists(snapshotFile)) {
+			return null;
+		}
+		try {
+			ViewSnapshot snapshot = ViewSnapshot.read(snapshotFile);
+			LOGGER.info("{} workers and {} orders shown from the snapshot", snapshot.getWorkers().size(),
+					snapshot.getOrders().size());
+			return snapshot;
+		} catch (IOException e) {
+			LOGGER.warn("Snapshot {} ignored: {}", snapshotFile, e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Registers the one shutdown hook that stops the order jobs and saves the
+	 * snapshot. Shutdown hooks run concurrently, so the steps share a hook to keep
+	 * their order: the archiver stops first, so that it does not move orders
+	 * while the buffer is written, then the buffered order updates are written,
+	 * and the snapshot is saved last, showing what the database holds.
+	 *
+	 * @param archiver          the order archiver, or null
+	 * @param writeBehindOrders the write-behind order repository, or null
+	 */
+	private void closeOnExit(OrderArchiver archiver, WriteBehindOrderRepository writeBehindOrders) {
+		if (archiver == null && writeBehindOrders == null && snapshotFile == null) {
+			return;
+		}
+		Path file = snapshotFile;
+		OrderRepository orders = orderRepository;
+		WorkerRepository workers = workerRepository;
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			if (archiver != null) {
+				archiver.close();
+			}
+			if (writeBehindOrders != null) {
+				try {
+					writeBehindOrders.close();
+				} catch (RuntimeException e) {
+					LOGGER.warn("Buffered order updates left in the journal: {}", e.getMessage());
+				}
+			}
+			if (file != null) {
+				saveSnapshot(file, orders, workers);
+			}
+		}));
+	}
+
+	/**
+	 * Saves the lists to the snapshot file.
+	 *
+	 * @param file             the snapshot file
+	 * @param orderRepository  the order repository
+	 * @param workerRepository the worker repository
+	 */
+	private static void saveSnapshot(Path file, OrderRepository orderRepository, WorkerRepository workerRepository) {
+		try {
+			ViewSnapshot.write(file, workerRepository.findAll(), orderRepository.findAllSummaries());
+		} catch (IOException | RuntimeException e) {
+			LOGGER.warn("Snapshot {} not saved: {}", file, e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package com.mycompany.orderassignmentsystem.app;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Times the phases of the application start, which run concurrently on
+ * different threads: how long every phase took and when it ended, counted
+ * from the start. The summary lists the phases in the order they ended.
+ *
+ * The timings are thread safe.
+ */
+final class StartupTimings {
+
+	/** The clock, in nanoseconds. */
+	private final LongSupplier nanoTime;
+
+	/** The time of the start. */
+	private final long start;
+
+	/** The ended phases, in the order they ended. */
+	private final List<String> phases = new ArrayList<>();
+
+	/**
+	 * Starts timing now.
+	 */
+	StartupTimings() {
+		this(System::nanoTime);
+	}
+
+	/**
+	 * Starts timing now, reading the given clock.
+	 *
+	 * @param nanoTime the clock, in nanoseconds
+	 */
+	StartupTimings(LongSupplier nanoTime) {
+		this.nanoTime = nanoTime;
+		this.start = nanoTime.getAsLong();
+	}
+
+	/**
+	 * Wraps a phase producing a value so that it is timed when it runs.
+	 *
+	 * @param <T>   the value type
+	 * @param name  the phase name
+	 * @param phase the phase
+	 * @return the timed phase
+	 */
+	<T> Supplier<T> timed(String name, Supplier<T> phase) {
+		return () -> {
+			long begin = nanoTime.getAsLong();
+			T value = phase.get();
+			ended(name, begin);
+			return value;
+		};
+	}
+
+	/**
+	 * Wraps a phase transforming a value so that it is timed when it runs.
+	 *
+	 * @param <T>   the input type
+	 * @param <R>   the result type
+	 * @param name  the phase name
+	 * @param phase the phase
+	 * @return the timed phase
+	 */
+	<T, R> Function<T, R> timedApply(String name, Function<T, R> phase) {
+		return input -> timed(name, () -> phase.apply(input)).get();
+	}
+
+	/**
+	 * Wraps a phase so that it is timed when it runs.
+	 *
+	 * @param name  the phase name
+	 * @param phase the phase
+	 * @return the timed phase
+	 */
+	Runnable timedRun(String name, Runnable phase) {
+		return () -> timed(name, () -> {
+			phase.run();
+			return null;
+		}).get();
+	}
+
+	/**
+	 * Summarises the ended phases on one line.
+	 *
+	 * @return the summary
+	 */
+	synchronized String summary() {
+		return String.join(", ", phases);
+	}
+
+	/**
+	 * Records the end of a phase.
+	 *
+	 * @param name  the phase name
+	 * @param begin the time the phase began
+	 */
+	private synchronized void ended(String name, long begin) {
+		long end = nanoTime.getAsLong();
+		phases.add(String.format("%s %d ms (done at %d ms)", name, TimeUnit.NANOSECONDS.toMillis(end - begin),
+				TimeUnit.NANOSECONDS.toMillis(end - start)));
+	}
+}
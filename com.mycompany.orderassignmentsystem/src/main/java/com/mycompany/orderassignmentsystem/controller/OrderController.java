@@ -1,23 +1,35 @@
 
 package com.mycompany.orderassignmentsystem.controller;
 
-import static java.util.Arrays.asList;
-
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.SortedMap;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
+
+import javax.persistence.PersistenceException;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.mycompany.orderassignmentsystem.controller.utils.StripedLock;
 import com.mycompany.orderassignmentsystem.controller.utils.ValidationConfigurations;
 import com.mycompany.orderassignmentsystem.enumerations.OperationType;
 import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
 import com.mycompany.orderassignmentsystem.enumerations.OrderSearchOptions;
 import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+import com.mycompany.orderassignmentsystem.model.AppointmentDateConverter;
 import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.OrderSummary;
 import com.mycompany.orderassignmentsystem.model.Worker;
 import com.mycompany.orderassignmentsystem.repository.OrderRepository;
+import com.mycompany.orderassignmentsystem.repository.UniqueConstraintException;
+import com.mycompany.orderassignmentsystem.repository.VersionConflictException;
 import com.mycompany.orderassignmentsystem.repository.WorkerRepository;
 import com.mycompany.orderassignmentsystem.view.OrderView;
 
@@ -41,6 +53,17 @@ import com.mycompany.orderassignmentsystem.view.OrderView;
  * The class ensures proper logging for operations and handles exceptions by
  * displaying appropriate error messages in the view.
  * 
+ * The order list and the search results are shown as {@link OrderSummary}
+ * rows read by projection queries; the full order, with its worker, is only
+ * loaded when an order is fetched by its ID.
+ * 
+ * Reads, searches and edits that keep the worker take no lock. Adding an order,
+ * or moving one to another worker, holds the lock of that worker's stripe from
+ * the pending order check to the save, so assignments to different workers run
+ * concurrently while the pending order rule holds within this JVM; the database
+ * enforces it across instances. Concurrent changes to the same order are
+ * caught by its version.
+ * 
  * @see OrderRepository
  * @see WorkerRepository
  * @see OrderView
@@ -52,6 +75,26 @@ public class OrderController {
 	/** The Constant ERROR_FINDING. */
 	private static final String ERROR_FINDING = "Error Finding: {}";
 
+	/** The Constant PENDING_ORDER_ERROR. */
+	private static final String PENDING_ORDER_ERROR = "Cannot assign a new order to this worker"
+			+ " because they already have a pending order.";
+
+	/** The Constant CONFLICT_ERROR. */
+	private static final String CONFLICT_ERROR = "This order was changed or deleted by someone else."
+			+ " Fetch it again and retry.";
+
+	/** The maximum number of orders found by a similar name search. */
+	private static final int SIMILAR_NAME_LIMIT = 20;
+
+	/** The maximum number of orders found by a phone number prefix search. */
+	private static final int PHONE_PREFIX_LIMIT = 50;
+
+	/** The maximum number of suggested phone numbers. */
+	private static final int PHONE_SUGGESTION_LIMIT = 10;
+
+	/** The number of worker lock stripes. */
+	private static final int WORKER_LOCK_STRIPES = 64;
+
 	/** The Constant LOGGER. */
 	private static final Logger LOGGER = LogManager.getLogger(OrderController.class);
 
@@ -67,6 +110,9 @@ public class OrderController {
 	/** The validation configurations. */
 	private ValidationConfigurations validationConfigurations;
 
+	/** The locks serialising assignments to the same worker. */
+	private final StripedLock workerLocks = new StripedLock(WORKER_LOCK_STRIPES);
+
 	/**
 	 * Instantiates a new order controller.
 	 *
@@ -84,17 +130,29 @@ public class OrderController {
 	}
 
 	/**
-	 * Retrieves all orders.
+	 * Retrieves the summaries of all orders.
+	 */
+	public void allOrders() {
+		allOrders(false);
+	}
+
+	/**
+	 * Retrieves the summaries of all orders, the archived ones too if asked for.
+	 * The archived orders have no projection and are summarised from the full
+	 * orders.
+	 *
+	 * @param includeArchived whether the archived orders are included
 	 */
-	public synchronized void allOrders() {
+	public void allOrders(boolean includeArchived) {
 		LOGGER.info("Retrieving all orders");
-		orderView.showAllOrder(orderRepository.findAll());
+		orderView.showAllOrder(
+				includeArchived ? summaries(orderRepository.findAll(true)) : orderRepository.findAllSummaries());
 	}
 
 	/**
 	 * Retrieves all workers.
 	 */
-	public synchronized void allWorkers() {
+	public void allWorkers() {
 		LOGGER.info("Retrieving all workers");
 		orderView.showAllWorkers(workerRepository.findAll());
 	}
@@ -105,7 +163,7 @@ public class OrderController {
 	 * @param order     the order
 	 * @param operation the operation
 	 */
-	public synchronized void createOrUpdateOrder(CustomerOrder order, OperationType operation) {
+	public void createOrUpdateOrder(CustomerOrder order, OperationType operation) {
 		try {
 			Objects.requireNonNull(operation, "Operation Type is null");
 			Objects.requireNonNull(order, "Order is null");
@@ -133,6 +191,9 @@ public class OrderController {
 		} catch (NoSuchElementException e) {
 			LOGGER.error(ERROR_FINDING, e.getMessage());
 			orderView.showErrorNotFound(e.getMessage(), order);
+		} catch (VersionConflictException e) {
+			LOGGER.error("Conflict while updating Order: {}", e.getMessage());
+			orderView.showConflictError(CONFLICT_ERROR, order);
 		}
 	}
 
@@ -141,7 +202,7 @@ public class OrderController {
 	 *
 	 * @param order the order
 	 */
-	public synchronized void fetchOrderById(CustomerOrder order) {
+	public void fetchOrderById(CustomerOrder order) {
 		LOGGER.info("Fetching order by ID");
 
 		try {
@@ -168,7 +229,7 @@ public class OrderController {
 	 *
 	 * @param order the order
 	 */
-	public synchronized void deleteOrder(CustomerOrder order) {
+	public void deleteOrder(CustomerOrder order) {
 		try {
 			Objects.requireNonNull(order, "Order is null");
 			validationConfigurations.validateStringNumber(order.getOrderId().toString());
@@ -184,19 +245,69 @@ public class OrderController {
 		} catch (NoSuchElementException e) {
 			LOGGER.error(ERROR_FINDING, e.getMessage());
 			orderView.showErrorNotFound(e.getMessage(), order);
+		} catch (VersionConflictException e) {
+			LOGGER.error("Conflict while deleting Order: {}", e.getMessage());
+			orderView.showConflictError(CONFLICT_ERROR, order);
 		}
 
 	}
 
+	/**
+	 * Deletes several orders with one bulk repository call and notifies the view
+	 * once. The orders are not looked up first; ids that no longer exist are
+	 * simply skipped by the repository.
+	 *
+	 * @param orders the orders
+	 */
+	public void deleteOrders(List<CustomerOrder> orders) {
+		CustomerOrder current = null;
+		try {
+			Objects.requireNonNull(orders, "Orders are null");
+			List<Long> orderIds = new ArrayList<>(orders.size());
+			for (CustomerOrder order : orders) {
+				current = order;
+				Objects.requireNonNull(order, "Order is null");
+				Objects.requireNonNull(order.getOrderId(), "Order ID is null");
+				validationConfigurations.validateStringNumber(order.getOrderId().toString());
+				orderIds.add(order.getOrderId());
+			}
+			int deleted = orderRepository.deleteAllById(orderIds);
+			orderView.ordersRemoved(orders);
+			LOGGER.info("Orders deleted: {} of {}", deleted, orderIds.size());
+		} catch (NullPointerException | IllegalArgumentException e) {
+			LOGGER.error("Error validating while deleting Orders: {}", e.getMessage());
+			orderView.showError(e.getMessage(), current);
+		} catch (IllegalStateException | PersistenceException e) {
+			LOGGER.error("Error deleting Orders: {}", e.getMessage());
+			orderView.showError(e.getMessage(), current);
+		}
+	}
+
 	/**
 	 * Searches for orders based on the specified search text and option.
 	 *
 	 * @param searchText   the search text
 	 * @param searchOption the search option. Available options: ORDER_ID,
 	 *                     CUSTOMER_NAME, CUSTOMER_PHONE, DATE, CATEGORY, STATUS,
-	 *                     WORKER_ID. If null, an exception is thrown.
+	 *                     WORKER_ID, CUSTOMER_NAME_SIMILAR,
+	 *                     CUSTOMER_PHONE_PREFIX. If null, an exception is
+	 *                     thrown.
 	 */
-	public synchronized void searchOrder(String searchText, OrderSearchOptions searchOption) {
+	public void searchOrder(String searchText, OrderSearchOptions searchOption) {
+		searchOrder(searchText, searchOption, false);
+	}
+
+	/**
+	 * Searches for orders based on the specified search text and option, the
+	 * archived orders too if asked for. Only the customer name search reaches the
+	 * archive; the other options search the live orders.
+	 *
+	 * @param searchText      the search text
+	 * @param searchOption    the search option, see
+	 *                        {@link #searchOrder(String, OrderSearchOptions)}
+	 * @param includeArchived whether the archived orders are included
+	 */
+	public void searchOrder(String searchText, OrderSearchOptions searchOption, boolean includeArchived) {
 		LOGGER.info("Searching orders by search options");
 		try {
 			searchText = validationConfigurations.validateSearchString(searchText);
@@ -204,11 +315,11 @@ public class OrderController {
 				throw new NullPointerException("Search option cannot be empty.");
 			}
 
-			List<CustomerOrder> orders;
+			List<OrderSummary> orders;
 
 			switch (searchOption) {
 			case ORDER_ID:
-				orders = asList(searchByOrderId(searchText));
+				orders = searchByOrderId(searchText);
 				break;
 			case WORKER_ID:
 				orders = searchByWorkerId(searchText);
@@ -226,7 +337,13 @@ public class OrderController {
 				orders = searchByCategory(searchText);
 				break;
 			case CUSTOMER_NAME:
-				orders = searchByCustomerName(searchText);
+				orders = searchByCustomerName(searchText, includeArchived);
+				break;
+			case CUSTOMER_NAME_SIMILAR:
+				orders = searchBySimilarCustomerName(searchText);
+				break;
+			case CUSTOMER_PHONE_PREFIX:
+				orders = searchByCustomerPhoneNumberPrefix(searchText);
 				break;
 			default:
 				throw new IllegalArgumentException("This operation is not allowed");
@@ -241,12 +358,79 @@ public class OrderController {
 
 	}
 
+	/**
+	 * Suggests the customer phone numbers completing the digits typed so far. Text
+	 * that cannot begin a phone number hides the suggestions instead of showing
+	 * an error, since the customer is still typing.
+	 *
+	 * @param prefix the digits typed so far
+	 */
+	public void suggestCustomerPhoneNumbers(String prefix) {
+		List<String> phoneNumbers;
+		try {
+			phoneNumbers = orderRepository.completeCustomerPhoneNumber(
+					validationConfigurations.validatePhoneNumberPrefix(prefix), PHONE_SUGGESTION_LIMIT);
+		} catch (Exception e) {
+			LOGGER.info("No phone number suggestions: {}", e.getMessage());
+			phoneNumbers = Collections.emptyList();
+		}
+		orderView.showPhoneNumberSuggestions(phoneNumbers);
+	}
+
+	/**
+	 * Counts the orders of every status and category. The counting is done by the
+	 * database; no order is loaded.
+	 *
+	 * @return the order counts keyed by status, then by category
+	 */
+	public Map<OrderStatus, Map<OrderCategory, Long>> countOrdersByStatusAndCategory() {
+		LOGGER.info("Counting orders by status and category");
+		return orderRepository.countByStatusAndCategory();
+	}
+
+	/**
+	 * Counts the orders of every worker that has at least one order. The counting
+	 * is done by the database; no order is loaded.
+	 *
+	 * @return the order counts keyed by worker ID
+	 */
+	public Map<Long, Long> countOrdersByWorker() {
+		LOGGER.info("Counting orders by worker");
+		return orderRepository.countByWorker();
+	}
+
+	/**
+	 * Counts the orders of every appointment day between the two dates, both
+	 * included. Invalid dates are reported to the view and give an empty result.
+	 *
+	 * @param fromDate the first day, in dd-MM-yyyy format
+	 * @param toDate   the last day, in dd-MM-yyyy format
+	 * @return the order counts keyed by appointment day
+	 */
+	public SortedMap<LocalDate, Long> countOrdersByDate(String fromDate, String toDate) {
+		LOGGER.info("Counting orders by date");
+		try {
+			LocalDate from = LocalDate.parse(validationConfigurations.validateStringDate(fromDate),
+					AppointmentDateConverter.FORMAT);
+			LocalDate to = LocalDate.parse(validationConfigurations.validateStringDate(toDate),
+					AppointmentDateConverter.FORMAT);
+			if (from.isAfter(to)) {
+				throw new IllegalArgumentException("The start date must not be after the end date.");
+			}
+			return orderRepository.countByDate(from, to);
+		} catch (NullPointerException | IllegalArgumentException e) {
+			LOGGER.error("Error validating dates while counting orders: {}", e.getMessage());
+			orderView.showSearchError(e.getMessage(), fromDate + " - " + toDate);
+			return Collections.emptySortedMap();
+		}
+	}
+
 	/**
 	 * Adds the.
 	 *
 	 * @param order the customer order
 	 */
-	private synchronized void add(CustomerOrder order) {
+	private void add(CustomerOrder order) {
 		if (order.getOrderId() != null) {
 			throw new IllegalArgumentException("Unable to assign an order ID during order creation.");
 		}
@@ -254,8 +438,7 @@ public class OrderController {
 			throw new IllegalArgumentException("The order status should be initiated with 'pending' status.");
 		}
 		Worker worker = getValidWorker(order);
-		checkForPendingOrders(worker.getOrders());
-		order = orderRepository.save(order);
+		order = assignAndSave(order, worker.getWorkerId());
 		orderView.orderAdded(order);
 		LOGGER.info("New order created: {}", order);
 	}
@@ -265,14 +448,19 @@ public class OrderController {
 	 *
 	 * @param order the customer order
 	 */
-	private synchronized void update(CustomerOrder order) {
+	private void update(CustomerOrder order) {
 		validationConfigurations.validateStringNumber(order.getOrderId().toString());
 		Worker worker = getValidWorker(order);
 		CustomerOrder savedOrder = orderRepository.findById(order.getOrderId());
+		if (order.getVersion() == null) {
+			// typed in without a fetch: the form replaces the order as read here
+			order.setVersion(savedOrder.getVersion());
+		}
 		if (!Objects.equals(worker.getWorkerId(), savedOrder.getWorker().getWorkerId())) {
-			checkForPendingOrders(worker.getOrders());
+			order = assignAndSave(order, worker.getWorkerId());
+		} else {
+			order = saveOrder(order);
 		}
-		order = orderRepository.save(order);
 
 		orderView.orderModified(order);
 		LOGGER.info("Order Updated: {}", order);
@@ -282,13 +470,13 @@ public class OrderController {
 	 * Searches for orders by date.
 	 *
 	 * @param searchText the search text
-	 * @return the list of orders
+	 * @return the list of order summaries
 	 */
-	private synchronized List<CustomerOrder> searchByDate(String searchText) {
+	private List<OrderSummary> searchByDate(String searchText) {
 		String date;
 		date = validationConfigurations.validateStringDate(searchText);
 
-		List<CustomerOrder> orders = orderRepository.findByDate(date);
+		List<OrderSummary> orders = orderRepository.findSummaries(OrderSearchOptions.DATE, date);
 		if (orders == null || orders.isEmpty()) {
 			throw new NoSuchElementException("No orders found with date: " + searchText);
 		}
@@ -299,11 +487,11 @@ public class OrderController {
 	 * Searches for orders by category.
 	 *
 	 * @param searchText the search text
-	 * @return the list of orders
+	 * @return the list of order summaries
 	 */
-	private synchronized List<CustomerOrder> searchByCategory(String searchText) {
+	private List<OrderSummary> searchByCategory(String searchText) {
 		OrderCategory category = validationConfigurations.validateEnum(searchText, OrderCategory.class);
-		List<CustomerOrder> orders = orderRepository.findByOrderCategory(category);
+		List<OrderSummary> orders = orderRepository.findSummaries(OrderSearchOptions.CATEGORY, category);
 		if (orders == null || orders.isEmpty()) {
 			throw new NoSuchElementException("No orders found with category: " + category);
 		}
@@ -314,12 +502,12 @@ public class OrderController {
 	 * Searches for orders by status.
 	 *
 	 * @param searchText the search text
-	 * @return the list of orders
+	 * @return the list of order summaries
 	 */
-	private synchronized List<CustomerOrder> searchByStatus(String searchText) {
+	private List<OrderSummary> searchByStatus(String searchText) {
 		OrderStatus status;
 		status = validationConfigurations.validateEnum(searchText, OrderStatus.class);
-		List<CustomerOrder> orders = orderRepository.findByOrderStatus(status);
+		List<OrderSummary> orders = orderRepository.findSummaries(OrderSearchOptions.STATUS, status);
 		if (orders == null || orders.isEmpty()) {
 			throw new NoSuchElementException("No orders found with status: " + status);
 		}
@@ -329,29 +517,48 @@ public class OrderController {
 	/**
 	 * Searches for orders by customer name.
 	 *
-	 * @param searchText the search text
-	 * @return the list of orders
+	 * @param searchText      the search text
+	 * @param includeArchived whether the archived orders are included
+	 * @return the list of order summaries
 	 */
-	private synchronized List<CustomerOrder> searchByCustomerName(String searchText) {
+	private List<OrderSummary> searchByCustomerName(String searchText, boolean includeArchived) {
 		String customerName;
 		customerName = validationConfigurations.validateName(searchText);
-		List<CustomerOrder> orders = orderRepository.findByCustomerName(customerName);
+		List<OrderSummary> orders = includeArchived ? summaries(orderRepository.findByCustomerName(customerName, true))
+				: orderRepository.findSummaries(OrderSearchOptions.CUSTOMER_NAME, customerName);
 		if (orders == null || orders.isEmpty()) {
 			throw new NoSuchElementException("No orders found with customer name: " + customerName);
 		}
 		return orders;
 	}
 
+	/**
+	 * Searches for the orders whose customer name starts with or resembles the
+	 * search text, best match first and at most {@link #SIMILAR_NAME_LIMIT}.
+	 *
+	 * @param searchText the search text
+	 * @return the list of order summaries
+	 */
+	private List<OrderSummary> searchBySimilarCustomerName(String searchText) {
+		String customerName = validationConfigurations.validateName(searchText);
+		List<CustomerOrder> orders = orderRepository.findByCustomerNameSimilarTo(customerName, SIMILAR_NAME_LIMIT);
+		if (orders == null || orders.isEmpty()) {
+			throw new NoSuchElementException("No orders found with customer name like: " + customerName);
+		}
+		return summaries(orders);
+	}
+
 	/**
 	 * Searches for orders by customer phone number.
 	 *
 	 * @param searchText the search text
-	 * @return the list of orders
+	 * @return the list of order summaries
 	 */
-	private synchronized List<CustomerOrder> searchByCustomerPhoneNumber(String searchText) {
+	private List<OrderSummary> searchByCustomerPhoneNumber(String searchText) {
 		String customerPhoneNumber;
 		customerPhoneNumber = validationConfigurations.validatePhoneNumber(searchText);
-		List<CustomerOrder> orders = orderRepository.findByCustomerPhoneNumber(customerPhoneNumber);
+		List<OrderSummary> orders = orderRepository.findSummaries(OrderSearchOptions.CUSTOMER_PHONE,
+				customerPhoneNumber);
 		if (orders == null || orders.isEmpty()) {
 			throw new NoSuchElementException("No orders found with phone number: " + customerPhoneNumber);
 		}
@@ -359,19 +566,36 @@ public class OrderController {
 	}
 
 	/**
-	 * Searches for orders by worker ID.
+	 * Searches for the orders whose customer phone number starts with the search
+	 * text, at most {@link #PHONE_PREFIX_LIMIT}.
+	 *
+	 * @param searchText the search text
+	 * @return the list of order summaries
+	 */
+	private List<OrderSummary> searchByCustomerPhoneNumberPrefix(String searchText) {
+		String prefix = validationConfigurations.validatePhoneNumberPrefix(searchText);
+		List<CustomerOrder> orders = orderRepository.findByCustomerPhoneNumberPrefix(prefix, PHONE_PREFIX_LIMIT);
+		if (orders == null || orders.isEmpty()) {
+			throw new NoSuchElementException("No orders found with phone number starting with: " + prefix);
+		}
+		return summaries(orders);
+	}
+
+	/**
+	 * Searches for orders by worker ID. The worker is looked up without its
+	 * orders, only to tell an unknown worker from one without orders.
 	 *
 	 * @param searchText the search text
-	 * @return the list of orders
+	 * @return the list of order summaries
 	 */
-	private synchronized List<CustomerOrder> searchByWorkerId(String searchText) {
+	private List<OrderSummary> searchByWorkerId(String searchText) {
 		Long workerId = validationConfigurations.validateStringNumber(searchText);
-		Worker worker = workerRepository.findById(workerId);
+		Worker worker = workerRepository.findByIdWithoutOrders(workerId);
 		if (worker == null) {
 			throw new NoSuchElementException("No result found with ID: " + workerId);
 		}
-		List<CustomerOrder> orders = worker.getOrders();
-		if (orders.isEmpty()) {
+		List<OrderSummary> orders = orderRepository.findSummaries(OrderSearchOptions.WORKER_ID, workerId);
+		if (orders == null || orders.isEmpty()) {
 			throw new NoSuchElementException("No orders found with worker ID: " + workerId);
 		}
 		return orders;
@@ -381,15 +605,27 @@ public class OrderController {
 	 * Searches for an order by its ID.
 	 *
 	 * @param searchText the search text
-	 * @return the customer order
+	 * @return the summary of the order, as a list
 	 */
-	private synchronized CustomerOrder searchByOrderId(String searchText) {
+	private List<OrderSummary> searchByOrderId(String searchText) {
 		Long orderId = validationConfigurations.validateStringNumber(searchText);
-		CustomerOrder order = orderRepository.findById(orderId);
-		if (order == null) {
+		List<OrderSummary> orders = orderRepository.findSummaries(OrderSearchOptions.ORDER_ID, orderId);
+		if (orders == null || orders.isEmpty()) {
 			throw new NoSuchElementException("No result found with ID: " + orderId);
 		}
-		return order;
+		return orders;
+	}
+
+	/**
+	 * Summarises the orders found by a search that has no projection, such as the
+	 * similar name and phone number prefix searches, whose results are capped,
+	 * and the reads that include the archived orders.
+	 *
+	 * @param orders the orders
+	 * @return the order summaries, in the same order
+	 */
+	private static List<OrderSummary> summaries(List<CustomerOrder> orders) {
+		return orders.stream().map(OrderSummary::of).collect(Collectors.toList());
 	}
 
 	/**
@@ -415,8 +651,8 @@ public class OrderController {
 	 * @param order the order
 	 * @return the valid worker
 	 */
-	private synchronized Worker getValidWorker(CustomerOrder order) {
-		Worker worker = workerRepository.findById(order.getWorker().getWorkerId());
+	private Worker getValidWorker(CustomerOrder order) {
+		Worker worker = workerRepository.findByIdWithoutOrders(order.getWorker().getWorkerId());
 		if (worker == null) {
 			throw new NoSuchElementException("Worker with this ID " + order.getWorker().getWorkerId() + " not found");
 		}
@@ -429,12 +665,50 @@ public class OrderController {
 	/**
 	 * Checks for pending orders.
 	 *
-	 * @param orders the orders
+	 * @param workerId the worker id
+	 */
+	private void checkForPendingOrders(Long workerId) {
+		if (orderRepository.existsPendingOrderForWorker(workerId)) {
+			throw new IllegalArgumentException(PENDING_ORDER_ERROR);
+		}
+	}
+
+	/**
+	 * Checks that the worker has no pending order and saves the order assigned to
+	 * it, holding the lock of the worker's stripe so that no other assignment to
+	 * the same worker runs in between.
+	 *
+	 * @param order    the order
+	 * @param workerId the ID of the worker the order is assigned to
+	 * @return the saved order
 	 */
-	private void checkForPendingOrders(List<CustomerOrder> orders) {
-		if (orders.stream().anyMatch(ord -> ord.getOrderStatus() == OrderStatus.PENDING)) {
-			throw new IllegalArgumentException(
-					"Cannot assign a new order to this worker because they already have a pending order.");
+	private CustomerOrder assignAndSave(CustomerOrder order, Long workerId) {
+		Lock workerLock = workerLocks.lockFor(workerId);
+		workerLock.lock();
+		try {
+			checkForPendingOrders(workerId);
+			return saveOrder(order);
+		} finally {
+			workerLock.unlock();
+		}
+	}
+
+	/**
+	 * Saves an order. If the database rejects it because a concurrent writer gave
+	 * the worker a pending order after the check, the error is reported like the
+	 * check itself.
+	 *
+	 * @param order the order
+	 * @return the saved order
+	 */
+	private CustomerOrder saveOrder(CustomerOrder order) {
+		try {
+			return orderRepository.save(order);
+		} catch (UniqueConstraintException e) {
+			if (e.isViolationOf(OrderRepository.ONE_PENDING_ORDER_PER_WORKER)) {
+				throw new IllegalArgumentException(PENDING_ORDER_ERROR);
+			}
+			throw e;
 		}
 	}
 
@@ -3,6 +3,7 @@ package com.mycompany.orderassignmentsystem.controller;
 
 import static java.util.Arrays.asList;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
@@ -15,6 +16,8 @@ import com.mycompany.orderassignmentsystem.enumerations.OperationType;
 import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
 import com.mycompany.orderassignmentsystem.enumerations.WorkerSearchOption;
 import com.mycompany.orderassignmentsystem.model.Worker;
+import com.mycompany.orderassignmentsystem.repository.UniqueConstraintException;
+import com.mycompany.orderassignmentsystem.repository.VersionConflictException;
 import com.mycompany.orderassignmentsystem.repository.WorkerRepository;
 import com.mycompany.orderassignmentsystem.view.WorkerView;
 
@@ -39,6 +42,11 @@ import com.mycompany.orderassignmentsystem.view.WorkerView;
  * The class ensures proper logging for operations and handles exceptions by
  * displaying appropriate error messages in the view.
  * 
+ * The controller holds no lock of its own, so operators working on different
+ * workers proceed in parallel. Concurrent changes to the same worker are caught
+ * by its version, and duplicate phone numbers by the unique constraint on the
+ * phone number rather than by a lookup before the save.
+ * 
  * @see WorkerRepository
  * @see WorkerView
  * @see ValidationConfigurations
@@ -49,6 +57,19 @@ public class WorkerController {
 	/** The Constant ERROR_FINDING_WORKER. */
 	private static final String ERROR_FINDING_WORKER = "Error finding worker: {}";
 
+	/** The Constant CONFLICT_ERROR. */
+	private static final String CONFLICT_ERROR = "This worker was changed or deleted by someone else."
+			+ " Fetch it again and retry.";
+
+	/** The maximum number of workers found by a phone number prefix search. */
+	private static final int PHONE_PREFIX_LIMIT = 50;
+
+	/** The maximum number of suggested phone numbers. */
+	private static final int PHONE_SUGGESTION_LIMIT = 10;
+
+	/** The maximum number of workers found by a similar name search. */
+	private static final int SIMILAR_NAME_LIMIT = 20;
+
 	/** The Constant LOGGER. */
 	private static final Logger LOGGER = LogManager.getLogger(WorkerController.class);
 
@@ -80,7 +101,7 @@ public class WorkerController {
 	 *
 	 * @return the all workers
 	 */
-	public synchronized void getAllWorkers() {
+	public void getAllWorkers() {
 		LOGGER.info("Retrieving all workers");
 
 		workerView.showAllWorkers(workerRepository.findAll());
@@ -92,7 +113,7 @@ public class WorkerController {
 	 * @param worker    the worker to be added
 	 * @param operation the operation
 	 */
-	public synchronized void createOrUpdateWorker(Worker worker, OperationType operation) {
+	public void createOrUpdateWorker(Worker worker, OperationType operation) {
 		try {
 			Objects.requireNonNull(worker, "Worker is null");
 
@@ -120,6 +141,9 @@ public class WorkerController {
 		} catch (NoSuchElementException e) {
 			LOGGER.error(ERROR_FINDING_WORKER, e.getMessage());
 			workerView.showErrorNotFound(e.getMessage(), worker);
+		} catch (VersionConflictException e) {
+			LOGGER.error("Conflict while {} worker: {}", operation, e.getMessage());
+			workerView.showConflictError(CONFLICT_ERROR, worker);
 		}
 	}
 
@@ -128,7 +152,7 @@ public class WorkerController {
 	 *
 	 * @param worker the worker to be fetched
 	 */
-	public synchronized void fetchWorkerById(Worker worker) {
+	public void fetchWorkerById(Worker worker) {
 		LOGGER.info("Fetch a worker");
 
 		try {
@@ -155,7 +179,7 @@ public class WorkerController {
 	 *
 	 * @param worker the worker to be deleted
 	 */
-	public synchronized void deleteWorker(Worker worker) {
+	public void deleteWorker(Worker worker) {
 		LOGGER.info("Delete a worker");
 
 		try {
@@ -174,6 +198,9 @@ public class WorkerController {
 		} catch (NoSuchElementException e) {
 			LOGGER.error(ERROR_FINDING_WORKER, e.getMessage());
 			workerView.showErrorNotFound(e.getMessage(), worker);
+		} catch (VersionConflictException e) {
+			LOGGER.error("Conflict while deleting worker: {}", e.getMessage());
+			workerView.showConflictError(CONFLICT_ERROR, worker);
 		}
 	}
 
@@ -182,10 +209,11 @@ public class WorkerController {
 	 *
 	 * @param searchText   the text to search for
 	 * @param searchOption the option to search by. Available options: WORKER_ID,
-	 *                     WORKER_NAME, WORKER_PHONE, WORKER_CATEGORY. If null, an
+	 *                     WORKER_NAME, WORKER_PHONE, WORKER_CATEGORY,
+	 *                     WORKER_NAME_SIMILAR, WORKER_PHONE_PREFIX. If null, an
 	 *                     exception is thrown.
 	 */
-	public synchronized void searchWorker(String searchText, WorkerSearchOption searchOption) {
+	public void searchWorker(String searchText, WorkerSearchOption searchOption) {
 		LOGGER.info("Search workers by search Options");
 
 		try {
@@ -209,6 +237,12 @@ public class WorkerController {
 			case WORKER_NAME:
 				workers = searchByWorkerName(searchText);
 				break;
+			case WORKER_NAME_SIMILAR:
+				workers = searchBySimilarWorkerName(searchText);
+				break;
+			case WORKER_PHONE_PREFIX:
+				workers = searchByWorkerPhoneNumberPrefix(searchText);
+				break;
 			default:
 				throw new IllegalArgumentException("This operation is not allowed");
 			}
@@ -222,21 +256,35 @@ public class WorkerController {
 		}
 	}
 
+	/**
+	 * Suggests the worker phone numbers completing the digits typed so far. Text
+	 * that cannot begin a phone number hides the suggestions instead of showing
+	 * an error, since the number is still being typed.
+	 *
+	 * @param prefix the digits typed so far
+	 */
+	public void suggestWorkerPhoneNumbers(String prefix) {
+		List<String> phoneNumbers;
+		try {
+			phoneNumbers = workerRepository.completePhoneNumber(
+					validationConfigurations.validatePhoneNumberPrefix(prefix), PHONE_SUGGESTION_LIMIT);
+		} catch (Exception e) {
+			LOGGER.info("No phone number suggestions: {}", e.getMessage());
+			phoneNumbers = Collections.emptyList();
+		}
+		workerView.showPhoneNumberSuggestions(phoneNumbers);
+	}
+
 	/**
 	 * Adds the.
 	 *
 	 * @param worker the worker
 	 */
-	private synchronized void add(Worker worker) {
+	private void add(Worker worker) {
 		if (worker.getWorkerId() != null) {
 			throw new IllegalArgumentException("Unable to assign a worker ID during worker creation.");
 		}
-		Worker existingWorker = workerRepository.findByPhoneNumber(worker.getWorkerPhoneNumber());
-		if (existingWorker != null) {
-			throw new IllegalArgumentException(
-					"Worker with phone number " + worker.getWorkerPhoneNumber() + " Already Exists");
-		}
-		worker = workerRepository.save(worker);
+		worker = saveWorker(worker);
 		workerView.workerAdded(worker);
 		LOGGER.info("New worker created: {}", worker);
 	}
@@ -246,15 +294,9 @@ public class WorkerController {
 	 *
 	 * @param worker the worker
 	 */
-	private synchronized void update(Worker worker) {
+	private void update(Worker worker) {
 		validationConfigurations.validateStringNumber(worker.getWorkerId().toString());
 
-		Worker existingWorker = workerRepository.findByPhoneNumber(worker.getWorkerPhoneNumber());
-		if (existingWorker != null && !Objects.equals(existingWorker.getWorkerId(), worker.getWorkerId())) {
-			throw new IllegalArgumentException(
-					"Worker with phone number " + worker.getWorkerPhoneNumber() + " Already Exists");
-		}
-
 		Worker savedWorker = workerRepository.findById(worker.getWorkerId());
 		if (savedWorker == null) {
 			throw new NoSuchElementException("No Worker found with id: " + worker.getWorkerId());
@@ -263,8 +305,12 @@ public class WorkerController {
 			throw new IllegalArgumentException(
 					"Cannot update worker " + worker.getWorkerCategory() + " because of existing orders");
 		}
+		if (worker.getVersion() == null) {
+			// typed in without a fetch: the form replaces the worker as read here
+			worker.setVersion(savedWorker.getVersion());
+		}
 
-		worker = workerRepository.save(worker);
+		worker = saveWorker(worker);
 		workerView.workerModified(worker);
 		LOGGER.info("Worker Updated: {}", worker);
 	}
@@ -275,7 +321,7 @@ public class WorkerController {
 	 * @param searchText the phone number to search for
 	 * @return the worker with the specified phone number
 	 */
-	private synchronized Worker searchByWorkerPhoneNumber(String searchText) {
+	private Worker searchByWorkerPhoneNumber(String searchText) {
 		String workerPhoneNumber;
 		workerPhoneNumber = validationConfigurations.validatePhoneNumber(searchText);
 		Worker worker = workerRepository.findByPhoneNumber(workerPhoneNumber);
@@ -285,13 +331,29 @@ public class WorkerController {
 		return worker;
 	}
 
+	/**
+	 * Searches for the workers whose phone number starts with the search text, at
+	 * most {@link #PHONE_PREFIX_LIMIT}.
+	 *
+	 * @param searchText the first digits of the phone number
+	 * @return the list of workers
+	 */
+	private List<Worker> searchByWorkerPhoneNumberPrefix(String searchText) {
+		String prefix = validationConfigurations.validatePhoneNumberPrefix(searchText);
+		List<Worker> workers = workerRepository.findByPhoneNumberPrefix(prefix, PHONE_PREFIX_LIMIT);
+		if (workers == null || workers.isEmpty()) {
+			throw new NoSuchElementException("No result found with phone number starting with: " + searchText);
+		}
+		return workers;
+	}
+
 	/**
 	 * Searches for workers by their category.
 	 *
 	 * @param searchText the category to search for
 	 * @return the list of workers with the specified category
 	 */
-	private synchronized List<Worker> searchByWorkerCategory(String searchText) {
+	private List<Worker> searchByWorkerCategory(String searchText) {
 		OrderCategory workerCategory;
 		workerCategory = validationConfigurations.validateEnum(searchText, OrderCategory.class);
 		List<Worker> workers = workerRepository.findByOrderCategory(workerCategory);
@@ -307,7 +369,7 @@ public class WorkerController {
 	 * @param searchText the name to search for
 	 * @return the list of workers with the specified name
 	 */
-	private synchronized List<Worker> searchByWorkerName(String searchText) {
+	private List<Worker> searchByWorkerName(String searchText) {
 		String workerName;
 		workerName = validationConfigurations.validateName(searchText);
 		List<Worker> workers = workerRepository.findByName(workerName);
@@ -317,13 +379,29 @@ public class WorkerController {
 		return workers;
 	}
 
+	/**
+	 * Searches for the workers whose name starts with or resembles the search
+	 * text, best match first and at most {@link #SIMILAR_NAME_LIMIT}.
+	 *
+	 * @param searchText the name to search for
+	 * @return the list of workers with a similar name
+	 */
+	private List<Worker> searchBySimilarWorkerName(String searchText) {
+		String workerName = validationConfigurations.validateName(searchText);
+		List<Worker> workers = workerRepository.findByNameSimilarTo(workerName, SIMILAR_NAME_LIMIT);
+		if (workers == null || workers.isEmpty()) {
+			throw new NoSuchElementException("No result found with Worker Name like: " + searchText);
+		}
+		return workers;
+	}
+
 	/**
 	 * Searches for a worker by their ID.
 	 *
 	 * @param searchText the ID to search for
 	 * @return the worker with the specified ID
 	 */
-	private synchronized Worker searchByWorkerId(String searchText) {
+	private Worker searchByWorkerId(String searchText) {
 		Long workerId = validationConfigurations.validateStringNumber(searchText);
 		Worker worker = workerRepository.findById(workerId);
 		if (worker == null) {
@@ -338,7 +416,7 @@ public class WorkerController {
 	 * @param worker the worker to validate
 	 * @return the worker if found
 	 */
-	private synchronized Worker validateWorkerExistence(Worker worker) {
+	private Worker validateWorkerExistence(Worker worker) {
 		Worker existingWorker = workerRepository.findById(worker.getWorkerId());
 		if (existingWorker == null) {
 			throw new NoSuchElementException("No Worker found with ID: " + worker.getWorkerId());
@@ -368,4 +446,24 @@ public class WorkerController {
 		validationConfigurations.validateCategory(worker.getWorkerCategory());
 	}
 
+	/**
+	 * Saves a worker. The phone number is not looked up beforehand: the unique
+	 * constraint on it rejects a duplicate, also one written concurrently, and the
+	 * violation is reported as an existing phone number.
+	 *
+	 * @param worker the worker
+	 * @return the saved worker
+	 */
+	private Worker saveWorker(Worker worker) {
+		try {
+			return workerRepository.save(worker);
+		} catch (UniqueConstraintException e) {
+			if (e.isViolationOf(WorkerRepository.UNIQUE_PHONE_NUMBER)) {
+				throw new IllegalArgumentException(
+						"Worker with phone number " + worker.getWorkerPhoneNumber() + " Already Exists");
+			}
+			throw e;
+		}
+	}
+
 }
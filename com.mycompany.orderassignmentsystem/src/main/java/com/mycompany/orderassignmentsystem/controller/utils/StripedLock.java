@@ -0,0 +1,61 @@
+/*
+ * StripedLock: Fixed set of locks shared out by key.
+ */
+package com.mycompany.orderassignmentsystem.controller.utils;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed number of locks, each guarding every key that hashes to it. Callers
+ * working on different keys rarely share a lock and proceed in parallel, while
+ * callers working on the same key are always serialised, without keeping a lock
+ * per key alive.
+ */
+public class StripedLock {
+
+	/** The locks; their number is a power of two. */
+	private final ReentrantLock[] locks;
+
+	/**
+	 * Instantiates a new striped lock.
+	 *
+	 * @param stripes the minimum number of locks, rounded up to a power of two
+	 * @throws IllegalArgumentException if stripes is not positive
+	 */
+	public StripedLock(int stripes) {
+		if (stripes < 1) {
+			throw new IllegalArgumentException("The number of stripes must be positive.");
+		}
+		int size = Integer.highestOneBit(stripes);
+		if (size < stripes) {
+			size <<= 1;
+		}
+		locks = new ReentrantLock[size];
+		for (int i = 0; i < size; i++) {
+			locks[i] = new ReentrantLock();
+		}
+	}
+
+	/**
+	 * Gets the lock guarding the given key.
+	 *
+	 * @param key the key
+	 * @return the lock of the key, the same for equal keys
+	 */
+	public Lock lockFor(Object key) {
+		int hash = key.hashCode();
+		// fold in the high bits, so keys differing only there do not share a lock
+		hash ^= hash >>> 16;
+		return locks[hash & (locks.length - 1)];
+	}
+
+	/**
+	 * Gets the number of locks.
+	 *
+	 * @return the number of stripes
+	 */
+	public int stripes() {
+		return locks.length;
+	}
+}
@@ -56,6 +56,15 @@ public interface ValidationConfigurations {
 	 */
 	public String validatePhoneNumber(String phoneNumber);
 
+	/**
+	 * Validates the first digits of a phone number.
+	 *
+	 * @param prefix the first digits to validate
+	 * @return the validated digits
+	 * @throws IllegalArgumentException if validation fails
+	 */
+	public String validatePhoneNumberPrefix(String prefix);
+
 	/**
 	 * Validates a string date.
 	 *
@@ -13,6 +13,7 @@ import org.apache.logging.log4j.Logger;
 import com.mycompany.orderassignmentsystem.controller.utils.ValidationConfigurations;
 import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
 import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+import com.mycompany.orderassignmentsystem.model.AppointmentDateConverter;
 
 public class ExtendedValidationConfigurations implements ValidationConfigurations {
 
@@ -169,10 +170,37 @@ public class ExtendedValidationConfigurations implements ValidationConfiguration
 		return phoneNumber;
 	}
 
+	public String validatePhoneNumberPrefix(String prefix) {
+		if (prefix == null || prefix.equals("")) {
+			LOGGER.info("The phone number field cannot be empty.");
+
+			throw new NullPointerException("The phone number field cannot be empty.");
+		}
+		if (prefix.length() > 10) {
+			LOGGER.info("The phone number cannot exceed 10 characters. Please provide a valid phone number.");
+
+			throw new IllegalArgumentException(
+					"The phone number cannot exceed 10 characters. Please provide a valid phone number.");
+		}
+		if (!prefix.matches("\\d+")) {
+			LOGGER.info(
+					"The phone number should only consist of numbers and should not contain any whitespaces, special characters, or alphabets. Please enter a valid phone number.");
+
+			throw new IllegalArgumentException(
+					"The phone number should only consist of numbers and should not contain any whitespaces, special characters, or alphabets. Please enter a valid phone number.");
+		}
+		if (!prefix.startsWith("3")) {
+			LOGGER.info("The phone number must start with 3. Please provide a valid phone number.");
+
+			throw new IllegalArgumentException(
+					"The phone number must start with 3. Please provide a valid phone number.");
+		}
+		return prefix;
+	}
+
 	public String validateStringDate(String dateString) {
 
-		String pattern = "dd-MM-yyyy";
-		final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+		final DateTimeFormatter formatter = AppointmentDateConverter.FORMAT;
 
 		if (dateString == null) {
 			throw new NullPointerException("Date cannot be null.");
@@ -190,7 +218,8 @@ public class ExtendedValidationConfigurations implements ValidationConfiguration
 			LocalDate.parse(dateString, formatter);
 			return dateString;
 		} catch (Exception e) {
-			throw new IllegalArgumentException("Please ensure that the date follows the format" + pattern);
+			throw new IllegalArgumentException("Please ensure that the date follows the format"
+					+ AppointmentDateConverter.PATTERN);
 		}
 
 	}
@@ -45,5 +45,16 @@ public enum OrderSearchOptions {
 	/**
 	 * Search by worker ID.
 	 */
-	WORKER_ID;
+	WORKER_ID,
+
+	/**
+	 * Search by customer names starting with or similar to the text, best match
+	 * first.
+	 */
+	CUSTOMER_NAME_SIMILAR,
+
+	/**
+	 * Search by the first digits of the customer phone number.
+	 */
+	CUSTOMER_PHONE_PREFIX;
 }
@@ -30,6 +30,17 @@ public enum WorkerSearchOption {
 	/**
 	 * Search by worker category.
 	 */
-	WORKER_CATEGORY;
+	WORKER_CATEGORY,
+
+	/**
+	 * Search by worker names starting with or similar to the text, best match
+	 * first.
+	 */
+	WORKER_NAME_SIMILAR,
+
+	/**
+	 * Search by the first digits of the worker phone number.
+	 */
+	WORKER_PHONE_PREFIX;
 
 }
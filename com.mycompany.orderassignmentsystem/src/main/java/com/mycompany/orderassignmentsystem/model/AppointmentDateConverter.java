@@ -0,0 +1,58 @@
+/*
+ * AppointmentDateConverter: Maps the dd-MM-yyyy appointment date to a DATE column.
+ */
+package com.mycompany.orderassignmentsystem.model;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Stores the appointment date of an order, which the views and the validation
+ * handle as a {@code dd-MM-yyyy} string, in a {@code DATE} column so that the
+ * database can sort and range-filter it.
+ */
+@Converter
+public class AppointmentDateConverter implements AttributeConverter<String, Date> {
+
+	/** The pattern of the appointment date outside the database. */
+	public static final String PATTERN = "dd-MM-yyyy";
+
+	/** The format of the appointment date outside the database. */
+	public static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern(PATTERN);
+
+	/**
+	 * Converts the appointment date to the column value.
+	 *
+	 * @param appointmentDate the appointment date in {@code dd-MM-yyyy} form
+	 * @return the column value
+	 */
+	@Override
+	public Date convertToDatabaseColumn(String appointmentDate) {
+		return appointmentDate == null ? null : Date.valueOf(LocalDate.parse(appointmentDate, FORMAT));
+	}
+
+	/**
+	 * Converts the column value to the appointment date.
+	 *
+	 * @param date the column value
+	 * @return the appointment date in {@code dd-MM-yyyy} form
+	 */
+	@Override
+	public String convertToEntityAttribute(Date date) {
+		return date == null ? null : format(date.toLocalDate());
+	}
+
+	/**
+	 * Formats a date the way appointment dates are held by the entity.
+	 *
+	 * @param date the date
+	 * @return the date in {@code dd-MM-yyyy} form
+	 */
+	public static String format(LocalDate date) {
+		return date.format(FORMAT);
+	}
+}
@@ -0,0 +1,144 @@
+/*
+ * ArchivedOrder: A completed or cancelled order moved out of the CustomerOrder table.
+ */
+
+package com.mycompany.orderassignmentsystem.model;
+
+import java.time.LocalDate;
+
+import javax.persistence.Column;
+import javax.persistence.ConstraintMode;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.ForeignKey;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.NotFound;
+import org.hibernate.annotations.NotFoundAction;
+
+import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+
+/**
+ * A completed or cancelled order kept in the archive table, with the id and
+ * the values it had when it was archived. Archived orders are never updated.
+ * The worker is referenced without a foreign key, so that a worker whose
+ * orders are all archived can still be deleted; the order then has no worker.
+ */
+@Entity
+@Table(name = "CustomerOrderArchive", indexes = {
+		@Index(name = "idx_customer_order_archive_customer_name", columnList = "customer_name") })
+public class ArchivedOrder {
+
+	/** The id the order had in the CustomerOrder table. */
+	@Id
+	private Long orderId;
+
+	/** The customer name. */
+	@Column(name = "customer_name")
+	private String customerName;
+
+	/** The customer address. */
+	@Column(name = "customer_address")
+	private String customerAddress;
+
+	/** The customer phone number. */
+	@Column(name = "customer_phone")
+	private String customerPhoneNumber;
+
+	/** The appointment date in {@code dd-MM-yyyy} form. */
+	@Column(name = "appointment_date")
+	@Convert(converter = AppointmentDateConverter.class)
+	private String appointmentDate;
+
+	/** The order description. */
+	@Column(name = "order_description")
+	private String orderDescription;
+
+	/** The order category. */
+	@Column(name = "order_category")
+	@Enumerated(EnumType.STRING)
+	private OrderCategory orderCategory;
+
+	/** The order status. */
+	@Column(name = "order_status")
+	@Enumerated(EnumType.STRING)
+	private OrderStatus orderStatus;
+
+	/** The worker assigned to the order, null once the worker is deleted. */
+	@ManyToOne
+	@JoinColumn(name = "worker_workerId", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+	@NotFound(action = NotFoundAction.IGNORE)
+	private Worker worker;
+
+	/** The last version of the order. */
+	private Long version;
+
+	/** The day the order was archived. */
+	@Column(name = "archived_on")
+	private LocalDate archivedOn;
+
+	/**
+	 * Default constructor.
+	 */
+	public ArchivedOrder() {
+
+	}
+
+	/**
+	 * Instantiates the archived copy of an order.
+	 *
+	 * @param order      the order
+	 * @param archivedOn the day the order is archived
+	 */
+	public ArchivedOrder(CustomerOrder order, LocalDate archivedOn) {
+		this.orderId = order.getOrderId();
+		this.customerName = order.getCustomerName();
+		this.customerAddress = order.getCustomerAddress();
+		this.customerPhoneNumber = order.getCustomerPhoneNumber();
+		this.appointmentDate = order.getAppointmentDate();
+		this.orderDescription = order.getOrderDescription();
+		this.orderCategory = order.getOrderCategory();
+		this.orderStatus = order.getOrderStatus();
+		this.worker = order.getWorker();
+		this.version = order.getVersion();
+		this.archivedOn = archivedOn;
+	}
+
+	/**
+	 * Gets the order id.
+	 *
+	 * @return the order id
+	 */
+	public Long getOrderId() {
+		return orderId;
+	}
+
+	/**
+	 * Gets the day the order was archived.
+	 *
+	 * @return the day the order was archived
+	 */
+	public LocalDate getArchivedOn() {
+		return archivedOn;
+	}
+
+	/**
+	 * Converts the archived order back to a detached customer order, as returned
+	 * by the searches that include archived orders.
+	 *
+	 * @return the customer order
+	 */
+	public CustomerOrder toCustomerOrder() {
+		CustomerOrder order = new CustomerOrder(orderId, customerName, customerAddress, customerPhoneNumber,
+				appointmentDate, orderDescription, orderCategory, orderStatus, worker);
+		order.setVersion(version);
+		return order;
+	}
+}
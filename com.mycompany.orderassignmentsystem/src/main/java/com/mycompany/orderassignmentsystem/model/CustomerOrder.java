@@ -8,26 +8,43 @@ package com.mycompany.orderassignmentsystem.model;
 import java.util.Objects;
 
 import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
-import javax.persistence.OneToOne;
+import javax.persistence.Index;
+import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Version;
 
 import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
 import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
 
 /**
- * Represents an order placed by a customer in the system.
+ * Represents an order placed by a customer in the system. Every column that an
+ * order search filters on is indexed. Concurrent updates are detected through
+ * the version column.
  */
 @Entity
+@Table(indexes = { @Index(name = "idx_customer_order_customer_name", columnList = "customer_name"),
+		@Index(name = "idx_customer_order_customer_phone", columnList = "customer_phone"),
+		@Index(name = "idx_customer_order_appointment_date", columnList = "appointment_date, orderId"),
+		@Index(name = "idx_customer_order_order_category", columnList = "order_category"),
+		@Index(name = "idx_customer_order_order_status", columnList = "order_status"),
+		@Index(name = "idx_customer_order_worker_status", columnList = "worker_workerId, order_status") })
 public class CustomerOrder {
 
-	/** The order id. */
+	/**
+	 * The order id. Sequence generated with a pooled allocation so that inserts can
+	 * be sent as JDBC batches.
+	 */
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_order_seq")
+	@SequenceGenerator(name = "customer_order_seq", sequenceName = "customer_order_seq", allocationSize = 50)
 	private Long orderId;
 
 	/** The customer name. */
@@ -42,8 +59,11 @@ public class CustomerOrder {
 	@Column(name = "customer_phone")
 	private String customerPhoneNumber;
 
-	/** The appointment date. */
+	/**
+	 * The appointment date in {@code dd-MM-yyyy} form, stored in a DATE column.
+	 */
 	@Column(name = "appointment_date")
+	@Convert(converter = AppointmentDateConverter.class)
 	private String appointmentDate;
 
 	/** The order description. */
@@ -61,9 +81,13 @@ public class CustomerOrder {
 	private OrderStatus orderStatus;
 
 	/** The worker assigned to the order. */
-	@OneToOne
+	@ManyToOne
 	private Worker worker;
 
+	/** The version, incremented on every update. Null until the order is saved. */
+	@Version
+	private Long version;
+
 	/**
 	 * Default constructor.
 	 */
@@ -287,6 +311,24 @@ public class CustomerOrder {
 		this.worker = worker;
 	}
 
+	/**
+	 * Gets the version.
+	 *
+	 * @return the version, or null if the order was never saved
+	 */
+	public Long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Sets the version.
+	 *
+	 * @param version the version the order was read with
+	 */
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	/**
 	 * Equals.
 	 *
@@ -0,0 +1,160 @@
+/*
+ * OrderSummary: Read-only row of an order list.
+ */
+package com.mycompany.orderassignmentsystem.model;
+
+import java.util.Objects;
+
+import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+
+/**
+ * Immutable summary of a customer order, holding only the columns shown in an
+ * order list. It is filled directly by a projection query, so neither the
+ * order entity nor its worker are loaded.
+ */
+public final class OrderSummary {
+
+	/** The order id. */
+	private final Long orderId;
+
+	/** The customer name. */
+	private final String customerName;
+
+	/** The appointment date in {@code dd-MM-yyyy} form. */
+	private final String appointmentDate;
+
+	/** The order status. */
+	private final OrderStatus orderStatus;
+
+	/** The order category. */
+	private final OrderCategory orderCategory;
+
+	/** The id of the worker assigned to the order. */
+	private final Long workerId;
+
+	/**
+	 * Instantiates a new order summary.
+	 *
+	 * @param orderId         the order id
+	 * @param customerName    the customer name
+	 * @param appointmentDate the appointment date
+	 * @param orderStatus     the order status
+	 * @param orderCategory   the order category
+	 * @param workerId        the worker id
+	 */
+	public OrderSummary(Long orderId, String customerName, String appointmentDate, OrderStatus orderStatus,
+			OrderCategory orderCategory, Long workerId) {
+		this.orderId = orderId;
+		this.customerName = customerName;
+		this.appointmentDate = appointmentDate;
+		this.orderStatus = orderStatus;
+		this.orderCategory = orderCategory;
+		this.workerId = workerId;
+	}
+
+	/**
+	 * Summarises an order that is already loaded.
+	 *
+	 * @param order the order
+	 * @return the summary of the order
+	 */
+	public static OrderSummary of(CustomerOrder order) {
+		return new OrderSummary(order.getOrderId(), order.getCustomerName(), order.getAppointmentDate(),
+				order.getOrderStatus(), order.getOrderCategory(),
+				order.getWorker() == null ? null : order.getWorker().getWorkerId());
+	}
+
+	/**
+	 * Gets the order id.
+	 *
+	 * @return the order id
+	 */
+	public Long getOrderId() {
+		return orderId;
+	}
+
+	/**
+	 * Gets the customer name.
+	 *
+	 * @return the customer name
+	 */
+	public String getCustomerName() {
+		return customerName;
+	}
+
+	/**
+	 * Gets the appointment date.
+	 *
+	 * @return the appointment date in {@code dd-MM-yyyy} form
+	 */
+	public String getAppointmentDate() {
+		return appointmentDate;
+	}
+
+	/**
+	 * Gets the order status.
+	 *
+	 * @return the order status
+	 */
+	public OrderStatus getOrderStatus() {
+		return orderStatus;
+	}
+
+	/**
+	 * Gets the order category.
+	 *
+	 * @return the order category
+	 */
+	public OrderCategory getOrderCategory() {
+		return orderCategory;
+	}
+
+	/**
+	 * Gets the worker id.
+	 *
+	 * @return the id of the assigned worker
+	 */
+	public Long getWorkerId() {
+		return workerId;
+	}
+
+	/**
+	 * Equals.
+	 *
+	 * @param obj the obj
+	 * @return true, if all fields are equal
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null || getClass() != obj.getClass())
+			return false;
+		OrderSummary other = (OrderSummary) obj;
+		return Objects.equals(orderId, other.orderId) && Objects.equals(customerName, other.customerName)
+				&& Objects.equals(appointmentDate, other.appointmentDate) && orderStatus == other.orderStatus
+				&& orderCategory == other.orderCategory && Objects.equals(workerId, other.workerId);
+	}
+
+	/**
+	 * Hash code.
+	 *
+	 * @return the int
+	 */
+	@Override
+	public int hashCode() {
+		return Objects.hash(orderId, customerName, appointmentDate, orderStatus, orderCategory, workerId);
+	}
+
+	/**
+	 * To string.
+	 *
+	 * @return the string
+	 */
+	@Override
+	public String toString() {
+		return "Order ID: " + orderId + ", Name: " + customerName + ", Date: " + appointmentDate + ", Category: "
+				+ orderCategory + ", Status: " + orderStatus + ", Worker ID: " + workerId;
+	}
+}
@@ -14,29 +14,42 @@ import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
-import javax.persistence.JoinColumn;
-import javax.persistence.JoinTable;
+import javax.persistence.Index;
 import javax.persistence.OneToMany;
+import javax.persistence.OrderBy;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
+
+import org.hibernate.annotations.OptimisticLock;
 
 import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
 
 /**
- * Represents a worker in the system.
+ * Represents a worker in the system. The name and category searches are backed
+ * by indexes, the phone number by its unique constraint, whose name is
+ * published as {@code WorkerRepository.UNIQUE_PHONE_NUMBER}. Concurrent updates
+ * are detected through the version column.
  */
 @Entity
+@Table(indexes = { @Index(name = "idx_worker_worker_name", columnList = "workerName"),
+		@Index(name = "idx_worker_worker_category", columnList = "workerCategory") }, uniqueConstraints = {
+				@UniqueConstraint(name = "worker_phone_number_unique", columnNames = "workerPhoneNumber") })
 public class Worker {
 
-	/** The worker id. */
+	/** The worker id, drawn from a pooled sequence. */
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "worker_seq")
+	@SequenceGenerator(name = "worker_seq", sequenceName = "worker_seq", allocationSize = 50)
 	private Long workerId;
 
 	/** The worker name. */
 	@Column(name = "workerName")
 	private String workerName;
 
-	/** The worker phone number. */
-	@Column(name = "workerPhoneNumber", unique = true)
+	/** The worker phone number, unique across workers. */
+	@Column(name = "workerPhoneNumber")
 	private String workerPhoneNumber;
 
 	/** The worker category. */
@@ -44,12 +57,22 @@ public class Worker {
 	@Enumerated(EnumType.STRING)
 	private OrderCategory workerCategory;
 
-	/** The orders. */
-	@OneToMany
-	@JoinTable(name = "Worker_Order", joinColumns = { @JoinColumn(name = "ord_id") }, inverseJoinColumns = {
-			@JoinColumn(name = "work_id") })
+	/**
+	 * The orders, mapped by the worker column of CustomerOrder. The collection is
+	 * lazy and only loaded by {@code WorkerRepository.findById}.
+	 */
+	@OneToMany(mappedBy = "worker")
+	@OrderBy("orderId")
+	@OptimisticLock(excluded = true)
 	private List<CustomerOrder> orders = new ArrayList<>();
 
+	/**
+	 * The version, incremented on every update. It is null until the worker is
+	 * saved; assigning orders to the worker does not change it.
+	 */
+	@Version
+	private Long version;
+
 	/**
 	 * Default constructor.
 	 */
@@ -189,6 +212,24 @@ public class Worker {
 		this.orders = orders;
 	}
 
+	/**
+	 * Gets the version.
+	 *
+	 * @return the version, or null if the worker was never saved
+	 */
+	public Long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Sets the version.
+	 *
+	 * @param version the version the worker was read with
+	 */
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	/**
 	 * Generates the hash code for the Worker object.
 	 *
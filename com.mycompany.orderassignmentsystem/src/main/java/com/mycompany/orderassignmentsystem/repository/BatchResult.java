@@ -0,0 +1,73 @@
+/*
+ * BatchResult: Outcome of a bulk repository write.
+ */
+package com.mycompany.orderassignmentsystem.repository;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a bulk repository write: the entities that were written and, for
+ * every row that could not be written, its position in the submitted
+ * collection together with the reason.
+ *
+ * @param <T> the entity type
+ */
+public class BatchResult<T> {
+
+	/** The saved entities, in submission order. */
+	private final List<T> saved;
+
+	/** The failure reasons keyed by the position of the row in the submission. */
+	private final Map<Integer, String> failures;
+
+	/**
+	 * Instantiates a new batch result.
+	 *
+	 * @param saved    the saved entities
+	 * @param failures the failure reasons keyed by row position
+	 */
+	public BatchResult(List<T> saved, Map<Integer, String> failures) {
+		this.saved = Collections.unmodifiableList(saved);
+		this.failures = Collections.unmodifiableMap(failures);
+	}
+
+	/**
+	 * Gets the saved entities.
+	 *
+	 * @return the saved entities, in submission order
+	 */
+	public List<T> getSaved() {
+		return saved;
+	}
+
+	/**
+	 * Gets the failures.
+	 *
+	 * @return the failure reasons keyed by the zero-based position of the row in
+	 *         the submitted collection
+	 */
+	public Map<Integer, String> getFailures() {
+		return failures;
+	}
+
+	/**
+	 * Checks whether any row failed.
+	 *
+	 * @return true, if at least one row could not be written
+	 */
+	public boolean hasFailures() {
+		return !failures.isEmpty();
+	}
+
+	/**
+	 * To string.
+	 *
+	 * @return the string
+	 */
+	@Override
+	public String toString() {
+		return "Saved: " + saved.size() + ", Failed: " + failures;
+	}
+}
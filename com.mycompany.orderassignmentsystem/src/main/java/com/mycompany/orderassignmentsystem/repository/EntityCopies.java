@@ -0,0 +1,70 @@
+/*
+ * EntityCopies: Detached copies of entities held in memory.
+ */
+package com.mycompany.orderassignmentsystem.repository;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.Worker;
+
+/**
+ * Copies of entities that a repository keeps in memory, so that callers
+ * changing a returned entity never change the held one.
+ */
+public final class EntityCopies {
+
+	/**
+	 * Instantiates a new entity copies.
+	 */
+	private EntityCopies() {
+	}
+
+	/**
+	 * Copies a worker without its orders.
+	 *
+	 * @param worker the worker, or null
+	 * @return the copy, or null
+	 */
+	public static Worker copy(Worker worker) {
+		if (worker == null) {
+			return null;
+		}
+		Worker copy = new Worker(worker.getWorkerId(), worker.getWorkerName(), worker.getWorkerPhoneNumber(),
+				worker.getWorkerCategory());
+		copy.setVersion(worker.getVersion());
+		return copy;
+	}
+
+	/**
+	 * Copies an order together with its worker.
+	 *
+	 * @param order the order, or null
+	 * @return the copy, or null
+	 */
+	public static CustomerOrder copy(CustomerOrder order) {
+		if (order == null) {
+			return null;
+		}
+		CustomerOrder copy = new CustomerOrder(order.getOrderId(), order.getCustomerName(),
+				order.getCustomerAddress(), order.getCustomerPhoneNumber(), order.getAppointmentDate(),
+				order.getOrderDescription(), order.getOrderCategory(), order.getOrderStatus(),
+				copy(order.getWorker()));
+		copy.setVersion(order.getVersion());
+		return copy;
+	}
+
+	/**
+	 * Copies every entity of a list.
+	 *
+	 * @param <T>      the entity type
+	 * @param entities the entities
+	 * @param copier   the copy of a single entity
+	 * @return the copies
+	 */
+	public static <T> List<T> copyAll(List<T> entities, UnaryOperator<T> copier) {
+		return entities.stream().map(copier).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * OrderArchiver: Job moving old completed and cancelled orders to the archive.
+ */
+package com.mycompany.orderassignmentsystem.repository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Archives the completed and cancelled orders whose appointment is older than
+ * a given number of days, once when started and then at a fixed interval, so
+ * that the searches and the order list only read the orders still in use.
+ *
+ * @see OrderRepository#archiveTerminalOrders(LocalDate)
+ */
+public class OrderArchiver {
+
+	/** The Constant LOGGER. */
+	private static final Logger LOGGER = LogManager.getLogger(OrderArchiver.class);
+
+	/** The repository. */
+	private final OrderRepository repository;
+
+	/** The age in days after which a terminal order is archived. */
+	private final int ageInDays;
+
+	/** The clock giving the current day. */
+	private final Clock clock;
+
+	/** The thread running the job, null until started. */
+	private ScheduledExecutorService scheduler;
+
+	/**
+	 * Instantiates a new order archiver.
+	 *
+	 * @param repository the repository
+	 * @param ageInDays  the number of days after its appointment that a completed
+	 *                   or cancelled order is archived
+	 * @param clock      the clock giving the current day
+	 * @throws IllegalArgumentException if the age is negative
+	 */
+	public OrderArchiver(OrderRepository repository, int ageInDays, Clock clock) {
+		if (ageInDays < 0) {
+			throw new IllegalArgumentException("The archive age cannot be negative.");
+		}
+		this.repository = repository;
+		this.ageInDays = ageInDays;
+		this.clock = clock;
+	}
+
+	/**
+	 * Archives the orders that are old enough now.
+	 *
+	 * @return the number of archived orders
+	 */
+	public int archive() {
+		LocalDate appointmentBefore = LocalDate.now(clock).minusDays(ageInDays);
+		int archived = repository.archiveTerminalOrders(appointmentBefore);
+		if (archived > 0) {
+			LOGGER.info("{} completed or cancelled orders before {} archived", archived, appointmentBefore);
+		}
+		return archived;
+	}
+
+	/**
+	 * Starts archiving in the background, right away and then at the given
+	 * interval.
+	 *
+	 * @param interval the time between two runs
+	 * @throws IllegalArgumentException if the interval is not positive
+	 * @throws IllegalStateException    if the archiver is already started
+	 */
+	public synchronized void start(Duration interval) {
+		if (interval.isNegative() || interval.isZero()) {
+			throw new IllegalArgumentException("The archive interval must be positive.");
+		}
+		if (scheduler != null) {
+			throw new IllegalStateException("The archiver is already started.");
+		}
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "order-archiver");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleWithFixedDelay(this::archiveQuietly, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stops archiving in the background, letting a running archive finish.
+	 */
+	public synchronized void close() {
+		if (scheduler == null) {
+			return;
+		}
+		scheduler.shutdown();
+		try {
+			scheduler.awaitTermination(1, TimeUnit.MINUTES);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Archives, logging a failure instead of throwing it.
+	 */
+	private void archiveQuietly() {
+		try {
+			archive();
+		} catch (RuntimeException e) {
+			LOGGER.warn("Failed to archive orders, retrying later: {}", e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * OrderFilter: Criteria selecting the orders of a streamed read.
+ */
+package com.mycompany.orderassignmentsystem.repository;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+import com.mycompany.orderassignmentsystem.model.AppointmentDateConverter;
+import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+
+/**
+ * Criteria selecting the orders of a streamed read: a status, a category and a
+ * range of appointment days, both ends included. A null criterion matches
+ * every order.
+ *
+ * @see OrderRepository#forEachOrder(OrderFilter, java.util.function.Consumer)
+ */
+public class OrderFilter {
+
+	/** The filter matching every order. */
+	public static final OrderFilter ALL = new OrderFilter(null, null, null, null);
+
+	/** The status, or null for any. */
+	private final OrderStatus status;
+
+	/** The category, or null for any. */
+	private final OrderCategory category;
+
+	/** The first appointment day, or null for no lower bound. */
+	private final LocalDate from;
+
+	/** The last appointment day, or null for no upper bound. */
+	private final LocalDate to;
+
+	/**
+	 * Instantiates a new order filter.
+	 *
+	 * @param status   the status, or null for any
+	 * @param category the category, or null for any
+	 * @param from     the first appointment day, or null for no lower bound
+	 * @param to       the last appointment day, or null for no upper bound
+	 * @throws IllegalArgumentException if the first day is after the last day
+	 */
+	public OrderFilter(OrderStatus status, OrderCategory category, LocalDate from, LocalDate to) {
+		if (from != null && to != null && from.isAfter(to)) {
+			throw new IllegalArgumentException("The first day of the range cannot be after the last day.");
+		}
+		this.status = status;
+		this.category = category;
+		this.from = from;
+		this.to = to;
+	}
+
+	/**
+	 * Gets the status.
+	 *
+	 * @return the status, or null for any
+	 */
+	public OrderStatus getStatus() {
+		return status;
+	}
+
+	/**
+	 * Gets the category.
+	 *
+	 * @return the category, or null for any
+	 */
+	public OrderCategory getCategory() {
+		return category;
+	}
+
+	/**
+	 * Gets the first appointment day.
+	 *
+	 * @return the first appointment day, or null for no lower bound
+	 */
+	public LocalDate getFrom() {
+		return from;
+	}
+
+	/**
+	 * Gets the last appointment day.
+	 *
+	 * @return the last appointment day, or null for no upper bound
+	 */
+	public LocalDate getTo() {
+		return to;
+	}
+
+	/**
+	 * Checks whether an order meets every criterion.
+	 *
+	 * @param order the order
+	 * @return true, if the order matches
+	 */
+	public boolean matches(CustomerOrder order) {
+		if (status != null && status != order.getOrderStatus()) {
+			return false;
+		}
+		if (category != null && category != order.getOrderCategory()) {
+			return false;
+		}
+		if (from == null && to == null) {
+			return true;
+		}
+		LocalDate day = LocalDate.parse(order.getAppointmentDate(), AppointmentDateConverter.FORMAT);
+		return (from == null || !day.isBefore(from)) && (to == null || !day.isAfter(to));
+	}
+
+	/**
+	 * Equals.
+	 *
+	 * @param obj the obj
+	 * @return true, if the criteria are the same
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		OrderFilter other = (OrderFilter) obj;
+		return status == other.status && category == other.category && Objects.equals(from, other.from)
+				&& Objects.equals(to, other.to);
+	}
+
+	/**
+	 * Hash code.
+	 *
+	 * @return the int
+	 */
+	@Override
+	public int hashCode() {
+		return Objects.hash(status, category, from, to);
+	}
+}
@@ -3,17 +3,30 @@
  */
 package com.mycompany.orderassignmentsystem.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.function.Consumer;
 
 import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderSearchOptions;
 import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
 import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.OrderSummary;
 
 /**
  * Interface for accessing and managing customer orders in the system.
  */
 public interface OrderRepository {
 
+	/**
+	 * The unique index allowing at most one pending order per worker. A save that
+	 * breaks the rule fails with a {@link UniqueConstraintException} naming it.
+	 */
+	public static final String ONE_PENDING_ORDER_PER_WORKER = "customer_order_one_pending_per_worker";
+
 	/**
 	 * Retrieves all customer orders in the system.
 	 *
@@ -22,10 +35,45 @@ public interface OrderRepository {
 	public List<CustomerOrder> findAll();
 
 	/**
-	 * Saves a new customer order
+	 * Retrieves all customer orders, optionally together with the archived ones.
+	 *
+	 * @param includeArchived whether the archived orders are included
+	 * @return the list of customer orders; archived orders follow the others,
+	 *         ordered by order ID
+	 */
+	public List<CustomerOrder> findAll(boolean includeArchived);
+
+	/**
+	 * Retrieves a summary of every customer order, without loading the order
+	 * entities or their workers.
+	 *
+	 * @return the list of order summaries, ordered by order ID
+	 */
+	public List<OrderSummary> findAllSummaries();
+
+	/**
+	 * Finds the summaries of the customer orders matching one search option.
+	 *
+	 * @param searchOption the search option, any but {@code NONE}
+	 * @param value        the value to match, of the type of the searched field:
+	 *                     {@code Long} for the ORDER_ID and WORKER_ID options,
+	 *                     the enum for CATEGORY and STATUS, a {@code String}
+	 *                     ({@code dd-MM-yyyy} for DATE) otherwise
+	 * @return the matching order summaries, ordered by order ID
+	 */
+	public List<OrderSummary> findSummaries(OrderSearchOptions searchOption, Object value);
+
+	/**
+	 * Saves a new customer order. An update is checked against the version the
+	 * order carries; an order without a version overwrites the stored one, which
+	 * is given the current version in the process.
 	 *
 	 * @param order the customer order to be saved or updated
 	 * @return the saved or updated customer order
+	 * @throws UniqueConstraintException if the order breaks a unique rule such as
+	 *                                   {@link #ONE_PENDING_ORDER_PER_WORKER}
+	 * @throws VersionConflictException  if the order was changed or deleted since
+	 *                                   its version was read
 	 */
 	public CustomerOrder save(CustomerOrder order);
 
@@ -36,6 +84,15 @@ public interface OrderRepository {
 	 */
 	public void delete(CustomerOrder order);
 
+	/**
+	 * Deletes the customer orders with the given ids in bulk, without loading them.
+	 * Ids that do not exist are ignored.
+	 *
+	 * @param orderIds the ids of the customer orders to be deleted
+	 * @return the number of deleted orders
+	 */
+	public int deleteAllById(Collection<Long> orderIds);
+
 	/**
 	 * Finds a customer order by its ID.
 	 *
@@ -53,6 +110,28 @@ public interface OrderRepository {
 	 */
 	public List<CustomerOrder> findByCustomerName(String name);
 
+	/**
+	 * Finds customer orders by customer name, optionally together with the
+	 * archived ones.
+	 *
+	 * @param name            the customer name
+	 * @param includeArchived whether the archived orders are included
+	 * @return the list of customer orders; archived orders follow the others,
+	 *         ordered by order ID
+	 */
+	public List<CustomerOrder> findByCustomerName(String name, boolean includeArchived);
+
+	/**
+	 * Finds customer orders whose customer name starts with or resembles the
+	 * given name, ranked as described by {@link TrigramIndex}: prefix matches
+	 * first, then by decreasing trigram similarity.
+	 *
+	 * @param name  the name or the beginning of the name of the customer
+	 * @param limit the maximum number of orders
+	 * @return the best matching customer orders, or empty list if none matches
+	 */
+	public List<CustomerOrder> findByCustomerNameSimilarTo(String name, int limit);
+
 	/**
 	 * Finds customer orders by customer phone number.
 	 *
@@ -62,6 +141,27 @@ public interface OrderRepository {
 	 */
 	public List<CustomerOrder> findByCustomerPhoneNumber(String phoneNumber);
 
+	/**
+	 * Finds customer orders whose customer phone number starts with the given
+	 * digits.
+	 *
+	 * @param prefix the first digits of the phone number
+	 * @param limit  the maximum number of orders
+	 * @return the matching customer orders, ordered by phone number and order
+	 *         ID, or empty list if none matches
+	 */
+	public List<CustomerOrder> findByCustomerPhoneNumberPrefix(String prefix, int limit);
+
+	/**
+	 * Completes the first digits of a customer phone number.
+	 *
+	 * @param prefix the first digits of the phone number
+	 * @param limit  the maximum number of phone numbers
+	 * @return the distinct customer phone numbers starting with the digits, in
+	 *         ascending order
+	 */
+	public List<String> completeCustomerPhoneNumber(String prefix, int limit);
+
 	/**
 	 * Finds customer orders by date.
 	 *
@@ -71,6 +171,20 @@ public interface OrderRepository {
 	 */
 	public List<CustomerOrder> findByDate(String date);
 
+	/**
+	 * Finds one page of the customer orders with an appointment date between the
+	 * given dates, both inclusive, ordered by appointment date and then order ID.
+	 * The next page starts after the last order of the previous page.
+	 *
+	 * @param from     the first appointment date
+	 * @param to       the last appointment date
+	 * @param after    the last order of the previous page, or null for the first
+	 *                 page
+	 * @param pageSize the maximum number of orders returned
+	 * @return the page of customer orders, empty when there are no more
+	 */
+	public List<CustomerOrder> findByDateRange(LocalDate from, LocalDate to, CustomerOrder after, int pageSize);
+
 	/**
 	 * Finds customer orders by order category.
 	 *
@@ -89,4 +203,89 @@ public interface OrderRepository {
 	 */
 	public List<CustomerOrder> findByOrderStatus(OrderStatus status);
 
+	/**
+	 * Checks whether the worker has a pending order, without loading the worker's
+	 * orders.
+	 *
+	 * @param workerId the ID of the worker
+	 * @return true, if the worker has at least one pending order
+	 */
+	public boolean existsPendingOrderForWorker(Long workerId);
+
+	/**
+	 * Retrieves one page of customer orders ordered by order ID, starting right
+	 * after the given cursor. The ID of the last order of a page is the cursor of
+	 * the next page.
+	 *
+	 * @param afterOrderId the ID of the last order of the previous page, or null
+	 *                     for the first page
+	 * @param pageSize     the maximum number of orders to return
+	 * @return the page of customer orders, empty when there are no more orders
+	 */
+	public List<CustomerOrder> findPage(Long afterOrderId, int pageSize);
+
+	/**
+	 * Streams every customer order, ordered by order ID, to the given action
+	 * without loading the whole table in memory.
+	 *
+	 * @param action the action invoked once per customer order
+	 */
+	public void forEachOrder(Consumer<CustomerOrder> action);
+
+	/**
+	 * Streams the customer orders matching the filter, ordered by order ID, to
+	 * the given action without loading them all in memory.
+	 *
+	 * @param filter the criteria the orders must meet
+	 * @param action the action invoked once per matching customer order
+	 */
+	public void forEachOrder(OrderFilter filter, Consumer<CustomerOrder> action);
+
+	/**
+	 * Counts the customer orders of every status and category with a single
+	 * grouped query. Every status and category is present in the result, with a
+	 * count of zero when there is no such order.
+	 *
+	 * @return the order counts keyed by status, then by category
+	 */
+	public Map<OrderStatus, Map<OrderCategory, Long>> countByStatusAndCategory();
+
+	/**
+	 * Counts the customer orders of every worker with a single grouped query.
+	 * Workers without orders are not present in the result.
+	 *
+	 * @return the order counts keyed by worker ID, ordered by worker ID
+	 */
+	public Map<Long, Long> countByWorker();
+
+	/**
+	 * Counts the customer orders of every appointment day in the given range,
+	 * both ends included, with a single grouped query. Days without orders are
+	 * not present in the result.
+	 *
+	 * @param from the first day of the range
+	 * @param to   the last day of the range
+	 * @return the order counts keyed by appointment day
+	 */
+	public SortedMap<LocalDate, Long> countByDate(LocalDate from, LocalDate to);
+
+	/**
+	 * Saves the given customer orders in a single transaction, sending the
+	 * inserts and updates as JDBC batches.
+	 *
+	 * @param orders the customer orders to be saved or updated
+	 * @return the saved orders and the rows that could not be saved
+	 */
+	public BatchResult<CustomerOrder> saveAll(Collection<CustomerOrder> orders);
+
+	/**
+	 * Moves the completed and cancelled orders whose appointment date is before
+	 * the given day to the archive. Archived orders are left out of every search
+	 * unless it includes them explicitly.
+	 *
+	 * @param appointmentBefore the first appointment day that is kept
+	 * @return the number of archived orders
+	 */
+	public int archiveTerminalOrders(LocalDate appointmentBefore);
+
 }
@@ -0,0 +1,288 @@
+/*
+ * PhoneNumberTrie: In-memory digit trie for exact and prefix phone number lookups.
+ */
+package com.mycompany.orderassignmentsystem.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An in-memory index of phone numbers by their digits. The trie is kept in
+ * primitive arrays: every node has ten child slots, one per digit, and the ids
+ * holding the number that ends at a node are kept in a small sorted array.
+ * Nodes also count the ids below them, so that prefix lookups skip the
+ * branches whose numbers have all been removed.
+ *
+ * Walking the children in digit order visits the numbers in ascending order,
+ * which is the order of the prefix lookups and of the completions. Only
+ * numbers made of digits are indexed, as {@code validatePhoneNumber} requires;
+ * any other number is ignored. The index is not thread safe.
+ */
+public final class PhoneNumberTrie {
+
+	/** The number of children of a node. */
+	private static final int DIGITS = 10;
+
+	/** The root node, which is never a child; 0 in a child slot means none. */
+	private static final int ROOT = 0;
+
+	/** The node of a digit string no indexed number starts with. */
+	private static final int MISSING = -1;
+
+	/** The children of the nodes, ten slots per node. */
+	private int[] children = new int[16 * DIGITS];
+
+	/** The number of ids at or below each node. */
+	private int[] counts = new int[16];
+
+	/** The sorted ids of the number ending at each node, null for none. */
+	private long[][] ids = new long[16][];
+
+	/** The number of nodes in use. */
+	private int nodes = 1;
+
+	/** The indexed number of each id. */
+	private final Map<Long, String> numbers = new HashMap<>();
+
+	/**
+	 * Indexes the phone number of an id, replacing its previous number.
+	 *
+	 * @param id          the id
+	 * @param phoneNumber the phone number, or null to only remove the previous
+	 *                    number
+	 */
+	public void put(long id, String phoneNumber) {
+		remove(id);
+		if (!isDigits(phoneNumber)) {
+			return;
+		}
+		int node = ROOT;
+		counts[node]++;
+		for (int i = 0; i < phoneNumber.length(); i++) {
+			int slot = node * DIGITS + phoneNumber.charAt(i) - '0';
+			if (children[slot] == ROOT) {
+				// allocated first: newNode() may replace the children array
+				int child = newNode();
+				children[slot] = child;
+			}
+			node = children[slot];
+			counts[node]++;
+		}
+		ids[node] = insert(ids[node], id);
+		numbers.put(id, phoneNumber);
+	}
+
+	/**
+	 * Removes the phone number of an id.
+	 *
+	 * @param id the id
+	 */
+	public void remove(long id) {
+		String phoneNumber = numbers.remove(id);
+		if (phoneNumber == null) {
+			return;
+		}
+		int node = ROOT;
+		counts[node]--;
+		for (int i = 0; i < phoneNumber.length(); i++) {
+			node = children[node * DIGITS + phoneNumber.charAt(i) - '0'];
+			counts[node]--;
+		}
+		ids[node] = delete(ids[node], id);
+	}
+
+	/**
+	 * Finds the ids holding exactly the given phone number.
+	 *
+	 * @param phoneNumber the phone number
+	 * @return the ids, in ascending order
+	 */
+	public List<Long> find(String phoneNumber) {
+		List<Long> found = new ArrayList<>();
+		int node = nodeOf(phoneNumber);
+		if (node != MISSING && ids[node] != null) {
+			for (long id : ids[node]) {
+				found.add(id);
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Finds the ids whose phone number starts with the prefix.
+	 *
+	 * @param prefix the prefix
+	 * @param limit  the maximum number of ids
+	 * @return the ids, by ascending phone number and then id
+	 */
+	public List<Long> findByPrefix(String prefix, int limit) {
+		List<Long> found = new ArrayList<>();
+		int node = nodeOf(prefix);
+		if (node != MISSING) {
+			collectIds(node, found, limit);
+		}
+		return found;
+	}
+
+	/**
+	 * Completes a phone number prefix.
+	 *
+	 * @param prefix the prefix
+	 * @param limit  the maximum number of phone numbers
+	 * @return the distinct indexed phone numbers starting with the prefix, in
+	 *         ascending order
+	 */
+	public List<String> complete(String prefix, int limit) {
+		List<String> completions = new ArrayList<>();
+		int node = nodeOf(prefix);
+		if (node != MISSING) {
+			collectNumbers(node, new StringBuilder(prefix), completions, limit);
+		}
+		return completions;
+	}
+
+	/**
+	 * Finds the node of a digit string.
+	 *
+	 * @param digits the digits
+	 * @return the node, the root for the empty string, or {@link #MISSING} if
+	 *         no indexed number starts with the digits
+	 */
+	private int nodeOf(String digits) {
+		if (digits == null || !(digits.isEmpty() || isDigits(digits))) {
+			return MISSING;
+		}
+		int node = ROOT;
+		for (int i = 0; i < digits.length(); i++) {
+			node = children[node * DIGITS + digits.charAt(i) - '0'];
+			if (node == ROOT) {
+				return MISSING;
+			}
+		}
+		return counts[node] == 0 ? MISSING : node;
+	}
+
+	/**
+	 * Collects the ids at and below a node in phone number order.
+	 *
+	 * @param node  the node
+	 * @param found the ids found so far
+	 * @param limit the maximum number of ids
+	 */
+	private void collectIds(int node, List<Long> found, int limit) {
+		if (ids[node] != null) {
+			for (int i = 0; i < ids[node].length && found.size() < limit; i++) {
+				found.add(ids[node][i]);
+			}
+		}
+		for (int digit = 0; digit < DIGITS && found.size() < limit; digit++) {
+			int child = children[node * DIGITS + digit];
+			if (child != ROOT && counts[child] > 0) {
+				collectIds(child, found, limit);
+			}
+		}
+	}
+
+	/**
+	 * Collects the numbers ending at and below a node in ascending order.
+	 *
+	 * @param node        the node
+	 * @param number      the digits leading to the node
+	 * @param completions the numbers found so far
+	 * @param limit       the maximum number of numbers
+	 */
+	private void collectNumbers(int node, StringBuilder number, List<String> completions, int limit) {
+		if (ids[node] != null && ids[node].length > 0) {
+			completions.add(number.toString());
+		}
+		for (int digit = 0; digit < DIGITS && completions.size() < limit; digit++) {
+			int child = children[node * DIGITS + digit];
+			if (child != ROOT && counts[child] > 0) {
+				number.append((char) ('0' + digit));
+				collectNumbers(child, number, completions, limit);
+				number.setLength(number.length() - 1);
+			}
+		}
+	}
+
+	/**
+	 * Allocates a node, growing the arrays when they are full.
+	 *
+	 * @return the new node
+	 */
+	private int newNode() {
+		if (nodes == counts.length) {
+			int capacity = nodes * 2;
+			children = Arrays.copyOf(children, capacity * DIGITS);
+			counts = Arrays.copyOf(counts, capacity);
+			ids = Arrays.copyOf(ids, capacity);
+		}
+		return nodes++;
+	}
+
+	/**
+	 * Checks that a phone number is a non-empty string of digits.
+	 *
+	 * @param phoneNumber the phone number
+	 * @return true, if the number can be indexed
+	 */
+	private static boolean isDigits(String phoneNumber) {
+		if (phoneNumber == null || phoneNumber.isEmpty()) {
+			return false;
+		}
+		for (int i = 0; i < phoneNumber.length(); i++) {
+			char c = phoneNumber.charAt(i);
+			if (c < '0' || c > '9') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Inserts an id into a sorted id array.
+	 *
+	 * @param sorted the sorted ids, or null
+	 * @param id     the id
+	 * @return the sorted ids including the id
+	 */
+	private static long[] insert(long[] sorted, long id) {
+		if (sorted == null) {
+			return new long[] { id };
+		}
+		int position = Arrays.binarySearch(sorted, id);
+		if (position >= 0) {
+			return sorted;
+		}
+		position = -position - 1;
+		long[] grown = new long[sorted.length + 1];
+		System.arraycopy(sorted, 0, grown, 0, position);
+		grown[position] = id;
+		System.arraycopy(sorted, position, grown, position + 1, sorted.length - position);
+		return grown;
+	}
+
+	/**
+	 * Deletes an id from a sorted id array.
+	 *
+	 * @param sorted the sorted ids
+	 * @param id     the id
+	 * @return the sorted ids without the id, or null if none is left
+	 */
+	private static long[] delete(long[] sorted, long id) {
+		int position = Arrays.binarySearch(sorted, id);
+		if (position < 0) {
+			return sorted;
+		}
+		if (sorted.length == 1) {
+			return null;
+		}
+		long[] shrunk = new long[sorted.length - 1];
+		System.arraycopy(sorted, 0, shrunk, 0, position);
+		System.arraycopy(sorted, position + 1, shrunk, position, shrunk.length - position);
+		return shrunk;
+	}
+}
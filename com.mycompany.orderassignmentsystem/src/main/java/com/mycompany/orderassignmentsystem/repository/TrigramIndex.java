@@ -0,0 +1,202 @@
+/*
+ * TrigramIndex: In-memory trigram index for prefix and similar name search.
+ */
+package com.mycompany.orderassignmentsystem.repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An in-memory index of names by their trigrams, answering prefix and similar
+ * name searches the way the PostgreSQL {@code pg_trgm} extension does. A name
+ * is lower-cased and split into words, every word is padded with two spaces in
+ * front and one behind, and its trigrams are the three-character substrings.
+ * The similarity of two names is the number of trigrams they share divided by
+ * the number of distinct trigrams of both.
+ *
+ * A name matches a query if it starts with the query or its similarity reaches
+ * {@link #SIMILARITY_THRESHOLD}, the default threshold of {@code pg_trgm}.
+ * Matches are ranked prefix matches first, then by decreasing similarity, then
+ * by id. The index is not thread safe.
+ */
+public final class TrigramIndex {
+
+	/** The lowest similarity of a match that is not a prefix match. */
+	public static final double SIMILARITY_THRESHOLD = 0.3;
+
+	/** The normalised names by id. */
+	private final Map<Long, String> names = new HashMap<>();
+
+	/** The trigrams of the names by id. */
+	private final Map<Long, Set<String>> trigramsById = new HashMap<>();
+
+	/** The ids of the names containing each trigram. */
+	private final Map<String, Set<Long>> idsByTrigram = new HashMap<>();
+
+	/**
+	 * Indexes the name of an id, replacing its previous name.
+	 *
+	 * @param id   the id
+	 * @param name the name, or null to only remove the previous name
+	 */
+	public void put(long id, String name) {
+		remove(id);
+		if (name == null) {
+			return;
+		}
+		Set<String> trigrams = trigrams(name);
+		names.put(id, normalise(name));
+		trigramsById.put(id, trigrams);
+		for (String trigram : trigrams) {
+			idsByTrigram.computeIfAbsent(trigram, t -> new HashSet<>()).add(id);
+		}
+	}
+
+	/**
+	 * Removes the name of an id.
+	 *
+	 * @param id the id
+	 */
+	public void remove(long id) {
+		names.remove(id);
+		Set<String> trigrams = trigramsById.remove(id);
+		if (trigrams == null) {
+			return;
+		}
+		for (String trigram : trigrams) {
+			Set<Long> ids = idsByTrigram.get(trigram);
+			ids.remove(id);
+			if (ids.isEmpty()) {
+				idsByTrigram.remove(trigram);
+			}
+		}
+	}
+
+	/**
+	 * Finds the ids of the names matching the query, best match first.
+	 *
+	 * @param query the query
+	 * @param limit the maximum number of ids
+	 * @return the ids of the matching names, ranked
+	 */
+	public List<Long> search(String query, int limit) {
+		String prefix = normalise(query);
+		Set<String> queryTrigrams = trigrams(query);
+		// every match shares a trigram with the query: a prefix match at least the
+		// padded first letters
+		Set<Long> candidates = new HashSet<>();
+		for (String trigram : queryTrigrams) {
+			candidates.addAll(idsByTrigram.getOrDefault(trigram, new HashSet<>()));
+		}
+		List<Match> matches = new ArrayList<>();
+		for (Long id : candidates) {
+			boolean prefixMatch = !prefix.isEmpty() && names.get(id).startsWith(prefix);
+			double similarity = similarity(queryTrigrams, trigramsById.get(id));
+			if (prefixMatch || similarity >= SIMILARITY_THRESHOLD) {
+				matches.add(new Match(id, prefixMatch, similarity));
+			}
+		}
+		matches.sort(Comparator.comparing((Match match) -> !match.prefix)
+				.thenComparing(match -> -match.similarity).thenComparing(match -> match.id));
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < Math.min(limit, matches.size()); i++) {
+			ids.add(matches.get(i).id);
+		}
+		return ids;
+	}
+
+	/**
+	 * Computes the trigram similarity of two names.
+	 *
+	 * @param first  the first name
+	 * @param second the second name
+	 * @return the similarity, between 0 and 1
+	 */
+	public static double similarity(String first, String second) {
+		return similarity(trigrams(first), trigrams(second));
+	}
+
+	/**
+	 * Computes the similarity of two trigram sets.
+	 *
+	 * @param first  the first trigram set
+	 * @param second the second trigram set
+	 * @return the shared trigrams divided by all distinct trigrams
+	 */
+	private static double similarity(Set<String> first, Set<String> second) {
+		if (first.isEmpty() || second.isEmpty()) {
+			return 0;
+		}
+		int shared = 0;
+		for (String trigram : first) {
+			if (second.contains(trigram)) {
+				shared++;
+			}
+		}
+		return (double) shared / (first.size() + second.size() - shared);
+	}
+
+	/**
+	 * Extracts the trigrams of the words of a name.
+	 *
+	 * @param name the name
+	 * @return the trigrams
+	 */
+	private static Set<String> trigrams(String name) {
+		Set<String> trigrams = new HashSet<>();
+		for (String word : normalise(name).split("[^\\p{L}\\p{N}]+")) {
+			if (word.isEmpty()) {
+				continue;
+			}
+			String padded = "  " + word + " ";
+			for (int i = 0; i + 3 <= padded.length(); i++) {
+				trigrams.add(padded.substring(i, i + 3));
+			}
+		}
+		return trigrams;
+	}
+
+	/**
+	 * Normalises a name for comparison.
+	 *
+	 * @param name the name
+	 * @return the trimmed, lower-cased name
+	 */
+	private static String normalise(String name) {
+		return name.trim().toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * A matching name.
+	 */
+	private static final class Match {
+
+		/** The id. */
+		private final long id;
+
+		/** Whether the name starts with the query. */
+		private final boolean prefix;
+
+		/** The similarity to the query. */
+		private final double similarity;
+
+		/**
+		 * Instantiates a new match.
+		 *
+		 * @param id         the id
+		 * @param prefix     whether the name starts with the query
+		 * @param similarity the similarity to the query
+		 */
+		private Match(long id, boolean prefix, double similarity) {
+			this.id = id;
+			this.prefix = prefix;
+			this.similarity = similarity;
+		}
+	}
+}
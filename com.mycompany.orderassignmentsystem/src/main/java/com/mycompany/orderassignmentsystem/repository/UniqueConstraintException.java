@@ -0,0 +1,63 @@
+/*
+ * UniqueConstraintException: Raised when a write violates a unique constraint.
+ */
+package com.mycompany.orderassignmentsystem.repository;
+
+/**
+ * Raised by a repository when a write is rejected because it violates a unique
+ * constraint or unique index of the database. Callers can tell which rule was
+ * broken through {@link #isViolationOf(String)} and turn it into a validation
+ * message.
+ */
+public class UniqueConstraintException extends IllegalStateException {
+
+	/** The Constant serialVersionUID. */
+	private static final long serialVersionUID = 1L;
+
+	/** The name of the violated constraint, if the driver reported it. */
+	private final String constraintName;
+
+	/**
+	 * Instantiates a new unique constraint exception.
+	 *
+	 * @param message        the message
+	 * @param constraintName the name of the violated constraint, or null
+	 * @param cause          the cause
+	 */
+	public UniqueConstraintException(String message, String constraintName, Throwable cause) {
+		super(message, cause);
+		this.constraintName = constraintName;
+	}
+
+	/**
+	 * Gets the constraint name.
+	 *
+	 * @return the name of the violated constraint, or null if unknown
+	 */
+	public String getConstraintName() {
+		return constraintName;
+	}
+
+	/**
+	 * Checks whether the given constraint was violated. When the driver did not
+	 * report the constraint name on its own, the database error message is
+	 * searched for it instead.
+	 *
+	 * @param name the constraint or unique index name
+	 * @return true, if this exception is a violation of that constraint
+	 */
+	public boolean isViolationOf(String name) {
+		if (constraintName != null) {
+			return constraintName.equalsIgnoreCase(name);
+		}
+		for (Throwable cause = getCause(); cause != null; cause = cause.getCause()) {
+			if (cause.getMessage() != null && cause.getMessage().toLowerCase().contains(name.toLowerCase())) {
+				return true;
+			}
+			if (cause.getCause() == cause) {
+				break;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,25 @@
+/*
+ * VersionConflictException: Raised when an update is based on an outdated version.
+ */
+package com.mycompany.orderassignmentsystem.repository;
+
+/**
+ * Raised by a repository when an update is rejected because the entity was
+ * changed or deleted by another writer since the version the caller read. The
+ * caller has to read the entity again before retrying.
+ */
+public class VersionConflictException extends IllegalStateException {
+
+	/** The Constant serialVersionUID. */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Instantiates a new version conflict exception.
+	 *
+	 * @param message the message
+	 * @param cause   the cause
+	 */
+	public VersionConflictException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
@@ -3,6 +3,7 @@
  */
 package com.mycompany.orderassignmentsystem.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
@@ -13,6 +14,13 @@ import com.mycompany.orderassignmentsystem.model.Worker;
  */
 public interface WorkerRepository {
 
+	/**
+	 * The unique constraint on the worker phone number. A save that reuses the
+	 * phone number of another worker fails with a
+	 * {@link UniqueConstraintException} naming it.
+	 */
+	public static final String UNIQUE_PHONE_NUMBER = "worker_phone_number_unique";
+
 	/**
 	 * Retrieves all workers in the system.
 	 *
@@ -21,13 +29,23 @@ public interface WorkerRepository {
 	public List<Worker> findAll();
 
 	/**
-	 * Finds a worker by their ID.
+	 * Finds a worker by their ID, together with their orders.
 	 *
 	 * @param workerId the ID of the worker
 	 * @return the found worker, or null if not found
 	 */
 	public Worker findById(Long workerId);
 
+	/**
+	 * Finds a worker by their ID without loading their orders. Use it when only
+	 * the worker's own fields are needed; the orders of the returned worker must
+	 * not be accessed.
+	 *
+	 * @param workerId the ID of the worker
+	 * @return the found worker, or null if not found
+	 */
+	public Worker findByIdWithoutOrders(Long workerId);
+
 	/**
 	 * Finds workers by their name.
 	 *
@@ -36,6 +54,17 @@ public interface WorkerRepository {
 	 */
 	public List<Worker> findByName(String workerName);
 
+	/**
+	 * Finds workers whose name starts with or resembles the given name, ranked as
+	 * described by {@link TrigramIndex}: prefix matches first, then by decreasing
+	 * trigram similarity.
+	 *
+	 * @param workerName the name or the beginning of the name of the worker
+	 * @param limit      the maximum number of workers
+	 * @return the best matching workers, or empty list if none matches
+	 */
+	public List<Worker> findByNameSimilarTo(String workerName, int limit);
+
 	/**
 	 * Finds workers by their assigned order category.
 	 *
@@ -54,10 +83,36 @@ public interface WorkerRepository {
 	public Worker findByPhoneNumber(String phoneNumber);
 
 	/**
-	 * Saves a new worker or updates an existing one.
+	 * Finds workers whose phone number starts with the given digits.
+	 *
+	 * @param prefix the first digits of the phone number
+	 * @param limit  the maximum number of workers
+	 * @return the matching workers, ordered by phone number, or empty list if
+	 *         none matches
+	 */
+	public List<Worker> findByPhoneNumberPrefix(String prefix, int limit);
+
+	/**
+	 * Completes the first digits of a worker phone number.
+	 *
+	 * @param prefix the first digits of the phone number
+	 * @param limit  the maximum number of phone numbers
+	 * @return the worker phone numbers starting with the digits, in ascending
+	 *         order
+	 */
+	public List<String> completePhoneNumber(String prefix, int limit);
+
+	/**
+	 * Saves a new worker or updates an existing one. An update is checked against
+	 * the version the worker carries; a worker without a version overwrites the
+	 * stored one, which is given the current version in the process.
 	 *
 	 * @param worker the worker to be saved or updated
 	 * @return the saved
+	 * @throws UniqueConstraintException if the phone number belongs to another
+	 *                                   worker, see {@link #UNIQUE_PHONE_NUMBER}
+	 * @throws VersionConflictException  if the worker was changed or deleted since
+	 *                                   its version was read
 	 */
 	public Worker save(Worker worker);
 
@@ -68,4 +123,23 @@ public interface WorkerRepository {
 	 */
 	public void delete(Worker worker);
 
+	/**
+	 * Deletes the workers with the given ids in bulk, without loading them. Ids
+	 * that do not exist are ignored. Workers that still have orders cannot be
+	 * deleted; the whole call then fails and nothing is deleted.
+	 *
+	 * @param workerIds the ids of the workers to be deleted
+	 * @return the number of deleted workers
+	 */
+	public int deleteAllById(Collection<Long> workerIds);
+
+	/**
+	 * Saves the given workers in a single transaction, sending the inserts and
+	 * updates as JDBC batches.
+	 *
+	 * @param workers the workers to be saved or updated
+	 * @return the saved workers and the rows that could not be saved
+	 */
+	public BatchResult<Worker> saveAll(Collection<Worker> workers);
+
 }
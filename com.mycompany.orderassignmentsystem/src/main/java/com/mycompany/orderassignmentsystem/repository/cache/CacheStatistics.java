@@ -0,0 +1,114 @@
+/*
+ * CacheStatistics: Counters of a repository cache.
+ */
+package com.mycompany.orderassignmentsystem.repository.cache;
+
+import java.util.Locale;
+
+/**
+ * A snapshot of the counters of a repository cache, used to size it: a low hit
+ * rate with many evictions asks for a larger cache, a low hit rate with many
+ * invalidations for a different caching strategy.
+ */
+public class CacheStatistics {
+
+	/** The number of lookups answered from the cache. */
+	private final long hits;
+
+	/** The number of lookups that had to load the value. */
+	private final long misses;
+
+	/** The number of entries dropped to stay within the maximum size. */
+	private final long evictions;
+
+	/** The number of entries dropped because the data changed. */
+	private final long invalidations;
+
+	/** The number of entries held when the snapshot was taken. */
+	private final int size;
+
+	/**
+	 * Instantiates a new cache statistics snapshot.
+	 *
+	 * @param hits          the hits
+	 * @param misses        the misses
+	 * @param evictions     the evictions
+	 * @param invalidations the invalidations
+	 * @param size          the current size
+	 */
+	public CacheStatistics(long hits, long misses, long evictions, long invalidations, int size) {
+		this.hits = hits;
+		this.misses = misses;
+		this.evictions = evictions;
+		this.invalidations = invalidations;
+		this.size = size;
+	}
+
+	/**
+	 * Gets the hits.
+	 *
+	 * @return the number of lookups answered from the cache
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Gets the misses.
+	 *
+	 * @return the number of lookups that had to load the value
+	 */
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Gets the evictions.
+	 *
+	 * @return the number of entries dropped to stay within the maximum size
+	 */
+	public long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Gets the invalidations.
+	 *
+	 * @return the number of entries dropped because the data changed
+	 */
+	public long getInvalidations() {
+		return invalidations;
+	}
+
+	/**
+	 * Gets the size.
+	 *
+	 * @return the number of entries held
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Gets the hit rate.
+	 *
+	 * @return the share of lookups answered from the cache, or 0 if there was no
+	 *         lookup yet
+	 */
+	public double getHitRate() {
+		long lookups = hits + misses;
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+
+	/**
+	 * To string.
+	 *
+	 * @return the string
+	 */
+	@Override
+	public String toString() {
+		return "Hits: " + hits + ", Misses: " + misses + ", Hit rate: "
+				+ String.format(Locale.ROOT, "%.2f", getHitRate()) + ", Evictions: " + evictions + ", Invalidations: "
+				+ invalidations + ", Size: " + size;
+	}
+}
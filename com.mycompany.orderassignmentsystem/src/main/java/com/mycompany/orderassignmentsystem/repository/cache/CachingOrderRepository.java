@@ -0,0 +1,332 @@
+/*
+ * CachingOrderRepository: Order repository that caches the category and status searches.
+ */
+package com.mycompany.orderassignmentsystem.repository.cache;
+
+import static com.mycompany.orderassignmentsystem.repository.EntityCopies.copyAll;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderSearchOptions;
+import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.OrderSummary;
+import com.mycompany.orderassignmentsystem.repository.BatchResult;
+import com.mycompany.orderassignmentsystem.repository.EntityCopies;
+import com.mycompany.orderassignmentsystem.repository.OrderFilter;
+import com.mycompany.orderassignmentsystem.repository.OrderRepository;
+
+/**
+ * Wraps an {@link OrderRepository} and caches the results of
+ * {@link #findByOrderCategory(OrderCategory)} and
+ * {@link #findByOrderStatus(OrderStatus)}, the most frequent searches of the
+ * dispatchers, and of the same searches made by
+ * {@link #findSummaries(OrderSearchOptions, Object)} for the order list. There
+ * is one entry per category and per status in each cache, and an entry stays
+ * valid until an order written through this repository changes it or it
+ * reaches its time to live.
+ *
+ * Invalidation is limited to the affected entries: a written order drops the
+ * entries of its new category and status, and every cached result that still
+ * holds the order, which covers its old category and status. Writes never
+ * query the database for the previous state of an order.
+ *
+ * Results larger than the configured maximum are returned without being
+ * cached, which bounds the memory held by the cache. All other methods are
+ * passed through. Callers receive copies of the cached orders, and the cached
+ * summary lists themselves, which cannot be modified.
+ */
+public class CachingOrderRepository implements OrderRepository {
+
+	/** The number of cache entries, one per category and one per status. */
+	private static final int KEYS = OrderCategory.values().length + OrderStatus.values().length;
+
+	/** The wrapped repository. */
+	private final OrderRepository delegate;
+
+	/** The maximum number of orders of a cached result. */
+	private final int maximumResultSize;
+
+	/** The search results keyed by category or status. */
+	private final ExpiringLruCache<Enum<?>, List<CustomerOrder>> results;
+
+	/** The summary search results keyed by category or status. */
+	private final ExpiringLruCache<Enum<?>, List<OrderSummary>> summaryResults;
+
+	/**
+	 * Instantiates a new caching order repository.
+	 *
+	 * @param delegate          the wrapped repository
+	 * @param maximumResultSize the maximum number of orders of a cached result
+	 * @param timeToLive        the time after which a result is read again
+	 * @throws IllegalArgumentException if the result size or the time to live is
+	 *                                  not positive
+	 */
+	public CachingOrderRepository(OrderRepository delegate, int maximumResultSize, Duration timeToLive) {
+		this(delegate, maximumResultSize, timeToLive, System::nanoTime);
+	}
+
+	/**
+	 * Instantiates a new caching order repository with the given clock.
+	 *
+	 * @param delegate          the wrapped repository
+	 * @param maximumResultSize the maximum number of orders of a cached result
+	 * @param timeToLive        the time after which a result is read again
+	 * @param clock             the clock, in nanoseconds
+	 */
+	CachingOrderRepository(OrderRepository delegate, int maximumResultSize, Duration timeToLive,
+			LongSupplier clock) {
+		if (maximumResultSize < 1) {
+			throw new IllegalArgumentException("The maximum cached result size must be positive.");
+		}
+		this.delegate = delegate;
+		this.maximumResultSize = maximumResultSize;
+		this.results = new ExpiringLruCache<>(KEYS, timeToLive, clock);
+		this.summaryResults = new ExpiringLruCache<>(KEYS, timeToLive, clock);
+	}
+
+	@Override
+	public List<CustomerOrder> findByOrderCategory(OrderCategory category) {
+		if (category == null) {
+			return delegate.findByOrderCategory(null);
+		}
+		return cached(category, () -> delegate.findByOrderCategory(category));
+	}
+
+	@Override
+	public List<CustomerOrder> findByOrderStatus(OrderStatus status) {
+		if (status == null) {
+			return delegate.findByOrderStatus(null);
+		}
+		return cached(status, () -> delegate.findByOrderStatus(status));
+	}
+
+	@Override
+	public CustomerOrder save(CustomerOrder order) {
+		try {
+			return delegate.save(order);
+		} finally {
+			invalidate(order);
+		}
+	}
+
+	@Override
+	public void delete(CustomerOrder order) {
+		try {
+			delegate.delete(order);
+		} finally {
+			invalidate(order);
+		}
+	}
+
+	@Override
+	public int deleteAllById(Collection<Long> orderIds) {
+		try {
+			return delegate.deleteAllById(orderIds);
+		} finally {
+			Set<Long> ids = new HashSet<>(orderIds);
+			results.invalidateIf((key, orders) -> orders.stream().anyMatch(o -> ids.contains(o.getOrderId())));
+			summaryResults.invalidateIf((key, rows) -> rows.stream().anyMatch(o -> ids.contains(o.getOrderId())));
+		}
+	}
+
+	@Override
+	public BatchResult<CustomerOrder> saveAll(Collection<CustomerOrder> orders) {
+		try {
+			return delegate.saveAll(orders);
+		} finally {
+			orders.forEach(this::invalidate);
+		}
+	}
+
+	@Override
+	public int archiveTerminalOrders(LocalDate appointmentBefore) {
+		try {
+			return delegate.archiveTerminalOrders(appointmentBefore);
+		} finally {
+			// the archived orders are all completed or cancelled
+			results.invalidateIf((key, orders) -> orders.stream().map(CustomerOrder::getOrderStatus)
+					.anyMatch(CachingOrderRepository::isTerminal));
+			summaryResults.invalidateIf((key, rows) -> rows.stream().map(OrderSummary::getOrderStatus)
+					.anyMatch(CachingOrderRepository::isTerminal));
+		}
+	}
+
+	@Override
+	public List<CustomerOrder> findAll() {
+		return delegate.findAll();
+	}
+
+	@Override
+	public List<CustomerOrder> findAll(boolean includeArchived) {
+		return delegate.findAll(includeArchived);
+	}
+
+	@Override
+	public List<OrderSummary> findAllSummaries() {
+		return delegate.findAllSummaries();
+	}
+
+	@Override
+	public List<OrderSummary> findSummaries(OrderSearchOptions searchOption, Object value) {
+		boolean cachedOption = searchOption == OrderSearchOptions.CATEGORY || searchOption == OrderSearchOptions.STATUS;
+		if (cachedOption && value != null) {
+			return summaryResults.get((Enum<?>) value,
+					k -> Collections.unmodifiableList(delegate.findSummaries(searchOption, value)),
+					rows -> rows.size() <= maximumResultSize);
+		}
+		return delegate.findSummaries(searchOption, value);
+	}
+
+	@Override
+	public CustomerOrder findById(Long orderId) {
+		return delegate.findById(orderId);
+	}
+
+	@Override
+	public List<CustomerOrder> findByCustomerName(String name) {
+		return delegate.findByCustomerName(name);
+	}
+
+	@Override
+	public List<CustomerOrder> findByCustomerName(String name, boolean includeArchived) {
+		return delegate.findByCustomerName(name, includeArchived);
+	}
+
+	@Override
+	public List<CustomerOrder> findByCustomerNameSimilarTo(String name, int limit) {
+		return delegate.findByCustomerNameSimilarTo(name, limit);
+	}
+
+	@Override
+	public List<CustomerOrder> findByCustomerPhoneNumber(String phoneNumber) {
+		return delegate.findByCustomerPhoneNumber(phoneNumber);
+	}
+
+	@Override
+	public List<CustomerOrder> findByCustomerPhoneNumberPrefix(String prefix, int limit) {
+		return delegate.findByCustomerPhoneNumberPrefix(prefix, limit);
+	}
+
+	@Override
+	public List<String> completeCustomerPhoneNumber(String prefix, int limit) {
+		return delegate.completeCustomerPhoneNumber(prefix, limit);
+	}
+
+	@Override
+	public List<CustomerOrder> findByDate(String date) {
+		return delegate.findByDate(date);
+	}
+
+	@Override
+	public List<CustomerOrder> findByDateRange(LocalDate from, LocalDate to, CustomerOrder after, int pageSize) {
+		return delegate.findByDateRange(from, to, after, pageSize);
+	}
+
+	@Override
+	public boolean existsPendingOrderForWorker(Long workerId) {
+		return delegate.existsPendingOrderForWorker(workerId);
+	}
+
+	@Override
+	public List<CustomerOrder> findPage(Long afterOrderId, int pageSize) {
+		return delegate.findPage(afterOrderId, pageSize);
+	}
+
+	@Override
+	public void forEachOrder(Consumer<CustomerOrder> action) {
+		delegate.forEachOrder(action);
+	}
+
+	@Override
+	public void forEachOrder(OrderFilter filter, Consumer<CustomerOrder> action) {
+		delegate.forEachOrder(filter, action);
+	}
+
+	@Override
+	public Map<OrderStatus, Map<OrderCategory, Long>> countByStatusAndCategory() {
+		return delegate.countByStatusAndCategory();
+	}
+
+	@Override
+	public Map<Long, Long> countByWorker() {
+		return delegate.countByWorker();
+	}
+
+	@Override
+	public SortedMap<LocalDate, Long> countByDate(LocalDate from, LocalDate to) {
+		return delegate.countByDate(from, to);
+	}
+
+	/**
+	 * Gets the statistics of the search result cache.
+	 *
+	 * @return the statistics of the category and status searches
+	 */
+	public CacheStatistics getStatistics() {
+		return results.statistics();
+	}
+
+	/**
+	 * Gets the statistics of the summary search result cache.
+	 *
+	 * @return the statistics of the category and status summary searches
+	 */
+	public CacheStatistics getSummaryStatistics() {
+		return summaryResults.statistics();
+	}
+
+	/**
+	 * Returns copies of the cached result of the key, loading it on a miss.
+	 *
+	 * @param key    the category or status
+	 * @param loader the search of the wrapped repository
+	 * @return the orders
+	 */
+	private List<CustomerOrder> cached(Enum<?> key, Supplier<List<CustomerOrder>> loader) {
+		return copyAll(results.get(key, k -> copyAll(loader.get(), EntityCopies::copy),
+				orders -> orders.size() <= maximumResultSize), EntityCopies::copy);
+	}
+
+	/**
+	 * Drops the cached results a write of the order may have changed: those of
+	 * its new category and status and those that hold the order.
+	 *
+	 * @param order the written order
+	 */
+	private void invalidate(CustomerOrder order) {
+		if (order == null) {
+			return;
+		}
+		Long orderId = order.getOrderId();
+		Predicate<Enum<?>> changed = key -> key == order.getOrderCategory() || key == order.getOrderStatus();
+		results.invalidateIf((key, orders) -> changed.test(key)
+				|| orderId != null && orders.stream().anyMatch(o -> Objects.equals(o.getOrderId(), orderId)));
+		summaryResults.invalidateIf((key, rows) -> changed.test(key)
+				|| orderId != null && rows.stream().anyMatch(o -> Objects.equals(o.getOrderId(), orderId)));
+	}
+
+	/**
+	 * Checks whether a status is completed or cancelled.
+	 *
+	 * @param status the status
+	 * @return true, if the status ends the order
+	 */
+	private static boolean isTerminal(OrderStatus status) {
+		return status == OrderStatus.COMPLETED || status == OrderStatus.CANCELLED;
+	}
+}
@@ -0,0 +1,184 @@
+/*
+ * CachingWorkerRepository: Worker repository that caches worker lookups.
+ */
+package com.mycompany.orderassignmentsystem.repository.cache;
+
+import static com.mycompany.orderassignmentsystem.repository.EntityCopies.copy;
+import static com.mycompany.orderassignmentsystem.repository.EntityCopies.copyAll;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.model.Worker;
+import com.mycompany.orderassignmentsystem.repository.BatchResult;
+import com.mycompany.orderassignmentsystem.repository.EntityCopies;
+import com.mycompany.orderassignmentsystem.repository.WorkerRepository;
+
+/**
+ * Wraps a {@link WorkerRepository} and caches the lookups that run on every
+ * order change: {@link #findByIdWithoutOrders(Long)}, used to resolve the
+ * worker of an order, and {@link #findAll()}, used to fill the worker lists of
+ * the views. Workers change rarely, so both are answered from memory until a
+ * worker is written through this repository or the entry reaches its time to
+ * live; the time to live bounds how long changes made by other application
+ * instances stay unnoticed.
+ *
+ * The cache holds at most the configured number of workers and evicts the
+ * least recently used one beyond that. {@link #findById(Long)} is not cached
+ * because it returns the orders of the worker, which change with every order
+ * write. The other searches are passed through as well.
+ *
+ * Callers receive copies of the cached workers, so changing a returned worker
+ * never changes the cache. The copies carry the version of the worker but no
+ * orders.
+ */
+public class CachingWorkerRepository implements WorkerRepository {
+
+	/** The key of the cached worker list. */
+	private static final String ALL_WORKERS = "ALL";
+
+	/** The wrapped repository. */
+	private final WorkerRepository delegate;
+
+	/** The workers by id. */
+	private final ExpiringLruCache<Long, Worker> workersById;
+
+	/** The list of all workers, held under a single key. */
+	private final ExpiringLruCache<String, List<Worker>> allWorkers;
+
+	/**
+	 * Instantiates a new caching worker repository.
+	 *
+	 * @param delegate    the wrapped repository
+	 * @param maximumSize the maximum number of cached workers
+	 * @param timeToLive  the time after which a cached worker is read again
+	 */
+	public CachingWorkerRepository(WorkerRepository delegate, int maximumSize, Duration timeToLive) {
+		this(delegate, maximumSize, timeToLive, System::nanoTime);
+	}
+
+	/**
+	 * Instantiates a new caching worker repository with the given clock.
+	 *
+	 * @param delegate    the wrapped repository
+	 * @param maximumSize the maximum number of cached workers
+	 * @param timeToLive  the time after which a cached worker is read again
+	 * @param clock       the clock, in nanoseconds
+	 */
+	CachingWorkerRepository(WorkerRepository delegate, int maximumSize, Duration timeToLive, LongSupplier clock) {
+		this.delegate = delegate;
+		this.workersById = new ExpiringLruCache<>(maximumSize, timeToLive, clock);
+		this.allWorkers = new ExpiringLruCache<>(1, timeToLive, clock);
+	}
+
+	@Override
+	public List<Worker> findAll() {
+		return copyAll(allWorkers.get(ALL_WORKERS, key -> copyAll(delegate.findAll(), EntityCopies::copy)),
+				EntityCopies::copy);
+	}
+
+	@Override
+	public Worker findById(Long workerId) {
+		return delegate.findById(workerId);
+	}
+
+	@Override
+	public Worker findByIdWithoutOrders(Long workerId) {
+		return copy(workersById.get(workerId, id -> copy(delegate.findByIdWithoutOrders(id))));
+	}
+
+	@Override
+	public List<Worker> findByName(String workerName) {
+		return delegate.findByName(workerName);
+	}
+
+	@Override
+	public List<Worker> findByNameSimilarTo(String workerName, int limit) {
+		return delegate.findByNameSimilarTo(workerName, limit);
+	}
+
+	@Override
+	public List<Worker> findByOrderCategory(OrderCategory category) {
+		return delegate.findByOrderCategory(category);
+	}
+
+	@Override
+	public Worker findByPhoneNumber(String phoneNumber) {
+		return delegate.findByPhoneNumber(phoneNumber);
+	}
+
+	@Override
+	public List<Worker> findByPhoneNumberPrefix(String prefix, int limit) {
+		return delegate.findByPhoneNumberPrefix(prefix, limit);
+	}
+
+	@Override
+	public List<String> completePhoneNumber(String prefix, int limit) {
+		return delegate.completePhoneNumber(prefix, limit);
+	}
+
+	@Override
+	public Worker save(Worker worker) {
+		try {
+			return delegate.save(worker);
+		} finally {
+			if (worker != null && worker.getWorkerId() != null) {
+				workersById.invalidate(worker.getWorkerId());
+			}
+			allWorkers.invalidateAll();
+		}
+	}
+
+	@Override
+	public void delete(Worker worker) {
+		try {
+			delegate.delete(worker);
+		} finally {
+			if (worker != null && worker.getWorkerId() != null) {
+				workersById.invalidate(worker.getWorkerId());
+			}
+			allWorkers.invalidateAll();
+		}
+	}
+
+	@Override
+	public int deleteAllById(Collection<Long> workerIds) {
+		try {
+			return delegate.deleteAllById(workerIds);
+		} finally {
+			workerIds.forEach(workersById::invalidate);
+			allWorkers.invalidateAll();
+		}
+	}
+
+	@Override
+	public BatchResult<Worker> saveAll(Collection<Worker> workers) {
+		try {
+			return delegate.saveAll(workers);
+		} finally {
+			workersById.invalidateAll();
+			allWorkers.invalidateAll();
+		}
+	}
+
+	/**
+	 * Gets the statistics of the worker cache.
+	 *
+	 * @return the statistics of {@link #findByIdWithoutOrders(Long)}
+	 */
+	public CacheStatistics getWorkerStatistics() {
+		return workersById.statistics();
+	}
+
+	/**
+	 * Gets the statistics of the worker list cache.
+	 *
+	 * @return the statistics of {@link #findAll()}
+	 */
+	public CacheStatistics getWorkerListStatistics() {
+		return allWorkers.statistics();
+	}
+}
@@ -0,0 +1,205 @@
+package com.mycompany.orderassignmentsystem.repository.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * A bounded cache that evicts the least recently used entry once it is full and
+ * treats entries older than its time to live as missing. All state is guarded
+ * by the cache monitor, which is only held for map operations and never while a
+ * value is loaded.
+ *
+ * A load that was started before an invalidation is not stored, so a value read
+ * from the database just before a concurrent write cannot outlive that write in
+ * the cache.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+final class ExpiringLruCache<K, V> {
+
+	/** The maximum number of entries. */
+	private final int maximumSize;
+
+	/** The time to live of an entry, in nanoseconds. */
+	private final long timeToLiveNanos;
+
+	/** The clock, in nanoseconds. */
+	private final LongSupplier clock;
+
+	/** The entries in access order, least recently used first. */
+	private final LinkedHashMap<K, Entry<V>> entries;
+
+	/** Incremented on every invalidation to discard loads started before it. */
+	private long generation;
+
+	/** The hits. */
+	private long hits;
+
+	/** The misses. */
+	private long misses;
+
+	/** The evictions. */
+	private long evictions;
+
+	/** The invalidations. */
+	private long invalidations;
+
+	/**
+	 * Instantiates a new expiring LRU cache.
+	 *
+	 * @param maximumSize the maximum number of entries
+	 * @param timeToLive  the time to live of an entry
+	 * @param clock       the clock, in nanoseconds
+	 * @throws IllegalArgumentException if the size or the time to live is not
+	 *                                  positive
+	 */
+	ExpiringLruCache(int maximumSize, Duration timeToLive, LongSupplier clock) {
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException("The maximum cache size must be positive.");
+		}
+		if (timeToLive.isNegative() || timeToLive.isZero()) {
+			throw new IllegalArgumentException("The cache time to live must be positive.");
+		}
+		this.maximumSize = maximumSize;
+		this.timeToLiveNanos = timeToLive.toNanos();
+		this.clock = clock;
+		this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+				if (size() > ExpiringLruCache.this.maximumSize) {
+					evictions++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cached value of the key, loading and caching it on a miss or
+	 * when the entry has expired. Null values are returned but not cached.
+	 *
+	 * @param key    the key
+	 * @param loader the loader, called without holding the cache monitor
+	 * @return the value
+	 */
+	V get(K key, Function<? super K, ? extends V> loader) {
+		return get(key, loader, value -> true);
+	}
+
+	/**
+	 * Returns the cached value of the key, loading it on a miss or when the entry
+	 * has expired. A loaded value is only cached if it is not null and accepted
+	 * by the given predicate.
+	 *
+	 * @param key      the key
+	 * @param loader   the loader, called without holding the cache monitor
+	 * @param storable tells whether a loaded value may be cached
+	 * @return the value
+	 */
+	V get(K key, Function<? super K, ? extends V> loader, Predicate<? super V> storable) {
+		long loadGeneration;
+		synchronized (this) {
+			Entry<V> entry = entries.get(key);
+			if (entry != null && clock.getAsLong() - entry.expiresAt < 0) {
+				hits++;
+				return entry.value;
+			}
+			if (entry != null) {
+				entries.remove(key);
+			}
+			misses++;
+			loadGeneration = generation;
+		}
+		V value = loader.apply(key);
+		if (value != null && storable.test(value)) {
+			synchronized (this) {
+				if (generation == loadGeneration) {
+					entries.put(key, new Entry<>(value, clock.getAsLong() + timeToLiveNanos));
+				}
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Drops the entry of the key.
+	 *
+	 * @param key the key
+	 */
+	synchronized void invalidate(K key) {
+		generation++;
+		if (entries.remove(key) != null) {
+			invalidations++;
+		}
+	}
+
+	/**
+	 * Drops the entries matching the given predicate.
+	 *
+	 * @param predicate the predicate on the key and the cached value
+	 */
+	synchronized void invalidateIf(BiPredicate<? super K, ? super V> predicate) {
+		generation++;
+		Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<K, Entry<V>> entry = iterator.next();
+			if (predicate.test(entry.getKey(), entry.getValue().value)) {
+				iterator.remove();
+				invalidations++;
+			}
+		}
+	}
+
+	/**
+	 * Drops all entries.
+	 */
+	synchronized void invalidateAll() {
+		generation++;
+		invalidations += entries.size();
+		entries.clear();
+	}
+
+	/**
+	 * Takes a snapshot of the counters.
+	 *
+	 * @return the cache statistics
+	 */
+	synchronized CacheStatistics statistics() {
+		return new CacheStatistics(hits, misses, evictions, invalidations, entries.size());
+	}
+
+	/**
+	 * A cached value with its expiry time.
+	 *
+	 * @param <V> the value type
+	 */
+	private static final class Entry<V> {
+
+		/** The value. */
+		private final V value;
+
+		/** The clock value at which the entry expires. */
+		private final long expiresAt;
+
+		/**
+		 * Instantiates a new entry.
+		 *
+		 * @param value     the value
+		 * @param expiresAt the expiry time
+		 */
+		private Entry(V value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * DatabaseWrites: Database writes of the in-memory repositories, applied to memory in order.
+ */
+package com.mycompany.orderassignmentsystem.repository.memory;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs the database writes of an in-memory repository outside its lock and
+ * applies their results to memory under the write lock, so that reads and
+ * other writes are not held up by a database round-trip.
+ *
+ * Writes to the same id may then reach memory in another order than they were
+ * committed. A saved entity is therefore applied only if its version is not
+ * older than the held one, and the ids removed while other writes are still
+ * in flight are remembered, so that a save committed before the removal
+ * cannot bring the entity back. Database ids are never reused, and the
+ * remembered ids are forgotten once no write is in flight.
+ */
+final class DatabaseWrites {
+
+	/** The write lock of the repository. */
+	private final Lock writeLock;
+
+	/** The number of database writes not yet applied to memory. */
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	/** The ids removed while other writes were in flight, under the write lock. */
+	private final Set<Long> removedIds = new HashSet<>();
+
+	/**
+	 * Instantiates the database writes of a repository.
+	 *
+	 * @param writeLock the write lock guarding the memory of the repository
+	 */
+	DatabaseWrites(Lock writeLock) {
+		this.writeLock = writeLock;
+	}
+
+	/**
+	 * Runs a database write without the lock, then applies its result to memory
+	 * under the write lock. Nothing is applied when the database write fails.
+	 *
+	 * @param <R>           the result type
+	 * @param databaseWrite the database write
+	 * @param apply         applies the result to memory
+	 * @return the result of the database write
+	 */
+	<R> R write(Supplier<R> databaseWrite, Consumer<R> apply) {
+		inFlight.incrementAndGet();
+		boolean committed = false;
+		R result = null;
+		try {
+			result = databaseWrite.get();
+			committed = true;
+			return result;
+		} finally {
+			writeLock.lock();
+			try {
+				if (committed) {
+					apply.accept(result);
+				}
+			} finally {
+				if (inFlight.decrementAndGet() == 0) {
+					removedIds.clear();
+				}
+				writeLock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Checks whether a saved entity may replace the held one. Must be called while
+	 * applying a write.
+	 *
+	 * @param id          the id of the entity
+	 * @param version     the version of the saved entity, or null
+	 * @param heldVersion the version of the held entity, or null if none is held
+	 * @return true, if the entity was not removed meanwhile and its version is not
+	 *         older than the held one
+	 */
+	boolean isCurrent(long id, Long version, Long heldVersion) {
+		return !removedIds.contains(id) && (version == null || heldVersion == null || version >= heldVersion);
+	}
+
+	/**
+	 * Records the removal of an entity. Must be called while applying a write.
+	 *
+	 * @param id the id of the removed entity
+	 */
+	void removed(long id) {
+		removedIds.add(id);
+	}
+}
@@ -0,0 +1,809 @@
+/*
+ * InMemoryOrderRepository: Order repository that keeps every order in memory.
+ */
+package com.mycompany.orderassignmentsystem.repository.memory;
+
+import static com.mycompany.orderassignmentsystem.repository.EntityCopies.copy;
+import static com.mycompany.orderassignmentsystem.repository.EntityCopies.copyAll;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderSearchOptions;
+import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+import com.mycompany.orderassignmentsystem.model.AppointmentDateConverter;
+import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.OrderSummary;
+import com.mycompany.orderassignmentsystem.model.Worker;
+import com.mycompany.orderassignmentsystem.repository.BatchResult;
+import com.mycompany.orderassignmentsystem.repository.EntityCopies;
+import com.mycompany.orderassignmentsystem.repository.OrderFilter;
+import com.mycompany.orderassignmentsystem.repository.OrderRepository;
+import com.mycompany.orderassignmentsystem.repository.PhoneNumberTrie;
+import com.mycompany.orderassignmentsystem.repository.TrigramIndex;
+import com.mycompany.orderassignmentsystem.repository.UniqueConstraintException;
+import com.mycompany.orderassignmentsystem.repository.VersionConflictException;
+
+/**
+ * An {@link OrderRepository} that keeps every order in memory, for load
+ * simulations, tests without a database, and a high-throughput mode in front
+ * of the database.
+ *
+ * Orders are held in slots reached through a primitive id map. Every search
+ * option has a secondary index from the searched value to the bit set of the
+ * matching slots: status, category, customer name, customer phone number,
+ * appointment day and worker. Searches and counts are therefore answered from
+ * the indexes without scanning the orders.
+ *
+ * Without a database the repository enforces the rules the database would: it
+ * assigns ids and versions, rejects stale or missing versions with a
+ * {@link VersionConflictException} and a second pending order of a worker with
+ * a {@link UniqueConstraintException} naming
+ * {@link OrderRepository#ONE_PENDING_ORDER_PER_WORKER}. With a database, all
+ * orders are loaded when the repository is created and every write goes to
+ * the database first, so the database stays authoritative; only what it has
+ * accepted is applied to memory, as described by {@link DatabaseWrites}. Archived orders are dropped from memory and,
+ * with a database, read from it by the searches that include them.
+ *
+ * Reads run in parallel under a read lock, writes under the write lock. The
+ * database is never called while the lock is held. Callers receive copies of
+ * the held orders.
+ */
+public class InMemoryOrderRepository implements OrderRepository {
+
+	/** The database written through to, or null. */
+	private final OrderRepository database;
+
+	/** The lock guarding the orders and indexes. */
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/** The database writes, applied to memory under the write lock. */
+	private final DatabaseWrites databaseWrites = new DatabaseWrites(lock.writeLock());
+
+	/** The orders. */
+	private final SlotStore<CustomerOrder> orders = new SlotStore<>();
+
+	/** The slots by status. */
+	private final Map<OrderStatus, BitSet> byStatus = new EnumMap<>(OrderStatus.class);
+
+	/** The slots by category. */
+	private final Map<OrderCategory, BitSet> byCategory = new EnumMap<>(OrderCategory.class);
+
+	/** The slots by customer name. */
+	private final Map<String, BitSet> byCustomerName = new HashMap<>();
+
+	/** The order ids by the trigrams of the customer name. */
+	private final TrigramIndex customerNameTrigrams = new TrigramIndex();
+
+	/** The slots by customer phone number. */
+	private final Map<String, BitSet> byCustomerPhone = new HashMap<>();
+
+	/** The order ids by the digits of the customer phone number. */
+	private final PhoneNumberTrie customerPhoneDigits = new PhoneNumberTrie();
+
+	/** The slots by appointment day. */
+	private final NavigableMap<LocalDate, BitSet> byDate = new TreeMap<>();
+
+	/** The slots by worker id, ordered by worker id. */
+	private final NavigableMap<Long, BitSet> byWorker = new TreeMap<>();
+
+	/** The archived orders by id, held only when there is no database. */
+	private final NavigableMap<Long, CustomerOrder> archived = new TreeMap<>();
+
+	/** The last id handed out when there is no database. */
+	private long lastId;
+
+	/**
+	 * Instantiates a new in-memory order repository without a database.
+	 */
+	public InMemoryOrderRepository() {
+		this.database = null;
+	}
+
+	/**
+	 * Instantiates a new in-memory order repository that loads all orders of the
+	 * database and writes through to it.
+	 *
+	 * @param database the database repository
+	 */
+	public InMemoryOrderRepository(OrderRepository database) {
+		this.database = database;
+		database.forEachOrder(order -> put(copy(order)));
+	}
+
+	@Override
+	public List<CustomerOrder> findAll() {
+		return read(() -> copyAll(orders.all(), EntityCopies::copy));
+	}
+
+	@Override
+	public List<CustomerOrder> findAll(boolean includeArchived) {
+		if (!includeArchived) {
+			return findAll();
+		}
+		List<CustomerOrder> fromDatabase = database != null ? database.findAll(true) : null;
+		return read(() -> withArchived(orders.all(), fromDatabase != null ? fromDatabase : archived.values()));
+	}
+
+	@Override
+	public List<OrderSummary> findAllSummaries() {
+		return read(() -> summaries(orders.all()));
+	}
+
+	@Override
+	public List<OrderSummary> findSummaries(OrderSearchOptions searchOption, Object value) {
+		return read(() -> {
+			switch (searchOption) {
+			case ORDER_ID:
+				CustomerOrder order = value == null ? null : orders.find((Long) value);
+				return summaries(order == null ? Collections.emptyList() : Collections.singletonList(order));
+			case CUSTOMER_NAME:
+				return summaries(select(byCustomerName.get(value)));
+			case CUSTOMER_PHONE:
+				return summaries(select(byCustomerPhone.get(value)));
+			case DATE:
+				return summaries(select(byDate.get(parseDate((String) value))));
+			case CATEGORY:
+				return summaries(select(byCategory.get(value)));
+			case STATUS:
+				return summaries(select(byStatus.get(value)));
+			case WORKER_ID:
+				return summaries(select(byWorker.get(value)));
+			default:
+				throw new IllegalArgumentException("This operation is not allowed");
+			}
+		});
+	}
+
+	@Override
+	public CustomerOrder save(CustomerOrder order) {
+		if (database != null) {
+			return databaseWrites.write(() -> database.save(order), this::putIfCurrent);
+		}
+		return write(() -> copy(saveInMemory(order)));
+	}
+
+	@Override
+	public void delete(CustomerOrder order) {
+		if (database != null) {
+			databaseWrites.write(() -> {
+				database.delete(order);
+				return order.getOrderId();
+			}, this::removeDeleted);
+			return;
+		}
+		write(() -> {
+			if (order == null || order.getOrderId() == null || orders.find(order.getOrderId()) == null) {
+				throw new VersionConflictException("failed to delete order.", null);
+			}
+			remove(order.getOrderId());
+			return null;
+		});
+	}
+
+	@Override
+	public int deleteAllById(Collection<Long> orderIds) {
+		if (database != null) {
+			return databaseWrites.write(() -> database.deleteAllById(orderIds),
+					deleted -> orderIds.stream().filter(Objects::nonNull).forEach(this::removeDeleted));
+		}
+		return write(() -> {
+			int deleted = 0;
+			for (Long orderId : new LinkedHashSet<>(orderIds)) {
+				if (orderId != null && remove(orderId)) {
+					deleted++;
+				}
+			}
+			return deleted;
+		});
+	}
+
+	@Override
+	public CustomerOrder findById(Long orderId) {
+		return read(() -> orderId == null ? null : copy(orders.find(orderId)));
+	}
+
+	@Override
+	public List<CustomerOrder> findByCustomerName(String name) {
+		return read(() -> copyAll(select(byCustomerName.get(name)), EntityCopies::copy));
+	}
+
+	@Override
+	public List<CustomerOrder> findByCustomerName(String name, boolean includeArchived) {
+		if (!includeArchived) {
+			return findByCustomerName(name);
+		}
+		List<CustomerOrder> fromDatabase = database != null ? database.findByCustomerName(name, true) : null;
+		return read(() -> withArchived(select(byCustomerName.get(name)),
+				fromDatabase != null ? fromDatabase
+						: archived.values().stream().filter(order -> Objects.equals(order.getCustomerName(), name))
+								.collect(Collectors.toList())));
+	}
+
+	@Override
+	public List<CustomerOrder> findByCustomerNameSimilarTo(String name, int limit) {
+		return read(() -> {
+			List<CustomerOrder> similar = new ArrayList<>();
+			for (long orderId : customerNameTrigrams.search(name, limit)) {
+				similar.add(copy(orders.find(orderId)));
+			}
+			return similar;
+		});
+	}
+
+	@Override
+	public List<CustomerOrder> findByCustomerPhoneNumber(String phoneNumber) {
+		return read(() -> copyAll(select(byCustomerPhone.get(phoneNumber)), EntityCopies::copy));
+	}
+
+	@Override
+	public List<CustomerOrder> findByCustomerPhoneNumberPrefix(String prefix, int limit) {
+		return read(() -> {
+			List<CustomerOrder> found = new ArrayList<>();
+			for (long orderId : customerPhoneDigits.findByPrefix(prefix, limit)) {
+				found.add(copy(orders.find(orderId)));
+			}
+			return found;
+		});
+	}
+
+	@Override
+	public List<String> completeCustomerPhoneNumber(String prefix, int limit) {
+		return read(() -> customerPhoneDigits.complete(prefix, limit));
+	}
+
+	@Override
+	public List<CustomerOrder> findByDate(String date) {
+		return read(() -> copyAll(select(byDate.get(parseDate(date))), EntityCopies::copy));
+	}
+
+	@Override
+	public List<CustomerOrder> findByDateRange(LocalDate from, LocalDate to, CustomerOrder after, int pageSize) {
+		return read(() -> {
+			LocalDate afterDate = after == null ? null : parseDate(after.getAppointmentDate());
+			List<CustomerOrder> page = new ArrayList<>();
+			for (Map.Entry<LocalDate, BitSet> day : byDate.subMap(from, true, to, true).entrySet()) {
+				if (afterDate != null && day.getKey().isBefore(afterDate)) {
+					continue;
+				}
+				for (CustomerOrder order : orders.select(day.getValue())) {
+					if (page.size() == pageSize) {
+						return page;
+					}
+					if (!day.getKey().equals(afterDate) || order.getOrderId() > after.getOrderId()) {
+						page.add(copy(order));
+					}
+				}
+			}
+			return page;
+		});
+	}
+
+	@Override
+	public List<CustomerOrder> findByOrderCategory(OrderCategory category) {
+		return read(() -> copyAll(select(byCategory.get(category)), EntityCopies::copy));
+	}
+
+	@Override
+	public List<CustomerOrder> findByOrderStatus(OrderStatus status) {
+		return read(() -> copyAll(select(byStatus.get(status)), EntityCopies::copy));
+	}
+
+	@Override
+	public boolean existsPendingOrderForWorker(Long workerId) {
+		return read(() -> pendingSlot(workerId, null) >= 0);
+	}
+
+	@Override
+	public List<CustomerOrder> findPage(Long afterOrderId, int pageSize) {
+		return read(() -> copyAll(orders.page(afterOrderId, pageSize), EntityCopies::copy));
+	}
+
+	@Override
+	public void forEachOrder(Consumer<CustomerOrder> action) {
+		// the action runs outside the lock, so it may call back into the repository
+		findAll().forEach(action);
+	}
+
+	@Override
+	public void forEachOrder(OrderFilter filter, Consumer<CustomerOrder> action) {
+		read(() -> copyAll(selectMatching(filter), EntityCopies::copy)).forEach(action);
+	}
+
+	@Override
+	public Map<OrderStatus, Map<OrderCategory, Long>> countByStatusAndCategory() {
+		return read(() -> {
+			Map<OrderStatus, Map<OrderCategory, Long>> counts = new EnumMap<>(OrderStatus.class);
+			for (OrderStatus status : OrderStatus.values()) {
+				Map<OrderCategory, Long> byStatusAndCategory = new EnumMap<>(OrderCategory.class);
+				for (OrderCategory category : OrderCategory.values()) {
+					byStatusAndCategory.put(category, (long) intersection(byStatus.get(status), byCategory.get(category))
+							.cardinality());
+				}
+				counts.put(status, byStatusAndCategory);
+			}
+			return counts;
+		});
+	}
+
+	@Override
+	public Map<Long, Long> countByWorker() {
+		return read(() -> {
+			Map<Long, Long> counts = new LinkedHashMap<>();
+			byWorker.forEach((workerId, slots) -> counts.put(workerId, (long) slots.cardinality()));
+			return counts;
+		});
+	}
+
+	@Override
+	public SortedMap<LocalDate, Long> countByDate(LocalDate from, LocalDate to) {
+		return read(() -> {
+			SortedMap<LocalDate, Long> counts = new TreeMap<>();
+			byDate.subMap(from, true, to, true).forEach((day, slots) -> counts.put(day, (long) slots.cardinality()));
+			return counts;
+		});
+	}
+
+	@Override
+	public int archiveTerminalOrders(LocalDate appointmentBefore) {
+		if (database != null) {
+			return databaseWrites.write(() -> database.archiveTerminalOrders(appointmentBefore),
+					archivedInDatabase -> removeTerminal(appointmentBefore)
+							.forEach(order -> removeDeleted(order.getOrderId())));
+		}
+		return write(() -> {
+			List<CustomerOrder> terminal = removeTerminal(appointmentBefore);
+			terminal.forEach(order -> archived.put(order.getOrderId(), order));
+			return terminal.size();
+		});
+	}
+
+	@Override
+	public BatchResult<CustomerOrder> saveAll(Collection<CustomerOrder> orders) {
+		if (database != null) {
+			return databaseWrites.write(() -> database.saveAll(orders),
+					result -> result.getSaved().forEach(this::putIfCurrent));
+		}
+		return write(() -> {
+			List<CustomerOrder> saved = new ArrayList<>();
+			Map<Integer, String> failures = new LinkedHashMap<>();
+			int index = 0;
+			for (CustomerOrder order : orders) {
+				try {
+					saved.add(copy(saveInMemory(order)));
+				} catch (RuntimeException e) {
+					failures.put(index, e.getMessage());
+				}
+				index++;
+			}
+			return new BatchResult<>(saved, failures);
+		});
+	}
+
+	/**
+	 * Returns copies of the orders of a worker, in id order.
+	 *
+	 * @param workerId the worker id
+	 * @return the orders of the worker
+	 */
+	List<CustomerOrder> findByWorker(long workerId) {
+		return read(() -> copyAll(select(byWorker.get(workerId)), EntityCopies::copy));
+	}
+
+	/**
+	 * Checks whether a worker has orders.
+	 *
+	 * @param workerId the worker id
+	 * @return true, if at least one order is assigned to the worker
+	 */
+	boolean hasOrders(long workerId) {
+		return read(() -> byWorker.containsKey(workerId));
+	}
+
+	/**
+	 * Replaces the worker held by the orders of the given worker, after the worker
+	 * itself was saved.
+	 *
+	 * @param worker the saved worker
+	 */
+	void workerChanged(Worker worker) {
+		write(() -> {
+			for (CustomerOrder order : select(byWorker.get(worker.getWorkerId()))) {
+				CustomerOrder changed = copy(order);
+				changed.setWorker(copy(worker));
+				orders.replace(orders.slotOf(changed.getOrderId()), changed);
+			}
+			return null;
+		});
+	}
+
+	/**
+	 * Saves an order in memory only, applying the rules of the database schema
+	 * even when there is a database.
+	 *
+	 * @param order the order
+	 * @return a copy of the stored order
+	 */
+	CustomerOrder saveWithoutDatabase(CustomerOrder order) {
+		return write(() -> copy(saveInMemory(order)));
+	}
+
+	/**
+	 * Replaces the held state of an order with the given one, or removes the
+	 * order.
+	 *
+	 * @param orderId the order id
+	 * @param current the current state of the order, or null if it no longer
+	 *                exists
+	 */
+	void reload(long orderId, CustomerOrder current) {
+		write(() -> {
+			if (current == null) {
+				remove(orderId);
+			} else {
+				put(copy(current));
+			}
+			return null;
+		});
+	}
+
+	/**
+	 * Saves an order when there is no database, applying the rules of the
+	 * database schema.
+	 *
+	 * @param order the order
+	 * @return the stored order
+	 */
+	private CustomerOrder saveInMemory(CustomerOrder order) {
+		if (order == null) {
+			throw new IllegalStateException("failed to create order.");
+		}
+		CustomerOrder stored = order.getOrderId() == null ? null : orders.find(order.getOrderId());
+		// like the database, an update has to carry the version it was read at
+		if (!Objects.equals(order.getVersion(), stored == null ? null : stored.getVersion())) {
+			throw new VersionConflictException("failed to create order.", null);
+		}
+		try {
+			parseDate(order.getAppointmentDate());
+		} catch (DateTimeParseException e) {
+			throw new IllegalStateException("failed to create order.", e);
+		}
+		if (order.getOrderStatus() == OrderStatus.PENDING && order.getWorker() != null
+				&& pendingSlot(order.getWorker().getWorkerId(), stored) >= 0) {
+			throw new UniqueConstraintException("failed to create order.", ONE_PENDING_ORDER_PER_WORKER, null);
+		}
+		CustomerOrder saved = copy(order);
+		if (stored == null) {
+			// like a merge, an unknown id is not kept: the order gets a new one
+			saved.setOrderId(++lastId);
+			saved.setVersion(0L);
+		} else {
+			saved.setVersion(stored.getVersion() + 1);
+		}
+		put(saved);
+		return saved;
+	}
+
+	/**
+	 * Stores an order saved in the database, unless a later write of the order was
+	 * applied first.
+	 *
+	 * @param saved the saved order
+	 */
+	private void putIfCurrent(CustomerOrder saved) {
+		CustomerOrder held = orders.find(saved.getOrderId());
+		if (databaseWrites.isCurrent(saved.getOrderId(), saved.getVersion(), held == null ? null : held.getVersion())) {
+			put(copy(saved));
+		}
+	}
+
+	/**
+	 * Removes an order deleted or archived in the database.
+	 *
+	 * @param orderId the order id
+	 */
+	private void removeDeleted(long orderId) {
+		remove(orderId);
+		databaseWrites.removed(orderId);
+	}
+
+	/**
+	 * Removes the completed and cancelled orders with an appointment date before
+	 * the given day.
+	 *
+	 * @param appointmentBefore the first appointment day that is kept
+	 * @return the removed orders
+	 */
+	private List<CustomerOrder> removeTerminal(LocalDate appointmentBefore) {
+		List<CustomerOrder> terminal = new ArrayList<>();
+		for (BitSet slots : byDate.headMap(appointmentBefore, false).values()) {
+			for (CustomerOrder order : orders.select(slots)) {
+				if (order.getOrderStatus() == OrderStatus.COMPLETED
+						|| order.getOrderStatus() == OrderStatus.CANCELLED) {
+					terminal.add(order);
+				}
+			}
+		}
+		terminal.forEach(order -> remove(order.getOrderId()));
+		return terminal;
+	}
+
+	/**
+	 * Finds a pending order of the worker other than the given one.
+	 *
+	 * @param workerId the worker id
+	 * @param except   the order to ignore, or null
+	 * @return the slot of such an order, or -1
+	 */
+	private int pendingSlot(Long workerId, CustomerOrder except) {
+		BitSet pending = intersection(byWorker.get(workerId), byStatus.get(OrderStatus.PENDING));
+		if (except != null) {
+			pending.clear(orders.slotOf(except.getOrderId()));
+		}
+		return pending.nextSetBit(0);
+	}
+
+	/**
+	 * Stores an order accepted by the rules or the database and indexes it,
+	 * replacing the previous state of the order.
+	 *
+	 * @param order the order, owned by the repository from now on
+	 */
+	private void put(CustomerOrder order) {
+		lastId = Math.max(lastId, order.getOrderId());
+		int slot = orders.slotOf(order.getOrderId());
+		if (slot == LongIntHashMap.MISSING) {
+			slot = orders.insert(order.getOrderId(), order);
+		} else {
+			unindex(slot, orders.get(slot));
+			orders.replace(slot, order);
+		}
+		index(slot, order);
+	}
+
+	/**
+	 * Removes an order and its index entries.
+	 *
+	 * @param orderId the order id
+	 * @return true, if the order was held
+	 */
+	private boolean remove(long orderId) {
+		CustomerOrder order = orders.find(orderId);
+		if (order == null) {
+			return false;
+		}
+		unindex(orders.slotOf(orderId), order);
+		orders.remove(orderId);
+		return true;
+	}
+
+	/**
+	 * Adds the slot of the order to the indexes.
+	 *
+	 * @param slot  the slot
+	 * @param order the order
+	 */
+	private void index(int slot, CustomerOrder order) {
+		add(byStatus, order.getOrderStatus(), slot);
+		add(byCategory, order.getOrderCategory(), slot);
+		add(byCustomerName, order.getCustomerName(), slot);
+		customerNameTrigrams.put(order.getOrderId(), order.getCustomerName());
+		add(byCustomerPhone, order.getCustomerPhoneNumber(), slot);
+		customerPhoneDigits.put(order.getOrderId(), order.getCustomerPhoneNumber());
+		add(byDate, parseDate(order.getAppointmentDate()), slot);
+		add(byWorker, order.getWorker() == null ? null : order.getWorker().getWorkerId(), slot);
+	}
+
+	/**
+	 * Removes the slot of the order from the indexes.
+	 *
+	 * @param slot  the slot
+	 * @param order the order
+	 */
+	private void unindex(int slot, CustomerOrder order) {
+		remove(byStatus, order.getOrderStatus(), slot);
+		remove(byCategory, order.getOrderCategory(), slot);
+		remove(byCustomerName, order.getCustomerName(), slot);
+		customerNameTrigrams.remove(order.getOrderId());
+		remove(byCustomerPhone, order.getCustomerPhoneNumber(), slot);
+		customerPhoneDigits.remove(order.getOrderId());
+		remove(byDate, parseDate(order.getAppointmentDate()), slot);
+		remove(byWorker, order.getWorker() == null ? null : order.getWorker().getWorkerId(), slot);
+	}
+
+	/**
+	 * Appends archived orders to held ones. Orders read from the database may
+	 * include held ones, which are skipped in favour of the held state.
+	 *
+	 * @param held           the held orders
+	 * @param archivedOrders the archived orders
+	 * @return copies of the held orders followed by the archived ones
+	 */
+	private List<CustomerOrder> withArchived(List<CustomerOrder> held, Collection<CustomerOrder> archivedOrders) {
+		List<CustomerOrder> all = copyAll(held, EntityCopies::copy);
+		for (CustomerOrder order : archivedOrders) {
+			if (orders.find(order.getOrderId()) == null) {
+				all.add(copy(order));
+			}
+		}
+		return all;
+	}
+
+	/**
+	 * Returns the orders of the given slots, in id order.
+	 *
+	 * @param slots the slots, or null for none
+	 * @return the held orders
+	 */
+	private List<CustomerOrder> select(BitSet slots) {
+		return slots == null ? new ArrayList<>() : orders.select(slots);
+	}
+
+	/**
+	 * Returns the orders matching a filter, in id order, intersecting the index
+	 * entries of its criteria.
+	 *
+	 * @param filter the filter
+	 * @return the held orders
+	 */
+	private List<CustomerOrder> selectMatching(OrderFilter filter) {
+		BitSet slots = null;
+		if (filter.getStatus() != null) {
+			slots = restrict(slots, byStatus.get(filter.getStatus()));
+		}
+		if (filter.getCategory() != null) {
+			slots = restrict(slots, byCategory.get(filter.getCategory()));
+		}
+		if (filter.getFrom() != null || filter.getTo() != null) {
+			NavigableMap<LocalDate, BitSet> days = byDate;
+			if (filter.getFrom() != null) {
+				days = days.tailMap(filter.getFrom(), true);
+			}
+			if (filter.getTo() != null) {
+				days = days.headMap(filter.getTo(), true);
+			}
+			BitSet inRange = new BitSet();
+			days.values().forEach(inRange::or);
+			slots = restrict(slots, inRange);
+		}
+		return slots == null ? orders.all() : orders.select(slots);
+	}
+
+	/**
+	 * Runs a read under the read lock.
+	 *
+	 * @param <R>  the result type
+	 * @param read the read
+	 * @return the result
+	 */
+	private <R> R read(Supplier<R> read) {
+		Lock readLock = lock.readLock();
+		readLock.lock();
+		try {
+			return read.get();
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+	/**
+	 * Runs a write under the write lock.
+	 *
+	 * @param <R>   the result type
+	 * @param write the write
+	 * @return the result
+	 */
+	private <R> R write(Supplier<R> write) {
+		Lock writeLock = lock.writeLock();
+		writeLock.lock();
+		try {
+			return write.get();
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Adds a slot to the bit set of the key.
+	 *
+	 * @param <K>   the key type
+	 * @param index the index
+	 * @param key   the key, ignored if null
+	 * @param slot  the slot
+	 */
+	private static <K> void add(Map<K, BitSet> index, K key, int slot) {
+		if (key != null) {
+			index.computeIfAbsent(key, k -> new BitSet()).set(slot);
+		}
+	}
+
+	/**
+	 * Removes a slot from the bit set of the key, dropping the key once no slot is
+	 * left.
+	 *
+	 * @param <K>   the key type
+	 * @param index the index
+	 * @param key   the key, ignored if null
+	 * @param slot  the slot
+	 */
+	private static <K> void remove(Map<K, BitSet> index, K key, int slot) {
+		BitSet slots = key == null ? null : index.get(key);
+		if (slots != null) {
+			slots.clear(slot);
+			if (slots.isEmpty()) {
+				index.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Returns the slots present in both bit sets.
+	 *
+	 * @param first  the first bit set, or null
+	 * @param second the second bit set, or null
+	 * @return a new bit set
+	 */
+	private static BitSet intersection(BitSet first, BitSet second) {
+		if (first == null || second == null) {
+			return new BitSet();
+		}
+		BitSet both = (BitSet) first.clone();
+		both.and(second);
+		return both;
+	}
+
+	/**
+	 * Narrows a selection of slots to the slots of an index entry.
+	 *
+	 * @param slots    the selected slots, or null for all
+	 * @param matching the slots of the index entry, or null for none
+	 * @return a new bit set
+	 */
+	private static BitSet restrict(BitSet slots, BitSet matching) {
+		if (slots == null) {
+			return matching == null ? new BitSet() : (BitSet) matching.clone();
+		}
+		return intersection(slots, matching);
+	}
+
+	/**
+	 * Parses a {@code dd-MM-yyyy} appointment date.
+	 *
+	 * @param date the date, or null
+	 * @return the day, or null
+	 */
+	private static LocalDate parseDate(String date) {
+		return date == null ? null : LocalDate.parse(date, AppointmentDateConverter.FORMAT);
+	}
+
+	/**
+	 * Creates the summaries of the orders.
+	 *
+	 * @param orders the orders
+	 * @return the summaries
+	 */
+	private static List<OrderSummary> summaries(List<CustomerOrder> orders) {
+		return orders.stream().map(OrderSummary::of).collect(Collectors.toList());
+	}
+}
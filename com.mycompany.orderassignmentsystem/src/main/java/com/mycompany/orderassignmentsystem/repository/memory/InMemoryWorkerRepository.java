@@ -0,0 +1,483 @@
+/*
+ * InMemoryWorkerRepository: Worker repository that keeps every worker in memory.
+ */
+package com.mycompany.orderassignmentsystem.repository.memory;
+
+import static com.mycompany.orderassignmentsystem.repository.EntityCopies.copy;
+import static com.mycompany.orderassignmentsystem.repository.EntityCopies.copyAll;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.model.Worker;
+import com.mycompany.orderassignmentsystem.repository.BatchResult;
+import com.mycompany.orderassignmentsystem.repository.EntityCopies;
+import com.mycompany.orderassignmentsystem.repository.PhoneNumberTrie;
+import com.mycompany.orderassignmentsystem.repository.TrigramIndex;
+import com.mycompany.orderassignmentsystem.repository.UniqueConstraintException;
+import com.mycompany.orderassignmentsystem.repository.VersionConflictException;
+import com.mycompany.orderassignmentsystem.repository.WorkerRepository;
+
+/**
+ * A {@link WorkerRepository} that keeps every worker in memory, the companion
+ * of {@link InMemoryOrderRepository}. Workers are held in slots reached through
+ * a primitive id map, with a unique index on the phone number and bit set
+ * indexes on the name and the category. The orders of a worker are taken from
+ * the order repository.
+ *
+ * Without a database the repository enforces the rules the database would: it
+ * assigns ids and versions, rejects stale or missing versions with a
+ * {@link VersionConflictException}, a phone number of another worker with a
+ * {@link UniqueConstraintException} naming
+ * {@link WorkerRepository#UNIQUE_PHONE_NUMBER}, and the deletion of a worker
+ * that still has orders. With a database, all workers are loaded when the
+ * repository is created and every write goes to the database first, outside
+ * the lock, as described by {@link DatabaseWrites}.
+ *
+ * Callers receive copies of the held workers.
+ */
+public class InMemoryWorkerRepository implements WorkerRepository {
+
+	/** The orders of the workers. */
+	private final InMemoryOrderRepository orders;
+
+	/** The database written through to, or null. */
+	private final WorkerRepository database;
+
+	/** Writes the order updates not yet in the database. */
+	private final Runnable flushOrders;
+
+	/** The lock guarding the workers and indexes. */
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/** The database writes, applied to memory under the write lock. */
+	private final DatabaseWrites databaseWrites = new DatabaseWrites(lock.writeLock());
+
+	/** The workers. */
+	private final SlotStore<Worker> workers = new SlotStore<>();
+
+	/** The worker ids by phone number. */
+	private final Map<String, Long> byPhoneNumber = new HashMap<>();
+
+	/** The worker ids by the digits of the phone number. */
+	private final PhoneNumberTrie phoneDigits = new PhoneNumberTrie();
+
+	/** The slots by name. */
+	private final Map<String, BitSet> byName = new HashMap<>();
+
+	/** The worker ids by the trigrams of the name. */
+	private final TrigramIndex nameTrigrams = new TrigramIndex();
+
+	/** The slots by category. */
+	private final Map<OrderCategory, BitSet> byCategory = new EnumMap<>(OrderCategory.class);
+
+	/** The last id handed out when there is no database. */
+	private long lastId;
+
+	/**
+	 * Instantiates a new in-memory worker repository without a database.
+	 *
+	 * @param orders the orders of the workers
+	 */
+	public InMemoryWorkerRepository(InMemoryOrderRepository orders) {
+		this.orders = orders;
+		this.database = null;
+		this.flushOrders = () -> {
+		};
+	}
+
+	/**
+	 * Instantiates a new in-memory worker repository that loads all workers of the
+	 * database and writes through to it.
+	 *
+	 * @param orders   the orders of the workers, writing through to the same
+	 *                 database
+	 * @param database the database repository
+	 */
+	public InMemoryWorkerRepository(InMemoryOrderRepository orders, WorkerRepository database) {
+		this(orders, database, () -> {
+		});
+	}
+
+	/**
+	 * Instantiates a new in-memory worker repository that loads all workers of the
+	 * database and writes through to it, after the order updates that have not
+	 * reached the database yet. A worker delete would otherwise fail on an order
+	 * whose reassignment away from the worker is still buffered.
+	 *
+	 * @param orders      the orders of the workers, writing through to the same
+	 *                    database
+	 * @param database    the database repository
+	 * @param flushOrders writes the buffered order updates to the database, such
+	 *                    as {@link WriteBehindOrderRepository#flush()}
+	 */
+	public InMemoryWorkerRepository(InMemoryOrderRepository orders, WorkerRepository database,
+			Runnable flushOrders) {
+		this.orders = orders;
+		this.database = database;
+		this.flushOrders = flushOrders;
+		database.findAll().forEach(worker -> put(copy(worker)));
+	}
+
+	@Override
+	public List<Worker> findAll() {
+		return read(() -> copyAll(workers.all(), EntityCopies::copy));
+	}
+
+	@Override
+	public Worker findById(Long workerId) {
+		Worker worker = findByIdWithoutOrders(workerId);
+		if (worker != null) {
+			worker.setOrders(orders.findByWorker(workerId));
+		}
+		return worker;
+	}
+
+	@Override
+	public Worker findByIdWithoutOrders(Long workerId) {
+		return read(() -> workerId == null ? null : copy(workers.find(workerId)));
+	}
+
+	@Override
+	public List<Worker> findByName(String workerName) {
+		return read(() -> copyAll(select(byName.get(workerName)), EntityCopies::copy));
+	}
+
+	@Override
+	public List<Worker> findByNameSimilarTo(String workerName, int limit) {
+		return read(() -> {
+			List<Worker> similar = new ArrayList<>();
+			for (long workerId : nameTrigrams.search(workerName, limit)) {
+				similar.add(copy(workers.find(workerId)));
+			}
+			return similar;
+		});
+	}
+
+	@Override
+	public List<Worker> findByOrderCategory(OrderCategory category) {
+		return read(() -> copyAll(select(byCategory.get(category)), EntityCopies::copy));
+	}
+
+	@Override
+	public Worker findByPhoneNumber(String phoneNumber) {
+		return read(() -> {
+			Long workerId = byPhoneNumber.get(phoneNumber);
+			return workerId == null ? null : copy(workers.find(workerId));
+		});
+	}
+
+	@Override
+	public List<Worker> findByPhoneNumberPrefix(String prefix, int limit) {
+		return read(() -> {
+			List<Worker> found = new ArrayList<>();
+			for (long workerId : phoneDigits.findByPrefix(prefix, limit)) {
+				found.add(copy(workers.find(workerId)));
+			}
+			return found;
+		});
+	}
+
+	@Override
+	public List<String> completePhoneNumber(String prefix, int limit) {
+		return read(() -> phoneDigits.complete(prefix, limit));
+	}
+
+	@Override
+	public Worker save(Worker worker) {
+		if (database != null) {
+			return writeThrough(() -> database.save(worker), this::putIfCurrent);
+		}
+		return write(() -> {
+			Worker saved = saveInMemory(worker);
+			orders.workerChanged(saved);
+			return copy(saved);
+		});
+	}
+
+	@Override
+	public void delete(Worker worker) {
+		if (database != null) {
+			writeThrough(() -> {
+				database.delete(worker);
+				return worker.getWorkerId();
+			}, this::removeDeleted);
+			return;
+		}
+		write(() -> {
+			if (worker.getWorkerId() == null || workers.find(worker.getWorkerId()) == null) {
+				throw new VersionConflictException("failed to delete worker.", null);
+			} else if (orders.hasOrders(worker.getWorkerId())) {
+				throw new IllegalStateException("failed to delete worker.");
+			}
+			remove(worker.getWorkerId());
+			return null;
+		});
+	}
+
+	@Override
+	public int deleteAllById(Collection<Long> workerIds) {
+		Set<Long> ids = new LinkedHashSet<>(workerIds);
+		ids.remove(null);
+		if (database != null) {
+			return writeThrough(() -> database.deleteAllById(ids), deleted -> ids.forEach(this::removeDeleted));
+		}
+		return write(() -> {
+			if (ids.stream().anyMatch(orders::hasOrders)) {
+				throw new IllegalStateException("failed to delete workers.");
+			}
+			int deleted = 0;
+			for (Long workerId : ids) {
+				if (remove(workerId)) {
+					deleted++;
+				}
+			}
+			return deleted;
+		});
+	}
+
+	@Override
+	public BatchResult<Worker> saveAll(Collection<Worker> workers) {
+		if (database != null) {
+			return writeThrough(() -> database.saveAll(workers),
+					result -> result.getSaved().forEach(this::putIfCurrent));
+		}
+		return write(() -> {
+			List<Worker> saved = new ArrayList<>();
+			Map<Integer, String> failures = new LinkedHashMap<>();
+			int index = 0;
+			for (Worker worker : workers) {
+				try {
+					Worker stored = saveInMemory(worker);
+					orders.workerChanged(stored);
+					saved.add(copy(stored));
+				} catch (RuntimeException e) {
+					failures.put(index, e.getMessage());
+				}
+				index++;
+			}
+			return new BatchResult<>(saved, failures);
+		});
+	}
+
+	/**
+	 * Saves a worker when there is no database, applying the rules of the database
+	 * schema.
+	 *
+	 * @param worker the worker
+	 * @return the stored worker
+	 */
+	private Worker saveInMemory(Worker worker) {
+		if (worker == null) {
+			throw new IllegalStateException("failed to create worker.");
+		}
+		Worker stored = worker.getWorkerId() == null ? null : workers.find(worker.getWorkerId());
+		// like the database, an update has to carry the version it was read at
+		if (!Objects.equals(worker.getVersion(), stored == null ? null : stored.getVersion())) {
+			throw new VersionConflictException("failed to create worker.", null);
+		}
+		Long owner = byPhoneNumber.get(worker.getWorkerPhoneNumber());
+		if (owner != null && (stored == null || !owner.equals(stored.getWorkerId()))) {
+			throw new UniqueConstraintException("failed to create worker.", UNIQUE_PHONE_NUMBER, null);
+		}
+		Worker saved = copy(worker);
+		if (stored == null) {
+			// like a merge, an unknown id is not kept: the worker gets a new one
+			saved.setWorkerId(++lastId);
+			saved.setVersion(0L);
+		} else {
+			saved.setVersion(stored.getVersion() + 1);
+		}
+		put(saved);
+		return saved;
+	}
+
+	/**
+	 * Stores a worker saved in the database and hands it to its orders, unless a
+	 * later write of the worker was applied first.
+	 *
+	 * @param saved the saved worker
+	 */
+	private void putIfCurrent(Worker saved) {
+		Worker held = workers.find(saved.getWorkerId());
+		if (databaseWrites.isCurrent(saved.getWorkerId(), saved.getVersion(),
+				held == null ? null : held.getVersion())) {
+			put(copy(saved));
+			orders.workerChanged(saved);
+		}
+	}
+
+	/**
+	 * Removes a worker deleted in the database.
+	 *
+	 * @param workerId the worker id
+	 */
+	private void removeDeleted(long workerId) {
+		remove(workerId);
+		databaseWrites.removed(workerId);
+	}
+
+	/**
+	 * Stores a worker accepted by the rules or the database and indexes it,
+	 * replacing the previous state of the worker.
+	 *
+	 * @param worker the worker, owned by the repository from now on
+	 */
+	private void put(Worker worker) {
+		lastId = Math.max(lastId, worker.getWorkerId());
+		int slot = workers.slotOf(worker.getWorkerId());
+		if (slot == LongIntHashMap.MISSING) {
+			slot = workers.insert(worker.getWorkerId(), worker);
+		} else {
+			unindex(slot, workers.get(slot));
+			workers.replace(slot, worker);
+		}
+		index(slot, worker);
+	}
+
+	/**
+	 * Removes a worker and its index entries.
+	 *
+	 * @param workerId the worker id
+	 * @return true, if the worker was held
+	 */
+	private boolean remove(long workerId) {
+		Worker worker = workers.find(workerId);
+		if (worker == null) {
+			return false;
+		}
+		unindex(workers.slotOf(workerId), worker);
+		workers.remove(workerId);
+		return true;
+	}
+
+	/**
+	 * Adds the worker to the indexes.
+	 *
+	 * @param slot   the slot
+	 * @param worker the worker
+	 */
+	private void index(int slot, Worker worker) {
+		if (worker.getWorkerPhoneNumber() != null) {
+			byPhoneNumber.put(worker.getWorkerPhoneNumber(), worker.getWorkerId());
+		}
+		phoneDigits.put(worker.getWorkerId(), worker.getWorkerPhoneNumber());
+		if (worker.getWorkerName() != null) {
+			byName.computeIfAbsent(worker.getWorkerName(), name -> new BitSet()).set(slot);
+		}
+		nameTrigrams.put(worker.getWorkerId(), worker.getWorkerName());
+		if (worker.getWorkerCategory() != null) {
+			byCategory.computeIfAbsent(worker.getWorkerCategory(), category -> new BitSet()).set(slot);
+		}
+	}
+
+	/**
+	 * Removes the worker from the indexes.
+	 *
+	 * @param slot   the slot
+	 * @param worker the worker
+	 */
+	private void unindex(int slot, Worker worker) {
+		if (worker.getWorkerPhoneNumber() != null) {
+			byPhoneNumber.remove(worker.getWorkerPhoneNumber());
+		}
+		phoneDigits.remove(worker.getWorkerId());
+		clear(byName, worker.getWorkerName(), slot);
+		nameTrigrams.remove(worker.getWorkerId());
+		clear(byCategory, worker.getWorkerCategory(), slot);
+	}
+
+	/**
+	 * Returns the workers of the given slots, in id order.
+	 *
+	 * @param slots the slots, or null for none
+	 * @return the held workers
+	 */
+	private List<Worker> select(BitSet slots) {
+		return slots == null ? new ArrayList<>() : workers.select(slots);
+	}
+
+	/**
+	 * Runs a database write after the buffered order updates, outside the lock,
+	 * and applies its result under the write lock.
+	 *
+	 * @param <R>           the result type
+	 * @param databaseWrite the database write
+	 * @param apply         applies the result to memory
+	 * @return the result of the database write
+	 */
+	private <R> R writeThrough(Supplier<R> databaseWrite, Consumer<R> apply) {
+		return databaseWrites.write(() -> {
+			flushOrders.run();
+			return databaseWrite.get();
+		}, apply);
+	}
+
+	/**
+	 * Runs a read under the read lock.
+	 *
+	 * @param <R>  the result type
+	 * @param read the read
+	 * @return the result
+	 */
+	private <R> R read(Supplier<R> read) {
+		Lock readLock = lock.readLock();
+		readLock.lock();
+		try {
+			return read.get();
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+	/**
+	 * Runs a write under the write lock.
+	 *
+	 * @param <R>   the result type
+	 * @param write the write
+	 * @return the result
+	 */
+	private <R> R write(Supplier<R> write) {
+		Lock writeLock = lock.writeLock();
+		writeLock.lock();
+		try {
+			return write.get();
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Removes a slot from the bit set of the key, dropping the key once no slot is
+	 * left.
+	 *
+	 * @param <K>   the key type
+	 * @param index the index
+	 * @param key   the key, ignored if null
+	 * @param slot  the slot
+	 */
+	private static <K> void clear(Map<K, BitSet> index, K key, int slot) {
+		BitSet slots = key == null ? null : index.get(key);
+		if (slots != null) {
+			slots.clear(slot);
+			if (slots.isEmpty()) {
+				index.remove(key);
+			}
+		}
+	}
+}
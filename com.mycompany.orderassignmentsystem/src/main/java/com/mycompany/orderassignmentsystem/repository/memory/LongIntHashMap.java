@@ -0,0 +1,164 @@
+/*
+ * LongIntHashMap: Primitive hash map from long keys to int values.
+ */
+package com.mycompany.orderassignmentsystem.repository.memory;
+
+/**
+ * A hash map from long keys to non-negative int values that stores both in
+ * primitive arrays, without boxing a key or allocating an entry per mapping.
+ * Collisions are resolved by linear probing and removals shift the following
+ * entries back, so no tombstones build up. The map is not thread safe.
+ */
+final class LongIntHashMap {
+
+	/** The value returned for a missing key. */
+	static final int MISSING = -1;
+
+	/** The initial capacity, a power of two. */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/** The keys. */
+	private long[] keys;
+
+	/** The values plus one; zero marks a free bucket. */
+	private int[] values;
+
+	/** The number of mappings. */
+	private int size;
+
+	/**
+	 * Instantiates a new long int hash map.
+	 */
+	LongIntHashMap() {
+		keys = new long[INITIAL_CAPACITY];
+		values = new int[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Gets the value of the key.
+	 *
+	 * @param key the key
+	 * @return the value, or {@link #MISSING}
+	 */
+	int get(long key) {
+		int mask = keys.length - 1;
+		for (int i = bucket(key, mask); values[i] != 0; i = (i + 1) & mask) {
+			if (keys[i] == key) {
+				return values[i] - 1;
+			}
+		}
+		return MISSING;
+	}
+
+	/**
+	 * Maps the key to the value, replacing a previous value.
+	 *
+	 * @param key   the key
+	 * @param value the value, not negative
+	 * @throws IllegalArgumentException if the value is negative
+	 */
+	void put(long key, int value) {
+		if (value < 0) {
+			throw new IllegalArgumentException("The value must not be negative.");
+		}
+		if ((size + 1) * 4 > keys.length * 3) {
+			resize(keys.length * 2);
+		}
+		int mask = keys.length - 1;
+		int i = bucket(key, mask);
+		while (values[i] != 0) {
+			if (keys[i] == key) {
+				values[i] = value + 1;
+				return;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[i] = key;
+		values[i] = value + 1;
+		size++;
+	}
+
+	/**
+	 * Removes the mapping of the key.
+	 *
+	 * @param key the key
+	 * @return the removed value, or {@link #MISSING}
+	 */
+	int remove(long key) {
+		int mask = keys.length - 1;
+		int i = bucket(key, mask);
+		while (values[i] != 0 && keys[i] != key) {
+			i = (i + 1) & mask;
+		}
+		if (values[i] == 0) {
+			return MISSING;
+		}
+		int removed = values[i] - 1;
+		// shift back the entries of the probe sequence that follows the freed bucket
+		int free = i;
+		for (int j = (i + 1) & mask; values[j] != 0; j = (j + 1) & mask) {
+			int home = bucket(keys[j], mask);
+			if (((j - home) & mask) >= ((j - free) & mask)) {
+				keys[free] = keys[j];
+				values[free] = values[j];
+				free = j;
+			}
+		}
+		values[free] = 0;
+		size--;
+		return removed;
+	}
+
+	/**
+	 * Gets the number of mappings.
+	 *
+	 * @return the size
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Removes all mappings.
+	 */
+	void clear() {
+		keys = new long[INITIAL_CAPACITY];
+		values = new int[INITIAL_CAPACITY];
+		size = 0;
+	}
+
+	/**
+	 * Moves all mappings to arrays of the given capacity.
+	 *
+	 * @param capacity the new capacity, a power of two
+	 */
+	private void resize(int capacity) {
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+		keys = new long[capacity];
+		values = new int[capacity];
+		int mask = capacity - 1;
+		for (int j = 0; j < oldKeys.length; j++) {
+			if (oldValues[j] != 0) {
+				int i = bucket(oldKeys[j], mask);
+				while (values[i] != 0) {
+					i = (i + 1) & mask;
+				}
+				keys[i] = oldKeys[j];
+				values[i] = oldValues[j];
+			}
+		}
+	}
+
+	/**
+	 * Returns the home bucket of the key, spreading sequential ids over the table.
+	 *
+	 * @param key  the key
+	 * @param mask the table size minus one
+	 * @return the bucket
+	 */
+	private static int bucket(long key, int mask) {
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32)) & mask;
+	}
+}
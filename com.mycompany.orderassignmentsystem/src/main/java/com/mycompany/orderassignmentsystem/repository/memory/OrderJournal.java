@@ -0,0 +1,250 @@
+/*
+ * OrderJournal: Durable local journal of buffered order updates.
+ */
+package com.mycompany.orderassignmentsystem.repository.memory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.Worker;
+
+/**
+ * An append-only file of order updates that were acknowledged but not yet
+ * written to the database. Every record is forced to the disk before
+ * {@link #append(CustomerOrder)} returns, and carries its length and a CRC32
+ * checksum, so that a record torn by a crash is recognised and dropped when the
+ * journal is read back. Once updates reach the database, the journal is
+ * rewritten with the updates still outstanding.
+ *
+ * A record holds the fields of the order and the id of its worker; the
+ * version is not kept, the replayed update overwrites the stored order. The
+ * journal is not thread safe.
+ */
+final class OrderJournal {
+
+	/** The journal file. */
+	private final Path file;
+
+	/** The channel appending to the journal file. */
+	private FileChannel channel;
+
+	/**
+	 * Opens the journal file, creating it if it does not exist.
+	 *
+	 * @param file the journal file
+	 * @throws IOException if the file cannot be opened
+	 */
+	OrderJournal(Path file) throws IOException {
+		this.file = file;
+		this.channel = open(file);
+	}
+
+	/**
+	 * Reads the intact records of the journal, cutting off a torn last record.
+	 *
+	 * @return the journaled orders, in the order they were appended
+	 * @throws IOException if the file cannot be read
+	 */
+	List<CustomerOrder> read() throws IOException {
+		List<CustomerOrder> orders = new ArrayList<>();
+		long size = Files.size(file);
+		long valid = 0;
+		try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+			while (true) {
+				byte[] payload;
+				try {
+					int length = in.readInt();
+					long checksum = in.readLong();
+					if (length < 0 || valid + Integer.BYTES + Long.BYTES + length > size) {
+						break;
+					}
+					payload = new byte[length];
+					in.readFully(payload);
+					if (checksum(payload) != checksum) {
+						break;
+					}
+				} catch (EOFException e) {
+					break;
+				}
+				orders.add(decode(payload));
+				valid += Integer.BYTES + Long.BYTES + payload.length;
+			}
+		}
+		channel.truncate(valid);
+		return orders;
+	}
+
+	/**
+	 * Appends an order and forces it to the disk.
+	 *
+	 * @param order the order
+	 * @throws IOException if the record cannot be written
+	 */
+	void append(CustomerOrder order) throws IOException {
+		channel.write(record(order));
+		channel.force(false);
+	}
+
+	/**
+	 * Replaces the content of the journal with the given orders. The new content
+	 * is written to a temporary file that then replaces the journal, so a crash
+	 * leaves either the old or the new content.
+	 *
+	 * @param orders the orders still outstanding
+	 * @throws IOException if the journal cannot be replaced
+	 */
+	void rewrite(Collection<CustomerOrder> orders) throws IOException {
+		Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+		try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			for (CustomerOrder order : orders) {
+				out.write(record(order));
+			}
+			out.force(false);
+		}
+		channel.close();
+		Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		channel = open(file);
+	}
+
+	/**
+	 * Closes the journal file.
+	 *
+	 * @throws IOException if the file cannot be closed
+	 */
+	void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * Opens the journal file for appending.
+	 *
+	 * @param file the journal file
+	 * @return the channel
+	 * @throws IOException if the file cannot be opened
+	 */
+	private static FileChannel open(Path file) throws IOException {
+		return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.APPEND);
+	}
+
+	/**
+	 * Encodes the record of an order: the payload length, its checksum and the
+	 * payload.
+	 *
+	 * @param order the order
+	 * @return the record
+	 * @throws IOException if the order cannot be encoded
+	 */
+	private static ByteBuffer record(CustomerOrder order) throws IOException {
+		byte[] payload = encode(order);
+		ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + Long.BYTES + payload.length);
+		record.putInt(payload.length).putLong(checksum(payload)).put(payload);
+		record.flip();
+		return record;
+	}
+
+	/**
+	 * Encodes the fields of an order.
+	 *
+	 * @param order the order
+	 * @return the payload
+	 * @throws IOException if the order cannot be encoded
+	 */
+	private static byte[] encode(CustomerOrder order) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeLong(order.getOrderId());
+			writeString(out, order.getCustomerName());
+			writeString(out, order.getCustomerAddress());
+			writeString(out, order.getCustomerPhoneNumber());
+			writeString(out, order.getAppointmentDate());
+			writeString(out, order.getOrderDescription());
+			writeString(out, order.getOrderCategory() == null ? null : order.getOrderCategory().name());
+			writeString(out, order.getOrderStatus() == null ? null : order.getOrderStatus().name());
+			out.writeBoolean(order.getWorker() != null);
+			if (order.getWorker() != null) {
+				out.writeLong(order.getWorker().getWorkerId());
+			}
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Decodes the fields of an order.
+	 *
+	 * @param payload the payload
+	 * @return the order, without a version
+	 * @throws IOException if the payload cannot be decoded
+	 */
+	private static CustomerOrder decode(byte[] payload) throws IOException {
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+			long orderId = in.readLong();
+			String customerName = readString(in);
+			String customerAddress = readString(in);
+			String customerPhoneNumber = readString(in);
+			String appointmentDate = readString(in);
+			String orderDescription = readString(in);
+			String category = readString(in);
+			String status = readString(in);
+			OrderCategory orderCategory = category == null ? null : OrderCategory.valueOf(category);
+			Worker worker = in.readBoolean() ? new Worker(in.readLong(), orderCategory) : null;
+			return new CustomerOrder(orderId, customerName, customerAddress, customerPhoneNumber, appointmentDate,
+					orderDescription, orderCategory, status == null ? null : OrderStatus.valueOf(status), worker);
+		}
+	}
+
+	/**
+	 * Writes a string that may be null.
+	 *
+	 * @param out   the output
+	 * @param value the string, or null
+	 * @throws IOException if the string cannot be written
+	 */
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	/**
+	 * Reads a string that may be null.
+	 *
+	 * @param in the input
+	 * @return the string, or null
+	 * @throws IOException if the string cannot be read
+	 */
+	private static String readString(DataInputStream in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+	/**
+	 * Computes the checksum of a payload.
+	 *
+	 * @param payload the payload
+	 * @return the CRC32 checksum
+	 */
+	private static long checksum(byte[] payload) {
+		CRC32 crc = new CRC32();
+		crc.update(payload, 0, payload.length);
+		return crc.getValue();
+	}
+}
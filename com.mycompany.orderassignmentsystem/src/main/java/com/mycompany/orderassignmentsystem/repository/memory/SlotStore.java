@@ -0,0 +1,199 @@
+/*
+ * SlotStore: Entities in numbered slots for the in-memory repositories.
+ */
+package com.mycompany.orderassignmentsystem.repository.memory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Holds entities in numbered slots so that secondary indexes can refer to them
+ * with bit sets. Ids are mapped to slots with a primitive hash map, the freed
+ * slots of deleted entities are reused, and the ids are also kept in a sorted
+ * primitive array so that pages and full listings come out in id order without
+ * sorting. The store is not thread safe; the repositories guard it with their
+ * lock.
+ *
+ * @param <T> the entity type
+ */
+final class SlotStore<T> {
+
+	/** The slot of every id. */
+	private final LongIntHashMap slotsById = new LongIntHashMap();
+
+	/** The occupied slots. */
+	private final BitSet occupied = new BitSet();
+
+	/** The ids, sorted, in {@code sortedIds[0 .. size)}. */
+	private long[] sortedIds = new long[16];
+
+	/** The entities by slot. */
+	private Object[] entities = new Object[16];
+
+	/** The id of every occupied slot. */
+	private long[] idsBySlot = new long[16];
+
+	/** The number of entities. */
+	private int size;
+
+	/**
+	 * Gets the slot of the id.
+	 *
+	 * @param id the id
+	 * @return the slot, or {@link LongIntHashMap#MISSING}
+	 */
+	int slotOf(long id) {
+		return slotsById.get(id);
+	}
+
+	/**
+	 * Gets the entity in the slot.
+	 *
+	 * @param slot the slot
+	 * @return the entity
+	 */
+	@SuppressWarnings("unchecked")
+	T get(int slot) {
+		return (T) entities[slot];
+	}
+
+	/**
+	 * Gets the entity with the id.
+	 *
+	 * @param id the id
+	 * @return the entity, or null
+	 */
+	T find(long id) {
+		int slot = slotOf(id);
+		return slot == LongIntHashMap.MISSING ? null : get(slot);
+	}
+
+	/**
+	 * Stores a new entity under the id in a free slot.
+	 *
+	 * @param id     the id, not yet stored
+	 * @param entity the entity
+	 * @return the slot
+	 */
+	int insert(long id, T entity) {
+		int slot = occupied.nextClearBit(0);
+		if (slot == entities.length) {
+			entities = Arrays.copyOf(entities, slot * 2);
+			idsBySlot = Arrays.copyOf(idsBySlot, slot * 2);
+		}
+		entities[slot] = entity;
+		idsBySlot[slot] = id;
+		occupied.set(slot);
+		slotsById.put(id, slot);
+
+		if (size == sortedIds.length) {
+			sortedIds = Arrays.copyOf(sortedIds, size * 2);
+		}
+		// ids mostly grow, so the insertion point is usually the end
+		int position = size == 0 || sortedIds[size - 1] < id ? size
+				: -Arrays.binarySearch(sortedIds, 0, size, id) - 1;
+		System.arraycopy(sortedIds, position, sortedIds, position + 1, size - position);
+		sortedIds[position] = id;
+		size++;
+		return slot;
+	}
+
+	/**
+	 * Replaces the entity in the slot.
+	 *
+	 * @param slot   the slot
+	 * @param entity the new entity
+	 */
+	void replace(int slot, T entity) {
+		entities[slot] = entity;
+	}
+
+	/**
+	 * Removes the entity with the id and frees its slot.
+	 *
+	 * @param id the id
+	 * @return the freed slot, or {@link LongIntHashMap#MISSING}
+	 */
+	int remove(long id) {
+		int slot = slotsById.remove(id);
+		if (slot == LongIntHashMap.MISSING) {
+			return slot;
+		}
+		entities[slot] = null;
+		occupied.clear(slot);
+		int position = Arrays.binarySearch(sortedIds, 0, size, id);
+		System.arraycopy(sortedIds, position + 1, sortedIds, position, size - position - 1);
+		size--;
+		return slot;
+	}
+
+	/**
+	 * Gets the largest id.
+	 *
+	 * @return the largest id, or 0 if the store is empty
+	 */
+	long maxId() {
+		return size == 0 ? 0 : sortedIds[size - 1];
+	}
+
+	/**
+	 * Gets the number of entities.
+	 *
+	 * @return the size
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the entities with an id greater than the given one, in id order.
+	 *
+	 * @param afterId the id to start after, or null to start at the first
+	 * @param limit   the maximum number of entities
+	 * @return the entities
+	 */
+	List<T> page(Long afterId, int limit) {
+		int from = 0;
+		if (afterId != null) {
+			int position = Arrays.binarySearch(sortedIds, 0, size, afterId);
+			from = position >= 0 ? position + 1 : -position - 1;
+		}
+		int to = (int) Math.min((long) from + Math.max(limit, 0), size);
+		List<T> page = new ArrayList<>(Math.max(to - from, 0));
+		for (int i = from; i < to; i++) {
+			page.add(find(sortedIds[i]));
+		}
+		return page;
+	}
+
+	/**
+	 * Returns the entities in the given slots, in id order.
+	 *
+	 * @param slots the slots
+	 * @return the entities
+	 */
+	List<T> select(BitSet slots) {
+		long[] ids = new long[slots.cardinality()];
+		int count = 0;
+		for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+			ids[count++] = idsBySlot[slot];
+		}
+		Arrays.sort(ids);
+		List<T> selected = new ArrayList<>(count);
+		for (long id : ids) {
+			selected.add(find(id));
+		}
+		return selected;
+	}
+
+	/**
+	 * Returns every entity, in id order.
+	 *
+	 * @return the entities
+	 */
+	List<T> all() {
+		return page(null, size);
+	}
+}
@@ -0,0 +1,506 @@
+/*
+ * WriteBehindOrderRepository: Order repository that writes order updates to the database in batches.
+ */
+package com.mycompany.orderassignmentsystem.repository.memory;
+
+import static com.mycompany.orderassignmentsystem.repository.EntityCopies.copy;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderSearchOptions;
+import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.OrderSummary;
+import com.mycompany.orderassignmentsystem.repository.BatchResult;
+import com.mycompany.orderassignmentsystem.repository.OrderFilter;
+import com.mycompany.orderassignmentsystem.repository.OrderRepository;
+import com.mycompany.orderassignmentsystem.repository.VersionConflictException;
+import com.mycompany.orderassignmentsystem.repository.postgres.OrderDatabaseRepository;
+
+/**
+ * An {@link OrderRepository} that acknowledges updates of existing orders, such
+ * as the status changes at the end of a shift, before they reach the database.
+ * An update is checked and applied in an {@link InMemoryOrderRepository},
+ * appended to a local journal that is forced to the disk, and buffered. The
+ * buffered updates are written to the database with one
+ * {@link OrderDatabaseRepository#overwriteAll(Collection)} once the buffer
+ * holds the batch size, and otherwise at half the maximum staleness, so that
+ * no update waits much longer than the maximum staleness. Several updates of
+ * the same order are written as one.
+ *
+ * Inserts and deletes are written through the in-memory repository to the
+ * database, after the buffered updates, so the database always sees the writes
+ * in the order they were made; the writes of the workers call {@link #flush()}
+ * first for the same reason. Updates are still buffered while a write goes
+ * through. When the repository is created, updates left in the journal by a
+ * crash are written to the database before anything else.
+ *
+ * The in-memory repository decides about version conflicts, and the buffered
+ * updates overwrite the database rows without a version check, so the database
+ * must not be written by other application instances in this mode. An update
+ * the database rejects is logged and the order is read back from the database.
+ * When the database cannot be reached, the updates stay buffered and
+ * journaled, and are written by a later flush or start. {@link #close()} writes
+ * the remaining updates.
+ */
+public class WriteBehindOrderRepository implements OrderRepository {
+
+	/** The Constant LOGGER. */
+	private static final Logger LOGGER = LogManager.getLogger(WriteBehindOrderRepository.class);
+
+	/** The in-memory repository serving reads and checking writes. */
+	private final InMemoryOrderRepository memory;
+
+	/** The database. */
+	private final OrderDatabaseRepository database;
+
+	/** The journal of the buffered updates. */
+	private final OrderJournal journal;
+
+	/** The number of buffered orders that triggers a flush. */
+	private final int batchSize;
+
+	/** The buffered updates by order id, latest state only. */
+	private final Map<Long, CustomerOrder> pending = new LinkedHashMap<>();
+
+	/** The lock guarding the buffer and the journal. */
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/**
+	 * The lock serialising flushes and write-through writes, always taken before
+	 * {@link #lock}.
+	 */
+	private final ReentrantLock flushLock = new ReentrantLock();
+
+	/** The thread flushing the buffer. */
+	private final ScheduledExecutorService flusher;
+
+	/**
+	 * Instantiates a new write-behind order repository and writes the updates
+	 * left in the journal to the database.
+	 *
+	 * @param memory       the in-memory repository, writing through to the
+	 *                     database
+	 * @param database     the database repository
+	 * @param journalFile  the journal file
+	 * @param batchSize    the number of buffered orders that triggers a flush
+	 * @param maxStaleness the time after which a buffered update is written at
+	 *                     the latest
+	 * @throws IllegalArgumentException if the batch size or the maximum staleness
+	 *                                  is not positive
+	 * @throws IllegalStateException    if the journal cannot be opened or
+	 *                                  recovered; the journal is kept when the
+	 *                                  database cannot be reached
+	 */
+	public WriteBehindOrderRepository(InMemoryOrderRepository memory, OrderDatabaseRepository database,
+			Path journalFile, int batchSize, Duration maxStaleness) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("The batch size must be positive.");
+		}
+		if (maxStaleness.isNegative() || maxStaleness.isZero()) {
+			throw new IllegalArgumentException("The maximum staleness must be positive.");
+		}
+		this.memory = memory;
+		this.database = database;
+		this.batchSize = batchSize;
+		try {
+			this.journal = new OrderJournal(journalFile);
+		} catch (IOException e) {
+			throw new IllegalStateException("failed to open the order journal.", e);
+		}
+		try {
+			recover();
+		} catch (IOException | RuntimeException e) {
+			closeJournal();
+			throw new IllegalStateException("failed to recover the order journal.", e);
+		}
+		this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "order-write-behind");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long interval = Math.max(maxStaleness.toMillis() / 2, 1);
+		flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public CustomerOrder save(CustomerOrder order) {
+		if (order == null || order.getOrderId() == null || memory.findById(order.getOrderId()) == null) {
+			return writeThrough(() -> memory.save(order));
+		}
+		lock.lock();
+		try {
+			CustomerOrder previous = memory.findById(order.getOrderId());
+			if (previous == null) {
+				throw new VersionConflictException("failed to create order.", null);
+			}
+			CustomerOrder saved = memory.saveWithoutDatabase(order);
+			try {
+				journal.append(saved);
+			} catch (IOException e) {
+				memory.reload(previous.getOrderId(), previous);
+				throw new IllegalStateException("failed to create order.", e);
+			}
+			pending.put(saved.getOrderId(), saved);
+			if (pending.size() >= batchSize && !flusher.isShutdown()) {
+				flusher.execute(this::flushQuietly);
+			}
+			return copy(saved);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void delete(CustomerOrder order) {
+		writeThrough(() -> {
+			memory.delete(order);
+			return null;
+		});
+	}
+
+	@Override
+	public int deleteAllById(Collection<Long> orderIds) {
+		return writeThrough(() -> memory.deleteAllById(orderIds));
+	}
+
+	@Override
+	public BatchResult<CustomerOrder> saveAll(Collection<CustomerOrder> orders) {
+		List<CustomerOrder> saved = new ArrayList<>();
+		Map<Integer, String> failures = new LinkedHashMap<>();
+		int index = 0;
+		for (CustomerOrder order : orders) {
+			try {
+				saved.add(save(order));
+			} catch (RuntimeException e) {
+				failures.put(index, e.getMessage());
+			}
+			index++;
+		}
+		return new BatchResult<>(saved, failures);
+	}
+
+	@Override
+	public int archiveTerminalOrders(LocalDate appointmentBefore) {
+		return writeThrough(() -> memory.archiveTerminalOrders(appointmentBefore));
+	}
+
+	/**
+	 * Writes the buffered updates to the database. Updates made while the batch
+	 * is written stay buffered for the next flush.
+	 *
+	 * @throws IllegalStateException if the database cannot be reached; the
+	 *                               updates stay buffered
+	 */
+	public void flush() {
+		flushLock.lock();
+		try {
+			List<CustomerOrder> batch;
+			lock.lock();
+			try {
+				batch = new ArrayList<>(pending.values());
+			} finally {
+				lock.unlock();
+			}
+			if (batch.isEmpty()) {
+				return;
+			}
+			List<CustomerOrder> rows = new ArrayList<>(batch.size());
+			for (CustomerOrder order : batch) {
+				rows.add(copy(order));
+			}
+			BatchResult<CustomerOrder> result = database.overwriteAll(rows);
+			lock.lock();
+			try {
+				for (int i = 0; i < batch.size(); i++) {
+					CustomerOrder flushed = batch.get(i);
+					// an order updated again since the snapshot stays buffered
+					boolean current = pending.get(flushed.getOrderId()) == flushed;
+					if (result.getFailures().containsKey(i)) {
+						LOGGER.error("Dropping the buffered update of order {}: {}", flushed.getOrderId(),
+								result.getFailures().get(i));
+						if (current) {
+							// read back before unbuffering, so a failed read leaves the update for the next flush
+							memory.reload(flushed.getOrderId(), database.findById(flushed.getOrderId()));
+						}
+					}
+					if (current) {
+						pending.remove(flushed.getOrderId());
+					}
+				}
+				try {
+					journal.rewrite(pending.values());
+				} catch (IOException e) {
+					// replaying the written updates again after a crash is harmless
+					LOGGER.warn("Failed to compact the order journal: {}", e.getMessage());
+				}
+			} finally {
+				lock.unlock();
+			}
+		} finally {
+			flushLock.unlock();
+		}
+	}
+
+	/**
+	 * Gets the number of buffered updates.
+	 *
+	 * @return the number of orders waiting to be written
+	 */
+	public int getPendingCount() {
+		lock.lock();
+		try {
+			return pending.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Stops the background flushes and writes the remaining updates.
+	 *
+	 * @throws IllegalStateException if the database cannot be reached; the
+	 *                               updates stay in the journal
+	 */
+	public void close() {
+		flusher.shutdown();
+		try {
+			flusher.awaitTermination(1, TimeUnit.MINUTES);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		try {
+			flush();
+		} finally {
+			closeJournal();
+		}
+	}
+
+	@Override
+	public List<CustomerOrder> findAll() {
+		return memory.findAll();
+	}
+
+	@Override
+	public List<CustomerOrder> findAll(boolean includeArchived) {
+		// the archived orders are read from the database, which must be current
+		return includeArchived ? afterFlush(() -> memory.findAll(true)) : memory.findAll();
+	}
+
+	@Override
+	public List<OrderSummary> findAllSummaries() {
+		return memory.findAllSummaries();
+	}
+
+	@Override
+	public List<OrderSummary> findSummaries(OrderSearchOptions searchOption, Object value) {
+		return memory.findSummaries(searchOption, value);
+	}
+
+	@Override
+	public CustomerOrder findById(Long orderId) {
+		return memory.findById(orderId);
+	}
+
+	@Override
+	public List<CustomerOrder> findByCustomerName(String name) {
+		return memory.findByCustomerName(name);
+	}
+
+	@Override
+	public List<CustomerOrder> findByCustomerName(String name, boolean includeArchived) {
+		return includeArchived ? afterFlush(() -> memory.findByCustomerName(name, true))
+				: memory.findByCustomerName(name);
+	}
+
+	@Override
+	public List<CustomerOrder> findByCustomerNameSimilarTo(String name, int limit) {
+		return memory.findByCustomerNameSimilarTo(name, limit);
+	}
+
+	@Override
+	public List<CustomerOrder> findByCustomerPhoneNumber(String phoneNumber) {
+		return memory.findByCustomerPhoneNumber(phoneNumber);
+	}
+
+	@Override
+	public List<CustomerOrder> findByCustomerPhoneNumberPrefix(String prefix, int limit) {
+		return memory.findByCustomerPhoneNumberPrefix(prefix, limit);
+	}
+
+	@Override
+	public List<String> completeCustomerPhoneNumber(String prefix, int limit) {
+		return memory.completeCustomerPhoneNumber(prefix, limit);
+	}
+
+	@Override
+	public List<CustomerOrder> findByDate(String date) {
+		return memory.findByDate(date);
+	}
+
+	@Override
+	public List<CustomerOrder> findByDateRange(LocalDate from, LocalDate to, CustomerOrder after, int pageSize) {
+		return memory.findByDateRange(from, to, after, pageSize);
+	}
+
+	@Override
+	public List<CustomerOrder> findByOrderCategory(OrderCategory category) {
+		return memory.findByOrderCategory(category);
+	}
+
+	@Override
+	public List<CustomerOrder> findByOrderStatus(OrderStatus status) {
+		return memory.findByOrderStatus(status);
+	}
+
+	@Override
+	public boolean existsPendingOrderForWorker(Long workerId) {
+		return memory.existsPendingOrderForWorker(workerId);
+	}
+
+	@Override
+	public List<CustomerOrder> findPage(Long afterOrderId, int pageSize) {
+		return memory.findPage(afterOrderId, pageSize);
+	}
+
+	@Override
+	public void forEachOrder(Consumer<CustomerOrder> action) {
+		memory.forEachOrder(action);
+	}
+
+	@Override
+	public void forEachOrder(OrderFilter filter, Consumer<CustomerOrder> action) {
+		memory.forEachOrder(filter, action);
+	}
+
+	@Override
+	public Map<OrderStatus, Map<OrderCategory, Long>> countByStatusAndCategory() {
+		return memory.countByStatusAndCategory();
+	}
+
+	@Override
+	public Map<Long, Long> countByWorker() {
+		return memory.countByWorker();
+	}
+
+	@Override
+	public SortedMap<LocalDate, Long> countByDate(LocalDate from, LocalDate to) {
+		return memory.countByDate(from, to);
+	}
+
+	/**
+	 * Writes the updates left in the journal to the database and applies the
+	 * result to memory. Only the updates the database rejects are dropped; if
+	 * the database cannot be reached, the journal is left as it is.
+	 *
+	 * @throws IOException if the journal cannot be read or rewritten
+	 */
+	private void recover() throws IOException {
+		List<CustomerOrder> journaled = journal.read();
+		if (journaled.isEmpty()) {
+			return;
+		}
+		LOGGER.info("Writing {} order updates left in the journal", journaled.size());
+		BatchResult<CustomerOrder> result = database.overwriteAll(journaled);
+		result.getSaved().forEach(saved -> memory.reload(saved.getOrderId(), saved));
+		result.getFailures().forEach((index, reason) -> LOGGER.error("Dropping the journaled update of order {}: {}",
+				journaled.get(index).getOrderId(), reason));
+		journal.rewrite(new ArrayList<>());
+	}
+
+	/**
+	 * Runs a write through the in-memory repository to the database, after the
+	 * buffered updates. Only {@link #flushLock} is held during the database write,
+	 * so updates are still buffered meanwhile; the buffered updates of orders the
+	 * write removed are dropped afterwards under {@link #lock}.
+	 *
+	 * @param <R>   the result type
+	 * @param write the write
+	 * @return the result
+	 */
+	private <R> R writeThrough(Supplier<R> write) {
+		return afterFlush(() -> {
+			R result = write.get();
+			lock.lock();
+			try {
+				dropRemoved();
+			} finally {
+				lock.unlock();
+			}
+			return result;
+		});
+	}
+
+	/**
+	 * Runs a database access after the buffered updates are written, serialised
+	 * with the flushes.
+	 *
+	 * @param <R>    the result type
+	 * @param access the database access
+	 * @return the result
+	 */
+	private <R> R afterFlush(Supplier<R> access) {
+		flushLock.lock();
+		try {
+			flush();
+			return access.get();
+		} finally {
+			flushLock.unlock();
+		}
+	}
+
+	/**
+	 * Drops the buffered updates of orders that are no longer held in memory, as
+	 * they were deleted or archived while the updates were buffered.
+	 */
+	private void dropRemoved() {
+		if (pending.keySet().removeIf(orderId -> memory.findById(orderId) == null)) {
+			try {
+				journal.rewrite(pending.values());
+			} catch (IOException e) {
+				LOGGER.warn("Failed to compact the order journal: {}", e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Closes the journal, logging a failure.
+	 */
+	private void closeJournal() {
+		try {
+			journal.close();
+		} catch (IOException e) {
+			LOGGER.warn("Failed to close the order journal: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Writes the buffered updates, logging a failure instead of throwing it.
+	 */
+	private void flushQuietly() {
+		try {
+			flush();
+		} catch (RuntimeException e) {
+			LOGGER.warn("Failed to write the buffered order updates, retrying later: {}", e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,177 @@
+package com.mycompany.orderassignmentsystem.repository.postgres;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.UnaryOperator;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.Session;
+
+import com.mycompany.orderassignmentsystem.repository.BatchResult;
+
+/**
+ * Shared bulk-write logic of the database repositories.
+ *
+ * All entities are merged in one transaction with JDBC batching enabled on the
+ * session, flushing and clearing the persistence context every
+ * {@link #BATCH_SIZE} rows. If the transaction fails because a row was
+ * rejected, it is rolled back and every row is retried on its own through the
+ * repository's single-row save, so that valid rows are still written and each
+ * rejected row is reported with its position. Any other failure, such as a lost
+ * connection, is thrown instead of being reported against the rows.
+ */
+final class BatchWriter {
+
+	/** The JDBC batch size, also used as flush interval. */
+	static final int BATCH_SIZE = 50;
+
+	/**
+	 * The number of ids bound to one bulk delete statement, well below the
+	 * PostgreSQL driver limit of 32767 bind parameters per statement.
+	 */
+	static final int DELETE_CHUNK_SIZE = 1000;
+
+	/** The Constant LOGGER. */
+	private static final Logger LOGGER = LogManager.getLogger(BatchWriter.class);
+
+	/**
+	 * Instantiates a new batch writer.
+	 */
+	private BatchWriter() {
+	}
+
+	/**
+	 * Saves all entities in one batched transaction, falling back to row-by-row
+	 * saves when a row is rejected.
+	 *
+	 * @param <T>                  the entity type
+	 * @param entityManagerFactory the entity manager factory
+	 * @param entities             the entities to save
+	 * @param prepare              the preparation of an entity before its merge,
+	 *                             run inside the transaction
+	 * @param singleSave           the single-row save used by the fallback
+	 * @return the batch result
+	 * @throws IllegalStateException if the batch or a row fails for another
+	 *                               reason than a rejection of the row; rows
+	 *                               retried before are kept
+	 */
+	static <T> BatchResult<T> saveAll(EntityManagerFactory entityManagerFactory, Collection<T> entities,
+			BiConsumer<EntityManager, T> prepare, UnaryOperator<T> singleSave) {
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		entityManager.unwrap(Session.class).setJdbcBatchSize(BATCH_SIZE);
+		EntityTransaction transaction = entityManager.getTransaction();
+		try {
+			transaction.begin();
+			List<T> saved = new ArrayList<>(entities.size());
+			int count = 0;
+			for (T entity : entities) {
+				prepare.accept(entityManager, entity);
+				saved.add(entityManager.merge(entity));
+				if (++count % BATCH_SIZE == 0) {
+					entityManager.flush();
+					entityManager.clear();
+				}
+			}
+			transaction.commit();
+			entityManager.close();
+			return new BatchResult<>(saved, new LinkedHashMap<>());
+		} catch (Exception e) {
+			if (transaction.isActive()) {
+				transaction.rollback();
+			}
+			entityManager.close();
+			if (!DatabaseErrors.isRowRejection(e)) {
+				throw new IllegalStateException("failed to save the batch.", e);
+			}
+			LOGGER.warn("Batch save failed, retrying row by row: {}", rootCauseMessage(e));
+			return saveEach(entities, singleSave);
+		}
+	}
+
+	/**
+	 * Runs a bulk JPQL delete for the given ids, binding them to the
+	 * {@code :ids} parameter in chunks of {@link #DELETE_CHUNK_SIZE}. All chunks
+	 * run in one transaction, so either every row is deleted or none is.
+	 *
+	 * @param entityManagerFactory the entity manager factory
+	 * @param deleteQuery          the JPQL delete with an {@code IN :ids} clause
+	 * @param ids                  the ids to delete
+	 * @return the number of deleted rows
+	 */
+	static int deleteAllById(EntityManagerFactory entityManagerFactory, String deleteQuery, Collection<Long> ids) {
+		List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+		if (distinctIds.isEmpty()) {
+			return 0;
+		}
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		EntityTransaction transaction = entityManager.getTransaction();
+		try {
+			transaction.begin();
+			int deleted = 0;
+			for (int from = 0; from < distinctIds.size(); from += DELETE_CHUNK_SIZE) {
+				List<Long> chunk = distinctIds.subList(from, Math.min(from + DELETE_CHUNK_SIZE, distinctIds.size()));
+				deleted += entityManager.createQuery(deleteQuery).setParameter("ids", chunk).executeUpdate();
+			}
+			transaction.commit();
+			entityManager.close();
+			return deleted;
+		} catch (RuntimeException e) {
+			if (transaction.isActive()) {
+				transaction.rollback();
+			}
+			entityManager.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Saves every entity in its own transaction, recording rejected rows.
+	 *
+	 * @param <T>        the entity type
+	 * @param entities   the entities
+	 * @param singleSave the single-row save
+	 * @return the batch result
+	 * @throws RuntimeException the failure of a row that was not rejected
+	 */
+	private static <T> BatchResult<T> saveEach(Collection<T> entities, UnaryOperator<T> singleSave) {
+		List<T> saved = new ArrayList<>();
+		Map<Integer, String> failures = new LinkedHashMap<>();
+		int index = 0;
+		for (T entity : entities) {
+			try {
+				saved.add(singleSave.apply(entity));
+			} catch (RuntimeException e) {
+				if (!DatabaseErrors.isRowRejection(e)) {
+					throw e;
+				}
+				failures.put(index, rootCauseMessage(e));
+			}
+			index++;
+		}
+		return new BatchResult<>(saved, failures);
+	}
+
+	/**
+	 * Returns the message of the innermost cause of the given exception.
+	 *
+	 * @param e the exception
+	 * @return the root cause message
+	 */
+	static String rootCauseMessage(Throwable e) {
+		Throwable cause = e;
+		while (cause.getCause() != null && cause.getCause() != cause) {
+			cause = cause.getCause();
+		}
+		return cause.getMessage() != null ? cause.getMessage() : e.getMessage();
+	}
+}
@@ -0,0 +1,94 @@
+package com.mycompany.orderassignmentsystem.repository.postgres;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import javax.persistence.EntityNotFoundException;
+import javax.persistence.OptimisticLockException;
+
+import org.hibernate.HibernateException;
+import org.hibernate.StaleStateException;
+import org.hibernate.exception.ConstraintViolationException;
+
+import com.mycompany.orderassignmentsystem.repository.UniqueConstraintException;
+import com.mycompany.orderassignmentsystem.repository.VersionConflictException;
+
+/**
+ * Translates persistence exceptions of the database repositories into the
+ * exceptions of the repository interfaces.
+ */
+final class DatabaseErrors {
+
+	/** The SQL state of a unique violation, shared by PostgreSQL and H2. */
+	private static final String UNIQUE_VIOLATION = "23505";
+
+	/** The SQL state classes of data exceptions and integrity constraint violations. */
+	private static final String[] ROW_REJECTIONS = { "22", "23" };
+
+	/**
+	 * Instantiates a new database errors.
+	 */
+	private DatabaseErrors() {
+	}
+
+	/**
+	 * Wraps a failed write. Unique violations become a
+	 * {@link UniqueConstraintException} carrying the constraint name when the
+	 * dialect could extract it, stale or missing versions and rows deleted in the
+	 * meantime a {@link VersionConflictException}; everything else an
+	 * {@link IllegalStateException}.
+	 *
+	 * @param message the message of the repository operation
+	 * @param e       the exception
+	 * @return the exception to throw
+	 */
+	static IllegalStateException writeFailure(String message, Exception e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof OptimisticLockException || cause instanceof StaleStateException
+					|| cause instanceof EntityNotFoundException || cause instanceof VersionConflictException) {
+				return new VersionConflictException(message, e);
+			}
+			if (cause instanceof ConstraintViolationException) {
+				ConstraintViolationException violation = (ConstraintViolationException) cause;
+				if (UNIQUE_VIOLATION.equals(violation.getSQLState())) {
+					return new UniqueConstraintException(message, violation.getConstraintName(), e);
+				}
+			} else if (cause instanceof SQLException && UNIQUE_VIOLATION.equals(((SQLException) cause).getSQLState())) {
+				return new UniqueConstraintException(message, null, e);
+			}
+			if (cause.getCause() == cause) {
+				break;
+			}
+		}
+		return new IllegalStateException(message, e);
+	}
+
+	/**
+	 * Checks whether a failed write was refused because of the row itself: a
+	 * stale or missing version, a row deleted in the meantime, a constraint or
+	 * data error reported by the database, or a row Hibernate refuses before it
+	 * reaches the database. Anything else, such as a lost connection, says
+	 * nothing about the row and may go away when the write is retried.
+	 *
+	 * @param e the exception
+	 * @return true, if the row was rejected
+	 */
+	static boolean isRowRejection(Throwable e) {
+		boolean hibernate = false;
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof OptimisticLockException || cause instanceof StaleStateException
+					|| cause instanceof EntityNotFoundException || cause instanceof VersionConflictException) {
+				return true;
+			}
+			if (cause instanceof SQLException) {
+				String state = ((SQLException) cause).getSQLState();
+				return state != null && Arrays.stream(ROW_REJECTIONS).anyMatch(state::startsWith);
+			}
+			hibernate |= cause instanceof HibernateException;
+			if (cause.getCause() == cause) {
+				break;
+			}
+		}
+		return hibernate;
+	}
+}
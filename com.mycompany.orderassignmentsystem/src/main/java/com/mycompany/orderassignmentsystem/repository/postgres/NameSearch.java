@@ -0,0 +1,247 @@
+package com.mycompany.orderassignmentsystem.repository.postgres;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.Session;
+
+import com.mycompany.orderassignmentsystem.repository.TrigramIndex;
+
+/**
+ * Prefix and similar name search of a name column. On PostgreSQL with the
+ * {@code pg_trgm} extension the database ranks the rows, using the trigram
+ * index created by {@link PostgresSchemaManager}; on other databases, such as
+ * the H2 database of the unit tests, the names are ranked by a
+ * {@link TrigramIndex} with the same rules. The index is loaded by the first
+ * search and then kept up to date by the repository, which reports every
+ * committed write, as the in-memory repositories do; writes made by other
+ * application instances are not seen.
+ *
+ * The index is guarded by a read-write lock, which is never held while the
+ * database is queried.
+ */
+final class NameSearch {
+
+	/** The trigram extension of PostgreSQL. */
+	static final String TRIGRAM_EXTENSION = "pg_trgm";
+
+	/** The table. */
+	private final String table;
+
+	/** The id column. */
+	private final String idColumn;
+
+	/** The name column. */
+	private final String nameColumn;
+
+	/** The JPQL query of the ids and names, for the ranking in memory. */
+	private final String namesQuery;
+
+	/** Whether the database ranks the rows; null until the first search. */
+	private volatile Boolean databaseRanking;
+
+	/** The lock guarding the index. */
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/** The ids by the trigrams of the names; null until the first search loads it. */
+	private TrigramIndex index;
+
+	/** Whether the index holds every row. */
+	private boolean loaded;
+
+	/** The ids written while the index loads, whose loaded names may be stale. */
+	private final Set<Long> writtenWhileLoading = new HashSet<>();
+
+	/**
+	 * Instantiates a new name search.
+	 *
+	 * @param table      the table
+	 * @param idColumn   the id column
+	 * @param nameColumn the name column
+	 * @param namesQuery the JPQL query selecting id and name of every row
+	 */
+	NameSearch(String table, String idColumn, String nameColumn, String namesQuery) {
+		this.table = table;
+		this.idColumn = idColumn;
+		this.nameColumn = nameColumn;
+		this.namesQuery = namesQuery;
+	}
+
+	/**
+	 * Finds the ids of the rows whose name starts with or resembles the given
+	 * name, best match first.
+	 *
+	 * @param entityManager the entity manager
+	 * @param name          the name
+	 * @param limit         the maximum number of ids
+	 * @return the ranked ids
+	 */
+	List<Long> rankedIds(EntityManager entityManager, String name, int limit) {
+		if (databaseRanking == null) {
+			databaseRanking = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+				if (!PostgresSchemaManager.isPostgres(connection)) {
+					return false;
+				}
+				try (Statement statement = connection.createStatement();
+						ResultSet extension = statement.executeQuery(
+								"SELECT 1 FROM pg_extension WHERE extname = '" + TRIGRAM_EXTENSION + "'")) {
+					return extension.next();
+				}
+			});
+		}
+		if (databaseRanking) {
+			String normalised = "lower(" + nameColumn + ")";
+			List<?> ids = entityManager.createNativeQuery("SELECT " + idColumn + " FROM " + table + " WHERE "
+					+ normalised + " LIKE :prefix ESCAPE '\\' OR " + normalised + " % lower(:name) ORDER BY "
+					+ normalised + " LIKE :prefix ESCAPE '\\' DESC, similarity(" + normalised
+					+ ", lower(:name)) DESC, " + idColumn).setParameter("prefix", likePrefix(name))
+					.setParameter("name", name).setMaxResults(limit).getResultList();
+			return ids.stream().map(id -> ((Number) id).longValue()).collect(Collectors.toList());
+		}
+		load(entityManager);
+		Lock readLock = lock.readLock();
+		readLock.lock();
+		try {
+			return index.search(name, limit);
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+	/**
+	 * Reports the name of a row that was inserted or updated.
+	 *
+	 * @param id   the id
+	 * @param name the name
+	 */
+	void put(long id, String name) {
+		Lock writeLock = lock.writeLock();
+		writeLock.lock();
+		try {
+			if (index != null) {
+				index.put(id, name);
+				written(id);
+			}
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Reports a row that was deleted.
+	 *
+	 * @param id the id
+	 */
+	void remove(long id) {
+		Lock writeLock = lock.writeLock();
+		writeLock.lock();
+		try {
+			if (index != null) {
+				index.remove(id);
+				written(id);
+			}
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Loads the index from the names of all rows, unless it is loaded already.
+	 * The writes reported from the start of the load on are applied to the index
+	 * and take precedence over the loaded names.
+	 *
+	 * @param entityManager the entity manager
+	 */
+	private void load(EntityManager entityManager) {
+		Lock writeLock = lock.writeLock();
+		writeLock.lock();
+		try {
+			if (loaded) {
+				return;
+			}
+			if (index == null) {
+				index = new TrigramIndex();
+			}
+		} finally {
+			writeLock.unlock();
+		}
+		List<Object[]> rows = entityManager.createQuery(namesQuery, Object[].class).getResultList();
+		writeLock.lock();
+		try {
+			if (!loaded) {
+				for (Object[] row : rows) {
+					if (!writtenWhileLoading.contains(row[0])) {
+						index.put((Long) row[0], (String) row[1]);
+					}
+				}
+				loaded = true;
+				writtenWhileLoading.clear();
+			}
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Remembers a write while the index loads. Must be called under the write
+	 * lock.
+	 *
+	 * @param id the written id
+	 */
+	private void written(long id) {
+		if (!loaded) {
+			writtenWhileLoading.add(id);
+		}
+	}
+
+	/**
+	 * Loads the entities of ranked ids, keeping the rank order.
+	 *
+	 * @param <T>           the entity type
+	 * @param entityManager the entity manager
+	 * @param ids           the ranked ids
+	 * @param entityQuery   the JPQL query of the entities whose id is in
+	 *                      {@code :ids}
+	 * @param type          the entity type
+	 * @param idOf          the id of an entity
+	 * @return the entities, best match first
+	 */
+	static <T> List<T> inRankOrder(EntityManager entityManager, List<Long> ids, String entityQuery, Class<T> type,
+			Function<T, Long> idOf) {
+		if (ids.isEmpty()) {
+			return new ArrayList<>();
+		}
+		Map<Long, T> entities = new HashMap<>();
+		for (T entity : entityManager.createQuery(entityQuery, type).setParameter("ids", ids).getResultList()) {
+			entities.put(idOf.apply(entity), entity);
+		}
+		return ids.stream().map(entities::get).filter(Objects::nonNull).collect(Collectors.toList());
+	}
+
+	/**
+	 * Creates the LIKE pattern of the values starting with the given one, to be
+	 * used with {@code ESCAPE '\'}.
+	 *
+	 * @param value the beginning of the value
+	 * @return the pattern, lower-cased with the wildcards of the value escaped
+	 */
+	static String likePrefix(String value) {
+		return value.trim().toLowerCase(Locale.ROOT).replace("\\", "\\\\").replace("%", "\\%")
+				.replace("_", "\\_") + "%";
+	}
+}
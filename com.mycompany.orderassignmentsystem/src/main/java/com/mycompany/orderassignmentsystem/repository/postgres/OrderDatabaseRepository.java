@@ -1,19 +1,62 @@
 package com.mycompany.orderassignmentsystem.repository.postgres;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.EntityTransaction;
+import javax.persistence.FlushModeType;
+import javax.persistence.LockModeType;
 import javax.persistence.TypedQuery;
 
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+
 import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderSearchOptions;
 import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+import com.mycompany.orderassignmentsystem.model.AppointmentDateConverter;
+import com.mycompany.orderassignmentsystem.model.ArchivedOrder;
 import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.OrderSummary;
+import com.mycompany.orderassignmentsystem.repository.BatchResult;
+import com.mycompany.orderassignmentsystem.repository.OrderFilter;
 import com.mycompany.orderassignmentsystem.repository.OrderRepository;
+import com.mycompany.orderassignmentsystem.repository.VersionConflictException;
 
+/**
+ * Every call opens its own EntityManager (and transaction for writes), so a
+ * single instance can be shared by concurrent callers without a JVM monitor;
+ * consistency of concurrent writes is left to the database.
+ */
 public class OrderDatabaseRepository implements OrderRepository {
-	private EntityManagerFactory entityManagerFactory;
+	private static final int FETCH_SIZE = 500;
+
+	private static final String SELECT_SUMMARY = "SELECT new com.mycompany.orderassignmentsystem.model.OrderSummary("
+			+ "o.orderId, o.customerName, o.appointmentDate, o.orderStatus, o.orderCategory, o.worker.workerId)"
+			+ " FROM CustomerOrder o";
+
+	private static final List<OrderStatus> TERMINAL_STATUSES = Arrays.asList(OrderStatus.COMPLETED,
+			OrderStatus.CANCELLED);
+
+	private final NameSearch customerNameSearch = new NameSearch("CustomerOrder", "orderId", "customer_name",
+			"SELECT o.orderId, o.customerName FROM CustomerOrder o");
+
+	private final EntityManagerFactory entityManagerFactory;
 
 	public OrderDatabaseRepository(EntityManagerFactory entityManagerFactory) {
 		super();
@@ -21,7 +64,7 @@ public class OrderDatabaseRepository implements OrderRepository {
 	}
 
 	@Override
-	public synchronized List<CustomerOrder> findAll() {
+	public List<CustomerOrder> findAll() {
 		EntityManager entityManager = entityManagerFactory.createEntityManager();
 		List<CustomerOrder> resultList = entityManager.createQuery("SELECT o FROM CustomerOrder o", CustomerOrder.class)
 				.getResultList();
@@ -31,26 +74,113 @@ public class OrderDatabaseRepository implements OrderRepository {
 	}
 
 	@Override
-	public synchronized CustomerOrder save(CustomerOrder order) {
+	public List<CustomerOrder> findAll(boolean includeArchived) {
+		List<CustomerOrder> resultList = findAll();
+		if (includeArchived) {
+			EntityManager entityManager = entityManagerFactory.createEntityManager();
+			resultList.addAll(toCustomerOrders(entityManager
+					.createQuery("SELECT a FROM ArchivedOrder a ORDER BY a.orderId", ArchivedOrder.class)
+					.getResultList()));
+			entityManager.close();
+		}
+		return resultList;
+	}
+
+	@Override
+	public List<OrderSummary> findAllSummaries() {
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		List<OrderSummary> resultList = entityManager
+				.createQuery(SELECT_SUMMARY + " ORDER BY o.orderId", OrderSummary.class).getResultList();
+		entityManager.close();
+		return resultList;
+	}
+
+	@Override
+	public List<OrderSummary> findSummaries(OrderSearchOptions searchOption, Object value) {
+		String field = summaryField(searchOption);
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+
+		TypedQuery<OrderSummary> query = entityManager
+				.createQuery(SELECT_SUMMARY + " where " + field + "=:value ORDER BY o.orderId", OrderSummary.class);
+		query.setParameter("value", value);
+		List<OrderSummary> resultList = query.getResultList();
+		entityManager.close();
+		return resultList;
+	}
+
+	private static String summaryField(OrderSearchOptions searchOption) {
+		switch (searchOption) {
+		case ORDER_ID:
+			return "o.orderId";
+		case CUSTOMER_NAME:
+			return "o.customerName";
+		case CUSTOMER_PHONE:
+			return "o.customerPhoneNumber";
+		case DATE:
+			return "o.appointmentDate";
+		case CATEGORY:
+			return "o.orderCategory";
+		case STATUS:
+			return "o.orderStatus";
+		case WORKER_ID:
+			return "o.worker.workerId";
+		default:
+			throw new IllegalArgumentException("This operation is not allowed");
+		}
+	}
+
+	@Override
+	public CustomerOrder save(CustomerOrder order) {
+		return save(order, OrderDatabaseRepository::requireVersion);
+	}
+
+	private CustomerOrder save(CustomerOrder order, BiConsumer<EntityManager, CustomerOrder> prepare) {
 		EntityManager entityManager = entityManagerFactory.createEntityManager();
 		entityManager.clear();
 		EntityTransaction transaction = entityManager.getTransaction();
 		try {
 
 			transaction.begin();
+			prepare.accept(entityManager, order);
 			order = entityManager.merge(order);
 			transaction.commit();
 			entityManager.close();
+			customerNameSearch.put(order.getOrderId(), order.getCustomerName());
 			return order;
 		} catch (Exception e) {
-			transaction.rollback();
+			if (transaction.isActive()) {
+				transaction.rollback();
+			}
 			entityManager.close();
-			throw new IllegalStateException("failed to create order.");
+			throw DatabaseErrors.writeFailure("failed to create order.", e);
 		}
 	}
 
+	private static void requireVersion(EntityManager entityManager, CustomerOrder order) {
+		if (order.getOrderId() != null && order.getVersion() == null
+				&& currentVersion(entityManager, order.getOrderId()) != null) {
+			// an update of an order that was not read first would overwrite any change
+			throw new VersionConflictException("order " + order.getOrderId() + " was updated without its version.",
+					null);
+		}
+	}
+
+	private static void stampCurrentVersion(EntityManager entityManager, CustomerOrder order) {
+		if (order.getOrderId() != null) {
+			order.setVersion(currentVersion(entityManager, order.getOrderId()));
+		}
+	}
+
+	private static Long currentVersion(EntityManager entityManager, Long orderId) {
+		List<Long> versions = entityManager
+				.createQuery("SELECT o.version FROM CustomerOrder o where o.orderId=:order_id", Long.class)
+				.setParameter("order_id", orderId)
+				.setFlushMode(FlushModeType.COMMIT).getResultList();
+		return versions.isEmpty() ? null : versions.get(0);
+	}
+
 	@Override
-	public synchronized void delete(CustomerOrder order) {
+	public void delete(CustomerOrder order) {
 		EntityManager entityManager = entityManagerFactory.createEntityManager();
 
 		EntityTransaction transaction = entityManager.getTransaction();
@@ -62,16 +192,32 @@ public class OrderDatabaseRepository implements OrderRepository {
 			transaction.commit();
 
 			entityManager.close();
+			customerNameSearch.remove(order.getOrderId());
 		} catch (Exception e) {
-			transaction.rollback();
+			if (transaction.isActive()) {
+				transaction.rollback();
+			}
 			entityManager.close();
-			throw new IllegalStateException("failed to delete order.");
+			throw DatabaseErrors.writeFailure("failed to delete order.", e);
+		}
+	}
+
+	@Override
+	public int deleteAllById(Collection<Long> orderIds) {
+		int deleted;
+		try {
+			deleted = BatchWriter.deleteAllById(entityManagerFactory,
+					"DELETE FROM CustomerOrder o WHERE o.orderId IN :ids", orderIds);
+		} catch (Exception e) {
+			throw new IllegalStateException("failed to delete orders.", e);
 		}
+		orderIds.stream().filter(Objects::nonNull).forEach(customerNameSearch::remove);
+		return deleted;
 	}
 
 	@Override
 
-	public synchronized CustomerOrder findById(Long orderId) {
+	public CustomerOrder findById(Long orderId) {
 		EntityManager entityManager = entityManagerFactory.createEntityManager();
 		CustomerOrder customerOrder = entityManager.find(CustomerOrder.class, orderId);
 		entityManager.close();
@@ -80,7 +226,7 @@ public class OrderDatabaseRepository implements OrderRepository {
 	}
 
 	@Override
-	public synchronized List<CustomerOrder> findByCustomerName(String name) {
+	public List<CustomerOrder> findByCustomerName(String name) {
 		EntityManager entityManager = entityManagerFactory.createEntityManager();
 
 		TypedQuery<CustomerOrder> query = entityManager
@@ -92,7 +238,34 @@ public class OrderDatabaseRepository implements OrderRepository {
 	}
 
 	@Override
-	public synchronized List<CustomerOrder> findByCustomerPhoneNumber(String phoneNumber) {
+	public List<CustomerOrder> findByCustomerName(String name, boolean includeArchived) {
+		List<CustomerOrder> resultList = findByCustomerName(name);
+		if (includeArchived) {
+			EntityManager entityManager = entityManagerFactory.createEntityManager();
+
+			TypedQuery<ArchivedOrder> query = entityManager.createQuery(
+					"SELECT a FROM ArchivedOrder a where a.customerName=:name ORDER BY a.orderId", ArchivedOrder.class);
+			query.setParameter("name", name);
+			resultList.addAll(toCustomerOrders(query.getResultList()));
+			entityManager.close();
+		}
+		return resultList;
+	}
+
+	@Override
+	public List<CustomerOrder> findByCustomerNameSimilarTo(String name, int limit) {
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+
+		List<Long> ids = customerNameSearch.rankedIds(entityManager, name, limit);
+		List<CustomerOrder> resultList = NameSearch.inRankOrder(entityManager, ids,
+				"SELECT o FROM CustomerOrder o where o.orderId IN :ids", CustomerOrder.class,
+				CustomerOrder::getOrderId);
+		entityManager.close();
+		return resultList;
+	}
+
+	@Override
+	public List<CustomerOrder> findByCustomerPhoneNumber(String phoneNumber) {
 		EntityManager entityManager = entityManagerFactory.createEntityManager();
 
 		TypedQuery<CustomerOrder> query = entityManager
@@ -104,7 +277,32 @@ public class OrderDatabaseRepository implements OrderRepository {
 	}
 
 	@Override
-	public synchronized List<CustomerOrder> findByDate(String date) {
+	public List<CustomerOrder> findByCustomerPhoneNumberPrefix(String prefix, int limit) {
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+
+		TypedQuery<CustomerOrder> query = entityManager.createQuery("SELECT o FROM CustomerOrder o"
+				+ " where o.customerPhoneNumber LIKE :prefix ESCAPE '\\' ORDER BY o.customerPhoneNumber, o.orderId",
+				CustomerOrder.class);
+		query.setParameter("prefix", NameSearch.likePrefix(prefix));
+		List<CustomerOrder> resultList = query.setMaxResults(limit).getResultList();
+		entityManager.close();
+		return resultList;
+	}
+
+	@Override
+	public List<String> completeCustomerPhoneNumber(String prefix, int limit) {
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+
+		TypedQuery<String> query = entityManager.createQuery("SELECT DISTINCT o.customerPhoneNumber FROM CustomerOrder o"
+				+ " where o.customerPhoneNumber LIKE :prefix ESCAPE '\\' ORDER BY o.customerPhoneNumber", String.class);
+		query.setParameter("prefix", NameSearch.likePrefix(prefix));
+		List<String> resultList = query.setMaxResults(limit).getResultList();
+		entityManager.close();
+		return resultList;
+	}
+
+	@Override
+	public List<CustomerOrder> findByDate(String date) {
 		EntityManager entityManager = entityManagerFactory.createEntityManager();
 
 		TypedQuery<CustomerOrder> query = entityManager
@@ -116,7 +314,32 @@ public class OrderDatabaseRepository implements OrderRepository {
 	}
 
 	@Override
-	public synchronized List<CustomerOrder> findByOrderCategory(OrderCategory category) {
+	public List<CustomerOrder> findByDateRange(LocalDate from, LocalDate to, CustomerOrder after, int pageSize) {
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+
+		TypedQuery<CustomerOrder> query;
+		if (after == null) {
+			query = entityManager.createQuery("SELECT o FROM CustomerOrder o where o.appointmentDate between :from and :to"
+					+ " ORDER BY o.appointmentDate, o.orderId", CustomerOrder.class);
+		} else {
+			query = entityManager.createQuery("SELECT o FROM CustomerOrder o where o.appointmentDate between :from and :to"
+					+ " and (o.appointmentDate > :afterDate"
+					+ " or (o.appointmentDate = :afterDate and o.orderId > :afterOrderId))"
+					+ " ORDER BY o.appointmentDate, o.orderId", CustomerOrder.class);
+			query.setParameter("afterDate", after.getAppointmentDate());
+			query.setParameter("afterOrderId", after.getOrderId());
+		}
+		// bound as dd-MM-yyyy strings, converted like the attribute they compare to
+		query.setParameter("from", AppointmentDateConverter.format(from));
+		query.setParameter("to", AppointmentDateConverter.format(to));
+		query.setMaxResults(pageSize);
+		List<CustomerOrder> resultList = query.getResultList();
+		entityManager.close();
+		return resultList;
+	}
+
+	@Override
+	public List<CustomerOrder> findByOrderCategory(OrderCategory category) {
 		EntityManager entityManager = entityManagerFactory.createEntityManager();
 
 		TypedQuery<CustomerOrder> query = entityManager
@@ -128,7 +351,7 @@ public class OrderDatabaseRepository implements OrderRepository {
 	}
 
 	@Override
-	public synchronized List<CustomerOrder> findByOrderStatus(OrderStatus status) {
+	public List<CustomerOrder> findByOrderStatus(OrderStatus status) {
 		EntityManager entityManager = entityManagerFactory.createEntityManager();
 
 		TypedQuery<CustomerOrder> query = entityManager
@@ -139,4 +362,231 @@ public class OrderDatabaseRepository implements OrderRepository {
 		return resultList;
 	}
 
-}
\ No newline at end of file
+	@Override
+	public boolean existsPendingOrderForWorker(Long workerId) {
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+
+		TypedQuery<Long> query = entityManager.createQuery(
+				"SELECT o.orderId FROM CustomerOrder o where o.worker.workerId=:worker_id and o.orderStatus=:status",
+				Long.class);
+		query.setParameter("worker_id", workerId);
+		query.setParameter("status", OrderStatus.PENDING);
+		query.setMaxResults(1);
+		boolean exists = !query.getResultList().isEmpty();
+		entityManager.close();
+		return exists;
+	}
+
+	@Override
+	public List<CustomerOrder> findPage(Long afterOrderId, int pageSize) {
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		TypedQuery<CustomerOrder> query;
+		if (afterOrderId == null) {
+			query = entityManager.createQuery("SELECT o FROM CustomerOrder o ORDER BY o.orderId", CustomerOrder.class);
+		} else {
+			query = entityManager.createQuery(
+					"SELECT o FROM CustomerOrder o where o.orderId > :afterOrderId ORDER BY o.orderId",
+					CustomerOrder.class);
+			query.setParameter("afterOrderId", afterOrderId);
+		}
+		List<CustomerOrder> resultList = query.setMaxResults(pageSize).getResultList();
+		entityManager.close();
+		return resultList;
+	}
+
+	@Override
+	public void forEachOrder(Consumer<CustomerOrder> action) {
+		forEachOrder(OrderFilter.ALL, action);
+	}
+
+	@Override
+	public void forEachOrder(OrderFilter filter, Consumer<CustomerOrder> action) {
+		List<String> conditions = new ArrayList<>();
+		Map<String, Object> parameters = new LinkedHashMap<>();
+		if (filter.getStatus() != null) {
+			conditions.add("o.orderStatus = :status");
+			parameters.put("status", filter.getStatus());
+		}
+		if (filter.getCategory() != null) {
+			conditions.add("o.orderCategory = :category");
+			parameters.put("category", filter.getCategory());
+		}
+		// bound as dd-MM-yyyy strings, converted like the attribute they compare to;
+		// on a partitioned table the range also prunes the months outside it
+		if (filter.getFrom() != null) {
+			conditions.add("o.appointmentDate >= :from");
+			parameters.put("from", AppointmentDateConverter.format(filter.getFrom()));
+		}
+		if (filter.getTo() != null) {
+			conditions.add("o.appointmentDate <= :to");
+			parameters.put("to", AppointmentDateConverter.format(filter.getTo()));
+		}
+		String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		EntityTransaction transaction = entityManager.getTransaction();
+		try {
+			Session session = entityManager.unwrap(Session.class);
+			// PostgreSQL only honours the fetch size (server-side cursor) inside a
+			// transaction
+			transaction.begin();
+			// the worker is fetched with its order, as it is read again after every
+			// clear
+			Query<CustomerOrder> query = session.createQuery(
+					"SELECT o FROM CustomerOrder o LEFT JOIN FETCH o.worker" + where + " ORDER BY o.orderId",
+					CustomerOrder.class);
+			parameters.forEach(query::setParameter);
+			try (ScrollableResults results = query.setReadOnly(true).setFetchSize(FETCH_SIZE)
+					.scroll(ScrollMode.FORWARD_ONLY)) {
+				int count = 0;
+				while (results.next()) {
+					action.accept((CustomerOrder) results.get(0));
+					if (++count % FETCH_SIZE == 0) {
+						session.clear();
+					}
+				}
+			}
+		} finally {
+			if (transaction.isActive()) {
+				transaction.rollback();
+			}
+			entityManager.close();
+		}
+	}
+
+	@Override
+	public Map<OrderStatus, Map<OrderCategory, Long>> countByStatusAndCategory() {
+		Map<OrderStatus, Map<OrderCategory, Long>> counts = new EnumMap<>(OrderStatus.class);
+		for (OrderStatus status : OrderStatus.values()) {
+			Map<OrderCategory, Long> byCategory = new EnumMap<>(OrderCategory.class);
+			for (OrderCategory category : OrderCategory.values()) {
+				byCategory.put(category, 0L);
+			}
+			counts.put(status, byCategory);
+		}
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		List<Object[]> rows = entityManager.createQuery("SELECT o.orderStatus, o.orderCategory, COUNT(o)"
+				+ " FROM CustomerOrder o GROUP BY o.orderStatus, o.orderCategory", Object[].class).getResultList();
+		entityManager.close();
+		for (Object[] row : rows) {
+			counts.get((OrderStatus) row[0]).put((OrderCategory) row[1], (Long) row[2]);
+		}
+		return counts;
+	}
+
+	@Override
+	public Map<Long, Long> countByWorker() {
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		List<Object[]> rows = entityManager.createQuery("SELECT o.worker.workerId, COUNT(o) FROM CustomerOrder o"
+				+ " GROUP BY o.worker.workerId ORDER BY o.worker.workerId", Object[].class).getResultList();
+		entityManager.close();
+		Map<Long, Long> counts = new LinkedHashMap<>();
+		for (Object[] row : rows) {
+			counts.put((Long) row[0], (Long) row[1]);
+		}
+		return counts;
+	}
+
+	@Override
+	public SortedMap<LocalDate, Long> countByDate(LocalDate from, LocalDate to) {
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		TypedQuery<Object[]> query = entityManager.createQuery("SELECT o.appointmentDate, COUNT(o)"
+				+ " FROM CustomerOrder o where o.appointmentDate between :from and :to GROUP BY o.appointmentDate",
+				Object[].class);
+		query.setParameter("from", AppointmentDateConverter.format(from));
+		query.setParameter("to", AppointmentDateConverter.format(to));
+		List<Object[]> rows = query.getResultList();
+		entityManager.close();
+		SortedMap<LocalDate, Long> counts = new TreeMap<>();
+		for (Object[] row : rows) {
+			counts.put(LocalDate.parse((String) row[0], AppointmentDateConverter.FORMAT), (Long) row[1]);
+		}
+		return counts;
+	}
+
+	@Override
+	public BatchResult<CustomerOrder> saveAll(Collection<CustomerOrder> orders) {
+		BatchResult<CustomerOrder> result = BatchWriter.saveAll(entityManagerFactory, orders,
+				OrderDatabaseRepository::requireVersion, this::save);
+		result.getSaved().forEach(saved -> customerNameSearch.put(saved.getOrderId(), saved.getCustomerName()));
+		return result;
+	}
+
+	/**
+	 * Saves the given orders like {@link #saveAll(Collection)}, except that an
+	 * update overwrites the stored order whatever the version it carries: the
+	 * last writer wins. The versions of the given orders are replaced. Only meant
+	 * for replaying updates that were already checked against another copy of
+	 * the orders, such as those buffered by
+	 * {@link com.mycompany.orderassignmentsystem.repository.memory.WriteBehindOrderRepository}.
+	 *
+	 * @param orders the orders
+	 * @return the batch result
+	 */
+	public BatchResult<CustomerOrder> overwriteAll(Collection<CustomerOrder> orders) {
+		BatchResult<CustomerOrder> result = BatchWriter.saveAll(entityManagerFactory, orders,
+				OrderDatabaseRepository::stampCurrentVersion,
+				order -> save(order, OrderDatabaseRepository::stampCurrentVersion));
+		result.getSaved().forEach(saved -> customerNameSearch.put(saved.getOrderId(), saved.getCustomerName()));
+		return result;
+	}
+
+	@Override
+	public int archiveTerminalOrders(LocalDate appointmentBefore) {
+		int archived = 0;
+		int chunk;
+		do {
+			chunk = archiveChunk(appointmentBefore);
+			archived += chunk;
+		} while (chunk == BatchWriter.DELETE_CHUNK_SIZE);
+		return archived;
+	}
+
+	// Moves one chunk of orders in its own transaction. The orders are locked when
+	// read, so an update racing with the move waits for it and then fails on the
+	// deleted row instead of being lost.
+	private int archiveChunk(LocalDate appointmentBefore) {
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		entityManager.unwrap(Session.class).setJdbcBatchSize(BatchWriter.BATCH_SIZE);
+		EntityTransaction transaction = entityManager.getTransaction();
+		try {
+			transaction.begin();
+			List<CustomerOrder> orders = entityManager.createQuery("SELECT o FROM CustomerOrder o"
+					+ " where o.orderStatus IN :statuses and o.appointmentDate < :before ORDER BY o.orderId",
+					CustomerOrder.class).setParameter("statuses", TERMINAL_STATUSES)
+					.setParameter("before", AppointmentDateConverter.format(appointmentBefore))
+					.setLockMode(LockModeType.PESSIMISTIC_WRITE).setMaxResults(BatchWriter.DELETE_CHUNK_SIZE)
+					.getResultList();
+			LocalDate archivedOn = LocalDate.now();
+			List<Long> ids = new ArrayList<>(orders.size());
+			for (CustomerOrder order : orders) {
+				entityManager.persist(new ArchivedOrder(order, archivedOn));
+				ids.add(order.getOrderId());
+			}
+			if (!ids.isEmpty()) {
+				entityManager.flush();
+				entityManager.createQuery("DELETE FROM CustomerOrder o WHERE o.orderId IN :ids")
+						.setParameter("ids", ids).executeUpdate();
+			}
+			transaction.commit();
+			entityManager.close();
+			ids.forEach(customerNameSearch::remove);
+			return ids.size();
+		} catch (Exception e) {
+			if (transaction.isActive()) {
+				transaction.rollback();
+			}
+			entityManager.close();
+			throw new IllegalStateException("failed to archive orders.", e);
+		}
+	}
+
+	private static List<CustomerOrder> toCustomerOrders(List<ArchivedOrder> archivedOrders) {
+		List<CustomerOrder> orders = new ArrayList<>(archivedOrders.size());
+		for (ArchivedOrder archivedOrder : archivedOrders) {
+			orders.add(archivedOrder.toCustomerOrder());
+		}
+		return orders;
+	}
+
+}
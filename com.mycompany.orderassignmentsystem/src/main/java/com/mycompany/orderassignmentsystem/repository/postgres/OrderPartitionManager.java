@@ -0,0 +1,295 @@
+package com.mycompany.orderassignmentsystem.repository.postgres;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.Session;
+
+import com.mycompany.orderassignmentsystem.repository.OrderRepository;
+
+/**
+ * Partitions the CustomerOrder table by appointment month. A plain table is
+ * converted once into a table partitioned by range of {@code appointment_date},
+ * with one partition per month holding orders and a default partition for the
+ * dates no monthly partition covers; every start then creates the partitions
+ * of the current and the upcoming months, so that new orders land in monthly
+ * partitions and the date searches only read the partitions of their dates.
+ *
+ * A unique index of a partitioned table must contain the partition key, so the
+ * primary key becomes {@code (orderId, appointment_date)} and the rule of one
+ * pending order per worker is enforced by a trigger instead of
+ * {@link OrderRepository#ONE_PENDING_ORDER_PER_WORKER}; the trigger reports
+ * violations as that unique constraint, so they are mapped as before. Nothing
+ * is done on other databases such as the H2 database used by the unit tests.
+ */
+public class OrderPartitionManager {
+
+	/** The Constant LOGGER. */
+	private static final Logger LOGGER = LogManager.getLogger(OrderPartitionManager.class);
+
+	/** The partitioned table, as named in the catalog. */
+	static final String TABLE = "customerorder";
+
+	/** The partition of the dates no monthly partition covers. */
+	static final String DEFAULT_PARTITION = TABLE + "_default";
+
+	/** The name of the plain table while its rows are copied. */
+	private static final String UNPARTITIONED_TABLE = TABLE + "_unpartitioned";
+
+	/** The entity manager factory. */
+	private final EntityManagerFactory entityManagerFactory;
+
+	/** The number of months after the current one that get a partition. */
+	private final int monthsAhead;
+
+	/**
+	 * Instantiates a new order partition manager.
+	 *
+	 * @param entityManagerFactory the entity manager factory
+	 * @param monthsAhead          the number of months after the current one
+	 *                             that get a partition at every start
+	 */
+	public OrderPartitionManager(EntityManagerFactory entityManagerFactory, int monthsAhead) {
+		if (monthsAhead < 0) {
+			throw new IllegalArgumentException("The number of months ahead cannot be negative.");
+		}
+		this.entityManagerFactory = entityManagerFactory;
+		this.monthsAhead = monthsAhead;
+	}
+
+	/**
+	 * Partitions the table if needed and creates the upcoming partitions, in one
+	 * transaction.
+	 */
+	public void apply() {
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		EntityTransaction transaction = entityManager.getTransaction();
+		try {
+			transaction.begin();
+			entityManager.unwrap(Session.class).doWork(connection -> {
+				if (!PostgresSchemaManager.isPostgres(connection)) {
+					return;
+				}
+				if (!isPartitioned(connection) && !partitionTable(connection)) {
+					return;
+				}
+				for (YearMonth month : upcomingMonths(YearMonth.now(), monthsAhead)) {
+					createPartition(connection, month);
+				}
+				createPendingOrderTrigger(connection);
+			});
+			transaction.commit();
+			entityManager.close();
+		} catch (Exception e) {
+			if (transaction.isActive()) {
+				transaction.rollback();
+			}
+			entityManager.close();
+			throw new IllegalStateException("failed to partition the orders.", e);
+		}
+	}
+
+	/**
+	 * Checks whether the CustomerOrder table is partitioned.
+	 *
+	 * @param connection the connection
+	 * @return true, if the table is partitioned
+	 * @throws SQLException the SQL exception
+	 */
+	static boolean isPartitioned(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement();
+				ResultSet table = statement.executeQuery("SELECT 1 FROM pg_class c"
+						+ " JOIN pg_namespace n ON n.oid = c.relnamespace"
+						+ " WHERE c.relname = '" + TABLE + "' AND c.relkind = 'p'"
+						+ " AND n.nspname = ANY (current_schemas(false))")) {
+			return table.next();
+		}
+	}
+
+	/**
+	 * Converts the plain table into a partitioned one: the rows are copied into
+	 * monthly partitions, and the primary key, the indexes and the foreign keys
+	 * are created again on the partitioned table.
+	 *
+	 * @param connection the connection
+	 * @return true, if the table is partitioned
+	 * @throws SQLException the SQL exception
+	 */
+	private boolean partitionTable(Connection connection) throws SQLException {
+		List<String> indexes = new ArrayList<>();
+		List<String> foreignKeys = new ArrayList<>();
+		List<YearMonth> months = new ArrayList<>();
+		try (Statement statement = connection.createStatement()) {
+			try (ResultSet undated = statement
+					.executeQuery("SELECT COUNT(*) FROM CustomerOrder WHERE appointment_date IS NULL")) {
+				undated.next();
+				if (undated.getLong(1) > 0) {
+					LOGGER.warn("Table CustomerOrder not partitioned: {} orders have no appointment date",
+							undated.getLong(1));
+					return false;
+				}
+			}
+			// unique indexes, among them the primary key, must contain the partition key
+			try (ResultSet definitions = statement.executeQuery("SELECT indexdef FROM pg_indexes"
+					+ " WHERE tablename = '" + TABLE + "' AND indexdef NOT LIKE 'CREATE UNIQUE %'")) {
+				while (definitions.next()) {
+					indexes.add(definitions.getString(1));
+				}
+			}
+			try (ResultSet constraints = statement.executeQuery("SELECT conname, pg_get_constraintdef(oid)"
+					+ " FROM pg_constraint WHERE conrelid = 'customerorder'::regclass AND contype = 'f'")) {
+				while (constraints.next()) {
+					foreignKeys.add("ALTER TABLE CustomerOrder ADD CONSTRAINT \"" + constraints.getString(1) + "\" "
+							+ constraints.getString(2));
+				}
+			}
+			try (ResultSet dates = statement.executeQuery(
+					"SELECT DISTINCT date_trunc('month', appointment_date)::date FROM CustomerOrder")) {
+				while (dates.next()) {
+					months.add(YearMonth.from(dates.getDate(1).toLocalDate()));
+				}
+			}
+
+			statement.execute("ALTER TABLE CustomerOrder RENAME TO " + UNPARTITIONED_TABLE);
+			statement.execute("CREATE TABLE CustomerOrder (LIKE " + UNPARTITIONED_TABLE
+					+ " INCLUDING DEFAULTS) PARTITION BY RANGE (appointment_date)");
+			statement.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF CustomerOrder DEFAULT");
+			for (YearMonth month : months) {
+				createPartition(connection, month);
+			}
+			int copied = statement.executeUpdate("INSERT INTO CustomerOrder SELECT * FROM " + UNPARTITIONED_TABLE);
+			statement.execute("DROP TABLE " + UNPARTITIONED_TABLE);
+
+			statement.execute("ALTER TABLE CustomerOrder ADD PRIMARY KEY (orderId, appointment_date)");
+			for (String index : indexes) {
+				statement.execute(index);
+			}
+			for (String foreignKey : foreignKeys) {
+				statement.execute(foreignKey);
+			}
+			LOGGER.info("Table CustomerOrder partitioned by appointment month: {} orders in {} partitions", copied,
+					months.size());
+		}
+		return true;
+	}
+
+	/**
+	 * Creates the partition of a month unless it exists. Orders of the month
+	 * already kept in the default partition are moved into the new partition,
+	 * which the database requires before the month can be attached.
+	 *
+	 * @param connection the connection
+	 * @param month      the month
+	 * @throws SQLException the SQL exception
+	 */
+	private void createPartition(Connection connection, YearMonth month) throws SQLException {
+		String partition = partitionName(month);
+		String bounds = partitionBounds(month);
+		try (PreparedStatement exists = connection.prepareStatement("SELECT to_regclass(?)")) {
+			exists.setString(1, partition);
+			try (ResultSet table = exists.executeQuery()) {
+				table.next();
+				if (table.getString(1) != null) {
+					return;
+				}
+			}
+		}
+		long stray;
+		try (PreparedStatement count = connection.prepareStatement("SELECT COUNT(*) FROM " + DEFAULT_PARTITION
+				+ " WHERE appointment_date >= ? AND appointment_date < ?")) {
+			count.setDate(1, Date.valueOf(month.atDay(1)));
+			count.setDate(2, Date.valueOf(month.plusMonths(1).atDay(1)));
+			try (ResultSet result = count.executeQuery()) {
+				result.next();
+				stray = result.getLong(1);
+			}
+		}
+		try (Statement statement = connection.createStatement()) {
+			if (stray == 0) {
+				statement.execute("CREATE TABLE " + partition + " PARTITION OF CustomerOrder " + bounds);
+				return;
+			}
+			statement.execute("CREATE TABLE " + partition + " (LIKE CustomerOrder INCLUDING DEFAULTS)");
+			statement.execute("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION + " WHERE appointment_date >= '"
+					+ month.atDay(1) + "' AND appointment_date < '" + month.plusMonths(1).atDay(1)
+					+ "' RETURNING *) INSERT INTO " + partition + " SELECT * FROM moved");
+			statement.execute("ALTER TABLE CustomerOrder ATTACH PARTITION " + partition + " " + bounds);
+			LOGGER.info("Partition {} created with {} orders moved from {}", partition, stray, DEFAULT_PARTITION);
+		}
+	}
+
+	/**
+	 * Creates the trigger rejecting a second pending order of a worker. The
+	 * advisory lock of the worker makes concurrent transactions check one after
+	 * the other, so each sees the pending order the other committed.
+	 *
+	 * @param connection the connection
+	 * @throws SQLException the SQL exception
+	 */
+	private void createPendingOrderTrigger(Connection connection) throws SQLException {
+		String name = OrderRepository.ONE_PENDING_ORDER_PER_WORKER;
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("CREATE OR REPLACE FUNCTION " + name + "() RETURNS trigger AS $$ BEGIN"
+					+ " IF NEW.order_status = 'PENDING' AND NEW.worker_workerId IS NOT NULL THEN"
+					+ " PERFORM pg_advisory_xact_lock(NEW.worker_workerId);"
+					+ " IF EXISTS (SELECT 1 FROM CustomerOrder WHERE worker_workerId = NEW.worker_workerId"
+					+ " AND order_status = 'PENDING' AND orderId <> NEW.orderId) THEN"
+					// the message is the one of a unique index, from which Hibernate reads the name
+					+ " RAISE EXCEPTION 'duplicate key value violates unique constraint \"" + name + "\"'"
+					+ " USING ERRCODE = 'unique_violation', CONSTRAINT = '" + name + "';"
+					+ " END IF; END IF; RETURN NULL; END $$ LANGUAGE plpgsql");
+			statement.execute("DROP TRIGGER IF EXISTS " + name + " ON CustomerOrder");
+			statement.execute("CREATE TRIGGER " + name + " AFTER INSERT OR UPDATE ON CustomerOrder"
+					+ " FOR EACH ROW EXECUTE FUNCTION " + name + "()");
+		}
+	}
+
+	/**
+	 * Lists the months that need a partition at start.
+	 *
+	 * @param current     the current month
+	 * @param monthsAhead the number of months after the current one
+	 * @return the current month followed by the upcoming ones
+	 */
+	static List<YearMonth> upcomingMonths(YearMonth current, int monthsAhead) {
+		List<YearMonth> months = new ArrayList<>();
+		for (int i = 0; i <= monthsAhead; i++) {
+			months.add(current.plusMonths(i));
+		}
+		return months;
+	}
+
+	/**
+	 * Names the partition of a month.
+	 *
+	 * @param month the month
+	 * @return the partition name, such as {@code customerorder_2024_07}
+	 */
+	static String partitionName(YearMonth month) {
+		return String.format("%s_%04d_%02d", TABLE, month.getYear(), month.getMonthValue());
+	}
+
+	/**
+	 * Creates the bounds clause of the partition of a month.
+	 *
+	 * @param month the month
+	 * @return the clause, from the first day of the month inclusive to the first
+	 *         day of the next month exclusive
+	 */
+	static String partitionBounds(YearMonth month) {
+		return "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+	}
+}
@@ -0,0 +1,275 @@
+package com.mycompany.orderassignmentsystem.repository.postgres;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.Session;
+
+import com.mycompany.orderassignmentsystem.repository.OrderRepository;
+import com.mycompany.orderassignmentsystem.repository.WorkerRepository;
+
+/**
+ * Applies the PostgreSQL schema changes that {@code hibernate.hbm2ddl.auto}
+ * cannot express. It runs once after the EntityManagerFactory has been created;
+ * every step is idempotent, and nothing is done on other databases such as the
+ * H2 database used by the unit tests.
+ */
+public class PostgresSchemaManager {
+
+	/** The Constant LOGGER. */
+	private static final Logger LOGGER = LogManager.getLogger(PostgresSchemaManager.class);
+
+	/** The id allocation size of the entity sequences. */
+	private static final int ALLOCATION_SIZE = 50;
+
+	/** The entity manager factory. */
+	private final EntityManagerFactory entityManagerFactory;
+
+	/**
+	 * Instantiates a new postgres schema manager.
+	 *
+	 * @param entityManagerFactory the entity manager factory
+	 */
+	public PostgresSchemaManager(EntityManagerFactory entityManagerFactory) {
+		this.entityManagerFactory = entityManagerFactory;
+	}
+
+	/**
+	 * Applies all schema steps in one transaction.
+	 */
+	public void apply() {
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		EntityTransaction transaction = entityManager.getTransaction();
+		try {
+			transaction.begin();
+			entityManager.unwrap(Session.class).doWork(connection -> {
+				if (!isPostgres(connection)) {
+					return;
+				}
+				migrateAppointmentDateColumn(connection);
+				initialiseVersions(connection, "CustomerOrder");
+				initialiseVersions(connection, "Worker");
+				alignSequence(connection, "customer_order_seq", "CustomerOrder", "orderId");
+				alignSequence(connection, "worker_seq", "Worker", "workerId");
+				createPendingOrderIndex(connection);
+				dropLegacyPhoneNumberConstraints(connection);
+				createNameSearchIndexes(connection);
+				createPhoneNumberPrefixIndexes(connection);
+			});
+			transaction.commit();
+			entityManager.close();
+		} catch (Exception e) {
+			if (transaction.isActive()) {
+				transaction.rollback();
+			}
+			entityManager.close();
+			throw new IllegalStateException("failed to apply schema changes.", e);
+		}
+	}
+
+	/**
+	 * Checks whether the connection points to a PostgreSQL server.
+	 *
+	 * @param connection the connection
+	 * @return true, if the database is PostgreSQL
+	 * @throws SQLException the SQL exception
+	 */
+	static boolean isPostgres(Connection connection) throws SQLException {
+		return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+	}
+
+	/**
+	 * Moves an id sequence past the ids already present in its table. Tables
+	 * created before ids were sequence generated hold rows the sequence does not
+	 * know about; an empty table leaves the sequence untouched so that fresh
+	 * databases still start at 1.
+	 *
+	 * @param connection the connection
+	 * @param sequence   the sequence name
+	 * @param table      the table name
+	 * @param idColumn   the id column
+	 * @throws SQLException the SQL exception
+	 */
+	private void alignSequence(Connection connection, String sequence, String table, String idColumn)
+			throws SQLException {
+		try (Statement statement = connection.createStatement();
+				ResultSet result = statement.executeQuery("SELECT (SELECT MAX(" + idColumn + ") FROM " + table
+						+ "), (SELECT last_value FROM " + sequence + ")")) {
+			result.next();
+			long maxId = result.getLong(1);
+			long lastValue = result.getLong(2);
+			// pooled optimizer: a sequence value v hands out the ids (v - 49 .. v]
+			long target = maxId + ALLOCATION_SIZE;
+			if (maxId > 0 && lastValue < target) {
+				statement.execute("SELECT setval('" + sequence + "', " + target + ")");
+				LOGGER.info("Sequence {} moved to {} past existing ids of {}", sequence, target, table);
+			}
+		}
+	}
+
+	/**
+	 * Converts the appointment date column of tables created while it was mapped
+	 * as a {@code dd-MM-yyyy} string to a DATE column, which hbm2ddl does not do
+	 * on its own.
+	 *
+	 * @param connection the connection
+	 * @throws SQLException the SQL exception
+	 */
+	private void migrateAppointmentDateColumn(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			try (ResultSet column = statement.executeQuery("SELECT data_type FROM information_schema.columns"
+					+ " WHERE table_name = 'customerorder' AND column_name = 'appointment_date'")) {
+				if (!column.next() || !"character varying".equals(column.getString(1))) {
+					return;
+				}
+			}
+			statement.execute("ALTER TABLE CustomerOrder ALTER COLUMN appointment_date TYPE date"
+					+ " USING to_date(appointment_date, 'DD-MM-YYYY')");
+			LOGGER.info("Column appointment_date of CustomerOrder converted to date");
+		}
+	}
+
+	/**
+	 * Gives the rows that existed before the version column was added a first
+	 * version; Hibernate cannot increment a null version.
+	 *
+	 * @param connection the connection
+	 * @param table      the table name
+	 * @throws SQLException the SQL exception
+	 */
+	private void initialiseVersions(Connection connection, String table) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			int rows = statement.executeUpdate("UPDATE " + table + " SET version = 0 WHERE version IS NULL");
+			if (rows > 0) {
+				LOGGER.info("Version of {} rows of {} initialised", rows, table);
+			}
+		}
+	}
+
+	/**
+	 * Creates the partial unique index that allows a single pending order per
+	 * worker, so the rule holds for any number of concurrent writers. The index
+	 * also serves the pending-order lookup of a worker. If existing rows already
+	 * break the rule, the index is not created and a warning is logged instead.
+	 * A partitioned table cannot have the index; {@link OrderPartitionManager}
+	 * enforces the rule there.
+	 *
+	 * @param connection the connection
+	 * @throws SQLException the SQL exception
+	 */
+	private void createPendingOrderIndex(Connection connection) throws SQLException {
+		if (OrderPartitionManager.isPartitioned(connection)) {
+			return;
+		}
+		try (Statement statement = connection.createStatement()) {
+			try (ResultSet duplicates = statement.executeQuery("SELECT worker_workerId FROM CustomerOrder"
+					+ " WHERE order_status = 'PENDING' GROUP BY worker_workerId HAVING COUNT(*) > 1 LIMIT 1")) {
+				if (duplicates.next()) {
+					LOGGER.warn("Index {} not created: worker {} has more than one pending order",
+							OrderRepository.ONE_PENDING_ORDER_PER_WORKER, duplicates.getLong(1));
+					return;
+				}
+			}
+			statement.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + OrderRepository.ONE_PENDING_ORDER_PER_WORKER
+					+ " ON CustomerOrder (worker_workerId) WHERE order_status = 'PENDING'");
+		}
+	}
+
+	/**
+	 * Drops the unique constraints on the worker phone number that Hibernate
+	 * created under generated names before the constraint was named. Duplicate
+	 * phone numbers are recognised by the constraint name, so only
+	 * {@link WorkerRepository#UNIQUE_PHONE_NUMBER} may remain; nothing is dropped
+	 * until it exists.
+	 *
+	 * @param connection the connection
+	 * @throws SQLException the SQL exception
+	 */
+	private void dropLegacyPhoneNumberConstraints(Connection connection) throws SQLException {
+		List<String> legacyConstraints = new ArrayList<>();
+		boolean namedConstraintExists = false;
+		try (Statement statement = connection.createStatement();
+				ResultSet constraints = statement.executeQuery("SELECT tc.constraint_name"
+						+ " FROM information_schema.table_constraints tc"
+						+ " JOIN information_schema.constraint_column_usage ccu"
+						+ " ON ccu.constraint_name = tc.constraint_name AND ccu.table_name = tc.table_name"
+						+ " WHERE tc.table_name = 'worker' AND tc.constraint_type = 'UNIQUE'"
+						+ " AND ccu.column_name = 'workerphonenumber'")) {
+			while (constraints.next()) {
+				String name = constraints.getString(1);
+				if (WorkerRepository.UNIQUE_PHONE_NUMBER.equalsIgnoreCase(name)) {
+					namedConstraintExists = true;
+				} else {
+					legacyConstraints.add(name);
+				}
+			}
+		}
+		if (!namedConstraintExists) {
+			return;
+		}
+		try (Statement statement = connection.createStatement()) {
+			for (String name : legacyConstraints) {
+				statement.execute("ALTER TABLE Worker DROP CONSTRAINT \"" + name + "\"");
+				LOGGER.info("Unique constraint {} on the worker phone number replaced by {}", name,
+						WorkerRepository.UNIQUE_PHONE_NUMBER);
+			}
+		}
+	}
+
+	/**
+	 * Creates the indexes serving the phone number prefix searches. The plain
+	 * indexes on the phone numbers compare by the database collation, which
+	 * cannot answer {@code LIKE '340%'} unless the collation is C; the
+	 * {@code text_pattern_ops} indexes compare character by character.
+	 *
+	 * @param connection the connection
+	 * @throws SQLException the SQL exception
+	 */
+	private void createPhoneNumberPrefixIndexes(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("CREATE INDEX IF NOT EXISTS idx_customer_order_customer_phone_prefix"
+					+ " ON CustomerOrder (customer_phone text_pattern_ops)");
+			statement.execute("CREATE INDEX IF NOT EXISTS idx_worker_worker_phone_prefix"
+					+ " ON Worker (workerPhoneNumber text_pattern_ops)");
+		}
+	}
+
+	/**
+	 * Installs the {@code pg_trgm} extension and creates the trigram indexes of
+	 * the customer and worker names used by the similar name searches. Installing
+	 * an extension may need privileges the application does not have; in that
+	 * case a warning is logged and the searches rank the names in memory instead.
+	 *
+	 * @param connection the connection
+	 * @throws SQLException the SQL exception
+	 */
+	private void createNameSearchIndexes(Connection connection) throws SQLException {
+		Savepoint savepoint = connection.setSavepoint();
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("CREATE EXTENSION IF NOT EXISTS " + NameSearch.TRIGRAM_EXTENSION);
+		} catch (SQLException e) {
+			connection.rollback(savepoint);
+			LOGGER.warn("Extension {} not installed, similar name searches are ranked in memory: {}",
+					NameSearch.TRIGRAM_EXTENSION, e.getMessage());
+			return;
+		}
+		connection.releaseSavepoint(savepoint);
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("CREATE INDEX IF NOT EXISTS idx_customer_order_customer_name_trgm"
+					+ " ON CustomerOrder USING gin (lower(customer_name) gin_trgm_ops)");
+			statement.execute("CREATE INDEX IF NOT EXISTS idx_worker_worker_name_trgm"
+					+ " ON Worker USING gin (lower(workerName) gin_trgm_ops)");
+		}
+	}
+}
@@ -1,20 +1,35 @@
 package com.mycompany.orderassignmentsystem.repository.postgres;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.EntityTransaction;
+import javax.persistence.FlushModeType;
 import javax.persistence.NoResultException;
 import javax.persistence.TypedQuery;
 
+import org.hibernate.annotations.QueryHints;
+
 import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
-import com.mycompany.orderassignmentsystem.model.CustomerOrder;
 import com.mycompany.orderassignmentsystem.model.Worker;
+import com.mycompany.orderassignmentsystem.repository.BatchResult;
+import com.mycompany.orderassignmentsystem.repository.VersionConflictException;
 import com.mycompany.orderassignmentsystem.repository.WorkerRepository;
 
+/**
+ * Every call opens its own EntityManager (and transaction for writes), so a
+ * single instance can be shared by concurrent callers without a JVM monitor;
+ * consistency of concurrent writes is left to the database.
+ */
 public class WorkerDatabaseRepository implements WorkerRepository {
-	private EntityManagerFactory entityManagerFactory;
+	private final NameSearch workerNameSearch = new NameSearch("Worker", "workerId", "workerName",
+			"SELECT w.workerId, w.workerName FROM Worker w");
+
+	private final EntityManagerFactory entityManagerFactory;
 
 	public WorkerDatabaseRepository(EntityManagerFactory entityManagerFactory) {
 		super();
@@ -22,7 +37,7 @@ public class WorkerDatabaseRepository implements WorkerRepository {
 	}
 
 	@Override
-	public synchronized List<Worker> findAll() {
+	public List<Worker> findAll() {
 		EntityManager entityManager = entityManagerFactory.createEntityManager();
 
 		List<Worker> resultList = entityManager.createQuery("SELECT w FROM Worker w", Worker.class).getResultList();
@@ -31,31 +46,47 @@ public class WorkerDatabaseRepository implements WorkerRepository {
 	}
 
 	@Override
-	public synchronized Worker findById(Long workerId) {
+	public Worker findById(Long workerId) {
 		EntityManager entityManager = entityManagerFactory.createEntityManager();
 
 		try {
+			Objects.requireNonNull(workerId);
+			TypedQuery<Worker> query = entityManager.createQuery(
+					"SELECT DISTINCT w FROM Worker w LEFT JOIN FETCH w.orders where w.workerId=:worker_id", Worker.class);
+			query.setParameter("worker_id", workerId);
+			query.setHint(QueryHints.PASS_DISTINCT_THROUGH, false);
+			List<Worker> resultList = query.getResultList();
+			entityManager.close();
+			if (resultList.isEmpty()) {
+				return null;
+			}
+			Worker worker = resultList.get(0);
+			// hand out a plain list, the fetched bag compares by identity
+			worker.setOrders(new ArrayList<>(worker.getOrders()));
+			return worker;
+		} catch (Exception e) {
+			entityManager.close();
+			throw new NullPointerException("failed to get worker by id.");
+		}
 
-			Worker worker = entityManager.find(Worker.class, workerId);
-			entityManager.clear();
+	}
 
-			if (worker != null) {
-				TypedQuery<CustomerOrder> query = entityManager.createQuery(
-						"SELECT o FROM CustomerOrder o where o.worker.workerId=:worker_id", CustomerOrder.class);
-				query.setParameter("worker_id", workerId);
-				worker.setOrders(query.getResultList());
-			}
+	@Override
+	public Worker findByIdWithoutOrders(Long workerId) {
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+
+		try {
+			Worker worker = entityManager.find(Worker.class, workerId);
 			entityManager.close();
 			return worker;
 		} catch (Exception e) {
 			entityManager.close();
 			throw new NullPointerException("failed to get worker by id.");
 		}
-
 	}
 
 	@Override
-	public synchronized List<Worker> findByName(String workerName) {
+	public List<Worker> findByName(String workerName) {
 		EntityManager entityManager = entityManagerFactory.createEntityManager();
 
 		TypedQuery<Worker> query = entityManager.createQuery("SELECT w FROM Worker w where w.workerName=:name",
@@ -67,7 +98,18 @@ public class WorkerDatabaseRepository implements WorkerRepository {
 	}
 
 	@Override
-	public synchronized List<Worker> findByOrderCategory(OrderCategory category) {
+	public List<Worker> findByNameSimilarTo(String workerName, int limit) {
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+
+		List<Long> ids = workerNameSearch.rankedIds(entityManager, workerName, limit);
+		List<Worker> resultList = NameSearch.inRankOrder(entityManager, ids,
+				"SELECT w FROM Worker w where w.workerId IN :ids", Worker.class, Worker::getWorkerId);
+		entityManager.close();
+		return resultList;
+	}
+
+	@Override
+	public List<Worker> findByOrderCategory(OrderCategory category) {
 		EntityManager entityManager = entityManagerFactory.createEntityManager();
 
 		TypedQuery<Worker> query = entityManager.createQuery("SELECT w FROM Worker w where w.workerCategory=:category",
@@ -79,7 +121,31 @@ public class WorkerDatabaseRepository implements WorkerRepository {
 	}
 
 	@Override
-	public synchronized Worker findByPhoneNumber(String phoneNumber) {
+	public List<Worker> findByPhoneNumberPrefix(String prefix, int limit) {
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+
+		TypedQuery<Worker> query = entityManager.createQuery("SELECT w FROM Worker w"
+				+ " where w.workerPhoneNumber LIKE :prefix ESCAPE '\\' ORDER BY w.workerPhoneNumber", Worker.class);
+		query.setParameter("prefix", NameSearch.likePrefix(prefix));
+		List<Worker> resultList = query.setMaxResults(limit).getResultList();
+		entityManager.close();
+		return resultList;
+	}
+
+	@Override
+	public List<String> completePhoneNumber(String prefix, int limit) {
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+
+		TypedQuery<String> query = entityManager.createQuery("SELECT w.workerPhoneNumber FROM Worker w"
+				+ " where w.workerPhoneNumber LIKE :prefix ESCAPE '\\' ORDER BY w.workerPhoneNumber", String.class);
+		query.setParameter("prefix", NameSearch.likePrefix(prefix));
+		List<String> resultList = query.setMaxResults(limit).getResultList();
+		entityManager.close();
+		return resultList;
+	}
+
+	@Override
+	public Worker findByPhoneNumber(String phoneNumber) {
 		EntityManager entityManager = entityManagerFactory.createEntityManager();
 
 		try {
@@ -97,26 +163,47 @@ public class WorkerDatabaseRepository implements WorkerRepository {
 	}
 
 	@Override
-	public synchronized Worker save(Worker worker) {
+	public Worker save(Worker worker) {
 		EntityManager entityManager = entityManagerFactory.createEntityManager();
 
 		EntityTransaction transaction = entityManager.getTransaction();
 		try {
 			transaction.begin();
+			requireVersion(entityManager, worker);
 			worker = entityManager.merge(worker);
 			transaction.commit();
 			entityManager.close();
+			workerNameSearch.put(worker.getWorkerId(), worker.getWorkerName());
 			return worker;
 
 		} catch (Exception e) {
-			transaction.rollback();
+			if (transaction.isActive()) {
+				transaction.rollback();
+			}
 			entityManager.close();
-			throw new IllegalStateException("failed to create worker.");
+			throw DatabaseErrors.writeFailure("failed to create worker.", e);
 		}
 	}
 
+	private static void requireVersion(EntityManager entityManager, Worker worker) {
+		if (worker.getWorkerId() != null && worker.getVersion() == null
+				&& currentVersion(entityManager, worker.getWorkerId()) != null) {
+			// an update of a worker that was not read first would overwrite any change
+			throw new VersionConflictException("worker " + worker.getWorkerId() + " was updated without its version.",
+					null);
+		}
+	}
+
+	private static Long currentVersion(EntityManager entityManager, Long workerId) {
+		List<Long> versions = entityManager
+				.createQuery("SELECT w.version FROM Worker w where w.workerId=:worker_id", Long.class)
+				.setParameter("worker_id", workerId)
+				.setFlushMode(FlushModeType.COMMIT).getResultList();
+		return versions.isEmpty() ? null : versions.get(0);
+	}
+
 	@Override
-	public synchronized void delete(Worker worker) {
+	public void delete(Worker worker) {
 		EntityManager entityManager = entityManagerFactory.createEntityManager();
 
 		EntityTransaction transaction = entityManager.getTransaction();
@@ -127,12 +214,36 @@ public class WorkerDatabaseRepository implements WorkerRepository {
 
 			transaction.commit();
 			entityManager.close();
+			workerNameSearch.remove(worker.getWorkerId());
 		} catch (Exception e) {
-			transaction.rollback();
+			if (transaction.isActive()) {
+				transaction.rollback();
+			}
 			entityManager.close();
-			throw new IllegalStateException("failed to delete worker.");
+			throw DatabaseErrors.writeFailure("failed to delete worker.", e);
 		}
 
 	}
 
-}
\ No newline at end of file
+	@Override
+	public int deleteAllById(Collection<Long> workerIds) {
+		int deleted;
+		try {
+			deleted = BatchWriter.deleteAllById(entityManagerFactory,
+					"DELETE FROM Worker w WHERE w.workerId IN :ids", workerIds);
+		} catch (Exception e) {
+			throw new IllegalStateException("failed to delete workers.", e);
+		}
+		workerIds.stream().filter(Objects::nonNull).forEach(workerNameSearch::remove);
+		return deleted;
+	}
+
+	@Override
+	public BatchResult<Worker> saveAll(Collection<Worker> workers) {
+		BatchResult<Worker> result = BatchWriter.saveAll(entityManagerFactory, workers,
+				WorkerDatabaseRepository::requireVersion, this::save);
+		result.getSaved().forEach(saved -> workerNameSearch.put(saved.getWorkerId(), saved.getWorkerName()));
+		return result;
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * CsvFormat: Splitting and joining of comma separated lines.
+ */
+package com.mycompany.orderassignmentsystem.transfer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The comma separated format of the import and export files, as written by
+ * spreadsheets: a field containing a comma or a quote is enclosed in double
+ * quotes, and a quote inside it is doubled. The import reads every record from
+ * one line, so its fields cannot hold line breaks.
+ */
+public final class CsvFormat {
+
+	/** The field separator. */
+	private static final char SEPARATOR = ',';
+
+	/** The quote. */
+	private static final char QUOTE = '"';
+
+	/**
+	 * Instantiates a new CSV format.
+	 */
+	private CsvFormat() {
+	}
+
+	/**
+	 * Splits a line into its fields.
+	 *
+	 * @param line the line
+	 * @return the fields, unquoted
+	 * @throws IllegalArgumentException if a quoted field is not closed
+	 */
+	public static List<String> parse(String line) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c != QUOTE) {
+					field.append(c);
+				} else if (i + 1 < line.length() && line.charAt(i + 1) == QUOTE) {
+					field.append(QUOTE);
+					i++;
+				} else {
+					quoted = false;
+				}
+			} else if (c == QUOTE) {
+				quoted = true;
+			} else if (c == SEPARATOR) {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+		if (quoted) {
+			throw new IllegalArgumentException("The line has an unclosed quote.");
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+
+	/**
+	 * Joins fields into a line, quoting the fields that need it.
+	 *
+	 * @param fields the fields, null ones written as empty
+	 * @return the line, without line break
+	 */
+	public static String format(List<String> fields) {
+		StringBuilder line = new StringBuilder();
+		for (int i = 0; i < fields.size(); i++) {
+			String field = fields.get(i);
+			if (i > 0) {
+				line.append(SEPARATOR);
+			}
+			if (field == null) {
+				continue;
+			}
+			if (field.indexOf(SEPARATOR) < 0 && field.indexOf(QUOTE) < 0 && field.indexOf('\n') < 0
+					&& field.indexOf('\r') < 0) {
+				line.append(field);
+			} else {
+				line.append(QUOTE).append(field.replace("\"", "\"\"")).append(QUOTE);
+			}
+		}
+		return line.toString();
+	}
+}
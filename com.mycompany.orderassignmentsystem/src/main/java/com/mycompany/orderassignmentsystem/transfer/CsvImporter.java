@@ -0,0 +1,266 @@
+/*
+ * CsvImporter: Streaming import of workers and orders from CSV files.
+ */
+package com.mycompany.orderassignmentsystem.transfer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.mycompany.orderassignmentsystem.controller.utils.ValidationConfigurations;
+import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.Worker;
+import com.mycompany.orderassignmentsystem.repository.BatchResult;
+import com.mycompany.orderassignmentsystem.repository.OrderRepository;
+import com.mycompany.orderassignmentsystem.repository.WorkerRepository;
+
+/**
+ * Imports workers and orders from CSV files, such as the weekly exports of the
+ * partner systems. The file is read line by line through a buffered reader
+ * and written in batches with {@code saveAll}, so the memory used does not
+ * grow with the size of the file.
+ *
+ * The first line must name the columns, {@link #WORKER_COLUMNS} or
+ * {@link #ORDER_COLUMNS}. Every row is validated like the fields of the forms;
+ * the worker of an order must exist and have the category of the order. A row
+ * failing the validation or rejected by the database, for instance a second
+ * pending order of a worker, is reported with its line number and the import
+ * goes on with the next row.
+ */
+public class CsvImporter {
+
+	/** The columns of a worker file. */
+	public static final List<String> WORKER_COLUMNS = Arrays.asList("worker_name", "worker_phone",
+			"worker_category");
+
+	/** The columns of an order file. */
+	public static final List<String> ORDER_COLUMNS = Arrays.asList("customer_name", "customer_address",
+			"customer_phone", "appointment_date", "order_description", "order_category", "order_status",
+			"worker_id");
+
+	/** The Constant LOGGER. */
+	private static final Logger LOGGER = LogManager.getLogger(CsvImporter.class);
+
+	/** The byte order mark some editors write at the start of a UTF-8 file. */
+	private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+	/** The order repository. */
+	private final OrderRepository orderRepository;
+
+	/** The worker repository. */
+	private final WorkerRepository workerRepository;
+
+	/** The validation configurations. */
+	private final ValidationConfigurations validationConfigurations;
+
+	/** The number of rows written together. */
+	private final int batchSize;
+
+	/**
+	 * Instantiates a new CSV importer.
+	 *
+	 * @param orderRepository          the order repository
+	 * @param workerRepository         the worker repository
+	 * @param validationConfigurations the validation configurations
+	 * @param batchSize                the number of rows written together
+	 * @throws IllegalArgumentException if the batch size is not positive
+	 */
+	public CsvImporter(OrderRepository orderRepository, WorkerRepository workerRepository,
+			ValidationConfigurations validationConfigurations, int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("The batch size must be positive.");
+		}
+		this.orderRepository = orderRepository;
+		this.workerRepository = workerRepository;
+		this.validationConfigurations = validationConfigurations;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Imports the workers of a file.
+	 *
+	 * @param file the file
+	 * @return the report
+	 * @throws IOException              if the file cannot be read
+	 * @throws IllegalArgumentException if the first line does not name the
+	 *                                  worker columns
+	 */
+	public ImportReport importWorkers(Path file) throws IOException {
+		return importRows(file, WORKER_COLUMNS, this::toWorker, workerRepository::saveAll);
+	}
+
+	/**
+	 * Imports the orders of a file.
+	 *
+	 * @param file the file
+	 * @return the report
+	 * @throws IOException              if the file cannot be read
+	 * @throws IllegalArgumentException if the first line does not name the order
+	 *                                  columns
+	 */
+	public ImportReport importOrders(Path file) throws IOException {
+		// the workers are few, and most rows refer to a worker seen before
+		Map<Long, Worker> workers = new HashMap<>();
+		return importRows(file, ORDER_COLUMNS, fields -> toOrder(fields, workers), orderRepository::saveAll);
+	}
+
+	/**
+	 * Reads, validates and writes the rows of a file.
+	 *
+	 * @param <T>     the entity type
+	 * @param file    the file
+	 * @param columns the expected columns
+	 * @param parse   the conversion of the fields of a row into an entity
+	 * @param saveAll the batch write
+	 * @return the report
+	 * @throws IOException if the file cannot be read
+	 */
+	private <T> ImportReport importRows(Path file, List<String> columns, Function<List<String>, T> parse,
+			Function<Collection<T>, BatchResult<T>> saveAll) throws IOException {
+		ImportReport report = new ImportReport(String.valueOf(file.getFileName()));
+		long start = System.nanoTime();
+		List<T> batch = new ArrayList<>(batchSize);
+		List<Long> batchLines = new ArrayList<>(batchSize);
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			String header = reader.readLine();
+			if (header != null) {
+				checkHeader(header, columns);
+			}
+			long lineNumber = 1;
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				if (line.trim().isEmpty()) {
+					continue;
+				}
+				try {
+					List<String> fields = CsvFormat.parse(line);
+					if (fields.size() != columns.size()) {
+						throw new IllegalArgumentException(
+								"Expected " + columns.size() + " fields but found " + fields.size() + ".");
+					}
+					batch.add(parse.apply(fields));
+					batchLines.add(lineNumber);
+				} catch (RuntimeException e) {
+					reject(report, lineNumber, e.getMessage());
+				}
+				if (batch.size() == batchSize) {
+					write(batch, batchLines, saveAll, report);
+				}
+			}
+		}
+		write(batch, batchLines, saveAll, report);
+		report.finished(System.nanoTime() - start);
+		LOGGER.info("{}", report);
+		return report;
+	}
+
+	/**
+	 * Writes a batch and empties it.
+	 *
+	 * @param <T>        the entity type
+	 * @param batch      the entities
+	 * @param batchLines the line number of each entity
+	 * @param saveAll    the batch write
+	 * @param report     the report
+	 */
+	private static <T> void write(List<T> batch, List<Long> batchLines,
+			Function<Collection<T>, BatchResult<T>> saveAll, ImportReport report) {
+		if (batch.isEmpty()) {
+			return;
+		}
+		BatchResult<T> result = saveAll.apply(new ArrayList<>(batch));
+		report.imported(result.getSaved().size());
+		result.getFailures().forEach((index, reason) -> reject(report, batchLines.get(index), reason));
+		batch.clear();
+		batchLines.clear();
+	}
+
+	/**
+	 * Checks that the first line names the expected columns.
+	 *
+	 * @param header  the first line
+	 * @param columns the expected columns
+	 */
+	private static void checkHeader(String header, List<String> columns) {
+		if (header.startsWith(BYTE_ORDER_MARK)) {
+			header = header.substring(BYTE_ORDER_MARK.length());
+		}
+		List<String> names = CsvFormat.parse(header).stream().map(name -> name.trim().toLowerCase(Locale.ROOT))
+				.collect(Collectors.toList());
+		if (!names.equals(columns)) {
+			throw new IllegalArgumentException("The first line must name the columns " + String.join(",", columns));
+		}
+	}
+
+	/**
+	 * Reports a rejected row.
+	 *
+	 * @param report     the report
+	 * @param lineNumber the line number
+	 * @param reason     the reason
+	 */
+	private static void reject(ImportReport report, long lineNumber, String reason) {
+		LOGGER.warn("Line {} rejected: {}", lineNumber, reason);
+		report.rejected(lineNumber, reason);
+	}
+
+	/**
+	 * Converts the fields of a row into a new worker.
+	 *
+	 * @param fields the fields
+	 * @return the worker
+	 */
+	private Worker toWorker(List<String> fields) {
+		String name = validationConfigurations.validateName(fields.get(0).trim());
+		String phoneNumber = validationConfigurations.validatePhoneNumber(fields.get(1).trim());
+		OrderCategory category = validationConfigurations.validateEnum(fields.get(2).trim(), OrderCategory.class);
+		return new Worker(name, phoneNumber, category);
+	}
+
+	/**
+	 * Converts the fields of a row into a new order.
+	 *
+	 * @param fields  the fields
+	 * @param workers the workers read so far by id, null for the missing ones
+	 * @return the order
+	 */
+	private CustomerOrder toOrder(List<String> fields, Map<Long, Worker> workers) {
+		String name = validationConfigurations.validateName(fields.get(0).trim());
+		String address = validationConfigurations.validateAddress(fields.get(1).trim());
+		String phoneNumber = validationConfigurations.validatePhoneNumber(fields.get(2).trim());
+		String date = validationConfigurations.validateStringDate(fields.get(3).trim());
+		String description = validationConfigurations.validateDescription(fields.get(4).trim());
+		OrderCategory category = validationConfigurations.validateEnum(fields.get(5).trim(), OrderCategory.class);
+		OrderStatus status = validationConfigurations.validateEnum(fields.get(6).trim(), OrderStatus.class);
+		Long workerId = validationConfigurations.validateStringNumber(fields.get(7).trim());
+		if (!workers.containsKey(workerId)) {
+			workers.put(workerId, workerRepository.findByIdWithoutOrders(workerId));
+		}
+		Worker worker = workers.get(workerId);
+		if (worker == null) {
+			throw new NoSuchElementException("Worker with this ID " + workerId + " not found");
+		}
+		if (worker.getWorkerCategory() != category) {
+			throw new IllegalArgumentException("Order and worker categories must align");
+		}
+		return new CustomerOrder(name, address, phoneNumber, date, description, category, status, worker);
+	}
+}
@@ -0,0 +1,16 @@
+/*
+ * ExportFormat: File formats of the order export.
+ */
+package com.mycompany.orderassignmentsystem.transfer;
+
+/**
+ * The file formats of the order export.
+ */
+public enum ExportFormat {
+
+	/** Comma separated values, with a first line naming the columns. */
+	CSV,
+
+	/** One JSON object per line, keyed by the column names. */
+	JSONL
+}
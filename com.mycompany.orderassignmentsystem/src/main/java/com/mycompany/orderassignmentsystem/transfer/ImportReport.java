@@ -0,0 +1,126 @@
+/*
+ * ImportReport: Outcome of a CSV import.
+ */
+package com.mycompany.orderassignmentsystem.transfer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of a CSV import: the number of imported and rejected rows, the time
+ * taken, and the first rejected lines with their reason. Only the first
+ * {@link #MAX_REPORTED_REJECTIONS} rejections are kept, so that a file of
+ * invalid rows does not fill the memory.
+ */
+public class ImportReport {
+
+	/** The number of rejections kept with their reason. */
+	public static final int MAX_REPORTED_REJECTIONS = 100;
+
+	/** The name of the imported file. */
+	private final String source;
+
+	/** The number of imported rows. */
+	private long imported;
+
+	/** The number of rejected rows. */
+	private long rejected;
+
+	/** The first rejections, as line number and reason. */
+	private final List<String> rejections = new ArrayList<>();
+
+	/** The time taken, in nanoseconds. */
+	private long elapsedNanos;
+
+	/**
+	 * Instantiates a new import report.
+	 *
+	 * @param source the name of the imported file
+	 */
+	ImportReport(String source) {
+		this.source = source;
+	}
+
+	/**
+	 * Counts imported rows.
+	 *
+	 * @param rows the number of rows
+	 */
+	void imported(int rows) {
+		imported += rows;
+	}
+
+	/**
+	 * Counts a rejected row.
+	 *
+	 * @param lineNumber the line number
+	 * @param reason     the reason
+	 */
+	void rejected(long lineNumber, String reason) {
+		rejected++;
+		if (rejections.size() < MAX_REPORTED_REJECTIONS) {
+			rejections.add("line " + lineNumber + ": " + reason);
+		}
+	}
+
+	/**
+	 * Sets the time taken.
+	 *
+	 * @param elapsedNanos the time taken, in nanoseconds
+	 */
+	void finished(long elapsedNanos) {
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * Gets the number of imported rows.
+	 *
+	 * @return the number of imported rows
+	 */
+	public long getImported() {
+		return imported;
+	}
+
+	/**
+	 * Gets the number of rejected rows.
+	 *
+	 * @return the number of rejected rows
+	 */
+	public long getRejected() {
+		return rejected;
+	}
+
+	/**
+	 * Gets the first rejections.
+	 *
+	 * @return the first rejected lines, as line number and reason
+	 */
+	public List<String> getRejections() {
+		return Collections.unmodifiableList(rejections);
+	}
+
+	/**
+	 * Gets the rate of the import.
+	 *
+	 * @return the imported and rejected rows per second
+	 */
+	public double getRowsPerSecond() {
+		if (elapsedNanos == 0) {
+			return 0;
+		}
+		return (imported + rejected) * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+	}
+
+	/**
+	 * Summarises the report on one line.
+	 *
+	 * @return the summary
+	 */
+	@Override
+	public String toString() {
+		return String.format("%s: %d rows imported, %d rejected, %.0f rows/s", source, imported, rejected,
+				getRowsPerSecond());
+	}
+}
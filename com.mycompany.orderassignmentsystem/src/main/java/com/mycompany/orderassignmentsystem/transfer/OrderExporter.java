@@ -0,0 +1,219 @@
+/*
+ * OrderExporter: Streaming export of orders to CSV or JSON Lines files.
+ */
+package com.mycompany.orderassignmentsystem.transfer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.repository.OrderFilter;
+import com.mycompany.orderassignmentsystem.repository.OrderRepository;
+
+/**
+ * Exports the orders matching a filter to a CSV or JSON Lines file, such as
+ * the monthly dump taken by finance. The orders are streamed from the
+ * repository, which reads them through a database cursor, and written as they
+ * arrive through a buffered writer on the file channel, optionally gzipped, so
+ * the memory used does not grow with the number of orders.
+ *
+ * The columns are the order id followed by the columns of an order import,
+ * {@link CsvImporter#ORDER_COLUMNS}, with the appointment date in
+ * {@code dd-MM-yyyy} form.
+ */
+public class OrderExporter {
+
+	/** The columns of an export, in order. */
+	public static final List<String> COLUMNS;
+
+	static {
+		List<String> columns = new ArrayList<>();
+		columns.add("order_id");
+		columns.addAll(CsvImporter.ORDER_COLUMNS);
+		COLUMNS = Collections.unmodifiableList(columns);
+	}
+
+	/** The Constant LOGGER. */
+	private static final Logger LOGGER = LogManager.getLogger(OrderExporter.class);
+
+	/** The size of the write buffers, in bytes or characters. */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/** The repository. */
+	private final OrderRepository repository;
+
+	/**
+	 * Instantiates a new order exporter.
+	 *
+	 * @param repository the repository
+	 */
+	public OrderExporter(OrderRepository repository) {
+		this.repository = repository;
+	}
+
+	/**
+	 * Exports the matching orders to a file, replacing it if it exists.
+	 *
+	 * @param filter the criteria the orders must meet
+	 * @param format the format
+	 * @param gzip   whether the file is gzipped
+	 * @param file   the file
+	 * @return the number of exported orders
+	 * @throws IOException if the file cannot be written
+	 */
+	public long export(OrderFilter filter, ExportFormat format, boolean gzip, Path file) throws IOException {
+		long start = System.nanoTime();
+		OutputStream out = Channels.newOutputStream(FileChannel.open(file, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+		if (gzip) {
+			out = new GZIPOutputStream(out, BUFFER_SIZE);
+		}
+		long exported;
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+			exported = export(filter, format, writer);
+		}
+		long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+		LOGGER.info("{}: {} orders exported, {} rows/s", file.getFileName(), exported,
+				exported * 1000 / elapsedMillis);
+		return exported;
+	}
+
+	/**
+	 * Exports the matching orders to a writer, which is neither flushed nor
+	 * closed.
+	 *
+	 * @param filter the criteria the orders must meet
+	 * @param format the format
+	 * @param writer the writer
+	 * @return the number of exported orders
+	 * @throws IOException if the writer fails
+	 */
+	public long export(OrderFilter filter, ExportFormat format, Writer writer) throws IOException {
+		if (format == ExportFormat.CSV) {
+			writer.write(CsvFormat.format(COLUMNS));
+			writer.write('\n');
+		}
+		long[] exported = { 0 };
+		try {
+			repository.forEachOrder(filter, order -> {
+				try {
+					writer.write(format == ExportFormat.CSV ? toCsv(order) : toJson(order));
+					writer.write('\n');
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				exported[0]++;
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		return exported[0];
+	}
+
+	/**
+	 * Gets the values of the columns of an order.
+	 *
+	 * @param order the order
+	 * @return the values, null for a missing one
+	 */
+	private static List<Object> values(CustomerOrder order) {
+		return Arrays.asList(order.getOrderId(), order.getCustomerName(), order.getCustomerAddress(),
+				order.getCustomerPhoneNumber(), order.getAppointmentDate(), order.getOrderDescription(),
+				order.getOrderCategory(), order.getOrderStatus(),
+				order.getWorker() == null ? null : order.getWorker().getWorkerId());
+	}
+
+	/**
+	 * Writes an order as a CSV line.
+	 *
+	 * @param order the order
+	 * @return the line, without line break
+	 */
+	private static String toCsv(CustomerOrder order) {
+		List<String> fields = new ArrayList<>(COLUMNS.size());
+		for (Object value : values(order)) {
+			fields.add(value == null ? null : value.toString());
+		}
+		return CsvFormat.format(fields);
+	}
+
+	/**
+	 * Writes an order as a JSON object on one line.
+	 *
+	 * @param order the order
+	 * @return the line, without line break
+	 */
+	private static String toJson(CustomerOrder order) {
+		List<Object> values = values(order);
+		StringBuilder json = new StringBuilder("{");
+		for (int i = 0; i < COLUMNS.size(); i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			appendJsonString(json, COLUMNS.get(i));
+			json.append(':');
+			Object value = values.get(i);
+			if (value == null || value instanceof Number) {
+				json.append(value);
+			} else {
+				appendJsonString(json, value.toString());
+			}
+		}
+		return json.append('}').toString();
+	}
+
+	/**
+	 * Appends a quoted JSON string, escaping quotes, backslashes and control
+	 * characters.
+	 *
+	 * @param json  the JSON being written
+	 * @param value the string
+	 */
+	private static void appendJsonString(StringBuilder json, String value) {
+		json.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+			case '"':
+				json.append("\\\"");
+				break;
+			case '\\':
+				json.append("\\\\");
+				break;
+			case '\n':
+				json.append("\\n");
+				break;
+			case '\r':
+				json.append("\\r");
+				break;
+			case '\t':
+				json.append("\\t");
+				break;
+			default:
+				if (c < 0x20) {
+					json.append(String.format("\\u%04x", (int) c));
+				} else {
+					json.append(c);
+				}
+			}
+		}
+		json.append('"');
+	}
+}
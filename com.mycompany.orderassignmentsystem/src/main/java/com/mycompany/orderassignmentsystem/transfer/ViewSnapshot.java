@@ -0,0 +1,361 @@
+/*
+ * ViewSnapshot: Compact binary copy of the worker and order lists.
+ */
+package com.mycompany.orderassignmentsystem.transfer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+import com.mycompany.orderassignmentsystem.model.OrderSummary;
+import com.mycompany.orderassignmentsystem.model.Worker;
+
+/**
+ * A copy of the worker and order lists shown by the views, written when the
+ * application stops and read when it starts, so that the lists are filled
+ * before the database answers. The orders are kept as the summaries the order
+ * list shows.
+ *
+ * The file starts with a magic number, the format version and the CRC32
+ * checksum of the rest. Every distinct string is stored once in a dictionary
+ * and referred to by its index, enums by their ordinal in a table of their
+ * names, and numbers as unsigned varints; an absent value is encoded as 0 and
+ * a present one shifted by 1. The file is memory-mapped to be read, and
+ * replaced atomically when written, so a crash leaves the previous snapshot.
+ */
+public final class ViewSnapshot {
+
+	/** The magic number, "OWSS". */
+	private static final int MAGIC = 0x4F575353;
+
+	/** The format version. */
+	private static final byte FORMAT_VERSION = 1;
+
+	/** The length of the header: magic number, version and checksum. */
+	private static final int HEADER_LENGTH = Integer.BYTES + 1 + Long.BYTES;
+
+	/** The workers. */
+	private final List<Worker> workers;
+
+	/** The order summaries. */
+	private final List<OrderSummary> orders;
+
+	/**
+	 * Instantiates a new view snapshot.
+	 *
+	 * @param workers the workers
+	 * @param orders  the orders
+	 */
+	private ViewSnapshot(List<Worker> workers, List<OrderSummary> orders) {
+		this.workers = Collections.unmodifiableList(workers);
+		this.orders = Collections.unmodifiableList(orders);
+	}
+
+	/**
+	 * Gets the workers.
+	 *
+	 * @return the workers, in the order they were written
+	 */
+	public List<Worker> getWorkers() {
+		return workers;
+	}
+
+	/**
+	 * Gets the order summaries.
+	 *
+	 * @return the order summaries, in the order they were written
+	 */
+	public List<OrderSummary> getOrders() {
+		return orders;
+	}
+
+	/**
+	 * Writes the lists to a file, replacing it. The snapshot is written to a
+	 * temporary file that then replaces the file.
+	 *
+	 * @param file    the file
+	 * @param workers the workers
+	 * @param orders  the order summaries
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void write(Path file, List<Worker> workers, List<OrderSummary> orders) throws IOException {
+		Map<String, Integer> dictionary = new LinkedHashMap<>();
+		ByteArrayOutputStream records = new ByteArrayOutputStream();
+		writeVarint(records, workers.size());
+		for (Worker worker : workers) {
+			writeVarint(records, worker.getWorkerId());
+			writeOptional(records, worker.getVersion());
+			writeString(records, dictionary, worker.getWorkerName());
+			writeString(records, dictionary, worker.getWorkerPhoneNumber());
+			writeEnum(records, worker.getWorkerCategory());
+		}
+		writeVarint(records, orders.size());
+		for (OrderSummary order : orders) {
+			writeVarint(records, order.getOrderId());
+			writeString(records, dictionary, order.getCustomerName());
+			writeString(records, dictionary, order.getAppointmentDate());
+			writeEnum(records, order.getOrderCategory());
+			writeEnum(records, order.getOrderStatus());
+			writeOptional(records, order.getWorkerId());
+		}
+
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		writeVarint(body, dictionary.size());
+		for (String value : dictionary.keySet()) {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			writeVarint(body, bytes.length);
+			body.write(bytes);
+		}
+		writeEnumNames(body, OrderCategory.values());
+		writeEnumNames(body, OrderStatus.values());
+		records.writeTo(body);
+		byte[] content = body.toByteArray();
+
+		CRC32 crc = new CRC32();
+		crc.update(content, 0, content.length);
+		ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).putInt(MAGIC).put(FORMAT_VERSION)
+				.putLong(crc.getValue());
+		header.flip();
+
+		Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+		try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			out.write(new ByteBuffer[] { header, ByteBuffer.wrap(content) });
+			out.force(false);
+		}
+		Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Reads a snapshot file.
+	 *
+	 * @param file the file
+	 * @return the snapshot
+	 * @throws IOException if the file cannot be read, is not a snapshot, is
+	 *                     damaged or names enum constants that no longer exist
+	 */
+	public static ViewSnapshot read(Path file) throws IOException {
+		MappedByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		try {
+			if (buffer.remaining() < HEADER_LENGTH || buffer.getInt() != MAGIC) {
+				throw new IOException("The file is not a snapshot.");
+			}
+			if (buffer.get() != FORMAT_VERSION) {
+				throw new IOException("The snapshot was written in another format.");
+			}
+			long checksum = buffer.getLong();
+			CRC32 crc = new CRC32();
+			crc.update(buffer.duplicate());
+			if (crc.getValue() != checksum) {
+				throw new IOException("The snapshot is damaged.");
+			}
+			return decode(buffer);
+		} catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+			throw new IOException("The snapshot is damaged.", e);
+		}
+	}
+
+	/**
+	 * Decodes the body of a snapshot.
+	 *
+	 * @param buffer the body
+	 * @return the snapshot
+	 * @throws IOException if an enum constant no longer exists
+	 */
+	private static ViewSnapshot decode(ByteBuffer buffer) throws IOException {
+		String[] dictionary = new String[(int) readVarint(buffer)];
+		for (int i = 0; i < dictionary.length; i++) {
+			byte[] bytes = new byte[(int) readVarint(buffer)];
+			buffer.get(bytes);
+			dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+		}
+		OrderCategory[] categories = readEnumNames(buffer, OrderCategory.class);
+		OrderStatus[] statuses = readEnumNames(buffer, OrderStatus.class);
+
+		int workerCount = (int) readVarint(buffer);
+		List<Worker> workers = new ArrayList<>(workerCount);
+		for (int i = 0; i < workerCount; i++) {
+			Worker worker = new Worker(readVarint(buffer), null);
+			worker.setVersion(readOptional(buffer));
+			worker.setWorkerName(readString(buffer, dictionary));
+			worker.setWorkerPhoneNumber(readString(buffer, dictionary));
+			worker.setWorkerCategory(readEnum(buffer, categories));
+			workers.add(worker);
+		}
+
+		int orderCount = (int) readVarint(buffer);
+		List<OrderSummary> orders = new ArrayList<>(orderCount);
+		for (int i = 0; i < orderCount; i++) {
+			long orderId = readVarint(buffer);
+			String customerName = readString(buffer, dictionary);
+			String appointmentDate = readString(buffer, dictionary);
+			OrderCategory orderCategory = readEnum(buffer, categories);
+			OrderStatus orderStatus = readEnum(buffer, statuses);
+			orders.add(new OrderSummary(orderId, customerName, appointmentDate, orderStatus, orderCategory,
+					readOptional(buffer)));
+		}
+		return new ViewSnapshot(workers, orders);
+	}
+
+	/**
+	 * Writes the names of the constants of an enum, in ordinal order.
+	 *
+	 * @param out       the output
+	 * @param constants the constants
+	 * @throws IOException if the names cannot be written
+	 */
+	private static void writeEnumNames(ByteArrayOutputStream out, Enum<?>[] constants) throws IOException {
+		writeVarint(out, constants.length);
+		for (Enum<?> constant : constants) {
+			byte[] bytes = constant.name().getBytes(StandardCharsets.UTF_8);
+			writeVarint(out, bytes.length);
+			out.write(bytes);
+		}
+	}
+
+	/**
+	 * Reads the names of the constants of an enum as written, mapping every
+	 * written ordinal to the current constant.
+	 *
+	 * @param <E>    the enum type
+	 * @param buffer the input
+	 * @param type   the enum type
+	 * @return the current constants by written ordinal
+	 * @throws IOException if a constant no longer exists
+	 */
+	private static <E extends Enum<E>> E[] readEnumNames(ByteBuffer buffer, Class<E> type) throws IOException {
+		int count = (int) readVarint(buffer);
+		@SuppressWarnings("unchecked")
+		E[] constants = (E[]) Array.newInstance(type, count);
+		for (int i = 0; i < count; i++) {
+			byte[] bytes = new byte[(int) readVarint(buffer)];
+			buffer.get(bytes);
+			String name = new String(bytes, StandardCharsets.UTF_8);
+			try {
+				constants[i] = Enum.valueOf(type, name);
+			} catch (IllegalArgumentException e) {
+				throw new IOException("The snapshot names the unknown " + type.getSimpleName() + " " + name + ".", e);
+			}
+		}
+		return constants;
+	}
+
+	/**
+	 * Writes an enum constant that may be null.
+	 *
+	 * @param out      the output
+	 * @param constant the constant, or null
+	 */
+	private static void writeEnum(ByteArrayOutputStream out, Enum<?> constant) {
+		writeVarint(out, constant == null ? 0 : constant.ordinal() + 1L);
+	}
+
+	/**
+	 * Reads an enum constant that may be null.
+	 *
+	 * @param <E>       the enum type
+	 * @param buffer    the input
+	 * @param constants the constants by written ordinal
+	 * @return the constant, or null
+	 */
+	private static <E> E readEnum(ByteBuffer buffer, E[] constants) {
+		int value = (int) readVarint(buffer);
+		return value == 0 ? null : constants[value - 1];
+	}
+
+	/**
+	 * Writes a reference to a string of the dictionary, adding it if new.
+	 *
+	 * @param out        the output
+	 * @param dictionary the dictionary, with the index of every string
+	 * @param value      the string, or null
+	 */
+	private static void writeString(ByteArrayOutputStream out, Map<String, Integer> dictionary, String value) {
+		writeVarint(out, value == null ? 0 : dictionary.computeIfAbsent(value, v -> dictionary.size()) + 1L);
+	}
+
+	/**
+	 * Reads a reference to a string of the dictionary.
+	 *
+	 * @param buffer     the input
+	 * @param dictionary the dictionary
+	 * @return the string, or null
+	 */
+	private static String readString(ByteBuffer buffer, String[] dictionary) {
+		int index = (int) readVarint(buffer);
+		return index == 0 ? null : dictionary[index - 1];
+	}
+
+	/**
+	 * Writes a non-negative number that may be null.
+	 *
+	 * @param out   the output
+	 * @param value the number, or null
+	 */
+	private static void writeOptional(ByteArrayOutputStream out, Long value) {
+		writeVarint(out, value == null ? 0 : value + 1);
+	}
+
+	/**
+	 * Reads a non-negative number that may be null.
+	 *
+	 * @param buffer the input
+	 * @return the number, or null
+	 */
+	private static Long readOptional(ByteBuffer buffer) {
+		long value = readVarint(buffer);
+		return value == 0 ? null : value - 1;
+	}
+
+	/**
+	 * Writes a non-negative number in seven bit groups, low group first, the
+	 * high bit of a byte telling that another byte follows.
+	 *
+	 * @param out   the output
+	 * @param value the number
+	 */
+	static void writeVarint(ByteArrayOutputStream out, long value) {
+		while ((value & ~0x7FL) != 0) {
+			out.write((int) (value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+
+	/**
+	 * Reads a number written by {@link #writeVarint(ByteArrayOutputStream, long)}.
+	 *
+	 * @param buffer the input
+	 * @return the number
+	 */
+	static long readVarint(ByteBuffer buffer) {
+		long value = 0;
+		for (int shift = 0;; shift += 7) {
+			byte b = buffer.get();
+			value |= (long) (b & 0x7F) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+	}
+}
@@ -6,6 +6,7 @@ package com.mycompany.orderassignmentsystem.view;
 import java.util.List;
 
 import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.OrderSummary;
 import com.mycompany.orderassignmentsystem.model.Worker;
 
 /**
@@ -16,9 +17,9 @@ public interface OrderView {
 	/**
 	 * Displays all customer orders.
 	 *
-	 * @param order the list of customer orders to be displayed
+	 * @param order the summaries of the customer orders to be displayed
 	 */
-	void showAllOrder(List<CustomerOrder> order);
+	void showAllOrder(List<OrderSummary> order);
 
 	/**
 	 * Displays all workers.
@@ -52,9 +53,10 @@ public interface OrderView {
 	/**
 	 * Shows the search result for customer orders.
 	 *
-	 * @param order the list of customer orders matching the search criteria
+	 * @param order the summaries of the customer orders matching the search
+	 *              criteria
 	 */
-	void showSearchResultForOrder(List<CustomerOrder> order);
+	void showSearchResultForOrder(List<OrderSummary> order);
 
 	/**
 	 * Notifies when a customer order is removed.
@@ -63,6 +65,13 @@ public interface OrderView {
 	 */
 	void orderRemoved(CustomerOrder order);
 
+	/**
+	 * Notifies once when several customer orders are removed together.
+	 *
+	 * @param orders the removed customer orders
+	 */
+	void ordersRemoved(List<CustomerOrder> orders);
+
 	/**
 	 * Displays an error message related to a specific customer order.
 	 *
@@ -79,6 +88,15 @@ public interface OrderView {
 	 */
 	void showErrorNotFound(String message, CustomerOrder order);
 
+	/**
+	 * Displays an error message when a customer order could not be updated because
+	 * someone else changed it after it was fetched.
+	 *
+	 * @param message the error message to be displayed
+	 * @param order   the customer order associated with the error
+	 */
+	void showConflictError(String message, CustomerOrder order);
+
 	/**
 	 * Displays an error message related to a search operation.
 	 *
@@ -86,4 +104,12 @@ public interface OrderView {
 	 * @param searchText the search text associated with the error
 	 */
 	void showSearchError(String message, String searchText);
+
+	/**
+	 * Displays the customer phone numbers completing the search text. May be called
+	 * from a thread other than the one the view runs on.
+	 *
+	 * @param phoneNumbers the phone numbers, empty to hide the suggestions
+	 */
+	void showPhoneNumberSuggestions(List<String> phoneNumbers);
 }
@@ -71,6 +71,15 @@ public interface WorkerView {
 	 */
 	void showErrorNotFound(String message, Worker worker);
 
+	/**
+	 * Displays an error message when a worker could not be updated because
+	 * someone else changed it after it was fetched.
+	 *
+	 * @param message the error message to be displayed
+	 * @param worker  the worker associated with the error
+	 */
+	void showConflictError(String message, Worker worker);
+
 	/**
 	 * Displays an error message related to a search operation.
 	 *
@@ -79,4 +88,12 @@ public interface WorkerView {
 	 */
 	void showSearchError(String message, String searchText);
 
+	/**
+	 * Displays the worker phone numbers completing the search text. May be called
+	 * from a thread other than the one the view runs on.
+	 *
+	 * @param phoneNumbers the phone numbers, empty to hide the suggestions
+	 */
+	void showPhoneNumberSuggestions(List<String> phoneNumbers);
+
 }
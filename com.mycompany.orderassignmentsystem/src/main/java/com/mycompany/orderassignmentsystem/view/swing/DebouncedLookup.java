@@ -0,0 +1,79 @@
+/*
+ * DebouncedLookup: Runs the last lookup of a burst of keystrokes off the event dispatch thread.
+ */
+package com.mycompany.orderassignmentsystem.view.swing;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Runs a lookup, such as the phone number suggestions of a search text, on a
+ * background thread once no other lookup has been submitted for the delay, so
+ * that typing neither waits for the repository on the event dispatch thread nor
+ * queries it for every keystroke. A lookup that is submitted replaces the one
+ * still waiting; a lookup already running is not interrupted. The lookup has
+ * to hand its result back to the event dispatch thread itself.
+ *
+ * Submitting and cancelling is meant to be done from the event dispatch thread.
+ */
+final class DebouncedLookup {
+
+	/** The Constant LOGGER. */
+	private static final Logger LOGGER = LogManager.getLogger(DebouncedLookup.class);
+
+	/** The thread running the lookups. */
+	private final ScheduledExecutorService executor;
+
+	/** The time a lookup waits for the next keystroke, in milliseconds. */
+	private final long delayMillis;
+
+	/** The lookup waiting for the delay, if any. */
+	private ScheduledFuture<?> waiting;
+
+	/**
+	 * Instantiates a new debounced lookup.
+	 *
+	 * @param threadName  the name of the thread running the lookups
+	 * @param delayMillis the time a lookup waits for the next keystroke, in
+	 *                    milliseconds
+	 */
+	DebouncedLookup(String threadName, long delayMillis) {
+		this.delayMillis = delayMillis;
+		this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, threadName);
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Runs the lookup after the delay, unless another lookup is submitted first.
+	 *
+	 * @param lookup the lookup
+	 */
+	void submit(Runnable lookup) {
+		cancel();
+		waiting = executor.schedule(() -> {
+			try {
+				lookup.run();
+			} catch (RuntimeException e) {
+				LOGGER.warn("Lookup failed: {}", e.getMessage());
+			}
+		}, delayMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Drops the lookup waiting for the delay, if any.
+	 */
+	void cancel() {
+		if (waiting != null) {
+			waiting.cancel(false);
+			waiting = null;
+		}
+	}
+}
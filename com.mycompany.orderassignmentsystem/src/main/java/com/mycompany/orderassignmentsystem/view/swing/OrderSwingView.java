@@ -14,11 +14,14 @@ import javax.swing.BorderFactory;
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.DefaultListModel;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JList;
+import javax.swing.JMenuItem;
 import javax.swing.JPanel;
+import javax.swing.JPopupMenu;
 import javax.swing.JScrollPane;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
@@ -33,12 +36,16 @@ import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
 import com.mycompany.orderassignmentsystem.enumerations.OrderSearchOptions;
 import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
 import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.OrderSummary;
 import com.mycompany.orderassignmentsystem.model.Worker;
 import com.mycompany.orderassignmentsystem.view.OrderView;
 
 /**
  * The OrderSwingView class represents the graphical user interface for managing
  * orders.
+ *
+ * The order list holds {@link OrderSummary} rows; an order is loaded in full
+ * only when it is fetched into the form.
  */
 public class OrderSwingView extends JFrame implements OrderView {
 
@@ -48,6 +55,9 @@ public class OrderSwingView extends JFrame implements OrderView {
 	/** The Constant serialVersionUID. */
 	private static final long serialVersionUID = 2L;
 
+	/** The time the phone number suggestions wait for the next keystroke. */
+	private static final long SUGGESTION_DELAY_MILLIS = 250;
+
 	/** The content pane. */
 	private JPanel contentPane;
 
@@ -69,6 +79,13 @@ public class OrderSwingView extends JFrame implements OrderView {
 	/** The txt search order. */
 	private JTextField txtSearchOrder;
 
+	/** The phone number suggestions of the search text. */
+	private JPopupMenu phoneSuggestions;
+
+	/** The lookup of the phone number suggestions, off the event dispatch thread. */
+	private final transient DebouncedLookup phoneNumberLookup = new DebouncedLookup("order-phone-suggestions",
+			SUGGESTION_DELAY_MILLIS);
+
 	/** The btn fetch. */
 	private JButton btnFetch;
 
@@ -111,6 +128,9 @@ public class OrderSwingView extends JFrame implements OrderView {
 	/** The cmb search by. */
 	private JComboBox<OrderSearchOptions> cmbSearchBy;
 
+	/** The chk include archived. */
+	private JCheckBox chkIncludeArchived;
+
 	/** The cmb order status. */
 	private JComboBox<OrderStatus> cmbOrderStatus;
 
@@ -118,14 +138,20 @@ public class OrderSwingView extends JFrame implements OrderView {
 	private DefaultComboBoxModel<Worker> workerListModel;
 
 	/** The order list model. */
-	private DefaultListModel<CustomerOrder> orderListModel;
+	private DefaultListModel<OrderSummary> orderListModel;
 
 	/** The list orders. */
-	private JList<CustomerOrder> listOrders;
+	private JList<OrderSummary> listOrders;
 
 	/** The cmb worker. */
 	private JComboBox<Worker> cmbWorker;
 
+	/** The last fetched order, whose version is sent with an update of it. */
+	private transient CustomerOrder fetchedOrder;
+
+	/** The message shown over the frame while it is loading. */
+	private JLabel loadingLbl;
+
 	/**
 	 * Sets the order controller.
 	 *
@@ -149,7 +175,7 @@ public class OrderSwingView extends JFrame implements OrderView {
 	 *
 	 * @return the order list model
 	 */
-	public DefaultListModel<CustomerOrder> getOrderListModel() {
+	public DefaultListModel<OrderSummary> getOrderListModel() {
 		return orderListModel;
 	}
 
@@ -181,6 +207,8 @@ public class OrderSwingView extends JFrame implements OrderView {
 		btnUpdate = new JButton("Update");
 		btnFetch = new JButton("Fetch");
 		txtSearchOrder = new JTextField();
+		phoneSuggestions = new JPopupMenu();
+		phoneSuggestions.setFocusable(false);
 
 		for (OrderCategory category : OrderCategory.values()) {
 			cmbOrderCategory.addItem(category);
@@ -581,6 +609,7 @@ public class OrderSwingView extends JFrame implements OrderView {
 			@Override
 			public void keyReleased(KeyEvent e) {
 				handleSearchAndClearButtonStates();
+				suggestPhoneNumbersMethod();
 			}
 		});
 		txtSearchOrder.setFont(new Font(ARIAL, Font.PLAIN, 12));
@@ -615,6 +644,16 @@ public class OrderSwingView extends JFrame implements OrderView {
 		gbcCmbSearchBy.gridy = 8;
 		contentPane.add(cmbSearchBy, gbcCmbSearchBy);
 
+		chkIncludeArchived = new JCheckBox("Archived");
+		chkIncludeArchived.setName("chkIncludeArchived");
+		chkIncludeArchived.setFont(new Font(ARIAL, Font.PLAIN, 12));
+		chkIncludeArchived.addActionListener(e -> orderController.allOrders(chkIncludeArchived.isSelected()));
+		GridBagConstraints gbcChkIncludeArchived = new GridBagConstraints();
+		gbcChkIncludeArchived.insets = new Insets(0, 0, 5, 5);
+		gbcChkIncludeArchived.gridx = 4;
+		gbcChkIncludeArchived.gridy = 8;
+		contentPane.add(chkIncludeArchived, gbcChkIncludeArchived);
+
 		btnSearchOrder = new JButton("Search");
 		btnSearchOrder.setEnabled(false);
 		btnSearchOrder.setName("btnSearchOrder");
@@ -699,10 +738,21 @@ public class OrderSwingView extends JFrame implements OrderView {
 		gbcShowErrorNotFoundLbl.gridy = 16;
 		contentPane.add(showErrorNotFoundLbl, gbcShowErrorNotFoundLbl);
 
+		loadingLbl = new JLabel("");
+		loadingLbl.setName("loadingLbl");
+		loadingLbl.setFont(new Font(ARIAL, Font.BOLD, 16));
+		loadingLbl.setOpaque(true);
+		loadingLbl.setBorder(BorderFactory.createCompoundBorder(BorderFactory.createLineBorder(Color.GRAY, 1),
+				BorderFactory.createEmptyBorder(10, 20, 10, 20)));
+		JPanel loadingPane = new JPanel(new GridBagLayout());
+		loadingPane.setOpaque(false);
+		loadingPane.add(loadingLbl);
+		setGlassPane(loadingPane);
+
 	}
 
 	@Override
-	public void showAllOrder(List<CustomerOrder> order) {
+	public void showAllOrder(List<OrderSummary> order) {
 		resetAllSearchStates();
 		orderListModel.clear();
 		order.stream().forEach(orderListModel::addElement);
@@ -711,6 +761,7 @@ public class OrderSwingView extends JFrame implements OrderView {
 
 	@Override
 	public void showAllWorkers(List<Worker> worker) {
+		workerListModel.removeAllElements();
 		worker.stream().forEach(workerListModel::addElement);
 		cmbWorker.setSelectedItem(null);
 	}
@@ -718,7 +769,7 @@ public class OrderSwingView extends JFrame implements OrderView {
 	@Override
 	public void orderAdded(CustomerOrder order) {
 		SwingUtilities.invokeLater(() -> {
-			orderListModel.addElement(order);
+			orderListModel.addElement(OrderSummary.of(order));
 			resetAllFields();
 			resetErrorLabels();
 		});
@@ -730,7 +781,7 @@ public class OrderSwingView extends JFrame implements OrderView {
 		for (int i = 0; i < orderListModel.getSize(); i++) {
 			if (orderListModel.getElementAt(i).getOrderId().equals(order.getOrderId())) {
 				orderListModel.removeElementAt(i);
-				orderListModel.addElement(order);
+				orderListModel.addElement(OrderSummary.of(order));
 			}
 		}
 		resetAllFields();
@@ -740,6 +791,7 @@ public class OrderSwingView extends JFrame implements OrderView {
 
 	@Override
 	public void showFetchedOrder(CustomerOrder order) {
+		fetchedOrder = order;
 		txtOrderId.setText(order.getOrderId().toString());
 		txtCustomerName.setText(order.getCustomerName());
 		txtCustomerAddress.setText(order.getCustomerAddress());
@@ -753,14 +805,20 @@ public class OrderSwingView extends JFrame implements OrderView {
 	}
 
 	@Override
-	public void showSearchResultForOrder(List<CustomerOrder> order) {
+	public void showSearchResultForOrder(List<OrderSummary> order) {
 		orderListModel.removeAllElements();
 		order.stream().forEach(orderListModel::addElement);
 	}
 
 	@Override
 	public void orderRemoved(CustomerOrder order) {
-		orderListModel.removeElement(order);
+		removeFromList(order);
+		resetErrorLabelAndClearComboBoxSelection();
+	}
+
+	@Override
+	public void ordersRemoved(List<CustomerOrder> orders) {
+		orders.forEach(this::removeFromList);
 		resetErrorLabelAndClearComboBoxSelection();
 	}
 
@@ -776,13 +834,57 @@ public class OrderSwingView extends JFrame implements OrderView {
 
 	}
 
+	@Override
+	public void showConflictError(String message, CustomerOrder order) {
+		showError.setText(message + ": " + order);
+
+	}
+
 	@Override
 	public void showSearchError(String message, String searchText) {
 		showSearchErrorLbl.setText(message + ": " + searchText);
 
 	}
 
+	@Override
+	public void showPhoneNumberSuggestions(List<String> phoneNumbers) {
+		SwingUtilities.invokeLater(() -> {
+			phoneSuggestions.setVisible(false);
+			phoneSuggestions.removeAll();
+			// the text may have changed while the suggestions were looked up
+			String typed = txtSearchOrder.getText().trim();
+			for (String phoneNumber : phoneNumbers) {
+				if (!phoneNumber.startsWith(typed)) {
+					continue;
+				}
+				JMenuItem suggestion = new JMenuItem(phoneNumber);
+				suggestion.setName("phoneSuggestion" + phoneNumber);
+				suggestion.addActionListener(e -> {
+					txtSearchOrder.setText(phoneNumber);
+					handleSearchAndClearButtonStates();
+				});
+				phoneSuggestions.add(suggestion);
+			}
+			if (phoneSuggestions.getComponentCount() > 0 && txtSearchOrder.isShowing()) {
+				phoneSuggestions.show(txtSearchOrder, 0, txtSearchOrder.getHeight());
+			}
+		});
+	}
+
+	/**
+	 * Shows a message over the frame and blocks its input while the application
+	 * is loading, or removes it once loaded.
+	 *
+	 * @param message the message, or null once loaded
+	 */
+	public void showLoading(String message) {
+		loadingLbl.setText(message == null ? "" : message);
+		getGlassPane().setVisible(message != null);
+		setEnabled(message == null);
+	}
+
 	public void resetAllFields() {
+		fetchedOrder = null;
 		txtOrderId.setText("");
 		txtCustomerName.setText("");
 		txtCustomerAddress.setText("");
@@ -794,7 +896,7 @@ public class OrderSwingView extends JFrame implements OrderView {
 		cmbOrderCategory.setSelectedItem(null);
 		cmbOrderStatus.setSelectedItem(null);
 		cmbWorker.setSelectedItem(null);
-		orderController.allOrders();
+		orderController.allOrders(chkIncludeArchived.isSelected());
 	}
 
 	/**
@@ -824,11 +926,27 @@ public class OrderSwingView extends JFrame implements OrderView {
 		showSearchErrorLbl.setText(" ");
 	}
 
+	/**
+	 * Removes the row of the order from the order list.
+	 *
+	 * @param order the order
+	 */
+	private void removeFromList(CustomerOrder order) {
+		for (int i = 0; i < orderListModel.getSize(); i++) {
+			if (orderListModel.getElementAt(i).getOrderId().equals(order.getOrderId())) {
+				orderListModel.removeElementAt(i);
+				return;
+			}
+		}
+	}
+
 	/**
 	 * Delete order method.
 	 */
 	private void deleteOrderMethod() {
-		orderController.deleteOrder(listOrders.getSelectedValue());
+		CustomerOrder order = new CustomerOrder();
+		order.setOrderId(listOrders.getSelectedValue().getOrderId());
+		orderController.deleteOrder(order);
 	}
 
 	/**
@@ -837,7 +955,24 @@ public class OrderSwingView extends JFrame implements OrderView {
 	private void searchOrderByTextMethod() {
 		String searchText = txtSearchOrder.getText();
 		OrderSearchOptions searchOption = (OrderSearchOptions) cmbSearchBy.getSelectedItem();
-		orderController.searchOrder(searchText, searchOption);
+		orderController.searchOrder(searchText, searchOption,
+				chkIncludeArchived.isEnabled() && chkIncludeArchived.isSelected());
+	}
+
+	/**
+	 * Suggest phone numbers method. Suggestions are only asked for while a phone
+	 * number search option is selected, once typing pauses, and off the event
+	 * dispatch thread.
+	 */
+	private void suggestPhoneNumbersMethod() {
+		Object searchOption = cmbSearchBy.getSelectedItem();
+		if (searchOption == OrderSearchOptions.CUSTOMER_PHONE
+				|| searchOption == OrderSearchOptions.CUSTOMER_PHONE_PREFIX) {
+			String prefix = txtSearchOrder.getText().trim();
+			phoneNumberLookup.submit(() -> orderController.suggestCustomerPhoneNumbers(prefix));
+		} else {
+			phoneNumberLookup.cancel();
+		}
 	}
 
 	/**
@@ -859,6 +994,9 @@ public class OrderSwingView extends JFrame implements OrderView {
 		Long id = Long.parseLong(txtOrderId.getText());
 
 		order.setOrderId(id);
+		if (fetchedOrder != null && id.equals(fetchedOrder.getOrderId())) {
+			order.setVersion(fetchedOrder.getVersion());
+		}
 		order.setCustomerName(txtCustomerName.getText());
 		order.setCustomerAddress(txtCustomerAddress.getText());
 		order.setCustomerPhoneNumber(txtCustomerPhone.getText());
@@ -937,13 +1075,17 @@ public class OrderSwingView extends JFrame implements OrderView {
 	}
 
 	/**
-	 * Handle search and clear button states.
+	 * Handle search and clear button states. The archived orders can only be
+	 * included in the full list and in a customer name search, so the check box
+	 * is disabled for the other search options.
 	 */
 	private void handleSearchAndClearButtonStates() {
 		boolean isSearchOrderTextEmpty = txtSearchOrder.getText().trim().isEmpty();
-		boolean isSearchOptionEmpty = cmbSearchBy.getSelectedItem() == null;
+		Object searchOption = cmbSearchBy.getSelectedItem();
+		boolean isSearchOptionEmpty = searchOption == null;
 		btnSearchOrder.setEnabled(!isSearchOrderTextEmpty && !isSearchOptionEmpty);
 		btnClearSearch.setEnabled(!isSearchOrderTextEmpty && !isSearchOptionEmpty);
+		chkIncludeArchived.setEnabled(isSearchOptionEmpty || searchOption == OrderSearchOptions.CUSTOMER_NAME);
 	}
 
 }
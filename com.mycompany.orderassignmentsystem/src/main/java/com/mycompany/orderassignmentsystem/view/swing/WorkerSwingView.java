@@ -18,11 +18,14 @@ import javax.swing.JFormattedTextField;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JList;
+import javax.swing.JMenuItem;
 import javax.swing.JPanel;
+import javax.swing.JPopupMenu;
 import javax.swing.JScrollPane;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.LineBorder;
 
@@ -45,6 +48,9 @@ public class WorkerSwingView extends JFrame implements WorkerView {
 	/** Unique identifier for serialization.. */
 	private static final long serialVersionUID = 2L;
 
+	/** The time the phone number suggestions wait for the next keystroke. */
+	private static final long SUGGESTION_DELAY_MILLIS = 250;
+
 	/** The content pane. */
 	private JPanel contentPane;
 
@@ -60,6 +66,13 @@ public class WorkerSwingView extends JFrame implements WorkerView {
 	/** The txt search worker. */
 	private JTextField txtSearchWorker;
 
+	/** The phone number suggestions of the search text. */
+	private JPopupMenu phoneSuggestions;
+
+	/** The lookup of the phone number suggestions, off the event dispatch thread. */
+	private final transient DebouncedLookup phoneNumberLookup = new DebouncedLookup("worker-phone-suggestions",
+			SUGGESTION_DELAY_MILLIS);
+
 	/** The worker controller. */
 	private transient WorkerController workerController;
 
@@ -105,6 +118,9 @@ public class WorkerSwingView extends JFrame implements WorkerView {
 	/** The list workers. */
 	private JList<Worker> listWorkers;
 
+	/** The last fetched worker, whose version is sent with an update of it. */
+	private transient Worker fetchedWorker;
+
 	/**
 	 * Gets the worker list model.
 	 *
@@ -132,6 +148,8 @@ public class WorkerSwingView extends JFrame implements WorkerView {
 		txtWorkerName = new JTextField();
 
 		txtSearchWorker = new JTextField();
+		phoneSuggestions = new JPopupMenu();
+		phoneSuggestions.setFocusable(false);
 		cmbWorkerCategory = new JComboBox<>();
 		cmbSearchByOptions = new JComboBox<>();
 		workerListModel = new DefaultListModel<>();
@@ -386,6 +404,7 @@ public class WorkerSwingView extends JFrame implements WorkerView {
 			@Override
 			public void keyReleased(KeyEvent e) {
 				handleSearchWorkerAndClearButtonStates();
+				suggestPhoneNumbersMethod();
 			}
 		});
 
@@ -554,6 +573,7 @@ public class WorkerSwingView extends JFrame implements WorkerView {
 
 	@Override
 	public void showFetchedWorker(Worker worker) {
+		fetchedWorker = worker;
 		txtWorkerName.setText(worker.getWorkerName());
 		txtWorkerPhone.setText(worker.getWorkerPhoneNumber());
 		cmbWorkerCategory.setSelectedItem(worker.getWorkerCategory());
@@ -583,11 +603,41 @@ public class WorkerSwingView extends JFrame implements WorkerView {
 		showErrorNotFoundLbl.setText(message + ": " + worker);
 	}
 
+	@Override
+	public void showConflictError(String message, Worker worker) {
+		showErrorLbl.setText(message + ": " + worker);
+	}
+
 	@Override
 	public void showSearchError(String message, String searchText) {
 		showErrorLblSearchWorker.setText(message + ": " + searchText);
 	}
 
+	@Override
+	public void showPhoneNumberSuggestions(List<String> phoneNumbers) {
+		SwingUtilities.invokeLater(() -> {
+			phoneSuggestions.setVisible(false);
+			phoneSuggestions.removeAll();
+			// the text may have changed while the suggestions were looked up
+			String typed = txtSearchWorker.getText().trim();
+			for (String phoneNumber : phoneNumbers) {
+				if (!phoneNumber.startsWith(typed)) {
+					continue;
+				}
+				JMenuItem suggestion = new JMenuItem(phoneNumber);
+				suggestion.setName("phoneSuggestion" + phoneNumber);
+				suggestion.addActionListener(e -> {
+					txtSearchWorker.setText(phoneNumber);
+					handleSearchWorkerAndClearButtonStates();
+				});
+				phoneSuggestions.add(suggestion);
+			}
+			if (phoneSuggestions.getComponentCount() > 0 && txtSearchWorker.isShowing()) {
+				phoneSuggestions.show(txtSearchWorker, 0, txtSearchWorker.getHeight());
+			}
+		});
+	}
+
 	/**
 	 * Reset error label.
 	 */
@@ -601,6 +651,7 @@ public class WorkerSwingView extends JFrame implements WorkerView {
 	 * Reset all text fields & combo box.
 	 */
 	private void resetAllStates() {
+		fetchedWorker = null;
 		txtWorkerId.setText("");
 		txtWorkerName.setText("");
 		txtWorkerPhone.setText("");
@@ -615,6 +666,21 @@ public class WorkerSwingView extends JFrame implements WorkerView {
 		cmbSearchByOptions.setSelectedItem(null);
 	}
 
+	/**
+	 * Suggest phone numbers method. Suggestions are only asked for while a phone
+	 * number search option is selected, once typing pauses, and off the event
+	 * dispatch thread.
+	 */
+	private void suggestPhoneNumbersMethod() {
+		Object searchOption = cmbSearchByOptions.getSelectedItem();
+		if (searchOption == WorkerSearchOption.WORKER_PHONE || searchOption == WorkerSearchOption.WORKER_PHONE_PREFIX) {
+			String prefix = txtSearchWorker.getText().trim();
+			phoneNumberLookup.submit(() -> workerController.suggestWorkerPhoneNumbers(prefix));
+		} else {
+			phoneNumberLookup.cancel();
+		}
+	}
+
 	/**
 	 * Fetch worker method.
 	 */
@@ -633,6 +699,9 @@ public class WorkerSwingView extends JFrame implements WorkerView {
 		Worker worker = new Worker();
 		Long id = Long.parseLong(txtWorkerId.getText());
 		worker.setWorkerId(id);
+		if (fetchedWorker != null && id.equals(fetchedWorker.getWorkerId())) {
+			worker.setVersion(fetchedWorker.getVersion());
+		}
 		worker.setWorkerName(txtWorkerName.getText());
 		worker.setWorkerPhoneNumber(txtWorkerPhone.getText());
 		worker.setWorkerCategory((OrderCategory) cmbWorkerCategory.getSelectedItem());
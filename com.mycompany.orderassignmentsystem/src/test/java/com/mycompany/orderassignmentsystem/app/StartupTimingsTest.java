@@ -0,0 +1,102 @@
+/*
+ * Unit tests for the StartupTimings class.
+ *
+ * These tests verify that every timed phase is recorded with its duration and
+ * the time it ended, counted from the start, in the order the phases ended,
+ * and that a failing phase is not recorded. The clock is a fake one.
+ *
+ * Methods tested include:
+ * - timed() / timedApply() / timedRun()
+ * - summary()
+ *
+ * Each test follows a structured approach with three main phases:
+ * 1. Setup: Created environment for the test.
+ * 3. Exercise: Calling an instance method.
+ * 4. Verify: Verify that the outcome matches the expected behaviour.
+ *
+ * @see StartupTimings
+ */
+
+package com.mycompany.orderassignmentsystem.app;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The Class StartupTimingsTest.
+ */
+public class StartupTimingsTest {
+
+	/** The fake clock, in nanoseconds. */
+	private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(7));
+
+	/** The timings. */
+	private StartupTimings timings;
+
+	/**
+	 * Setup.
+	 */
+	@Before
+	public void setup() {
+		timings = new StartupTimings(clock::get);
+	}
+
+	/**
+	 * Test phases are recorded in the order they end.
+	 */
+	@Test
+	public void testPhasesAreRecordedInTheOrderTheyEnd() {
+		// Setup
+		Runnable frames = timings.timedRun("frames", () -> advance(80));
+		Supplier<String> database = timings.timed("database", () -> {
+			advance(300);
+			return "ready";
+		});
+
+		// Exercise
+		advance(20);
+		frames.run();
+		String value = database.get();
+		int length = timings.timedApply("lists", (String v) -> {
+			advance(50);
+			return v.length();
+		}).apply(value);
+
+		// Verify
+		assertThat(value).isEqualTo("ready");
+		assertThat(length).isEqualTo(5);
+		assertThat(timings.summary()).isEqualTo(
+				"frames 80 ms (done at 100 ms), database 300 ms (done at 400 ms), lists 50 ms (done at 450 ms)");
+	}
+
+	/**
+	 * Test a failing phase is not recorded.
+	 */
+	@Test
+	public void testAFailingPhaseIsNotRecorded() {
+		// Setup
+		Runnable failing = timings.timedRun("schema", () -> {
+			throw new IllegalStateException("no database");
+		});
+
+		// Exercise & Verify
+		assertThatThrownBy(failing::run).isInstanceOf(IllegalStateException.class);
+		assertThat(timings.summary()).isEmpty();
+	}
+
+	/**
+	 * Advances the fake clock.
+	 *
+	 * @param millis the milliseconds
+	 */
+	private void advance(long millis) {
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+	}
+}
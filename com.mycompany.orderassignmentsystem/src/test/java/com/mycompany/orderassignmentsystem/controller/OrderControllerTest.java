@@ -14,7 +14,12 @@
  * - createOrUpdateOrder()
  * - fetchOrderById()
  * - deleteOrder()
+ * - deleteOrders()
+ * - countOrdersByStatusAndCategory()
+ * - countOrdersByWorker()
+ * - countOrdersByDate()
  * - searchOrder()
+ * - suggestCustomerPhoneNumbers()
  *
  * The setup and teardown methods handle the initialisation and cleanup 
  * of mock objects.
@@ -35,17 +40,25 @@
 package com.mycompany.orderassignmentsystem.controller;
 
 import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.ignoreStubs;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDate;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import org.junit.After;
 import org.junit.Before;
@@ -62,8 +75,11 @@ import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
 import com.mycompany.orderassignmentsystem.enumerations.OrderSearchOptions;
 import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
 import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.OrderSummary;
 import com.mycompany.orderassignmentsystem.model.Worker;
 import com.mycompany.orderassignmentsystem.repository.OrderRepository;
+import com.mycompany.orderassignmentsystem.repository.UniqueConstraintException;
+import com.mycompany.orderassignmentsystem.repository.VersionConflictException;
 import com.mycompany.orderassignmentsystem.repository.WorkerRepository;
 import com.mycompany.orderassignmentsystem.view.OrderView;
 
@@ -143,10 +159,11 @@ public class OrderControllerTest {
 	@Test
 	public void testAllOrdersMethodWhenCustomer() {
 		// Setup
-		List<CustomerOrder> orders = asList(new CustomerOrder());
+		List<OrderSummary> orders = asList(new OrderSummary(ORDER_ID, CUSTOMER_NAME, ORDER_APPOINTMENT_DATE,
+				ORDER_STATUS, ORDER_CATEGORY, 1l));
 
 		// Mocks
-		when(orderRepository.findAll()).thenReturn(orders);
+		when(orderRepository.findAllSummaries()).thenReturn(orders);
 
 		// Exercise
 		orderController.allOrders();
@@ -161,10 +178,10 @@ public class OrderControllerTest {
 	@Test
 	public void testAllOrdersMethodWhenEmptyList() {
 		// Setup
-		List<CustomerOrder> emptyList = Collections.emptyList();
+		List<OrderSummary> emptyList = Collections.emptyList();
 
 		// Mocks
-		when(orderRepository.findAll()).thenReturn(emptyList);
+		when(orderRepository.findAllSummaries()).thenReturn(emptyList);
 
 		// Exercise
 		orderController.allOrders();
@@ -179,7 +196,7 @@ public class OrderControllerTest {
 	@Test
 	public void testAllOrdersMethodWhenNullList() {
 		// Setup, mock
-		when(orderRepository.findAll()).thenReturn(null);
+		when(orderRepository.findAllSummaries()).thenReturn(null);
 
 		// Exercise
 		orderController.allOrders();
@@ -188,6 +205,27 @@ public class OrderControllerTest {
 		verify(orderView).showAllOrder(null);
 	}
 
+	/**
+	 * Test all orders method when including archived.
+	 */
+	@Test
+	public void testAllOrdersMethodWhenIncludingArchived() {
+		// Setup
+		CustomerOrder archived = new CustomerOrder();
+		archived.setOrderId(ORDER_ID);
+		archived.setCustomerName(CUSTOMER_NAME);
+
+		// Mocks
+		when(orderRepository.findAll(true)).thenReturn(asList(archived));
+
+		// Exercise
+		orderController.allOrders(true);
+
+		// Verify
+		verify(orderView).showAllOrder(asList(OrderSummary.of(archived)));
+		verify(orderRepository, never()).findAllSummaries();
+	}
+
 	/**
 	 * Test all workers method when worker.
 	 */
@@ -798,7 +836,7 @@ public class OrderControllerTest {
 				ORDER_DESCRIPTION, ORDER_CATEGORY, status, worker);
 
 		// Mocks
-		when(workerRepository.findById(workerId)).thenReturn(worker);
+		when(workerRepository.findByIdWithoutOrders(workerId)).thenReturn(worker);
 
 		// Exercise
 		orderController.createOrUpdateOrder(order, OperationType.ADD);
@@ -825,7 +863,7 @@ public class OrderControllerTest {
 				ORDER_DESCRIPTION, ORDER_CATEGORY, ORDER_STATUS, worker);
 
 		// Mocks
-		when(workerRepository.findById(workerId)).thenReturn(null);
+		when(workerRepository.findByIdWithoutOrders(workerId)).thenReturn(null);
 
 		// Exercise
 		orderController.createOrUpdateOrder(order, OperationType.ADD);
@@ -855,7 +893,7 @@ public class OrderControllerTest {
 				ORDER_DESCRIPTION, orderCategory, ORDER_STATUS, worker);
 
 		// Mocks
-		when(workerRepository.findById(workerId)).thenReturn(worker);
+		when(workerRepository.findByIdWithoutOrders(workerId)).thenReturn(worker);
 
 		// Exercise
 		orderController.createOrUpdateOrder(order, OperationType.ADD);
@@ -882,7 +920,8 @@ public class OrderControllerTest {
 				ORDER_DESCRIPTION, ORDER_CATEGORY, ORDER_STATUS, worker);
 
 		// Mocks
-		when(workerRepository.findById(workerId)).thenReturn(worker);
+		when(orderRepository.existsPendingOrderForWorker(workerId)).thenReturn(false);
+		when(workerRepository.findByIdWithoutOrders(workerId)).thenReturn(worker);
 		when(orderRepository.save(order)).thenReturn(order);
 
 		// Exercise
@@ -912,7 +951,8 @@ public class OrderControllerTest {
 				ORDER_DESCRIPTION, ORDER_CATEGORY, ORDER_STATUS, worker);
 
 		// Mocks
-		when(workerRepository.findById(workerId)).thenReturn(worker);
+		when(orderRepository.existsPendingOrderForWorker(workerId)).thenReturn(false);
+		when(workerRepository.findByIdWithoutOrders(workerId)).thenReturn(worker);
 		when(orderRepository.save(order)).thenReturn(order);
 
 		// Exercise
@@ -937,14 +977,12 @@ public class OrderControllerTest {
 		// Setup
 		long workerId = 1l;
 		Worker worker = new Worker(workerId, ORDER_CATEGORY);
-		CustomerOrder workerOrder = new CustomerOrder();
-		workerOrder.setOrderStatus(OrderStatus.PENDING);
-		worker.setOrders(asList(workerOrder));
 		CustomerOrder order = new CustomerOrder(CUSTOMER_NAME, CUSTOMER_ADDRESS, CUSTOMER_PHONE, ORDER_APPOINTMENT_DATE,
 				ORDER_DESCRIPTION, ORDER_CATEGORY, ORDER_STATUS, worker);
 
 		// Mocks
-		when(workerRepository.findById(workerId)).thenReturn(worker);
+		when(orderRepository.existsPendingOrderForWorker(workerId)).thenReturn(true);
+		when(workerRepository.findByIdWithoutOrders(workerId)).thenReturn(worker);
 		when(orderRepository.save(order)).thenReturn(order);
 
 		// Exercise
@@ -969,14 +1007,12 @@ public class OrderControllerTest {
 		// Setup
 		long workerId = 1l;
 		Worker worker = new Worker(workerId, ORDER_CATEGORY);
-		CustomerOrder workerOrder = new CustomerOrder();
-		workerOrder.setOrderStatus(OrderStatus.COMPLETED);
-		worker.setOrders(asList(workerOrder));
 		CustomerOrder order = new CustomerOrder(CUSTOMER_NAME, CUSTOMER_ADDRESS, CUSTOMER_PHONE, ORDER_APPOINTMENT_DATE,
 				ORDER_DESCRIPTION, ORDER_CATEGORY, ORDER_STATUS, worker);
 
 		// Mocks
-		when(workerRepository.findById(workerId)).thenReturn(worker);
+		when(orderRepository.existsPendingOrderForWorker(workerId)).thenReturn(false);
+		when(workerRepository.findByIdWithoutOrders(workerId)).thenReturn(worker);
 		when(orderRepository.save(order)).thenReturn(order);
 
 		// Exercise
@@ -984,6 +1020,7 @@ public class OrderControllerTest {
 
 		// Verify
 		InOrder inOrder = Mockito.inOrder(orderView, orderRepository, workerRepository);
+		inOrder.verify(orderRepository).existsPendingOrderForWorker(workerId);
 		inOrder.verify(orderRepository).save(order);
 		inOrder.verify(orderView).orderAdded(order);
 		verifyNoMoreInteractions(ignoreStubs(orderRepository));
@@ -992,6 +1029,60 @@ public class OrderControllerTest {
 
 	}
 
+	/**
+	 * Test create or update order method when database rejects a second pending
+	 * order and operation type is add.
+	 */
+	@Test
+	public void testCreateOrUpdateOrderMethodWhenDatabaseRejectsASecondPendingOrderAndOperationTypeIsAdd() {
+		// Setup
+		long workerId = 1l;
+		Worker worker = new Worker(workerId, ORDER_CATEGORY);
+		CustomerOrder order = new CustomerOrder(CUSTOMER_NAME, CUSTOMER_ADDRESS, CUSTOMER_PHONE, ORDER_APPOINTMENT_DATE,
+				ORDER_DESCRIPTION, ORDER_CATEGORY, ORDER_STATUS, worker);
+
+		// Mocks
+		when(workerRepository.findByIdWithoutOrders(workerId)).thenReturn(worker);
+		when(orderRepository.existsPendingOrderForWorker(workerId)).thenReturn(false);
+		when(orderRepository.save(order)).thenThrow(new UniqueConstraintException("failed to create order.",
+				OrderRepository.ONE_PENDING_ORDER_PER_WORKER, null));
+
+		// Exercise
+		orderController.createOrUpdateOrder(order, OperationType.ADD);
+
+		// Verify
+		InOrder inOrder = Mockito.inOrder(orderView, orderRepository, workerRepository);
+		inOrder.verify(orderRepository).save(order);
+		inOrder.verify(orderView).showError(
+				"Cannot assign a new order to this worker because they already have a pending order.", order);
+		verifyNoMoreInteractions(ignoreStubs(orderRepository));
+		verifyNoMoreInteractions(ignoreStubs(workerRepository));
+		verifyNoMoreInteractions(orderView);
+	}
+
+	/**
+	 * Test create or update order method when database rejects the order with
+	 * another unique constraint and operation type is add.
+	 */
+	@Test
+	public void testCreateOrUpdateOrderMethodWhenDatabaseRejectsTheOrderWithAnotherUniqueConstraintAndOperationTypeIsAdd() {
+		// Setup
+		long workerId = 1l;
+		Worker worker = new Worker(workerId, ORDER_CATEGORY);
+		CustomerOrder order = new CustomerOrder(CUSTOMER_NAME, CUSTOMER_ADDRESS, CUSTOMER_PHONE, ORDER_APPOINTMENT_DATE,
+				ORDER_DESCRIPTION, ORDER_CATEGORY, ORDER_STATUS, worker);
+		UniqueConstraintException exception = new UniqueConstraintException("failed to create order.",
+				"other_constraint", null);
+
+		// Mocks
+		when(workerRepository.findByIdWithoutOrders(workerId)).thenReturn(worker);
+		when(orderRepository.save(order)).thenThrow(exception);
+
+		// Exercise & Verify
+		assertThatThrownBy(() -> orderController.createOrUpdateOrder(order, OperationType.ADD)).isSameAs(exception);
+		verifyNoMoreInteractions(orderView);
+	}
+
 	/**
 	 * Test create or update order method when validate string number throws null
 	 * pointer exception and operation type is update.
@@ -1064,7 +1155,7 @@ public class OrderControllerTest {
 				ORDER_APPOINTMENT_DATE, ORDER_DESCRIPTION, ORDER_CATEGORY, ORDER_STATUS, worker);
 
 		// Mocks
-		when(workerRepository.findById(workerId)).thenReturn(null);
+		when(workerRepository.findByIdWithoutOrders(workerId)).thenReturn(null);
 
 		// Exercise
 		orderController.createOrUpdateOrder(order, OperationType.UPDATE);
@@ -1094,7 +1185,7 @@ public class OrderControllerTest {
 				ORDER_APPOINTMENT_DATE, ORDER_DESCRIPTION, orderCategory, ORDER_STATUS, worker);
 
 		// Mocks
-		when(workerRepository.findById(workerId)).thenReturn(worker);
+		when(workerRepository.findByIdWithoutOrders(workerId)).thenReturn(worker);
 
 		// Exercise
 		orderController.createOrUpdateOrder(order, OperationType.UPDATE);
@@ -1129,9 +1220,10 @@ public class OrderControllerTest {
 				ORDER_APPOINTMENT_DATE, ORDER_DESCRIPTION, ORDER_CATEGORY, ORDER_STATUS, savedWorker);
 
 		// Mocks
+		when(orderRepository.existsPendingOrderForWorker(workerId)).thenReturn(false);
 		when(orderRepository.findById(orderId)).thenReturn(savedOrder);
 		when(orderRepository.save(order)).thenReturn(order);
-		when(workerRepository.findById(workerId)).thenReturn(worker);
+		when(workerRepository.findByIdWithoutOrders(workerId)).thenReturn(worker);
 
 		// Exercise
 		orderController.createOrUpdateOrder(order, OperationType.UPDATE);
@@ -1145,6 +1237,68 @@ public class OrderControllerTest {
 		verifyNoMoreInteractions(orderView);
 	}
 
+	/**
+	 * Test create or update order method when the order has no version and
+	 * operation type is update.
+	 */
+	@Test
+	public void testCreateOrUpdateOrderMethodWhenTheOrderHasNoVersionAndOperationTypeIsUpdate() {
+		// Setup
+		long workerId = 1l;
+		Worker worker = new Worker(workerId, ORDER_CATEGORY);
+		worker.setOrders(Collections.emptyList());
+		CustomerOrder order = new CustomerOrder(ORDER_ID, CUSTOMER_NAME, CUSTOMER_ADDRESS, CUSTOMER_PHONE,
+				ORDER_APPOINTMENT_DATE, ORDER_DESCRIPTION, ORDER_CATEGORY, ORDER_STATUS, worker);
+		CustomerOrder savedOrder = new CustomerOrder(ORDER_ID, CUSTOMER_NAME, CUSTOMER_ADDRESS, CUSTOMER_PHONE,
+				ORDER_APPOINTMENT_DATE, ORDER_DESCRIPTION, ORDER_CATEGORY, ORDER_STATUS, worker);
+		savedOrder.setVersion(3l);
+
+		// Mocks
+		when(workerRepository.findByIdWithoutOrders(workerId)).thenReturn(worker);
+		when(orderRepository.findById(ORDER_ID)).thenReturn(savedOrder);
+		when(orderRepository.save(order)).thenReturn(order);
+
+		// Exercise
+		orderController.createOrUpdateOrder(order, OperationType.UPDATE);
+
+		// Verify
+		assertThat(order.getVersion()).isEqualTo(3l);
+		InOrder inOrder = Mockito.inOrder(orderView, orderRepository, workerRepository);
+		inOrder.verify(orderRepository).save(order);
+		inOrder.verify(orderView).orderModified(order);
+	}
+
+	/**
+	 * Test create or update order method when the order was changed concurrently
+	 * and operation type is update.
+	 */
+	@Test
+	public void testCreateOrUpdateOrderMethodWhenTheOrderWasChangedConcurrentlyAndOperationTypeIsUpdate() {
+		// Setup
+		long workerId = 1l;
+		Worker worker = new Worker(workerId, ORDER_CATEGORY);
+		CustomerOrder order = new CustomerOrder(ORDER_ID, CUSTOMER_NAME, CUSTOMER_ADDRESS, CUSTOMER_PHONE,
+				ORDER_APPOINTMENT_DATE, ORDER_DESCRIPTION, ORDER_CATEGORY, ORDER_STATUS, worker);
+		order.setVersion(1l);
+
+		// Mocks
+		when(workerRepository.findByIdWithoutOrders(workerId)).thenReturn(worker);
+		when(orderRepository.findById(ORDER_ID)).thenReturn(order);
+		when(orderRepository.save(order)).thenThrow(new VersionConflictException("failed to create order.", null));
+
+		// Exercise
+		orderController.createOrUpdateOrder(order, OperationType.UPDATE);
+
+		// Verify
+		InOrder inOrder = Mockito.inOrder(orderView, orderRepository, workerRepository);
+		inOrder.verify(orderRepository).save(order);
+		inOrder.verify(orderView).showConflictError(
+				"This order was changed or deleted by someone else. Fetch it again and retry.", order);
+		verifyNoMoreInteractions(ignoreStubs(orderRepository));
+		verifyNoMoreInteractions(ignoreStubs(workerRepository));
+		verifyNoMoreInteractions(orderView);
+	}
+
 	/**
 	 * Test create or update order method when worker orders are empty and operation
 	 * type is update.
@@ -1164,10 +1318,10 @@ public class OrderControllerTest {
 				ORDER_APPOINTMENT_DATE, ORDER_DESCRIPTION, ORDER_CATEGORY, ORDER_STATUS, savedWorker);
 
 		// Mocks
-		when(workerRepository.findById(workerId)).thenReturn(worker);
+		when(orderRepository.existsPendingOrderForWorker(workerId)).thenReturn(false);
+		when(workerRepository.findByIdWithoutOrders(workerId)).thenReturn(worker);
 		when(orderRepository.findById(orderId)).thenReturn(savedOrder);
 		when(orderRepository.save(order)).thenReturn(order);
-		when(workerRepository.findById(workerId)).thenReturn(worker);
 
 		// Exercise
 		orderController.createOrUpdateOrder(order, OperationType.UPDATE);
@@ -1190,9 +1344,6 @@ public class OrderControllerTest {
 		// Setup
 		long workerId = 1l;
 		Worker worker = new Worker(workerId, ORDER_CATEGORY);
-		CustomerOrder workerOrder = new CustomerOrder();
-		workerOrder.setOrderStatus(OrderStatus.PENDING);
-		worker.setOrders(asList(workerOrder));
 		long orderId = 1L;
 		CustomerOrder order = new CustomerOrder(orderId, CUSTOMER_NAME, CUSTOMER_ADDRESS, CUSTOMER_PHONE,
 				ORDER_APPOINTMENT_DATE, ORDER_DESCRIPTION, ORDER_CATEGORY, ORDER_STATUS, worker);
@@ -1202,10 +1353,10 @@ public class OrderControllerTest {
 				ORDER_APPOINTMENT_DATE, ORDER_DESCRIPTION, ORDER_CATEGORY, ORDER_STATUS, savedWorker);
 
 		// Mocks
-		when(workerRepository.findById(workerId)).thenReturn(worker);
+		when(orderRepository.existsPendingOrderForWorker(workerId)).thenReturn(true);
+		when(workerRepository.findByIdWithoutOrders(workerId)).thenReturn(worker);
 		when(orderRepository.findById(orderId)).thenReturn(savedOrder);
 		when(orderRepository.save(order)).thenReturn(order);
-		when(workerRepository.findById(workerId)).thenReturn(worker);
 
 		// Exercise
 		orderController.createOrUpdateOrder(order, OperationType.UPDATE);
@@ -1234,9 +1385,8 @@ public class OrderControllerTest {
 		worker.setOrders(asList(order));
 
 		// Mocks
-		when(workerRepository.findById(workerId)).thenReturn(worker);
+		when(workerRepository.findByIdWithoutOrders(workerId)).thenReturn(worker);
 		when(orderRepository.save(order)).thenReturn(order);
-		when(workerRepository.findById(workerId)).thenReturn(worker);
 		when(orderRepository.findById(ORDER_ID)).thenReturn(order);
 
 		// Exercise
@@ -1246,6 +1396,7 @@ public class OrderControllerTest {
 		InOrder inOrder = Mockito.inOrder(orderView, orderRepository, workerRepository);
 		inOrder.verify(orderRepository).save(order);
 		inOrder.verify(orderView).orderModified(order);
+		verify(workerRepository, never()).findById(workerId);
 		verifyNoMoreInteractions(ignoreStubs(orderRepository));
 		verifyNoMoreInteractions(ignoreStubs(workerRepository));
 		verifyNoMoreInteractions(orderView);
@@ -1500,6 +1651,269 @@ public class OrderControllerTest {
 		verifyNoMoreInteractions(orderView, workerRepository);
 	}
 
+	/**
+	 * Test delete order method when the order was deleted concurrently.
+	 */
+	@Test
+	public void testDeleteOrderMethodWhenTheOrderWasDeletedConcurrently() {
+		// Setup
+		CustomerOrder order = new CustomerOrder();
+		order.setOrderId(ORDER_ID);
+
+		// Mocks
+		when(orderRepository.findById(ORDER_ID)).thenReturn(order);
+		doThrow(new VersionConflictException("failed to delete order.", null)).when(orderRepository).delete(order);
+
+		// Exercise
+		orderController.deleteOrder(order);
+
+		// Verify
+		InOrder inOrder = Mockito.inOrder(orderView, orderRepository, workerRepository);
+		inOrder.verify(orderRepository).delete(order);
+		inOrder.verify(orderView).showConflictError(
+				"This order was changed or deleted by someone else. Fetch it again and retry.", order);
+		verifyNoMoreInteractions(ignoreStubs(orderRepository));
+		verifyNoMoreInteractions(orderView, workerRepository);
+	}
+
+	/**
+	 * Test delete orders method when list is null.
+	 */
+	@Test
+	public void testDeleteOrdersMethodWhenListIsNull() {
+		// Setup & Exercise
+		orderController.deleteOrders(null);
+
+		// Verify
+		InOrder inOrder = Mockito.inOrder(orderView, orderRepository, workerRepository);
+		inOrder.verify(orderView).showError("Orders are null", null);
+		verifyNoMoreInteractions(ignoreStubs(orderRepository));
+		verifyNoMoreInteractions(orderView, workerRepository);
+	}
+
+	/**
+	 * Test delete orders method when list contains null order.
+	 */
+	@Test
+	public void testDeleteOrdersMethodWhenListContainsNullOrder() {
+		// Setup
+		CustomerOrder order = new CustomerOrder();
+		order.setOrderId(ORDER_ID);
+
+		// Exercise
+		orderController.deleteOrders(asList(order, null));
+
+		// Verify
+		InOrder inOrder = Mockito.inOrder(orderView, orderRepository, workerRepository);
+		inOrder.verify(orderView).showError("Order is null", null);
+		verifyNoMoreInteractions(ignoreStubs(orderRepository));
+		verifyNoMoreInteractions(orderView, workerRepository);
+	}
+
+	/**
+	 * Test delete orders method when an order has no id.
+	 */
+	@Test
+	public void testDeleteOrdersMethodWhenOrderIdIsNull() {
+		// Setup
+		CustomerOrder order = new CustomerOrder();
+
+		// Exercise
+		orderController.deleteOrders(asList(order));
+
+		// Verify
+		InOrder inOrder = Mockito.inOrder(orderView, orderRepository, workerRepository);
+		inOrder.verify(orderView).showError("Order ID is null", order);
+		verifyNoMoreInteractions(ignoreStubs(orderRepository));
+		verifyNoMoreInteractions(orderView, workerRepository);
+	}
+
+	/**
+	 * Test delete orders method when validate string number throws illegal
+	 * argument exception.
+	 */
+	@Test
+	public void testDeleteOrdersMethodWhenValidateStringNumberThrowsIllegalArgumentException() {
+		// Setup
+		CustomerOrder order = new CustomerOrder();
+		order.setOrderId(0l);
+
+		// Mocks
+		doThrow(new IllegalArgumentException("The id field cannot be less than 1. Please provide a valid id."))
+				.when(validationConfigurations).validateStringNumber(anyString());
+
+		// Exercise
+		orderController.deleteOrders(asList(order));
+
+		// Verify
+		InOrder inOrder = Mockito.inOrder(orderView, orderRepository, workerRepository);
+		inOrder.verify(orderView).showError("The id field cannot be less than 1. Please provide a valid id.", order);
+		verifyNoMoreInteractions(ignoreStubs(orderRepository));
+		verifyNoMoreInteractions(orderView, workerRepository);
+	}
+
+	/**
+	 * Test delete orders method deletes in bulk and notifies the view once.
+	 */
+	@Test
+	public void testDeleteOrdersMethodDeletesInBulkAndNotifiesTheViewOnce() {
+		// Setup
+		CustomerOrder order1 = new CustomerOrder();
+		order1.setOrderId(ORDER_ID);
+		CustomerOrder order2 = new CustomerOrder();
+		order2.setOrderId(ORDER_ID + 1);
+		List<CustomerOrder> orders = asList(order1, order2);
+
+		// Mocks
+		when(orderRepository.deleteAllById(asList(ORDER_ID, ORDER_ID + 1))).thenReturn(2);
+
+		// Exercise
+		orderController.deleteOrders(orders);
+
+		// Verify
+		InOrder inOrder = Mockito.inOrder(orderView, orderRepository, workerRepository);
+		inOrder.verify(orderRepository).deleteAllById(asList(ORDER_ID, ORDER_ID + 1));
+		inOrder.verify(orderView).ordersRemoved(orders);
+		verifyNoMoreInteractions(orderRepository, orderView, workerRepository);
+	}
+
+	/**
+	 * Test delete orders method when the repository fails to delete.
+	 */
+	@Test
+	public void testDeleteOrdersMethodWhenRepositoryFailsToDelete() {
+		// Setup
+		CustomerOrder order = new CustomerOrder();
+		order.setOrderId(ORDER_ID);
+
+		// Mocks
+		when(orderRepository.deleteAllById(asList(ORDER_ID)))
+				.thenThrow(new IllegalStateException("failed to delete orders."));
+
+		// Exercise
+		orderController.deleteOrders(asList(order));
+
+		// Verify
+		InOrder inOrder = Mockito.inOrder(orderView, orderRepository, workerRepository);
+		inOrder.verify(orderRepository).deleteAllById(asList(ORDER_ID));
+		inOrder.verify(orderView).showError("failed to delete orders.", order);
+		verifyNoMoreInteractions(orderRepository, orderView, workerRepository);
+	}
+
+	// tests for order statistics
+
+	/**
+	 * Test count orders by status and category method returns repository counts.
+	 */
+	@Test
+	public void testCountOrdersByStatusAndCategoryMethodReturnsRepositoryCounts() {
+		// Setup
+		Map<OrderCategory, Long> byCategory = new EnumMap<>(OrderCategory.class);
+		byCategory.put(ORDER_CATEGORY, 3l);
+		Map<OrderStatus, Map<OrderCategory, Long>> counts = new EnumMap<>(OrderStatus.class);
+		counts.put(ORDER_STATUS, byCategory);
+
+		// Mocks
+		when(orderRepository.countByStatusAndCategory()).thenReturn(counts);
+
+		// Exercise
+		Map<OrderStatus, Map<OrderCategory, Long>> result = orderController.countOrdersByStatusAndCategory();
+
+		// Verify
+		assertThat(result).isEqualTo(counts);
+		verify(orderRepository).countByStatusAndCategory();
+		verifyNoMoreInteractions(orderRepository, orderView, workerRepository);
+	}
+
+	/**
+	 * Test count orders by worker method returns repository counts.
+	 */
+	@Test
+	public void testCountOrdersByWorkerMethodReturnsRepositoryCounts() {
+		// Setup
+		Map<Long, Long> counts = Collections.singletonMap(1l, 2l);
+
+		// Mocks
+		when(orderRepository.countByWorker()).thenReturn(counts);
+
+		// Exercise
+		Map<Long, Long> result = orderController.countOrdersByWorker();
+
+		// Verify
+		assertThat(result).isEqualTo(counts);
+		verify(orderRepository).countByWorker();
+		verifyNoMoreInteractions(orderRepository, orderView, workerRepository);
+	}
+
+	/**
+	 * Test count orders by date method returns repository counts.
+	 */
+	@Test
+	public void testCountOrdersByDateMethodReturnsRepositoryCounts() {
+		// Setup
+		String toDate = "14-12-2024";
+		SortedMap<LocalDate, Long> counts = new TreeMap<>();
+		counts.put(LocalDate.of(2024, 12, 12), 2l);
+
+		// Mocks
+		when(validationConfigurations.validateStringDate(ORDER_APPOINTMENT_DATE)).thenReturn(ORDER_APPOINTMENT_DATE);
+		when(validationConfigurations.validateStringDate(toDate)).thenReturn(toDate);
+		when(orderRepository.countByDate(LocalDate.of(2024, 12, 12), LocalDate.of(2024, 12, 14))).thenReturn(counts);
+
+		// Exercise
+		SortedMap<LocalDate, Long> result = orderController.countOrdersByDate(ORDER_APPOINTMENT_DATE, toDate);
+
+		// Verify
+		assertThat(result).isEqualTo(counts);
+		verify(orderRepository).countByDate(LocalDate.of(2024, 12, 12), LocalDate.of(2024, 12, 14));
+		verifyNoMoreInteractions(orderRepository, orderView, workerRepository);
+	}
+
+	/**
+	 * Test count orders by date method when validate string date throws illegal
+	 * argument exception.
+	 */
+	@Test
+	public void testCountOrdersByDateMethodWhenValidateStringDateThrowsIllegalArgumentException() {
+		// Setup
+		String fromDate = "2024-12-12";
+
+		// Mocks
+		when(validationConfigurations.validateStringDate(fromDate))
+				.thenThrow(new IllegalArgumentException("Please ensure that the date follows the formatdd-MM-yyyy"));
+
+		// Exercise
+		SortedMap<LocalDate, Long> result = orderController.countOrdersByDate(fromDate, ORDER_APPOINTMENT_DATE);
+
+		// Verify
+		assertThat(result).isEmpty();
+		verify(orderView).showSearchError("Please ensure that the date follows the formatdd-MM-yyyy",
+				fromDate + " - " + ORDER_APPOINTMENT_DATE);
+		verifyNoMoreInteractions(orderRepository, orderView, workerRepository);
+	}
+
+	/**
+	 * Test count orders by date method when start date is after end date.
+	 */
+	@Test
+	public void testCountOrdersByDateMethodWhenStartDateIsAfterEndDate() {
+		// Setup
+		String fromDate = "14-12-2024";
+
+		// Mocks
+		when(validationConfigurations.validateStringDate(fromDate)).thenReturn(fromDate);
+		when(validationConfigurations.validateStringDate(ORDER_APPOINTMENT_DATE)).thenReturn(ORDER_APPOINTMENT_DATE);
+
+		// Exercise
+		SortedMap<LocalDate, Long> result = orderController.countOrdersByDate(fromDate, ORDER_APPOINTMENT_DATE);
+
+		// Verify
+		assertThat(result).isEmpty();
+		verify(orderView).showSearchError("The start date must not be after the end date.",
+				fromDate + " - " + ORDER_APPOINTMENT_DATE);
+		verifyNoMoreInteractions(orderRepository, orderView, workerRepository);
+	}
+
 	// tests for search options
 
 	/**
@@ -1677,7 +2091,8 @@ public class OrderControllerTest {
 		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
 		when(validationConfigurations.validateStringNumber(searchText)).thenReturn(ORDER_ID);
 		when(validationConfigurations.validateStringNumber(Long.toString(ORDER_ID))).thenReturn(ORDER_ID);
-		when(orderRepository.findById(ORDER_ID)).thenReturn(null);
+		when(orderRepository.findSummaries(OrderSearchOptions.ORDER_ID, ORDER_ID))
+				.thenReturn(Collections.emptyList());
 
 		// Exercise
 		orderController.searchOrder(searchText, OrderSearchOptions.ORDER_ID);
@@ -1698,13 +2113,14 @@ public class OrderControllerTest {
 		// Setup
 		String searchText = "1";
 
-		CustomerOrder order = new CustomerOrder();
+		OrderSummary order = new OrderSummary(ORDER_ID, CUSTOMER_NAME, ORDER_APPOINTMENT_DATE, ORDER_STATUS,
+				ORDER_CATEGORY, 1l);
 
 		// Mocks
 		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
 		when(validationConfigurations.validateStringNumber(searchText)).thenReturn(ORDER_ID);
 		when(validationConfigurations.validateStringNumber(Long.toString(ORDER_ID))).thenReturn(ORDER_ID);
-		when(orderRepository.findById(ORDER_ID)).thenReturn(order);
+		when(orderRepository.findSummaries(OrderSearchOptions.ORDER_ID, ORDER_ID)).thenReturn(asList(order));
 
 		// Exercise
 		orderController.searchOrder(searchText, OrderSearchOptions.ORDER_ID);
@@ -1824,7 +2240,7 @@ public class OrderControllerTest {
 		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
 		when(validationConfigurations.validateStringNumber(searchText)).thenReturn(workerId);
 		when(validationConfigurations.validateStringNumber(Long.toString(workerId))).thenReturn(workerId);
-		when(workerRepository.findById(workerId)).thenReturn(null);
+		when(workerRepository.findByIdWithoutOrders(workerId)).thenReturn(null);
 
 		// Exercise
 		orderController.searchOrder(searchText, OrderSearchOptions.WORKER_ID);
@@ -1852,7 +2268,8 @@ public class OrderControllerTest {
 		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
 		when(validationConfigurations.validateStringNumber(searchText)).thenReturn(workerId);
 		when(validationConfigurations.validateStringNumber(Long.toString(workerId))).thenReturn(workerId);
-		when(workerRepository.findById(workerId)).thenReturn(worker);
+		when(workerRepository.findByIdWithoutOrders(workerId)).thenReturn(worker);
+		when(orderRepository.findSummaries(OrderSearchOptions.WORKER_ID, workerId)).thenReturn(null);
 
 		// Exercise
 		orderController.searchOrder(searchText, OrderSearchOptions.WORKER_ID);
@@ -1875,13 +2292,14 @@ public class OrderControllerTest {
 		String searchText = "1";
 		long workerId = 1l;
 		Worker worker = new Worker();
-		worker.setOrders(Collections.emptyList());
 
 		// Mocks
 		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
 		when(validationConfigurations.validateStringNumber(searchText)).thenReturn(workerId);
 		when(validationConfigurations.validateStringNumber(Long.toString(workerId))).thenReturn(workerId);
-		when(workerRepository.findById(workerId)).thenReturn(worker);
+		when(workerRepository.findByIdWithoutOrders(workerId)).thenReturn(worker);
+		when(orderRepository.findSummaries(OrderSearchOptions.WORKER_ID, workerId))
+				.thenReturn(Collections.emptyList());
 
 		// Exercise
 		orderController.searchOrder(searchText, OrderSearchOptions.WORKER_ID);
@@ -1904,14 +2322,15 @@ public class OrderControllerTest {
 		String searchText = "1";
 		long workerId = 1l;
 		Worker worker = new Worker();
-		CustomerOrder order = new CustomerOrder();
-		worker.setOrders(asList(order));
+		OrderSummary order = new OrderSummary(ORDER_ID, CUSTOMER_NAME, ORDER_APPOINTMENT_DATE, ORDER_STATUS,
+				ORDER_CATEGORY, 1l);
 
 		// Mocks
 		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
 		when(validationConfigurations.validateStringNumber(searchText)).thenReturn(workerId);
 		when(validationConfigurations.validateStringNumber(Long.toString(workerId))).thenReturn(workerId);
-		when(workerRepository.findById(workerId)).thenReturn(worker);
+		when(workerRepository.findByIdWithoutOrders(workerId)).thenReturn(worker);
+		when(orderRepository.findSummaries(OrderSearchOptions.WORKER_ID, workerId)).thenReturn(asList(order));
 
 		// Exercise
 		orderController.searchOrder(searchText, OrderSearchOptions.WORKER_ID);
@@ -1984,7 +2403,7 @@ public class OrderControllerTest {
 		// Mocks
 		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
 		when(validationConfigurations.validatePhoneNumber(searchText)).thenReturn(searchText);
-		when(orderRepository.findByCustomerPhoneNumber(searchText)).thenReturn(null);
+		when(orderRepository.findSummaries(OrderSearchOptions.CUSTOMER_PHONE, searchText)).thenReturn(null);
 
 		// Exercise
 		orderController.searchOrder(searchText, OrderSearchOptions.CUSTOMER_PHONE);
@@ -2008,7 +2427,7 @@ public class OrderControllerTest {
 		// Mocks
 		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
 		when(validationConfigurations.validatePhoneNumber(searchText)).thenReturn(searchText);
-		when(orderRepository.findByCustomerPhoneNumber(searchText)).thenReturn(Collections.emptyList());
+		when(orderRepository.findSummaries(OrderSearchOptions.CUSTOMER_PHONE, searchText)).thenReturn(Collections.emptyList());
 
 		// Exercise
 		orderController.searchOrder(searchText, OrderSearchOptions.CUSTOMER_PHONE);
@@ -2028,12 +2447,13 @@ public class OrderControllerTest {
 	public void searchOrderWhenSearchOptionIsCustomerPhoneNumberSearchTextIsValidPhoneNumber() {
 		// Setup
 		String searchText = "3401372678";
-		CustomerOrder order = new CustomerOrder();
+		OrderSummary order = new OrderSummary(ORDER_ID, CUSTOMER_NAME, ORDER_APPOINTMENT_DATE, ORDER_STATUS,
+				ORDER_CATEGORY, 1l);
 
 		// Mocks
 		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
 		when(validationConfigurations.validatePhoneNumber(searchText)).thenReturn(searchText);
-		when(orderRepository.findByCustomerPhoneNumber(searchText)).thenReturn(asList(order));
+		when(orderRepository.findSummaries(OrderSearchOptions.CUSTOMER_PHONE, searchText)).thenReturn(asList(order));
 
 		// Exercise
 		orderController.searchOrder(searchText, OrderSearchOptions.CUSTOMER_PHONE);
@@ -2107,7 +2527,7 @@ public class OrderControllerTest {
 		// Mocks
 		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
 		when(validationConfigurations.validateName(searchText)).thenReturn(searchText);
-		when(orderRepository.findByCustomerName(searchText)).thenReturn(null);
+		when(orderRepository.findSummaries(OrderSearchOptions.CUSTOMER_NAME, searchText)).thenReturn(null);
 
 		// Exercise
 		orderController.searchOrder(searchText, OrderSearchOptions.CUSTOMER_NAME);
@@ -2131,7 +2551,7 @@ public class OrderControllerTest {
 		// Mocks
 		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
 		when(validationConfigurations.validateName(searchText)).thenReturn(searchText);
-		when(orderRepository.findByCustomerName(searchText)).thenReturn(Collections.emptyList());
+		when(orderRepository.findSummaries(OrderSearchOptions.CUSTOMER_NAME, searchText)).thenReturn(Collections.emptyList());
 
 		// Exercise
 		orderController.searchOrder(searchText, OrderSearchOptions.CUSTOMER_NAME);
@@ -2151,12 +2571,13 @@ public class OrderControllerTest {
 	public void searchOrderWhenSearchOptionIsCustomerNameSearchTextIsValidName_OrderFound() {
 		// Setup
 		String searchText = "Muhammad";
-		CustomerOrder customerOrder = new CustomerOrder();
+		OrderSummary customerOrder = new OrderSummary(ORDER_ID, CUSTOMER_NAME, ORDER_APPOINTMENT_DATE, ORDER_STATUS,
+				ORDER_CATEGORY, 1l);
 
 		// Mocks
 		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
 		when(validationConfigurations.validateName(searchText)).thenReturn(searchText);
-		when(orderRepository.findByCustomerName(searchText)).thenReturn(asList(customerOrder));
+		when(orderRepository.findSummaries(OrderSearchOptions.CUSTOMER_NAME, searchText)).thenReturn(asList(customerOrder));
 
 		// Exercise
 		orderController.searchOrder(searchText, OrderSearchOptions.CUSTOMER_NAME);
@@ -2168,6 +2589,174 @@ public class OrderControllerTest {
 		verifyNoMoreInteractions(orderView, workerRepository);
 	}
 
+	/**
+	 * Search order when search option is customer name including archived orders
+	 * order found.
+	 */
+	@Test
+	public void searchOrderWhenSearchOptionIsCustomerNameIncludingArchived_OrderFound() {
+		// Setup
+		String searchText = "Muhammad";
+		CustomerOrder archived = new CustomerOrder();
+		archived.setOrderId(ORDER_ID);
+		archived.setCustomerName(searchText);
+
+		// Mocks
+		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
+		when(validationConfigurations.validateName(searchText)).thenReturn(searchText);
+		when(orderRepository.findByCustomerName(searchText, true)).thenReturn(asList(archived));
+
+		// Exercise
+		orderController.searchOrder(searchText, OrderSearchOptions.CUSTOMER_NAME, true);
+
+		// Verify
+		InOrder inOrder = Mockito.inOrder(orderView, orderRepository, workerRepository);
+		inOrder.verify(orderView).showSearchResultForOrder(asList(OrderSummary.of(archived)));
+		verifyNoMoreInteractions(ignoreStubs(orderRepository));
+		verifyNoMoreInteractions(orderView, workerRepository);
+	}
+
+	/**
+	 * Search order when search option is similar customer name search text is
+	 * valid name but orders are empty.
+	 */
+	@Test
+	public void searchOrderWhenSearchOptionIsSimilarCustomerNameSearchTextIsValidNameButOrdersAreEmpty() {
+		// Setup
+		String searchText = "Muhammad";
+
+		// Mocks
+		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
+		when(validationConfigurations.validateName(searchText)).thenReturn(searchText);
+		when(orderRepository.findByCustomerNameSimilarTo(searchText, 20)).thenReturn(Collections.emptyList());
+
+		// Exercise
+		orderController.searchOrder(searchText, OrderSearchOptions.CUSTOMER_NAME_SIMILAR);
+
+		// Verify
+		InOrder inOrder = Mockito.inOrder(orderView, orderRepository, workerRepository);
+		inOrder.verify(orderView).showSearchError("No orders found with customer name like: " + searchText,
+				searchText);
+		verifyNoMoreInteractions(ignoreStubs(orderRepository));
+		verifyNoMoreInteractions(orderView, workerRepository);
+	}
+
+	/**
+	 * Search order when search option is similar customer name search text is
+	 * valid name order found.
+	 */
+	@Test
+	public void searchOrderWhenSearchOptionIsSimilarCustomerNameSearchTextIsValidName_OrderFound() {
+		// Setup
+		String searchText = "Muhamad";
+		CustomerOrder customerOrder = new CustomerOrder();
+
+		// Mocks
+		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
+		when(validationConfigurations.validateName(searchText)).thenReturn(searchText);
+		when(orderRepository.findByCustomerNameSimilarTo(searchText, 20)).thenReturn(asList(customerOrder));
+
+		// Exercise
+		orderController.searchOrder(searchText, OrderSearchOptions.CUSTOMER_NAME_SIMILAR);
+
+		// Verify
+		InOrder inOrder = Mockito.inOrder(orderView, orderRepository, workerRepository);
+		inOrder.verify(orderView).showSearchResultForOrder(asList(OrderSummary.of(customerOrder)));
+		verifyNoMoreInteractions(ignoreStubs(orderRepository));
+		verifyNoMoreInteractions(orderView, workerRepository);
+	}
+
+	/**
+	 * Search order when search option is customer phone prefix and orders are
+	 * empty.
+	 */
+	@Test
+	public void searchOrderWhenSearchOptionIsCustomerPhonePrefixAndOrdersAreEmpty() {
+		// Setup
+		String searchText = "340";
+
+		// Mocks
+		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
+		when(validationConfigurations.validatePhoneNumberPrefix(searchText)).thenReturn(searchText);
+		when(orderRepository.findByCustomerPhoneNumberPrefix(searchText, 50)).thenReturn(Collections.emptyList());
+
+		// Exercise
+		orderController.searchOrder(searchText, OrderSearchOptions.CUSTOMER_PHONE_PREFIX);
+
+		// Verify
+		InOrder inOrder = Mockito.inOrder(orderView, orderRepository, workerRepository);
+		inOrder.verify(orderView).showSearchError("No orders found with phone number starting with: " + searchText,
+				searchText);
+		verifyNoMoreInteractions(ignoreStubs(orderRepository));
+		verifyNoMoreInteractions(orderView, workerRepository);
+	}
+
+	/**
+	 * Search order when search option is customer phone prefix order found.
+	 */
+	@Test
+	public void searchOrderWhenSearchOptionIsCustomerPhonePrefix_OrderFound() {
+		// Setup
+		String searchText = "340";
+		CustomerOrder customerOrder = new CustomerOrder();
+
+		// Mocks
+		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
+		when(validationConfigurations.validatePhoneNumberPrefix(searchText)).thenReturn(searchText);
+		when(orderRepository.findByCustomerPhoneNumberPrefix(searchText, 50)).thenReturn(asList(customerOrder));
+
+		// Exercise
+		orderController.searchOrder(searchText, OrderSearchOptions.CUSTOMER_PHONE_PREFIX);
+
+		// Verify
+		InOrder inOrder = Mockito.inOrder(orderView, orderRepository, workerRepository);
+		inOrder.verify(orderView).showSearchResultForOrder(asList(OrderSummary.of(customerOrder)));
+		verifyNoMoreInteractions(ignoreStubs(orderRepository));
+		verifyNoMoreInteractions(orderView, workerRepository);
+	}
+
+	/**
+	 * Test suggest customer phone numbers shows the completions.
+	 */
+	@Test
+	public void testSuggestCustomerPhoneNumbersShowsTheCompletions() {
+		// Setup
+		String prefix = "3401";
+
+		// Mocks
+		when(validationConfigurations.validatePhoneNumberPrefix(prefix)).thenReturn(prefix);
+		when(orderRepository.completeCustomerPhoneNumber(prefix, 10))
+				.thenReturn(asList("3401372678", "3401372679"));
+
+		// Exercise
+		orderController.suggestCustomerPhoneNumbers(prefix);
+
+		// Verify
+		verify(orderView).showPhoneNumberSuggestions(asList("3401372678", "3401372679"));
+		verifyNoMoreInteractions(orderView, workerRepository);
+	}
+
+	/**
+	 * Test suggest customer phone numbers hides the suggestions when the prefix
+	 * is invalid.
+	 */
+	@Test
+	public void testSuggestCustomerPhoneNumbersHidesTheSuggestionsWhenThePrefixIsInvalid() {
+		// Setup
+		String prefix = "24";
+
+		// Mocks
+		doThrow(new IllegalArgumentException("The phone number must start with 3. Please provide a valid phone number."))
+				.when(validationConfigurations).validatePhoneNumberPrefix(prefix);
+
+		// Exercise
+		orderController.suggestCustomerPhoneNumbers(prefix);
+
+		// Verify
+		verify(orderView).showPhoneNumberSuggestions(Collections.emptyList());
+		verifyNoMoreInteractions(orderRepository, orderView, workerRepository);
+	}
+
 	/**
 	 * Search order when search option is order status and validate enum throws null
 	 * pointer exception.
@@ -2241,7 +2830,7 @@ public class OrderControllerTest {
 		// Mocks
 		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
 		when(validationConfigurations.validateEnum(searchText, OrderStatus.class)).thenReturn(status);
-		when(orderRepository.findByOrderStatus(status)).thenReturn(null);
+		when(orderRepository.findSummaries(OrderSearchOptions.STATUS, status)).thenReturn(null);
 
 		// Exercise
 		orderController.searchOrder(searchText, OrderSearchOptions.STATUS);
@@ -2267,7 +2856,7 @@ public class OrderControllerTest {
 		// Mocks
 		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
 		when(validationConfigurations.validateEnum(searchText, OrderStatus.class)).thenReturn(status);
-		when(orderRepository.findByOrderStatus(status)).thenReturn(Collections.emptyList());
+		when(orderRepository.findSummaries(OrderSearchOptions.STATUS, status)).thenReturn(Collections.emptyList());
 
 		// Exercise
 		orderController.searchOrder(searchText, OrderSearchOptions.STATUS);
@@ -2289,12 +2878,13 @@ public class OrderControllerTest {
 		// Setup
 		OrderStatus status = OrderStatus.PENDING;
 		String searchText = status.toString();
-		CustomerOrder customerOrder = new CustomerOrder();
+		OrderSummary customerOrder = new OrderSummary(ORDER_ID, CUSTOMER_NAME, ORDER_APPOINTMENT_DATE, ORDER_STATUS,
+				ORDER_CATEGORY, 1l);
 
 		// Mocks
 		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
 		when(validationConfigurations.validateEnum(searchText, OrderStatus.class)).thenReturn(status);
-		when(orderRepository.findByOrderStatus(status)).thenReturn(asList(customerOrder));
+		when(orderRepository.findSummaries(OrderSearchOptions.STATUS, status)).thenReturn(asList(customerOrder));
 
 		// Exercise
 		orderController.searchOrder(searchText, OrderSearchOptions.STATUS);
@@ -2380,7 +2970,7 @@ public class OrderControllerTest {
 		// Mocks
 		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
 		when(validationConfigurations.validateEnum(searchText, OrderCategory.class)).thenReturn(category);
-		when(orderRepository.findByOrderCategory(category)).thenReturn(null);
+		when(orderRepository.findSummaries(OrderSearchOptions.CATEGORY, category)).thenReturn(null);
 
 		// Exercise
 		orderController.searchOrder(searchText, OrderSearchOptions.CATEGORY);
@@ -2406,7 +2996,7 @@ public class OrderControllerTest {
 		// Mocks
 		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
 		when(validationConfigurations.validateEnum(searchText, OrderCategory.class)).thenReturn(category);
-		when(orderRepository.findByOrderCategory(category)).thenReturn(Collections.emptyList());
+		when(orderRepository.findSummaries(OrderSearchOptions.CATEGORY, category)).thenReturn(Collections.emptyList());
 
 		// Exercise
 		orderController.searchOrder(searchText, OrderSearchOptions.CATEGORY);
@@ -2428,12 +3018,13 @@ public class OrderControllerTest {
 		// Setup
 		OrderCategory category = OrderCategory.PLUMBER;
 		String searchText = category.toString();
-		CustomerOrder customerOrder = new CustomerOrder();
+		OrderSummary customerOrder = new OrderSummary(ORDER_ID, CUSTOMER_NAME, ORDER_APPOINTMENT_DATE, ORDER_STATUS,
+				ORDER_CATEGORY, 1l);
 
 		// Mocks
 		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
 		when(validationConfigurations.validateEnum(searchText, OrderCategory.class)).thenReturn(category);
-		when(orderRepository.findByOrderCategory(category)).thenReturn(asList(customerOrder));
+		when(orderRepository.findSummaries(OrderSearchOptions.CATEGORY, category)).thenReturn(asList(customerOrder));
 
 		// Exercise
 		orderController.searchOrder(searchText, OrderSearchOptions.CATEGORY);
@@ -2505,7 +3096,7 @@ public class OrderControllerTest {
 		// Mocks
 		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
 		when(validationConfigurations.validateStringDate(searchText)).thenReturn(searchText);
-		when(orderRepository.findByDate(searchText)).thenReturn(null);
+		when(orderRepository.findSummaries(OrderSearchOptions.DATE, searchText)).thenReturn(null);
 
 		// Exercise
 		orderController.searchOrder(searchText, OrderSearchOptions.DATE);
@@ -2529,7 +3120,7 @@ public class OrderControllerTest {
 		// Mocks
 		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
 		when(validationConfigurations.validateStringDate(searchText)).thenReturn(searchText);
-		when(orderRepository.findByDate(searchText)).thenReturn(Collections.emptyList());
+		when(orderRepository.findSummaries(OrderSearchOptions.DATE, searchText)).thenReturn(Collections.emptyList());
 
 		// Exercise
 		orderController.searchOrder(searchText, OrderSearchOptions.DATE);
@@ -2549,12 +3140,13 @@ public class OrderControllerTest {
 	public void searchOrderWhenSearchOptionIsOrderDateSearchTextIsValidStringDateAndOrdersFound() {
 		// Setup
 		String searchText = "30-12-2024";
-		CustomerOrder order = new CustomerOrder();
+		OrderSummary order = new OrderSummary(ORDER_ID, CUSTOMER_NAME, ORDER_APPOINTMENT_DATE, ORDER_STATUS,
+				ORDER_CATEGORY, 1l);
 
 		// Mocks
 		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
 		when(validationConfigurations.validateStringDate(searchText)).thenReturn(searchText);
-		when(orderRepository.findByDate(searchText)).thenReturn(asList(order));
+		when(orderRepository.findSummaries(OrderSearchOptions.DATE, searchText)).thenReturn(asList(order));
 
 		// Exercise
 		orderController.searchOrder(searchText, OrderSearchOptions.DATE);
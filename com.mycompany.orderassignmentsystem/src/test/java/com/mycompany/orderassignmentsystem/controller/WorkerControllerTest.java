@@ -14,6 +14,7 @@
  * - fetchWorkerById()
  * - deleteWorker()
  * - searchWorker()
+ * - suggestWorkerPhoneNumbers()
  *
  * The setup and teardown methods handle the initialisation and cleanup 
  * of mock objects.
@@ -32,6 +33,8 @@
 package com.mycompany.orderassignmentsystem.controller;
 
 import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -59,6 +62,8 @@ import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
 import com.mycompany.orderassignmentsystem.enumerations.WorkerSearchOption;
 import com.mycompany.orderassignmentsystem.model.CustomerOrder;
 import com.mycompany.orderassignmentsystem.model.Worker;
+import com.mycompany.orderassignmentsystem.repository.UniqueConstraintException;
+import com.mycompany.orderassignmentsystem.repository.VersionConflictException;
 import com.mycompany.orderassignmentsystem.repository.WorkerRepository;
 import com.mycompany.orderassignmentsystem.view.WorkerView;
 
@@ -354,18 +359,40 @@ public class WorkerControllerTest {
 		Worker worker = new Worker(WORKER_NAME, WORKER_PHONE, WORKER_CATEGORY);
 
 		// Mock
-		when(workerRepository.findByPhoneNumber(WORKER_PHONE)).thenReturn(worker);
 		when(validationConfigurations.validatePhoneNumber(WORKER_PHONE)).thenReturn(WORKER_PHONE);
+		when(workerRepository.save(worker)).thenThrow(
+				new UniqueConstraintException("failed to create worker.", WorkerRepository.UNIQUE_PHONE_NUMBER, null));
 
 		// Exercise
 		workerController.createOrUpdateWorker(worker, OperationType.ADD);
 
 		// Verify
 		InOrder inOrder = Mockito.inOrder(workerRepository, workerView);
+		inOrder.verify(workerRepository).save(worker);
 		inOrder.verify(workerView).showError("Worker with phone number " + WORKER_PHONE + " Already Exists", worker);
 		verifyNoMoreInteractions(ignoreStubs(workerRepository));
 	}
 
+	/**
+	 * Test create or update worker method when another unique constraint is
+	 * violated and operation type add.
+	 */
+	@Test
+	public void testCreateOrUpdateWorkerMethodWhenAnotherUniqueConstraintIsViolatedAndOperationTypeAdd() {
+		// Setup
+		Worker worker = new Worker(WORKER_NAME, WORKER_PHONE, WORKER_CATEGORY);
+		UniqueConstraintException violation = new UniqueConstraintException("failed to create worker.",
+				"worker_pkey", null);
+
+		// Mock
+		when(workerRepository.save(worker)).thenThrow(violation);
+
+		// Exercise and Verify
+		assertThatThrownBy(() -> workerController.createOrUpdateWorker(worker, OperationType.ADD))
+				.isSameAs(violation);
+		verifyNoMoreInteractions(workerView);
+	}
+
 	/**
 	 * Test create or update worker method when all fields are valid and operation
 	 * type add.
@@ -376,7 +403,6 @@ public class WorkerControllerTest {
 		Worker worker = new Worker(WORKER_NAME, WORKER_PHONE, WORKER_CATEGORY);
 
 		// Mock
-		when(workerRepository.findByPhoneNumber(WORKER_PHONE)).thenReturn(null);
 		when(workerRepository.save(worker)).thenReturn(worker);
 
 		// Exercise
@@ -444,19 +470,20 @@ public class WorkerControllerTest {
 	@Test
 	public void testCreateOrUpdateWorkerMethodWithExistingPhoneNumberForWorkerAndOperationTypeUpdate() {
 		// Setup
-		long differentWorkerId = 2l;
-		Worker differentWorker = new Worker(differentWorkerId, WORKER_NAME, WORKER_PHONE, WORKER_CATEGORY);
-
 		Worker worker = new Worker(WORKER_ID, WORKER_NAME, WORKER_PHONE, WORKER_CATEGORY);
+		worker.setOrders(Collections.emptyList());
 
 		// Mock
-		when(workerRepository.findByPhoneNumber(WORKER_PHONE)).thenReturn(differentWorker);
+		when(workerRepository.findById(WORKER_ID)).thenReturn(worker);
+		when(workerRepository.save(worker)).thenThrow(
+				new UniqueConstraintException("failed to create worker.", WorkerRepository.UNIQUE_PHONE_NUMBER, null));
 
 		// Exercise
 		workerController.createOrUpdateWorker(worker, OperationType.UPDATE);
 
 		// Verify
 		InOrder inOrder = Mockito.inOrder(workerRepository, workerView);
+		inOrder.verify(workerRepository).save(worker);
 		inOrder.verify(workerView).showError("Worker with phone number " + WORKER_PHONE + " Already Exists", worker);
 		verifyNoMoreInteractions(ignoreStubs(workerRepository));
 	}
@@ -472,7 +499,6 @@ public class WorkerControllerTest {
 		worker.setOrders(asList(new CustomerOrder()));
 
 		// Mocks
-		when(workerRepository.findByPhoneNumber(WORKER_PHONE)).thenReturn(worker);
 		when(workerRepository.findById(WORKER_ID)).thenReturn(worker);
 
 		// Exercise
@@ -496,7 +522,6 @@ public class WorkerControllerTest {
 		worker.setOrders(asList(new CustomerOrder()));
 
 		// Mocks
-		when(workerRepository.findByPhoneNumber(WORKER_PHONE)).thenReturn(null);
 		when(workerRepository.findById(WORKER_ID)).thenReturn(worker);
 
 		// Exercise
@@ -519,7 +544,6 @@ public class WorkerControllerTest {
 		Worker worker = new Worker(WORKER_ID, WORKER_NAME, WORKER_PHONE, WORKER_CATEGORY);
 
 		// Mocks
-		when(workerRepository.findByPhoneNumber(WORKER_PHONE)).thenReturn(null);
 		when(workerRepository.findById(WORKER_ID)).thenReturn(worker);
 		when(workerRepository.save(worker)).thenReturn(worker);
 
@@ -545,7 +569,6 @@ public class WorkerControllerTest {
 		worker.setOrders(Collections.emptyList());
 
 		// Mocks
-		when(workerRepository.findByPhoneNumber(WORKER_PHONE)).thenReturn(null);
 		when(workerRepository.findById(WORKER_ID)).thenReturn(worker);
 		when(workerRepository.save(worker)).thenReturn(worker);
 
@@ -559,6 +582,61 @@ public class WorkerControllerTest {
 		verifyNoMoreInteractions(ignoreStubs(workerRepository));
 	}
 
+	/**
+	 * Test create or update worker method when the worker has no version and
+	 * operation type update.
+	 */
+	@Test
+	public void testCreateOrUpdateWorkerMethodWhenTheWorkerHasNoVersionAndOperationTypeUpdate() {
+
+		// Setup
+		Worker worker = new Worker(WORKER_ID, WORKER_NAME, WORKER_PHONE, WORKER_CATEGORY);
+		Worker savedWorker = new Worker(WORKER_ID, WORKER_NAME, WORKER_PHONE, WORKER_CATEGORY);
+		savedWorker.setOrders(Collections.emptyList());
+		savedWorker.setVersion(3l);
+
+		// Mocks
+		when(workerRepository.findById(WORKER_ID)).thenReturn(savedWorker);
+		when(workerRepository.save(worker)).thenReturn(worker);
+
+		// Exercise
+		workerController.createOrUpdateWorker(worker, OperationType.UPDATE);
+
+		// Verify
+		assertThat(worker.getVersion()).isEqualTo(3l);
+		InOrder inOrder = Mockito.inOrder(workerRepository, workerView);
+		inOrder.verify(workerRepository).save(worker);
+		inOrder.verify(workerView).workerModified(worker);
+	}
+
+	/**
+	 * Test create or update worker method when the worker was changed concurrently
+	 * and operation type update.
+	 */
+	@Test
+	public void testCreateOrUpdateWorkerMethodWhenTheWorkerWasChangedConcurrentlyAndOperationTypeUpdate() {
+
+		// Setup
+		Worker worker = new Worker(WORKER_ID, WORKER_NAME, WORKER_PHONE, WORKER_CATEGORY);
+		worker.setOrders(Collections.emptyList());
+		worker.setVersion(1l);
+
+		// Mocks
+		when(workerRepository.findById(WORKER_ID)).thenReturn(worker);
+		when(workerRepository.save(worker)).thenThrow(new VersionConflictException("failed to create worker.", null));
+
+		// Exercise
+		workerController.createOrUpdateWorker(worker, OperationType.UPDATE);
+
+		// Verify
+		InOrder inOrder = Mockito.inOrder(workerRepository, workerView);
+		inOrder.verify(workerRepository).save(worker);
+		inOrder.verify(workerView).showConflictError(
+				"This worker was changed or deleted by someone else. Fetch it again and retry.", worker);
+		verifyNoMoreInteractions(ignoreStubs(workerRepository));
+		verifyNoMoreInteractions(workerView);
+	}
+
 	/**
 	 * Test create or update worker method when worker not found and operation type
 	 * update.
@@ -571,7 +649,6 @@ public class WorkerControllerTest {
 		worker.setOrders(Collections.emptyList());
 
 		// Mocks
-		when(workerRepository.findByPhoneNumber(WORKER_PHONE)).thenReturn(null);
 		when(workerRepository.findById(WORKER_ID)).thenReturn(null);
 
 		// Exercise
@@ -988,6 +1065,143 @@ public class WorkerControllerTest {
 		verifyNoMoreInteractions(ignoreStubs(workerRepository));
 	}
 
+	/**
+	 * Test search worker method when search option is similar worker name and
+	 * workers found are empty.
+	 */
+	@Test
+	public void testSearchWorkerMethodWhenSearchOptionIsSimilarWorkerNameAndWorkersFoundAreEmpty() {
+		// Setup
+		String searchText = "Ibtihaj";
+
+		// Mocks
+		when(workerRepository.findByNameSimilarTo(searchText, 20)).thenReturn(Collections.emptyList());
+		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
+		when(validationConfigurations.validateName(searchText)).thenReturn(searchText);
+
+		// Exercise
+		workerController.searchWorker(searchText, WorkerSearchOption.WORKER_NAME_SIMILAR);
+
+		// Verify
+		InOrder inOrder = Mockito.inOrder(workerView, workerRepository);
+		inOrder.verify(workerView).showSearchError("No result found with Worker Name like: " + searchText,
+				searchText);
+		verifyNoMoreInteractions(ignoreStubs(workerRepository));
+	}
+
+	/**
+	 * Test search worker method when search option is similar worker name and
+	 * workers are found.
+	 */
+	@Test
+	public void testSearchWorkerMethodWhenSearchOptionIsSimilarWorkerNameAndWorkersAreFound() {
+		// Setup
+		String searchText = "Ibtihaj";
+		Worker worker = new Worker();
+
+		// Mocks
+		when(workerRepository.findByNameSimilarTo(searchText, 20)).thenReturn(asList(worker));
+		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
+		when(validationConfigurations.validateName(searchText)).thenReturn(searchText);
+
+		// Exercise
+		workerController.searchWorker(searchText, WorkerSearchOption.WORKER_NAME_SIMILAR);
+
+		// Verify
+		InOrder inOrder = Mockito.inOrder(workerView, workerRepository);
+		inOrder.verify(workerView).showSearchResultForWorker(asList(worker));
+		verifyNoMoreInteractions(ignoreStubs(workerRepository));
+	}
+
+	/**
+	 * Test search worker method when search option is worker phone prefix and
+	 * workers found are empty.
+	 */
+	@Test
+	public void testSearchWorkerMethodWhenSearchOptionIsWorkerPhonePrefixAndWorkersFoundAreEmpty() {
+		// Setup
+		String searchText = "340";
+
+		// Mocks
+		when(workerRepository.findByPhoneNumberPrefix(searchText, 50)).thenReturn(Collections.emptyList());
+		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
+		when(validationConfigurations.validatePhoneNumberPrefix(searchText)).thenReturn(searchText);
+
+		// Exercise
+		workerController.searchWorker(searchText, WorkerSearchOption.WORKER_PHONE_PREFIX);
+
+		// Verify
+		InOrder inOrder = Mockito.inOrder(workerView, workerRepository);
+		inOrder.verify(workerView).showSearchError("No result found with phone number starting with: " + searchText,
+				searchText);
+		verifyNoMoreInteractions(ignoreStubs(workerRepository));
+	}
+
+	/**
+	 * Test search worker method when search option is worker phone prefix and
+	 * workers are found.
+	 */
+	@Test
+	public void testSearchWorkerMethodWhenSearchOptionIsWorkerPhonePrefixAndWorkersAreFound() {
+		// Setup
+		String searchText = "340";
+		Worker worker = new Worker();
+
+		// Mocks
+		when(workerRepository.findByPhoneNumberPrefix(searchText, 50)).thenReturn(asList(worker));
+		when(validationConfigurations.validateSearchString(searchText)).thenReturn(searchText);
+		when(validationConfigurations.validatePhoneNumberPrefix(searchText)).thenReturn(searchText);
+
+		// Exercise
+		workerController.searchWorker(searchText, WorkerSearchOption.WORKER_PHONE_PREFIX);
+
+		// Verify
+		InOrder inOrder = Mockito.inOrder(workerView, workerRepository);
+		inOrder.verify(workerView).showSearchResultForWorker(asList(worker));
+		verifyNoMoreInteractions(ignoreStubs(workerRepository));
+	}
+
+	/**
+	 * Test suggest worker phone numbers shows the completions.
+	 */
+	@Test
+	public void testSuggestWorkerPhoneNumbersShowsTheCompletions() {
+		// Setup
+		String prefix = "3401";
+
+		// Mocks
+		when(validationConfigurations.validatePhoneNumberPrefix(prefix)).thenReturn(prefix);
+		when(workerRepository.completePhoneNumber(prefix, 10)).thenReturn(asList("3401372678"));
+
+		// Exercise
+		workerController.suggestWorkerPhoneNumbers(prefix);
+
+		// Verify
+		verify(workerView).showPhoneNumberSuggestions(asList("3401372678"));
+		verifyNoMoreInteractions(workerView);
+	}
+
+	/**
+	 * Test suggest worker phone numbers hides the suggestions when the prefix is
+	 * invalid.
+	 */
+	@Test
+	public void testSuggestWorkerPhoneNumbersHidesTheSuggestionsWhenThePrefixIsInvalid() {
+		// Setup
+		String prefix = "";
+
+		// Mocks
+		doThrow(new NullPointerException("The phone number field cannot be empty.")).when(validationConfigurations)
+				.validatePhoneNumberPrefix(prefix);
+
+		// Exercise
+		workerController.suggestWorkerPhoneNumbers(prefix);
+
+		// Verify
+		verify(workerView).showPhoneNumberSuggestions(Collections.emptyList());
+		verifyNoMoreInteractions(workerRepository, workerView);
+	}
+
 	/**
 	 * Test search worker method when search text is valid string and search option
 	 * is worker phone number and validate phone number throws null pointer
@@ -1401,4 +1615,30 @@ public class WorkerControllerTest {
 		verifyNoMoreInteractions(ignoreStubs(workerRepository));
 	}
 
+	/**
+	 * Test delete worker method when the worker was deleted concurrently.
+	 */
+	@Test
+	public void testDeleteWorkerMethodWhenTheWorkerWasDeletedConcurrently() {
+		// Setup
+		Worker worker = new Worker();
+		worker.setWorkerId(WORKER_ID);
+		worker.setOrders(Collections.emptyList());
+
+		// Mocks
+		when(workerRepository.findById(WORKER_ID)).thenReturn(worker);
+		doThrow(new VersionConflictException("failed to delete worker.", null)).when(workerRepository).delete(worker);
+
+		// Exercise
+		workerController.deleteWorker(worker);
+
+		// Verify
+		InOrder inOrder = Mockito.inOrder(workerView, workerRepository);
+		inOrder.verify(workerRepository).delete(worker);
+		inOrder.verify(workerView).showConflictError(
+				"This worker was changed or deleted by someone else. Fetch it again and retry.", worker);
+		verifyNoMoreInteractions(ignoreStubs(workerRepository));
+		verifyNoMoreInteractions(workerView);
+	}
+
 }
@@ -0,0 +1,250 @@
+/*
+ * Contention benchmark for the per-worker locking of the OrderController class.
+ *
+ * These tests run N threads that each add orders for one of M workers against
+ * a repository that, unlike the database, does not enforce the one pending
+ * order per worker rule and answers every call with a small delay. The rule
+ * must still hold for every worker, which only the controller's worker locks
+ * can guarantee, and assignments to different workers must not wait for each
+ * other.
+ *
+ * The overlap test holds the save of each of two workers' orders until both
+ * saves are running, which can only happen if the assignments of different
+ * workers do not wait for each other. The contention test runs the same
+ * number of add attempts once with every thread working on the same worker
+ * and once with one worker per thread, and only logs the elapsed times, as
+ * wall-clock timings depend on the machine.
+ *
+ * The methods tested include:
+ * - createOrUpdateOrder() for concurrent creation of orders for many workers.
+ * - createOrUpdateOrder() for orders of two workers saved at the same time.
+ * - createOrUpdateOrder() for concurrent creation of orders with one worker
+ *   and with one worker per thread, logging the elapsed times.
+ *
+ * Each test follows a structured approach with three main phases:
+ * 1. Setup: Created environment for the test.
+ * 2. Mocks: Configuring the mock objects (Added separate comment just for better readability).
+ * 3. Exercise: Calling an instance method.
+ * 4. Verify: Verify that the outcome matches the expected behaviour.
+ *
+ * @see OrderController
+ * @see OrderRepository
+ * @see WorkerRepository
+ * @see OrderView
+ * @see ValidationConfigurations
+ */
+
+package com.mycompany.orderassignmentsystem.controller.racecondition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.mycompany.orderassignmentsystem.controller.OrderController;
+import com.mycompany.orderassignmentsystem.controller.utils.ValidationConfigurations;
+import com.mycompany.orderassignmentsystem.enumerations.OperationType;
+import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.Worker;
+import com.mycompany.orderassignmentsystem.repository.OrderRepository;
+import com.mycompany.orderassignmentsystem.repository.WorkerRepository;
+import com.mycompany.orderassignmentsystem.view.OrderView;
+
+/**
+ * The Class OrderControllerContentionTest.
+ */
+public class OrderControllerContentionTest {
+
+	/** The Constant LOGGER. */
+	private static final Logger LOGGER = LogManager.getLogger(OrderControllerContentionTest.class);
+
+	/** The Constant THREAD_COUNT. */
+	private static final int THREAD_COUNT = 8;
+
+	/** The Constant ATTEMPTS_PER_THREAD. */
+	private static final int ATTEMPTS_PER_THREAD = 10;
+
+	/** The Constant REPOSITORY_DELAY_MILLIS. */
+	private static final long REPOSITORY_DELAY_MILLIS = 5;
+
+	/** The order repository. */
+	@Mock
+	private OrderRepository orderRepository;
+
+	/** The order view. */
+	@Mock
+	private OrderView orderView;
+
+	/** The worker repository. */
+	@Mock
+	private WorkerRepository workerRepository;
+
+	/** The validation configurations. */
+	@Mock
+	private ValidationConfigurations validationConfigurations;
+
+	/** The order controller. */
+	@InjectMocks
+	private OrderController orderController;
+
+	/** The closeable. */
+	private AutoCloseable closeable;
+
+	/** The pending orders saved per worker id. */
+	private Map<Long, AtomicInteger> pendingOrders;
+
+	/**
+	 * Setup.
+	 */
+	@Before
+	public void setup() {
+		closeable = MockitoAnnotations.openMocks(this);
+		pendingOrders = new ConcurrentHashMap<>();
+
+		// Mocks
+		when(workerRepository.findByIdWithoutOrders(anyLong()))
+				.thenAnswer(invocation -> new Worker(invocation.getArgument(0), OrderCategory.PLUMBER));
+		when(orderRepository.existsPendingOrderForWorker(anyLong())).thenAnswer(invocation -> {
+			Thread.sleep(REPOSITORY_DELAY_MILLIS);
+			AtomicInteger count = pendingOrders.get(invocation.<Long>getArgument(0));
+			return count != null && count.get() > 0;
+		});
+		// no unique index here: only the controller keeps a worker at one pending
+		// order
+		doAnswer(invocation -> {
+			Thread.sleep(REPOSITORY_DELAY_MILLIS);
+			CustomerOrder order = invocation.getArgument(0);
+			pendingOrders.computeIfAbsent(order.getWorker().getWorkerId(), id -> new AtomicInteger())
+					.incrementAndGet();
+			return order;
+		}).when(orderRepository).save(any(CustomerOrder.class));
+	}
+
+	/**
+	 * Release mocks.
+	 *
+	 * @throws Exception the exception
+	 */
+	@After
+	public void releaseMocks() throws Exception {
+		closeable.close();
+	}
+
+	/**
+	 * Test concurrent adds keep one pending order per worker.
+	 */
+	@Test
+	public void testConcurrentAddsKeepOnePendingOrderPerWorker() {
+		// Setup
+		int workerCount = 3;
+
+		// Exercise
+		runAddAttempts(workerCount);
+
+		// Verify
+		assertThat(pendingOrders).hasSize(workerCount);
+		assertThat(pendingOrders.values()).allSatisfy(count -> assertThat(count.get()).isEqualTo(1));
+	}
+
+	/**
+	 * Test assignments to different workers overlap.
+	 */
+	@Test
+	public void testAssignmentsToDifferentWorkersOverlap() {
+		// Setup
+		CountDownLatch bothSaving = new CountDownLatch(2);
+		AtomicInteger overlapping = new AtomicInteger();
+
+		// Mocks
+		doAnswer(invocation -> {
+			// the worker lock is held here, so the other worker's save can only
+			// arrive if its assignment does not wait for this one
+			bothSaving.countDown();
+			if (bothSaving.await(10, TimeUnit.SECONDS)) {
+				overlapping.incrementAndGet();
+			}
+			CustomerOrder order = invocation.getArgument(0);
+			pendingOrders.computeIfAbsent(order.getWorker().getWorkerId(), id -> new AtomicInteger())
+					.incrementAndGet();
+			return order;
+		}).when(orderRepository).save(any(CustomerOrder.class));
+
+		// Exercise
+		List<Thread> threads = IntStream.rangeClosed(1, 2).mapToObj(workerId -> new Thread(() -> orderController
+				.createOrUpdateOrder(new CustomerOrder("Muhammad Ibtihaj", "Main Street", "3401372678", "12-12-2024",
+						"No description", OrderCategory.PLUMBER, OrderStatus.PENDING,
+						new Worker((long) workerId, OrderCategory.PLUMBER)), OperationType.ADD)))
+				.peek(Thread::start).collect(Collectors.toList());
+		await().atMost(30, TimeUnit.SECONDS).until(() -> threads.stream().noneMatch(Thread::isAlive));
+
+		// Verify
+		assertThat(overlapping.get()).isEqualTo(2);
+		assertThat(pendingOrders).containsOnlyKeys(1l, 2l);
+	}
+
+	/**
+	 * Test contention with one worker and with one worker per thread. The elapsed
+	 * times are logged, not compared.
+	 */
+	@Test
+	public void testContentionWithOneWorkerAndWithOneWorkerPerThread() {
+		// Setup
+		runAddAttempts(THREAD_COUNT);
+		pendingOrders.clear();
+
+		// Exercise
+		long sharedWorkerMillis = runAddAttempts(1);
+		pendingOrders.clear();
+		long workerPerThreadMillis = runAddAttempts(THREAD_COUNT);
+
+		// Verify
+		LOGGER.info("{} threads x {} add attempts: {} ms for 1 worker, {} ms for {} workers", THREAD_COUNT,
+				ATTEMPTS_PER_THREAD, sharedWorkerMillis, workerPerThreadMillis, THREAD_COUNT);
+		assertThat(pendingOrders).hasSize(THREAD_COUNT);
+		assertThat(pendingOrders.values()).allSatisfy(count -> assertThat(count.get()).isEqualTo(1));
+	}
+
+	/**
+	 * Runs {@link #ATTEMPTS_PER_THREAD} add attempts on each of
+	 * {@link #THREAD_COUNT} threads, thread i adding orders for worker i modulo
+	 * the worker count, and returns the elapsed time.
+	 *
+	 * @param workerCount the number of workers
+	 * @return the elapsed milliseconds
+	 */
+	private long runAddAttempts(int workerCount) {
+		long start = System.nanoTime();
+		List<Thread> threads = IntStream.range(0, THREAD_COUNT).mapToObj(t -> new Thread(() -> {
+			Worker worker = new Worker((long) (t % workerCount) + 1, OrderCategory.PLUMBER);
+			for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+				orderController.createOrUpdateOrder(new CustomerOrder("Muhammad Ibtihaj", "Main Street", "3401372678",
+						"12-12-2024", "No description", OrderCategory.PLUMBER, OrderStatus.PENDING, worker),
+						OperationType.ADD);
+			}
+		})).peek(Thread::start).collect(Collectors.toList());
+		await().atMost(30, TimeUnit.SECONDS).until(() -> threads.stream().noneMatch(Thread::isAlive));
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+	}
+}
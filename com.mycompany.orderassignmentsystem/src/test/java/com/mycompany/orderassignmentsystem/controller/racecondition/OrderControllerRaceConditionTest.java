@@ -9,6 +9,9 @@
  *
  * The methods tested include:
  * - createOrUpdateOrder() for concurrent creation of orders.
+ * - createOrUpdateOrder() for concurrent updates of different orders, which
+ *   must run in parallel, and of the same order version, of which only one
+ *   may win.
  * - deleteOrder() for concurrent deletion of orders.
  *
  * Each test follows a structured approach with three main phases:
@@ -33,11 +36,16 @@ import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -56,6 +64,8 @@ import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
 import com.mycompany.orderassignmentsystem.model.CustomerOrder;
 import com.mycompany.orderassignmentsystem.model.Worker;
 import com.mycompany.orderassignmentsystem.repository.OrderRepository;
+import com.mycompany.orderassignmentsystem.repository.UniqueConstraintException;
+import com.mycompany.orderassignmentsystem.repository.VersionConflictException;
 import com.mycompany.orderassignmentsystem.repository.WorkerRepository;
 import com.mycompany.orderassignmentsystem.view.OrderView;
 
@@ -142,11 +152,22 @@ public class OrderControllerRaceConditionTest {
 				ORDER_DESCRIPTION, ORDER_CATEGORY, ORDER_STATUS, WORKER);
 
 		// Mocks
-		when(workerRepository.findById(anyLong())).thenAnswer(invocation -> WORKER);
+		when(workerRepository.findByIdWithoutOrders(anyLong())).thenAnswer(invocation -> WORKER);
+		when(orderRepository.existsPendingOrderForWorker(anyLong())).thenAnswer(invocation -> {
+			synchronized (orders) {
+				return !orders.isEmpty();
+			}
+		});
+		// the database enforces one pending order per worker atomically
 		doAnswer(invocation -> {
-			orders.add(order);
-			WORKER.setOrders(orders);
-			return order;
+			synchronized (orders) {
+				if (!orders.isEmpty()) {
+					throw new UniqueConstraintException("failed to create order.",
+							OrderRepository.ONE_PENDING_ORDER_PER_WORKER, null);
+				}
+				orders.add(order);
+				return order;
+			}
 		}).when(orderRepository).save(any(CustomerOrder.class));
 
 		// Exercise
@@ -159,6 +180,82 @@ public class OrderControllerRaceConditionTest {
 		assertThat(orders).containsExactly(order);
 	}
 
+	/**
+	 * Test updates of different orders run in parallel. Each save waits until the
+	 * other one has started, which only succeeds when the controller does not
+	 * serialise the two updates.
+	 */
+	@Test
+	public void testUpdatesOfDifferentOrdersRunInParallel() {
+		// Setup
+		CustomerOrder order1 = new CustomerOrder(ORDER_ID, CUSTOMER_NAME, CUSTOMER_PHONE, CUSTOMER_ADDRESS,
+				ORDER_APPOINTMENT_DATE, ORDER_DESCRIPTION, ORDER_CATEGORY, ORDER_STATUS, WORKER);
+		CustomerOrder order2 = new CustomerOrder(ORDER_ID + 1, CUSTOMER_NAME, CUSTOMER_PHONE, CUSTOMER_ADDRESS,
+				ORDER_APPOINTMENT_DATE, ORDER_DESCRIPTION, ORDER_CATEGORY, ORDER_STATUS, WORKER);
+		CountDownLatch bothSaving = new CountDownLatch(2);
+		AtomicInteger parallelSaves = new AtomicInteger();
+
+		// Mocks
+		when(workerRepository.findByIdWithoutOrders(anyLong())).thenAnswer(invocation -> WORKER);
+		when(orderRepository.findById(ORDER_ID)).thenReturn(order1);
+		when(orderRepository.findById(ORDER_ID + 1)).thenReturn(order2);
+		doAnswer(invocation -> {
+			bothSaving.countDown();
+			if (bothSaving.await(5, TimeUnit.SECONDS)) {
+				parallelSaves.incrementAndGet();
+			}
+			return invocation.getArgument(0);
+		}).when(orderRepository).save(any(CustomerOrder.class));
+
+		// Exercise
+		List<Thread> threads = IntStream.range(0, 2)
+				.mapToObj(i -> new Thread(
+						() -> orderController.createOrUpdateOrder(i == 0 ? order1 : order2, OperationType.UPDATE)))
+				.peek(t -> t.start()).collect(Collectors.toList());
+		await().atMost(10, TimeUnit.SECONDS).until(() -> threads.stream().noneMatch(t -> t.isAlive()));
+
+		// Verify
+		assertThat(parallelSaves.get()).isEqualTo(2);
+		verify(orderView).orderModified(order1);
+		verify(orderView).orderModified(order2);
+	}
+
+	/**
+	 * Test concurrent updates of the same order version. The database accepts the
+	 * first update of a version only; every other operator gets a conflict.
+	 */
+	@Test
+	public void testConcurrentUpdatesOfTheSameOrderVersion() {
+		// Setup
+		CustomerOrder order = new CustomerOrder(ORDER_ID, CUSTOMER_NAME, CUSTOMER_PHONE, CUSTOMER_ADDRESS,
+				ORDER_APPOINTMENT_DATE, ORDER_DESCRIPTION, ORDER_CATEGORY, ORDER_STATUS, WORKER);
+		order.setVersion(1l);
+		AtomicLong storedVersion = new AtomicLong(1l);
+
+		// Mocks
+		when(workerRepository.findByIdWithoutOrders(anyLong())).thenAnswer(invocation -> WORKER);
+		when(orderRepository.findById(ORDER_ID)).thenReturn(order);
+		doAnswer(invocation -> {
+			CustomerOrder saved = invocation.getArgument(0);
+			if (!storedVersion.compareAndSet(saved.getVersion(), saved.getVersion() + 1)) {
+				throw new VersionConflictException("failed to create order.", null);
+			}
+			return saved;
+		}).when(orderRepository).save(any(CustomerOrder.class));
+
+		// Exercise
+		List<Thread> threads = IntStream.range(0, 10)
+				.mapToObj(i -> new Thread(() -> orderController.createOrUpdateOrder(order, OperationType.UPDATE)))
+				.peek(t -> t.start()).collect(Collectors.toList());
+		await().atMost(10, TimeUnit.SECONDS).until(() -> threads.stream().noneMatch(t -> t.isAlive()));
+
+		// Verify
+		assertThat(storedVersion.get()).isEqualTo(2l);
+		verify(orderView).orderModified(order);
+		verify(orderView, times(9)).showConflictError(
+				"This order was changed or deleted by someone else. Fetch it again and retry.", order);
+	}
+
 	/**
 	 * Test delete order concurrent.
 	 */
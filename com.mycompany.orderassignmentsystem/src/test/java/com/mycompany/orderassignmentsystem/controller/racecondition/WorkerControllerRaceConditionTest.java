@@ -8,7 +8,8 @@
  * handling asynchronous operations.
  *
  * The methods tested include:
- * - createOrUpdateWorker() for concurrent creation of orders.
+ * - createOrUpdateWorker() for concurrent creation of workers with the same
+ *   and with different phone numbers.
  * - deleteWorker() for concurrent deletion of orders.
  *
  * Each test follows a structured approach with three main phases:
@@ -32,6 +33,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
@@ -52,6 +56,7 @@ import com.mycompany.orderassignmentsystem.controller.utils.ValidationConfigurat
 import com.mycompany.orderassignmentsystem.enumerations.OperationType;
 import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
 import com.mycompany.orderassignmentsystem.model.Worker;
+import com.mycompany.orderassignmentsystem.repository.UniqueConstraintException;
 import com.mycompany.orderassignmentsystem.repository.WorkerRepository;
 import com.mycompany.orderassignmentsystem.view.WorkerView;
 
@@ -110,7 +115,9 @@ public class WorkerControllerRaceConditionTest {
 	}
 
 	/**
-	 * Test new worker concurrent.
+	 * Test new worker concurrent. The mocked repository enforces the unique phone
+	 * number the way the database does, so exactly one registration succeeds and
+	 * the others are reported as duplicates.
 	 */
 	@Test
 	public void testNewWorkerConcurrent() {
@@ -120,13 +127,8 @@ public class WorkerControllerRaceConditionTest {
 		Worker worker = new Worker(WORKER_NAME, WORKER_PHONE, WORKER_CATEGORY);
 
 		// Mocks
-		when(workerRepository.findByPhoneNumber(anyString()))
-				.thenAnswer(invocation -> workers.stream().findFirst().orElse(null));
-
-		doAnswer(invocation -> {
-			workers.add(worker);
-			return worker;
-		}).when(workerRepository).save(any(Worker.class));
+		doAnswer(invocation -> saveWithUniquePhoneNumber(workers, invocation.getArgument(0))).when(workerRepository)
+				.save(any(Worker.class));
 
 		// Exercise
 		List<Thread> threads = IntStream.range(0, 10)
@@ -136,6 +138,35 @@ public class WorkerControllerRaceConditionTest {
 
 		// Verify
 		assertThat(workers).containsExactly(worker);
+		verify(workerView).workerAdded(worker);
+		verify(workerView, times(9)).showError("Worker with phone number " + WORKER_PHONE + " Already Exists", worker);
+		verify(workerRepository, never()).findByPhoneNumber(anyString());
+	}
+
+	/**
+	 * Test new workers with different phone numbers concurrent.
+	 */
+	@Test
+	public void testNewWorkersWithDifferentPhoneNumbersConcurrent() {
+		// Setup
+		List<Worker> workers = new ArrayList<>();
+
+		List<Worker> newWorkers = IntStream.range(0, 10)
+				.mapToObj(i -> new Worker(WORKER_NAME, "340137267" + i, WORKER_CATEGORY)).collect(Collectors.toList());
+
+		// Mocks
+		doAnswer(invocation -> saveWithUniquePhoneNumber(workers, invocation.getArgument(0))).when(workerRepository)
+				.save(any(Worker.class));
+
+		// Exercise
+		List<Thread> threads = newWorkers.stream()
+				.map(newWorker -> new Thread(() -> workerController.createOrUpdateWorker(newWorker, OperationType.ADD)))
+				.peek(t -> t.start()).collect(Collectors.toList());
+		await().atMost(10, TimeUnit.SECONDS).until(() -> threads.stream().noneMatch(t -> t.isAlive()));
+
+		// Verify
+		assertThat(workers).containsExactlyInAnyOrderElementsOf(newWorkers);
+		verify(workerView, never()).showError(anyString(), any());
 	}
 
 	/**
@@ -167,4 +198,23 @@ public class WorkerControllerRaceConditionTest {
 		assertThat(workers).isEmpty();
 
 	}
+
+	/**
+	 * Saves a worker into the given list unless another worker already has its
+	 * phone number, as the unique constraint of the database does.
+	 *
+	 * @param workers the saved workers
+	 * @param worker  the worker to save
+	 * @return the saved worker
+	 */
+	private Worker saveWithUniquePhoneNumber(List<Worker> workers, Worker worker) {
+		synchronized (workers) {
+			if (workers.stream().anyMatch(w -> w.getWorkerPhoneNumber().equals(worker.getWorkerPhoneNumber()))) {
+				throw new UniqueConstraintException("failed to create worker.", WorkerRepository.UNIQUE_PHONE_NUMBER,
+						null);
+			}
+			workers.add(worker);
+			return worker;
+		}
+	}
 }
@@ -0,0 +1,85 @@
+/*
+ * Unit tests for the StripedLock class.
+ *
+ * These tests ensure that equal keys always share a lock, that sequential
+ * worker ids are spread over different locks, and that the number of stripes
+ * is rounded up to a power of two.
+ *
+ * Test cases include:
+ * - Stripes with a non-positive count.
+ * - Stripes rounded up to a power of two.
+ * - Lock for equal keys.
+ * - Lock for sequential keys.
+ *
+ * @see StripedLock
+ */
+
+package com.mycompany.orderassignmentsystem.controller.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.Test;
+
+/**
+ * The Class StripedLockTest.
+ */
+public class StripedLockTest {
+
+	/**
+	 * Test striped lock with non positive stripes.
+	 */
+	@Test
+	public void testStripedLockWithNonPositiveStripes() {
+		// Setup & Exercise & Verify
+		assertThatThrownBy(() -> new StripedLock(0)).isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("The number of stripes must be positive.");
+	}
+
+	/**
+	 * Test stripes are rounded up to a power of two.
+	 */
+	@Test
+	public void testStripesAreRoundedUpToAPowerOfTwo() {
+		// Setup & Exercise & Verify
+		assertThat(new StripedLock(1).stripes()).isEqualTo(1);
+		assertThat(new StripedLock(5).stripes()).isEqualTo(8);
+		assertThat(new StripedLock(64).stripes()).isEqualTo(64);
+	}
+
+	/**
+	 * Test lock for equal keys returns the same lock.
+	 */
+	@Test
+	public void testLockForEqualKeysReturnsTheSameLock() {
+		// Setup
+		StripedLock stripedLock = new StripedLock(64);
+
+		// Exercise
+		Lock first = stripedLock.lockFor(Long.valueOf(123456789l));
+		Lock second = stripedLock.lockFor(Long.valueOf(123456789l));
+
+		// Verify
+		assertThat(first).isSameAs(second);
+	}
+
+	/**
+	 * Test lock for sequential keys returns different locks.
+	 */
+	@Test
+	public void testLockForSequentialKeysReturnsDifferentLocks() {
+		// Setup
+		StripedLock stripedLock = new StripedLock(64);
+
+		// Exercise
+		Set<Lock> locks = LongStream.rangeClosed(1, 64).mapToObj(stripedLock::lockFor).collect(Collectors.toSet());
+
+		// Verify
+		assertThat(locks).hasSize(64);
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Unit tests for the validatePhoneNumberPrefix method in the ValidationConfigurations interface.
+ *
+ * These tests ensure that the validatePhoneNumberPrefix method accepts the first
+ * digits of a phone number and rejects text that cannot begin one. The tests
+ * utilise AssertJ for exception assertions and equality assertions.
+ *
+ * The setup method initialises an instance of ExtendedValidationConfigurations.
+ *
+ * Test cases include:
+ * - Prefix with null string.
+ * - Prefix with empty string.
+ * - Prefix with a single digit and with ten digits.
+ * - Prefix with long string greater than ten characters.
+ * - Prefix with alphabet and white space characters.
+ * - Prefix with leading number except three.
+ *
+ * @see ValidationConfigurations
+ * @see ExtendedValidationConfigurations
+ */
+package com.mycompany.orderassignmentsystem.controller.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.mycompany.orderassignmentsystem.controller.utils.extensions.ExtendedValidationConfigurations;
+
+/**
+ * The Class ValidationConfigurationsForValidatePhoneNumberPrefixMethodTest.
+ */
+public class ValidationConfigurationsForValidatePhoneNumberPrefixMethodTest {
+
+	/** The validation configurations. */
+	private ValidationConfigurations validationConfigurations;
+
+	/**
+	 * Setup.
+	 */
+	@Before
+	public void setup() {
+		validationConfigurations = new ExtendedValidationConfigurations();
+	}
+
+	/**
+	 * Test validate phone number prefix method with null string.
+	 */
+	@Test
+	public void testValidatePhoneNumberPrefixMethodWithNullString() {
+		// Setup & Exercise & Verify
+		assertThatThrownBy(() -> validationConfigurations.validatePhoneNumberPrefix(null))
+				.isInstanceOf(NullPointerException.class).hasMessage("The phone number field cannot be empty.");
+	}
+
+	/**
+	 * Test validate phone number prefix method with empty string.
+	 */
+	@Test
+	public void testValidatePhoneNumberPrefixMethodWithEmptyString() {
+		// Setup & Exercise & Verify
+		assertThatThrownBy(() -> validationConfigurations.validatePhoneNumberPrefix(""))
+				.isInstanceOf(NullPointerException.class).hasMessage("The phone number field cannot be empty.");
+	}
+
+	/**
+	 * Test validate phone number prefix method with a single digit and with ten
+	 * digits.
+	 */
+	@Test
+	public void testValidatePhoneNumberPrefixMethodWithASingleDigitAndWithTenDigits() {
+		// Setup & Exercise & Verify
+		assertThat(validationConfigurations.validatePhoneNumberPrefix("3")).isEqualTo("3");
+		assertThat(validationConfigurations.validatePhoneNumberPrefix("3401372678")).isEqualTo("3401372678");
+	}
+
+	/**
+	 * Test validate phone number prefix method with long string greater than ten
+	 * characters.
+	 */
+	@Test
+	public void testValidatePhoneNumberPrefixMethodWithLongStringGreaterThanTenCharacters() {
+		// Setup
+		String prefix = "34013726781";
+
+		// Exercise & Verify
+		assertThatThrownBy(() -> validationConfigurations.validatePhoneNumberPrefix(prefix))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("The phone number cannot exceed 10 characters. Please provide a valid phone number.");
+	}
+
+	/**
+	 * Test validate phone number prefix method with alphabet and white space
+	 * characters.
+	 */
+	@Test
+	public void testValidatePhoneNumberPrefixMethodWithAlphabetAndWhiteSpaceCharacters() {
+		// Setup
+		String message = "The phone number should only consist of numbers and should not contain any whitespaces,"
+				+ " special characters, or alphabets. Please enter a valid phone number.";
+
+		// Exercise & Verify
+		assertThatThrownBy(() -> validationConfigurations.validatePhoneNumberPrefix("340a"))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage(message);
+		assertThatThrownBy(() -> validationConfigurations.validatePhoneNumberPrefix("340 1"))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage(message);
+	}
+
+	/**
+	 * Test validate phone number prefix method with leading number except three.
+	 */
+	@Test
+	public void testValidatePhoneNumberPrefixMethodWithLeadingNumberExceptThree() {
+		// Setup & Exercise & Verify
+		assertThatThrownBy(() -> validationConfigurations.validatePhoneNumberPrefix("240"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("The phone number must start with 3. Please provide a valid phone number.");
+	}
+}
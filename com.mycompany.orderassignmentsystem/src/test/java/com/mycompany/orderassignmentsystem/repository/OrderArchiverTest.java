@@ -0,0 +1,138 @@
+/*
+ * Unit tests for the OrderArchiver class.
+ *
+ * These tests verify that the archiver archives the orders older than its age
+ * on the day of its clock, and that it rejects a negative age, a non-positive
+ * interval and a second start. The repository is a Mockito mock.
+ *
+ * Methods tested include:
+ * - archive()
+ * - start()
+ * - close()
+ * - OrderArchiver()
+ *
+ * Each test follows a structured approach with three main phases:
+ * 1. Setup: Created environment for the test.
+ * 2. Mocks: Configuring the mock objects (Added separate comment just for better readability).
+ * 3. Exercise: Calling an instance method.
+ * 4. Verify: Verify that the outcome matches the expected behaviour.
+ *
+ * @see OrderArchiver
+ * @see OrderRepository
+ */
+
+package com.mycompany.orderassignmentsystem.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+/**
+ * The Class OrderArchiverTest.
+ */
+public class OrderArchiverTest {
+
+	/** The clock, fixed on the 20th of January 2024. */
+	private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-01-20T10:00:00Z"), ZoneOffset.UTC);
+
+	/** The repository. */
+	@Mock
+	private OrderRepository repository;
+
+	/** The archiver. */
+	private OrderArchiver archiver;
+
+	/** The closeable. */
+	private AutoCloseable closeable;
+
+	/**
+	 * Setup.
+	 */
+	@Before
+	public void setup() {
+		closeable = MockitoAnnotations.openMocks(this);
+		archiver = new OrderArchiver(repository, 30, CLOCK);
+	}
+
+	/**
+	 * Release mocks.
+	 *
+	 * @throws Exception the exception
+	 */
+	@After
+	public void releaseMocks() throws Exception {
+		archiver.close();
+		closeable.close();
+	}
+
+	/**
+	 * Test archive method archives the orders older than the age.
+	 */
+	@Test
+	public void testArchiveMethodArchivesTheOrdersOlderThanTheAge() {
+		// Mocks
+		when(repository.archiveTerminalOrders(LocalDate.of(2023, 12, 21))).thenReturn(3);
+
+		// Exercise & Verify
+		assertThat(archiver.archive()).isEqualTo(3);
+	}
+
+	/**
+	 * Test start method archives right away.
+	 */
+	@Test
+	public void testStartMethodArchivesRightAway() {
+		// Exercise
+		archiver.start(Duration.ofHours(24));
+
+		// Verify
+		verify(repository, timeout(5000)).archiveTerminalOrders(LocalDate.of(2023, 12, 21));
+	}
+
+	/**
+	 * Test start method when the archiver is already started.
+	 */
+	@Test
+	public void testStartMethodWhenTheArchiverIsAlreadyStarted() {
+		// Setup
+		archiver.start(Duration.ofHours(24));
+
+		// Exercise & Verify
+		assertThatThrownBy(() -> archiver.start(Duration.ofHours(24))).isInstanceOf(IllegalStateException.class)
+				.hasMessage("The archiver is already started.");
+	}
+
+	/**
+	 * Test start method when the interval is not positive.
+	 */
+	@Test
+	public void testStartMethodWhenTheIntervalIsNotPositive() {
+		// Exercise & Verify
+		assertThatThrownBy(() -> archiver.start(Duration.ZERO)).isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("The archive interval must be positive.");
+	}
+
+	/**
+	 * Test constructor when the age is negative.
+	 */
+	@Test
+	public void testConstructorWhenTheAgeIsNegative() {
+		// Exercise & Verify
+		assertThatThrownBy(() -> new OrderArchiver(repository, -1, CLOCK))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage("The archive age cannot be negative.");
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Unit tests for the PhoneNumberTrie class.
+ *
+ * These tests verify exact and prefix lookups, the order and the limit of
+ * the completions, and that replaced and removed numbers are no longer found
+ * while numbers sharing their digits still are.
+ *
+ * Methods tested include:
+ * - put()
+ * - remove()
+ * - find()
+ * - findByPrefix()
+ * - complete()
+ *
+ * Each test follows a structured approach with three main phases:
+ * 1. Setup: Created environment for the test.
+ * 3. Exercise: Calling an instance method.
+ * 4. Verify: Verify that the outcome matches the expected behaviour.
+ *
+ * @see PhoneNumberTrie
+ */
+
+package com.mycompany.orderassignmentsystem.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+/**
+ * The Class PhoneNumberTrieTest.
+ */
+public class PhoneNumberTrieTest {
+
+	/**
+	 * Test find returns the ids of the exact number.
+	 */
+	@Test
+	public void testFindReturnsTheIdsOfTheExactNumber() {
+		// Setup
+		PhoneNumberTrie trie = new PhoneNumberTrie();
+		trie.put(3l, "3401372678");
+		trie.put(1l, "3401372678");
+		trie.put(2l, "340137267");
+
+		// Exercise & Verify
+		assertThat(trie.find("3401372678")).containsExactly(1l, 3l);
+		assertThat(trie.find("340137267")).containsExactly(2l);
+		assertThat(trie.find("34013726")).isEmpty();
+		assertThat(trie.find("3401372679")).isEmpty();
+		assertThat(trie.find("34a")).isEmpty();
+	}
+
+	/**
+	 * Test find by prefix orders by number and then id.
+	 */
+	@Test
+	public void testFindByPrefixOrdersByNumberAndThenId() {
+		// Setup
+		PhoneNumberTrie trie = new PhoneNumberTrie();
+		trie.put(1l, "3409999999");
+		trie.put(2l, "3401111111");
+		trie.put(3l, "3501111111");
+		trie.put(4l, "3401111111");
+
+		// Exercise & Verify
+		assertThat(trie.findByPrefix("340", 10)).containsExactly(2l, 4l, 1l);
+		assertThat(trie.findByPrefix("340", 2)).containsExactly(2l, 4l);
+		assertThat(trie.findByPrefix("3", 10)).containsExactly(2l, 4l, 1l, 3l);
+		assertThat(trie.findByPrefix("36", 10)).isEmpty();
+	}
+
+	/**
+	 * Test complete returns distinct numbers in order.
+	 */
+	@Test
+	public void testCompleteReturnsDistinctNumbersInOrder() {
+		// Setup
+		PhoneNumberTrie trie = new PhoneNumberTrie();
+		trie.put(1l, "3409999999");
+		trie.put(2l, "3401111111");
+		trie.put(3l, "3401111111");
+		trie.put(4l, "3405555555");
+
+		// Exercise & Verify
+		assertThat(trie.complete("340", 10)).containsExactly("3401111111", "3405555555", "3409999999");
+		assertThat(trie.complete("340", 2)).containsExactly("3401111111", "3405555555");
+		assertThat(trie.complete("3409999999", 10)).containsExactly("3409999999");
+	}
+
+	/**
+	 * Test removed and replaced numbers are no longer found.
+	 */
+	@Test
+	public void testRemovedAndReplacedNumbersAreNoLongerFound() {
+		// Setup
+		PhoneNumberTrie trie = new PhoneNumberTrie();
+		trie.put(1l, "3401111111");
+		trie.put(2l, "3401111112");
+		trie.put(3l, "3402222222");
+
+		// Exercise
+		trie.remove(1l);
+		trie.put(3l, "3503333333");
+		trie.remove(9l);
+
+		// Verify
+		assertThat(trie.complete("340", 10)).containsExactly("3401111112");
+		assertThat(trie.find("3401111111")).isEmpty();
+		assertThat(trie.findByPrefix("3402", 10)).isEmpty();
+		assertThat(trie.findByPrefix("350", 10)).containsExactly(3l);
+	}
+
+	/**
+	 * Test numbers that are not digits are ignored.
+	 */
+	@Test
+	public void testNumbersThatAreNotDigitsAreIgnored() {
+		// Setup
+		PhoneNumberTrie trie = new PhoneNumberTrie();
+		trie.put(1l, "+39 3401111111");
+		trie.put(2l, null);
+
+		// Exercise & Verify
+		assertThat(trie.findByPrefix("", 10)).isEmpty();
+		assertThat(trie.complete("+39", 10)).isEmpty();
+	}
+
+	/**
+	 * Test the trie grows past its initial capacity.
+	 */
+	@Test
+	public void testTheTrieGrowsPastItsInitialCapacity() {
+		// Setup
+		PhoneNumberTrie trie = new PhoneNumberTrie();
+
+		// Exercise
+		for (long id = 0; id < 1000; id++) {
+			trie.put(id, String.format("340%07d", id * 7919));
+		}
+
+		// Verify
+		assertThat(trie.findByPrefix("340", 2000)).hasSize(1000);
+		assertThat(trie.find(String.format("340%07d", 999 * 7919))).containsExactly(999l);
+	}
+}
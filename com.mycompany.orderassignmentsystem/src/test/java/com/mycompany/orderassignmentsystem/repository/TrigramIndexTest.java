@@ -0,0 +1,99 @@
+/*
+ * Unit tests for the TrigramIndex class.
+ *
+ * These tests verify that names are found by prefix and by trigram
+ * similarity, that matches are ranked prefix first and then by similarity,
+ * and that replaced and removed names are no longer found.
+ *
+ * Methods tested include:
+ * - put()
+ * - remove()
+ * - search()
+ * - similarity()
+ *
+ * Each test follows a structured approach with three main phases:
+ * 1. Setup: Created environment for the test.
+ * 3. Exercise: Calling an instance method.
+ * 4. Verify: Verify that the outcome matches the expected behaviour.
+ *
+ * @see TrigramIndex
+ */
+
+package com.mycompany.orderassignmentsystem.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.Test;
+
+/**
+ * The Class TrigramIndexTest.
+ */
+public class TrigramIndexTest {
+
+	/**
+	 * Test similarity counts the shared trigrams.
+	 */
+	@Test
+	public void testSimilarityCountsTheSharedTrigrams() {
+		// Exercise & Verify
+		assertThat(TrigramIndex.similarity("Naeem", "naeem ")).isEqualTo(1.0);
+		// "  n", " na", "nae", "em " shared out of 7 distinct trigrams
+		assertThat(TrigramIndex.similarity("Naem", "Naeem")).isCloseTo(4.0 / 7, within(1e-9));
+		assertThat(TrigramIndex.similarity("Bob", "Alic")).isZero();
+		assertThat(TrigramIndex.similarity("", "Alic")).isZero();
+	}
+
+	/**
+	 * Test search ranks prefix matches first.
+	 */
+	@Test
+	public void testSearchRanksPrefixMatchesFirst() {
+		// Setup
+		TrigramIndex index = new TrigramIndex();
+		index.put(1l, "Jhon Smith");
+		index.put(2l, "Jhonny");
+		index.put(3l, "Jhn");
+		index.put(4l, "Alic");
+
+		// Exercise & Verify
+		assertThat(index.search("jho", 10)).containsExactly(2l, 1l, 3l);
+		assertThat(index.search("Jhon", 1)).containsExactly(2l);
+		assertThat(index.search("Jhn", 10)).containsExactly(3l);
+		assertThat(index.search("Mario", 10)).isEmpty();
+	}
+
+	/**
+	 * Test search finds misspelt names.
+	 */
+	@Test
+	public void testSearchFindsMisspeltNames() {
+		// Setup
+		TrigramIndex index = new TrigramIndex();
+		index.put(1l, "Robert");
+		index.put(2l, "Roberta");
+
+		// Exercise & Verify
+		assertThat(index.search("Robrt", 10)).containsExactly(1l);
+		assertThat(index.search("Roberto", 10)).containsExactly(1l, 2l);
+	}
+
+	/**
+	 * Test put replaces and remove drops the name.
+	 */
+	@Test
+	public void testPutReplacesAndRemoveDropsTheName() {
+		// Setup
+		TrigramIndex index = new TrigramIndex();
+		index.put(1l, "Ibtihaj");
+		index.put(2l, "Ibrahim");
+
+		// Exercise
+		index.put(1l, "Naeem");
+		index.remove(2l);
+
+		// Verify
+		assertThat(index.search("Ib", 10)).isEmpty();
+		assertThat(index.search("Naeem", 10)).containsExactly(1l);
+	}
+}
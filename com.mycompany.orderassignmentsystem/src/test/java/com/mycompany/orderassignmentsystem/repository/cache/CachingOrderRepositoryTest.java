@@ -0,0 +1,422 @@
+/*
+ * Unit tests for the CachingOrderRepository class.
+ *
+ * These tests verify that the category and status searches are answered from
+ * the cache, that a write only drops the results it may have changed (those
+ * of the old and the new category and status of the order), and that large
+ * results and expired entries are read again. The wrapped repository is a
+ * Mockito mock and the clock is advanced by hand.
+ *
+ * Methods tested include:
+ * - findByOrderCategory()
+ * - findByOrderStatus()
+ * - findSummaries()
+ * - save()
+ * - delete()
+ * - deleteAllById()
+ * - saveAll()
+ * - archiveTerminalOrders()
+ * - getStatistics()
+ *
+ * Each test follows a structured approach with three main phases:
+ * 1. Setup: Created environment for the test.
+ * 2. Mocks: Configuring the mock objects (Added separate comment just for better readability).
+ * 3. Exercise: Calling an instance method.
+ * 4. Verify: Verify that the outcome matches the expected behaviour.
+ *
+ * @see CachingOrderRepository
+ * @see OrderRepository
+ */
+
+package com.mycompany.orderassignmentsystem.repository.cache;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderSearchOptions;
+import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.OrderSummary;
+import com.mycompany.orderassignmentsystem.model.Worker;
+import com.mycompany.orderassignmentsystem.repository.OrderRepository;
+
+/**
+ * The Class CachingOrderRepositoryTest.
+ */
+public class CachingOrderRepositoryTest {
+
+	/** The Constant TIME_TO_LIVE. */
+	private static final Duration TIME_TO_LIVE = Duration.ofMinutes(1);
+
+	/** The wrapped repository. */
+	@Mock
+	private OrderRepository delegate;
+
+	/** The clock, in nanoseconds. */
+	private AtomicLong clock;
+
+	/** The caching repository. */
+	private CachingOrderRepository cachingRepository;
+
+	/** The closeable. */
+	private AutoCloseable closeable;
+
+	/** The plumber order, pending. */
+	private CustomerOrder plumberOrder;
+
+	/** The electrician order, completed. */
+	private CustomerOrder electricianOrder;
+
+	/**
+	 * Setup.
+	 */
+	@Before
+	public void setup() {
+		closeable = MockitoAnnotations.openMocks(this);
+		clock = new AtomicLong();
+		cachingRepository = new CachingOrderRepository(delegate, 2, TIME_TO_LIVE, clock::get);
+		plumberOrder = newOrder(1l, OrderCategory.PLUMBER, OrderStatus.PENDING);
+		electricianOrder = newOrder(2l, OrderCategory.ELECTRICIAN, OrderStatus.COMPLETED);
+		when(delegate.findByOrderCategory(OrderCategory.PLUMBER)).thenReturn(asList(plumberOrder));
+		when(delegate.findByOrderCategory(OrderCategory.ELECTRICIAN)).thenReturn(asList(electricianOrder));
+		when(delegate.findByOrderCategory(OrderCategory.CARPAINTER)).thenReturn(Collections.emptyList());
+		when(delegate.findByOrderStatus(OrderStatus.PENDING)).thenReturn(asList(plumberOrder));
+		when(delegate.findByOrderStatus(OrderStatus.COMPLETED)).thenReturn(asList(electricianOrder));
+	}
+
+	/**
+	 * Release mocks.
+	 *
+	 * @throws Exception the exception
+	 */
+	@After
+	public void releaseMocks() throws Exception {
+		closeable.close();
+	}
+
+	/**
+	 * Test find by order category method answers repeated searches from the cache.
+	 */
+	@Test
+	public void testFindByOrderCategoryMethodAnswersRepeatedSearchesFromTheCache() {
+		// Exercise
+		cachingRepository.findByOrderCategory(OrderCategory.PLUMBER);
+		cachingRepository.findByOrderCategory(OrderCategory.PLUMBER).get(0).setCustomerName("Changed");
+
+		// Verify
+		assertThat(cachingRepository.findByOrderCategory(OrderCategory.PLUMBER)).containsExactly(plumberOrder);
+		assertThat(cachingRepository.findByOrderCategory(OrderCategory.PLUMBER).get(0).getCustomerName())
+				.isEqualTo("Jhon");
+		assertThat(cachingRepository.findByOrderCategory(OrderCategory.PLUMBER).get(0).getWorker().getWorkerId())
+				.isEqualTo(1l);
+		verify(delegate, times(1)).findByOrderCategory(OrderCategory.PLUMBER);
+		assertThat(cachingRepository.getStatistics().getHits()).isEqualTo(4);
+		assertThat(cachingRepository.getStatistics().getMisses()).isEqualTo(1);
+	}
+
+	/**
+	 * Test find by order status method answers repeated searches from the cache.
+	 */
+	@Test
+	public void testFindByOrderStatusMethodAnswersRepeatedSearchesFromTheCache() {
+		// Exercise
+		cachingRepository.findByOrderStatus(OrderStatus.PENDING);
+
+		// Verify
+		assertThat(cachingRepository.findByOrderStatus(OrderStatus.PENDING)).containsExactly(plumberOrder);
+		verify(delegate, times(1)).findByOrderStatus(OrderStatus.PENDING);
+	}
+
+	/**
+	 * Test find by order category method reloads an expired result.
+	 */
+	@Test
+	public void testFindByOrderCategoryMethodReloadsAnExpiredResult() {
+		// Exercise
+		cachingRepository.findByOrderCategory(OrderCategory.PLUMBER);
+		clock.addAndGet(TIME_TO_LIVE.toNanos());
+		cachingRepository.findByOrderCategory(OrderCategory.PLUMBER);
+
+		// Verify
+		verify(delegate, times(2)).findByOrderCategory(OrderCategory.PLUMBER);
+	}
+
+	/**
+	 * Test find by order category method does not cache a result above the
+	 * maximum size.
+	 */
+	@Test
+	public void testFindByOrderCategoryMethodDoesNotCacheAResultAboveTheMaximumSize() {
+		// Setup
+		CustomerOrder secondPlumberOrder = newOrder(3l, OrderCategory.PLUMBER, OrderStatus.COMPLETED);
+		CustomerOrder thirdPlumberOrder = newOrder(4l, OrderCategory.PLUMBER, OrderStatus.COMPLETED);
+
+		// Mocks
+		when(delegate.findByOrderCategory(OrderCategory.PLUMBER))
+				.thenReturn(asList(plumberOrder, secondPlumberOrder, thirdPlumberOrder));
+
+		// Exercise
+		cachingRepository.findByOrderCategory(OrderCategory.PLUMBER);
+		cachingRepository.findByOrderCategory(OrderCategory.PLUMBER);
+
+		// Verify
+		verify(delegate, times(2)).findByOrderCategory(OrderCategory.PLUMBER);
+		assertThat(cachingRepository.getStatistics().getSize()).isZero();
+	}
+
+	/**
+	 * Test save method invalidates only the old and the new category and status.
+	 */
+	@Test
+	public void testSaveMethodInvalidatesOnlyTheOldAndTheNewCategoryAndStatus() {
+		// Setup
+		fillCache();
+		CustomerOrder changed = newOrder(1l, OrderCategory.CARPAINTER, OrderStatus.COMPLETED);
+
+		// Exercise
+		cachingRepository.save(changed);
+		fillCache();
+
+		// Verify
+		verify(delegate, times(2)).findByOrderCategory(OrderCategory.PLUMBER);
+		verify(delegate, times(2)).findByOrderCategory(OrderCategory.CARPAINTER);
+		verify(delegate, times(1)).findByOrderCategory(OrderCategory.ELECTRICIAN);
+		verify(delegate, times(2)).findByOrderStatus(OrderStatus.PENDING);
+		verify(delegate, times(2)).findByOrderStatus(OrderStatus.COMPLETED);
+		assertThat(cachingRepository.getStatistics().getInvalidations()).isEqualTo(4);
+	}
+
+	/**
+	 * Test save method of a new order invalidates only its category and status.
+	 */
+	@Test
+	public void testSaveMethodOfANewOrderInvalidatesOnlyItsCategoryAndStatus() {
+		// Setup
+		fillCache();
+		CustomerOrder newOrder = newOrder(null, OrderCategory.ELECTRICIAN, OrderStatus.PENDING);
+
+		// Exercise
+		cachingRepository.save(newOrder);
+		fillCache();
+
+		// Verify
+		verify(delegate, times(1)).findByOrderCategory(OrderCategory.PLUMBER);
+		verify(delegate, times(1)).findByOrderCategory(OrderCategory.CARPAINTER);
+		verify(delegate, times(2)).findByOrderCategory(OrderCategory.ELECTRICIAN);
+		verify(delegate, times(2)).findByOrderStatus(OrderStatus.PENDING);
+		verify(delegate, times(1)).findByOrderStatus(OrderStatus.COMPLETED);
+	}
+
+	/**
+	 * Test save method invalidates when the save fails.
+	 */
+	@Test
+	public void testSaveMethodInvalidatesWhenTheSaveFails() {
+		// Setup
+		fillCache();
+
+		// Mocks
+		when(delegate.save(plumberOrder)).thenThrow(new IllegalStateException("failed to create order."));
+
+		// Exercise
+		assertThatThrownBy(() -> cachingRepository.save(plumberOrder)).isInstanceOf(IllegalStateException.class);
+		fillCache();
+
+		// Verify
+		verify(delegate, times(2)).findByOrderCategory(OrderCategory.PLUMBER);
+		verify(delegate, times(1)).findByOrderCategory(OrderCategory.ELECTRICIAN);
+	}
+
+	/**
+	 * Test delete method invalidates the results holding the order.
+	 */
+	@Test
+	public void testDeleteMethodInvalidatesTheResultsHoldingTheOrder() {
+		// Setup
+		fillCache();
+
+		// Exercise
+		cachingRepository.delete(electricianOrder);
+		fillCache();
+
+		// Verify
+		verify(delegate).delete(electricianOrder);
+		verify(delegate, times(2)).findByOrderCategory(OrderCategory.ELECTRICIAN);
+		verify(delegate, times(2)).findByOrderStatus(OrderStatus.COMPLETED);
+		verify(delegate, times(1)).findByOrderCategory(OrderCategory.PLUMBER);
+		verify(delegate, times(1)).findByOrderStatus(OrderStatus.PENDING);
+	}
+
+	/**
+	 * Test delete all by id method invalidates the results holding the orders.
+	 */
+	@Test
+	public void testDeleteAllByIdMethodInvalidatesTheResultsHoldingTheOrders() {
+		// Setup
+		fillCache();
+
+		// Mocks
+		when(delegate.deleteAllById(asList(1l))).thenReturn(1);
+
+		// Exercise
+		assertThat(cachingRepository.deleteAllById(asList(1l))).isEqualTo(1);
+		fillCache();
+
+		// Verify
+		verify(delegate, times(2)).findByOrderCategory(OrderCategory.PLUMBER);
+		verify(delegate, times(2)).findByOrderStatus(OrderStatus.PENDING);
+		verify(delegate, times(1)).findByOrderCategory(OrderCategory.ELECTRICIAN);
+		verify(delegate, times(1)).findByOrderStatus(OrderStatus.COMPLETED);
+	}
+
+	/**
+	 * Test save all method invalidates the results of every order.
+	 */
+	@Test
+	public void testSaveAllMethodInvalidatesTheResultsOfEveryOrder() {
+		// Setup
+		fillCache();
+
+		// Exercise
+		cachingRepository.saveAll(asList(newOrder(null, OrderCategory.CARPAINTER, OrderStatus.PENDING)));
+		fillCache();
+
+		// Verify
+		verify(delegate, times(2)).findByOrderCategory(OrderCategory.CARPAINTER);
+		verify(delegate, times(2)).findByOrderStatus(OrderStatus.PENDING);
+		verify(delegate, times(1)).findByOrderCategory(OrderCategory.PLUMBER);
+	}
+
+	/**
+	 * Test archive terminal orders method invalidates the results holding
+	 * finished orders.
+	 */
+	@Test
+	public void testArchiveTerminalOrdersMethodInvalidatesTheResultsHoldingFinishedOrders() {
+		// Setup
+		fillCache();
+
+		// Mocks
+		when(delegate.archiveTerminalOrders(LocalDate.of(2024, 1, 15))).thenReturn(1);
+
+		// Exercise
+		assertThat(cachingRepository.archiveTerminalOrders(LocalDate.of(2024, 1, 15))).isEqualTo(1);
+		fillCache();
+
+		// Verify
+		verify(delegate, times(2)).findByOrderCategory(OrderCategory.ELECTRICIAN);
+		verify(delegate, times(2)).findByOrderStatus(OrderStatus.COMPLETED);
+		verify(delegate, times(1)).findByOrderCategory(OrderCategory.PLUMBER);
+		verify(delegate, times(1)).findByOrderStatus(OrderStatus.PENDING);
+	}
+
+	/**
+	 * Test find summaries method answers repeated category and status searches
+	 * from the cache.
+	 */
+	@Test
+	public void testFindSummariesMethodAnswersRepeatedCategoryAndStatusSearchesFromTheCache() {
+		// Setup
+		OrderSummary summary = OrderSummary.of(plumberOrder);
+
+		// Mocks
+		when(delegate.findSummaries(OrderSearchOptions.CATEGORY, OrderCategory.PLUMBER)).thenReturn(asList(summary));
+		when(delegate.findSummaries(OrderSearchOptions.CUSTOMER_NAME, "Jhon")).thenReturn(asList(summary));
+
+		// Exercise
+		cachingRepository.findSummaries(OrderSearchOptions.CATEGORY, OrderCategory.PLUMBER);
+		cachingRepository.findSummaries(OrderSearchOptions.CUSTOMER_NAME, "Jhon");
+		cachingRepository.findSummaries(OrderSearchOptions.CUSTOMER_NAME, "Jhon");
+
+		// Verify
+		assertThat(cachingRepository.findSummaries(OrderSearchOptions.CATEGORY, OrderCategory.PLUMBER))
+				.containsExactly(summary);
+		assertThatThrownBy(() -> cachingRepository
+				.findSummaries(OrderSearchOptions.CATEGORY, OrderCategory.PLUMBER).add(summary))
+				.isInstanceOf(UnsupportedOperationException.class);
+		verify(delegate, times(1)).findSummaries(OrderSearchOptions.CATEGORY, OrderCategory.PLUMBER);
+		verify(delegate, times(2)).findSummaries(OrderSearchOptions.CUSTOMER_NAME, "Jhon");
+		assertThat(cachingRepository.getSummaryStatistics().getHits()).isEqualTo(2);
+		assertThat(cachingRepository.getSummaryStatistics().getMisses()).isEqualTo(1);
+		assertThat(cachingRepository.getStatistics().getMisses()).isZero();
+	}
+
+	/**
+	 * Test save method invalidates the summaries of the old and the new category
+	 * and status.
+	 */
+	@Test
+	public void testSaveMethodInvalidatesTheSummariesOfTheOldAndTheNewCategoryAndStatus() {
+		// Setup
+		CustomerOrder changed = newOrder(1l, OrderCategory.CARPAINTER, OrderStatus.COMPLETED);
+
+		// Mocks
+		when(delegate.findSummaries(OrderSearchOptions.CATEGORY, OrderCategory.PLUMBER))
+				.thenReturn(asList(OrderSummary.of(plumberOrder)));
+		when(delegate.findSummaries(OrderSearchOptions.CATEGORY, OrderCategory.ELECTRICIAN))
+				.thenReturn(asList(OrderSummary.of(electricianOrder)));
+
+		// Exercise
+		cachingRepository.findSummaries(OrderSearchOptions.CATEGORY, OrderCategory.PLUMBER);
+		cachingRepository.findSummaries(OrderSearchOptions.CATEGORY, OrderCategory.ELECTRICIAN);
+		cachingRepository.save(changed);
+		cachingRepository.findSummaries(OrderSearchOptions.CATEGORY, OrderCategory.PLUMBER);
+		cachingRepository.findSummaries(OrderSearchOptions.CATEGORY, OrderCategory.ELECTRICIAN);
+
+		// Verify
+		verify(delegate, times(2)).findSummaries(OrderSearchOptions.CATEGORY, OrderCategory.PLUMBER);
+		verify(delegate, times(1)).findSummaries(OrderSearchOptions.CATEGORY, OrderCategory.ELECTRICIAN);
+		assertThat(cachingRepository.getSummaryStatistics().getInvalidations()).isEqualTo(1);
+	}
+
+	/**
+	 * Test constructor when the maximum result size is not positive.
+	 */
+	@Test
+	public void testConstructorWhenTheMaximumResultSizeIsNotPositive() {
+		assertThatThrownBy(() -> new CachingOrderRepository(delegate, 0, TIME_TO_LIVE))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("The maximum cached result size must be positive.");
+	}
+
+	/**
+	 * Runs every cached search once.
+	 */
+	private void fillCache() {
+		cachingRepository.findByOrderCategory(OrderCategory.PLUMBER);
+		cachingRepository.findByOrderCategory(OrderCategory.ELECTRICIAN);
+		cachingRepository.findByOrderCategory(OrderCategory.CARPAINTER);
+		cachingRepository.findByOrderStatus(OrderStatus.PENDING);
+		cachingRepository.findByOrderStatus(OrderStatus.COMPLETED);
+	}
+
+	/**
+	 * Creates an order.
+	 *
+	 * @param orderId  the order id
+	 * @param category the category
+	 * @param status   the status
+	 * @return the customer order
+	 */
+	private CustomerOrder newOrder(Long orderId, OrderCategory category, OrderStatus status) {
+		Worker worker = new Worker(1l, "Bob", "3401372678", category);
+		return new CustomerOrder(orderId, "Jhon", "1234 Main Street , Apt 101, Springfield, USA 12345", "3401372671",
+				"12-12-2024", "Please be on time", category, status, worker);
+	}
+}
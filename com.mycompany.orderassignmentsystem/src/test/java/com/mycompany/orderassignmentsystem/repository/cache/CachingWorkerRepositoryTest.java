@@ -0,0 +1,413 @@
+/*
+ * Unit tests for the CachingWorkerRepository class.
+ *
+ * These tests verify that worker lookups are answered from the cache, that
+ * the cache is bounded by size and time to live, and that every write through
+ * the repository drops the affected entries. The wrapped repository is a
+ * Mockito mock and the clock is advanced by hand.
+ *
+ * Methods tested include:
+ * - findByIdWithoutOrders()
+ * - findAll()
+ * - findById()
+ * - save()
+ * - delete()
+ * - deleteAllById()
+ * - saveAll()
+ * - getWorkerStatistics() / getWorkerListStatistics()
+ *
+ * Each test follows a structured approach with three main phases:
+ * 1. Setup: Created environment for the test.
+ * 2. Mocks: Configuring the mock objects (Added separate comment just for better readability).
+ * 3. Exercise: Calling an instance method.
+ * 4. Verify: Verify that the outcome matches the expected behaviour.
+ *
+ * @see CachingWorkerRepository
+ * @see WorkerRepository
+ */
+
+package com.mycompany.orderassignmentsystem.repository.cache;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.model.Worker;
+import com.mycompany.orderassignmentsystem.repository.VersionConflictException;
+import com.mycompany.orderassignmentsystem.repository.WorkerRepository;
+
+/**
+ * The Class CachingWorkerRepositoryTest.
+ */
+public class CachingWorkerRepositoryTest {
+
+	/** The Constant TIME_TO_LIVE. */
+	private static final Duration TIME_TO_LIVE = Duration.ofMinutes(5);
+
+	/** The Constant WORKER_ID. */
+	private static final long WORKER_ID = 1l;
+
+	/** The wrapped repository. */
+	@Mock
+	private WorkerRepository delegate;
+
+	/** The clock, in nanoseconds. */
+	private AtomicLong clock;
+
+	/** The caching repository. */
+	private CachingWorkerRepository cachingRepository;
+
+	/** The closeable. */
+	private AutoCloseable closeable;
+
+	/**
+	 * Setup.
+	 */
+	@Before
+	public void setup() {
+		closeable = MockitoAnnotations.openMocks(this);
+		clock = new AtomicLong();
+		cachingRepository = new CachingWorkerRepository(delegate, 2, TIME_TO_LIVE, clock::get);
+	}
+
+	/**
+	 * Release mocks.
+	 *
+	 * @throws Exception the exception
+	 */
+	@After
+	public void releaseMocks() throws Exception {
+		closeable.close();
+	}
+
+	/**
+	 * Test find by id without orders method answers repeated lookups from the
+	 * cache.
+	 */
+	@Test
+	public void testFindByIdWithoutOrdersMethodAnswersRepeatedLookupsFromTheCache() {
+		// Mocks
+		when(delegate.findByIdWithoutOrders(WORKER_ID)).thenReturn(newWorker(WORKER_ID));
+
+		// Exercise
+		Worker first = cachingRepository.findByIdWithoutOrders(WORKER_ID);
+		Worker second = cachingRepository.findByIdWithoutOrders(WORKER_ID);
+
+		// Verify
+		assertThat(first).isEqualTo(newWorker(WORKER_ID));
+		assertThat(second.getWorkerName()).isEqualTo(first.getWorkerName());
+		assertThat(second.getVersion()).isEqualTo(3l);
+		verify(delegate, times(1)).findByIdWithoutOrders(WORKER_ID);
+		CacheStatistics statistics = cachingRepository.getWorkerStatistics();
+		assertThat(statistics.getHits()).isEqualTo(1);
+		assertThat(statistics.getMisses()).isEqualTo(1);
+		assertThat(statistics.getHitRate()).isEqualTo(0.5);
+		assertThat(statistics.getSize()).isEqualTo(1);
+	}
+
+	/**
+	 * Test find by id without orders method returns copies.
+	 */
+	@Test
+	public void testFindByIdWithoutOrdersMethodReturnsCopies() {
+		// Mocks
+		when(delegate.findByIdWithoutOrders(WORKER_ID)).thenReturn(newWorker(WORKER_ID));
+
+		// Exercise
+		cachingRepository.findByIdWithoutOrders(WORKER_ID).setWorkerName("Changed");
+
+		// Verify
+		assertThat(cachingRepository.findByIdWithoutOrders(WORKER_ID).getWorkerName()).isEqualTo("Bob");
+	}
+
+	/**
+	 * Test find by id without orders method does not cache a missing worker.
+	 */
+	@Test
+	public void testFindByIdWithoutOrdersMethodDoesNotCacheAMissingWorker() {
+		// Mocks
+		when(delegate.findByIdWithoutOrders(WORKER_ID)).thenReturn(null, newWorker(WORKER_ID));
+
+		// Exercise & Verify
+		assertThat(cachingRepository.findByIdWithoutOrders(WORKER_ID)).isNull();
+		assertThat(cachingRepository.findByIdWithoutOrders(WORKER_ID)).isEqualTo(newWorker(WORKER_ID));
+	}
+
+	/**
+	 * Test find by id without orders method reloads an expired worker.
+	 */
+	@Test
+	public void testFindByIdWithoutOrdersMethodReloadsAnExpiredWorker() {
+		// Mocks
+		when(delegate.findByIdWithoutOrders(WORKER_ID)).thenReturn(newWorker(WORKER_ID));
+
+		// Exercise
+		cachingRepository.findByIdWithoutOrders(WORKER_ID);
+		clock.addAndGet(TIME_TO_LIVE.toNanos() - 1);
+		cachingRepository.findByIdWithoutOrders(WORKER_ID);
+		clock.addAndGet(1);
+		cachingRepository.findByIdWithoutOrders(WORKER_ID);
+
+		// Verify
+		verify(delegate, times(2)).findByIdWithoutOrders(WORKER_ID);
+	}
+
+	/**
+	 * Test find by id without orders method evicts the least recently used worker.
+	 */
+	@Test
+	public void testFindByIdWithoutOrdersMethodEvictsTheLeastRecentlyUsedWorker() {
+		// Mocks
+		when(delegate.findByIdWithoutOrders(1l)).thenReturn(newWorker(1l));
+		when(delegate.findByIdWithoutOrders(2l)).thenReturn(newWorker(2l));
+		when(delegate.findByIdWithoutOrders(3l)).thenReturn(newWorker(3l));
+
+		// Exercise
+		cachingRepository.findByIdWithoutOrders(1l);
+		cachingRepository.findByIdWithoutOrders(2l);
+		cachingRepository.findByIdWithoutOrders(1l);
+		cachingRepository.findByIdWithoutOrders(3l);
+		cachingRepository.findByIdWithoutOrders(1l);
+		cachingRepository.findByIdWithoutOrders(2l);
+
+		// Verify
+		verify(delegate, times(1)).findByIdWithoutOrders(1l);
+		verify(delegate, times(2)).findByIdWithoutOrders(2l);
+		assertThat(cachingRepository.getWorkerStatistics().getEvictions()).isEqualTo(2);
+		assertThat(cachingRepository.getWorkerStatistics().getSize()).isEqualTo(2);
+	}
+
+	/**
+	 * Test find by id without orders method does not keep a worker loaded before a
+	 * concurrent save.
+	 */
+	@Test
+	public void testFindByIdWithoutOrdersMethodDoesNotKeepAWorkerLoadedBeforeAConcurrentSave() {
+		// Setup
+		Worker updated = newWorker(WORKER_ID);
+		updated.setWorkerName("Alice");
+
+		// Mocks
+		when(delegate.findByIdWithoutOrders(WORKER_ID)).thenAnswer(invocation -> {
+			// the worker is saved while its old state is being read
+			cachingRepository.save(updated);
+			return newWorker(WORKER_ID);
+		}).thenReturn(updated);
+
+		// Exercise
+		cachingRepository.findByIdWithoutOrders(WORKER_ID);
+
+		// Verify
+		assertThat(cachingRepository.findByIdWithoutOrders(WORKER_ID).getWorkerName()).isEqualTo("Alice");
+	}
+
+	/**
+	 * Test find all method answers repeated lookups from the cache.
+	 */
+	@Test
+	public void testFindAllMethodAnswersRepeatedLookupsFromTheCache() {
+		// Mocks
+		when(delegate.findAll()).thenReturn(asList(newWorker(1l), newWorker(2l)));
+
+		// Exercise
+		cachingRepository.findAll();
+		cachingRepository.findAll().clear();
+
+		// Verify
+		assertThat(cachingRepository.findAll()).containsExactly(newWorker(1l), newWorker(2l));
+		verify(delegate, times(1)).findAll();
+		assertThat(cachingRepository.getWorkerListStatistics().getHits()).isEqualTo(2);
+	}
+
+	/**
+	 * Test find by id method is not cached.
+	 */
+	@Test
+	public void testFindByIdMethodIsNotCached() {
+		// Mocks
+		when(delegate.findById(WORKER_ID)).thenReturn(newWorker(WORKER_ID));
+
+		// Exercise
+		cachingRepository.findById(WORKER_ID);
+		cachingRepository.findById(WORKER_ID);
+
+		// Verify
+		verify(delegate, times(2)).findById(WORKER_ID);
+	}
+
+	/**
+	 * Test save method invalidates the worker and the worker list.
+	 */
+	@Test
+	public void testSaveMethodInvalidatesTheWorkerAndTheWorkerList() {
+		// Setup
+		Worker worker = newWorker(WORKER_ID);
+
+		// Mocks
+		when(delegate.findByIdWithoutOrders(WORKER_ID)).thenReturn(worker);
+		when(delegate.findAll()).thenReturn(asList(worker));
+		when(delegate.save(worker)).thenReturn(worker);
+		cachingRepository.findByIdWithoutOrders(WORKER_ID);
+		cachingRepository.findAll();
+
+		// Exercise
+		assertThat(cachingRepository.save(worker)).isSameAs(worker);
+		cachingRepository.findByIdWithoutOrders(WORKER_ID);
+		cachingRepository.findAll();
+
+		// Verify
+		verify(delegate, times(2)).findByIdWithoutOrders(WORKER_ID);
+		verify(delegate, times(2)).findAll();
+		assertThat(cachingRepository.getWorkerStatistics().getInvalidations()).isEqualTo(1);
+	}
+
+	/**
+	 * Test save method invalidates the worker when the save fails.
+	 */
+	@Test
+	public void testSaveMethodInvalidatesTheWorkerWhenTheSaveFails() {
+		// Setup
+		Worker worker = newWorker(WORKER_ID);
+
+		// Mocks
+		when(delegate.findByIdWithoutOrders(WORKER_ID)).thenReturn(worker);
+		when(delegate.save(worker)).thenThrow(new VersionConflictException("failed to create worker.", null));
+		cachingRepository.findByIdWithoutOrders(WORKER_ID);
+
+		// Exercise
+		assertThatThrownBy(() -> cachingRepository.save(worker)).isInstanceOf(VersionConflictException.class);
+		cachingRepository.findByIdWithoutOrders(WORKER_ID);
+
+		// Verify
+		verify(delegate, times(2)).findByIdWithoutOrders(WORKER_ID);
+	}
+
+	/**
+	 * Test save method of a new worker only invalidates the worker list.
+	 */
+	@Test
+	public void testSaveMethodOfANewWorkerOnlyInvalidatesTheWorkerList() {
+		// Setup
+		Worker worker = new Worker("Alice", "3401372679", OrderCategory.ELECTRICIAN);
+
+		// Mocks
+		when(delegate.findByIdWithoutOrders(WORKER_ID)).thenReturn(newWorker(WORKER_ID));
+		when(delegate.findAll()).thenReturn(Collections.emptyList());
+		cachingRepository.findByIdWithoutOrders(WORKER_ID);
+		cachingRepository.findAll();
+
+		// Exercise
+		cachingRepository.save(worker);
+		cachingRepository.findByIdWithoutOrders(WORKER_ID);
+		cachingRepository.findAll();
+
+		// Verify
+		verify(delegate, times(1)).findByIdWithoutOrders(WORKER_ID);
+		verify(delegate, times(2)).findAll();
+	}
+
+	/**
+	 * Test delete method invalidates the worker.
+	 */
+	@Test
+	public void testDeleteMethodInvalidatesTheWorker() {
+		// Setup
+		Worker worker = newWorker(WORKER_ID);
+
+		// Mocks
+		when(delegate.findByIdWithoutOrders(WORKER_ID)).thenReturn(worker, (Worker) null);
+		cachingRepository.findByIdWithoutOrders(WORKER_ID);
+
+		// Exercise
+		cachingRepository.delete(worker);
+
+		// Verify
+		verify(delegate).delete(worker);
+		assertThat(cachingRepository.findByIdWithoutOrders(WORKER_ID)).isNull();
+	}
+
+	/**
+	 * Test delete all by id method invalidates the deleted workers.
+	 */
+	@Test
+	public void testDeleteAllByIdMethodInvalidatesTheDeletedWorkers() {
+		// Mocks
+		when(delegate.findByIdWithoutOrders(1l)).thenReturn(newWorker(1l));
+		when(delegate.findByIdWithoutOrders(2l)).thenReturn(newWorker(2l));
+		when(delegate.deleteAllById(asList(1l))).thenReturn(1);
+		cachingRepository.findByIdWithoutOrders(1l);
+		cachingRepository.findByIdWithoutOrders(2l);
+
+		// Exercise
+		assertThat(cachingRepository.deleteAllById(asList(1l))).isEqualTo(1);
+		cachingRepository.findByIdWithoutOrders(1l);
+		cachingRepository.findByIdWithoutOrders(2l);
+
+		// Verify
+		verify(delegate, times(2)).findByIdWithoutOrders(1l);
+		verify(delegate, times(1)).findByIdWithoutOrders(2l);
+	}
+
+	/**
+	 * Test save all method invalidates every worker.
+	 */
+	@Test
+	public void testSaveAllMethodInvalidatesEveryWorker() {
+		// Mocks
+		when(delegate.findByIdWithoutOrders(1l)).thenReturn(newWorker(1l));
+		when(delegate.findByIdWithoutOrders(2l)).thenReturn(newWorker(2l));
+		cachingRepository.findByIdWithoutOrders(1l);
+		cachingRepository.findByIdWithoutOrders(2l);
+
+		// Exercise
+		cachingRepository.saveAll(asList(newWorker(1l)));
+
+		// Verify
+		assertThat(cachingRepository.getWorkerStatistics().getSize()).isZero();
+		assertThat(cachingRepository.getWorkerStatistics().getInvalidations()).isEqualTo(2);
+	}
+
+	/**
+	 * Test constructor when the maximum size is not positive.
+	 */
+	@Test
+	public void testConstructorWhenTheMaximumSizeIsNotPositive() {
+		assertThatThrownBy(() -> new CachingWorkerRepository(delegate, 0, TIME_TO_LIVE))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage("The maximum cache size must be positive.");
+	}
+
+	/**
+	 * Test constructor when the time to live is not positive.
+	 */
+	@Test
+	public void testConstructorWhenTheTimeToLiveIsNotPositive() {
+		assertThatThrownBy(() -> new CachingWorkerRepository(delegate, 1, Duration.ZERO))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage("The cache time to live must be positive.");
+	}
+
+	/**
+	 * Creates a saved worker.
+	 *
+	 * @param workerId the worker id
+	 * @return the worker
+	 */
+	private Worker newWorker(long workerId) {
+		Worker worker = new Worker(workerId, "Bob", "340137267" + workerId, OrderCategory.PLUMBER);
+		worker.setVersion(3l);
+		return worker;
+	}
+}
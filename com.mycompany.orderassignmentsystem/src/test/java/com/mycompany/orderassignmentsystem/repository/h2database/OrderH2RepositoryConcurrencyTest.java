@@ -0,0 +1,289 @@
+/*
+ * Concurrency tests for the database repositories with H2 in-memory database.
+ *
+ * These tests ensure that a single OrderDatabaseRepository and
+ * WorkerDatabaseRepository instance can be shared by many threads at once now
+ * that the repositories no longer serialise calls behind a JVM monitor. Each
+ * call runs in its own EntityManager, so concurrent reads and writes must all
+ * complete and return consistent results.
+ *
+ * The overlap test holds every read at its SQL statement until all the reader
+ * threads are inside findById() at once, which can only happen if the reads
+ * are not serialised. The read throughput with one thread and with one thread
+ * per core is only logged, as wall-clock timings depend on the machine.
+ *
+ * Test cases include:
+ * - concurrent findById() / findByOrderStatus() reads
+ * - concurrent save() of distinct orders
+ * - findById() reads running at the same time
+ * - read throughput with one thread and with one thread per core
+ *
+ * @see OrderDatabaseRepository
+ * @see WorkerDatabaseRepository
+ */
+
+package com.mycompany.orderassignmentsystem.repository.h2database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.Worker;
+import com.mycompany.orderassignmentsystem.repository.postgres.OrderDatabaseRepository;
+import com.mycompany.orderassignmentsystem.repository.postgres.WorkerDatabaseRepository;
+
+/**
+ * The Class OrderH2RepositoryConcurrencyTest.
+ */
+public class OrderH2RepositoryConcurrencyTest {
+
+	/** The Constant LOGGER. */
+	private static final Logger LOGGER = LogManager.getLogger(OrderH2RepositoryConcurrencyTest.class);
+
+	/** The Constant PERSISTENCE_UNIT_NAME. */
+	private static final String PERSISTENCE_UNIT_NAME = "OriginalPersistenceUnit";
+
+	/** The Constant ORDER_COUNT. */
+	private static final int ORDER_COUNT = 20;
+
+	/** The Constant READS_PER_RUN. */
+	private static final int READS_PER_RUN = 2000;
+
+	/** The Constant READER_COUNT. */
+	private static final int READER_COUNT = 4;
+
+	/** The properties. */
+	private static Map<String, String> properties = new HashMap<>();
+
+	/** The entity manager factory. */
+	private EntityManagerFactory entityManagerFactory;
+
+	/** The order data repository. */
+	private OrderDatabaseRepository orderDataRepository;
+
+	/** The worker data repository. */
+	private WorkerDatabaseRepository workerDataRepository;
+
+	/** The worker. */
+	private Worker worker;
+
+	/** The saved order ids. */
+	private List<Long> savedOrderIds;
+
+	/**
+	 * On set up.
+	 */
+	@Before
+	public void onSetUp() {
+		properties.put("javax.persistence.jdbc.driver", "org.h2.Driver");
+		properties.put("javax.persistence.jdbc.url", "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+		properties.put("javax.persistence.jdbc.user", "sa");
+		properties.put("javax.persistence.jdbc.password", "");
+		properties.put("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
+		properties.put("hibernate.hbm2ddl.auto", "create-drop");
+		properties.put("hibernate.session_factory.statement_inspector", ReadBarrier.class.getName());
+		entityManagerFactory = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT_NAME, properties);
+		orderDataRepository = new OrderDatabaseRepository(entityManagerFactory);
+		workerDataRepository = new WorkerDatabaseRepository(entityManagerFactory);
+		worker = workerDataRepository.save(new Worker("Bob", "3401372678", OrderCategory.PLUMBER));
+		savedOrderIds = IntStream.range(0, ORDER_COUNT)
+				.mapToObj(i -> orderDataRepository.save(newOrder(OrderStatus.COMPLETED)).getOrderId())
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * On tear down.
+	 */
+	@After
+	public void onTearDown() {
+		ReadBarrier.readers = null;
+		entityManagerFactory.close();
+	}
+
+	/**
+	 * Test concurrent reads return consistent results.
+	 */
+	@Test
+	public void testConcurrentReadsReturnConsistentResults() {
+		// Setup
+		ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+		AtomicInteger mismatches = new AtomicInteger();
+
+		// Exercise
+		List<Thread> threads = IntStream.range(0, 10).mapToObj(i -> new Thread(() -> {
+			try {
+				for (Long orderId : savedOrderIds) {
+					if (!orderId.equals(orderDataRepository.findById(orderId).getOrderId())) {
+						mismatches.incrementAndGet();
+					}
+				}
+				if (orderDataRepository.findByOrderStatus(OrderStatus.COMPLETED).size() != ORDER_COUNT) {
+					mismatches.incrementAndGet();
+				}
+			} catch (Throwable e) {
+				failures.add(e);
+			}
+		})).peek(Thread::start).collect(Collectors.toList());
+		await().atMost(30, TimeUnit.SECONDS).until(() -> threads.stream().noneMatch(Thread::isAlive));
+
+		// Verify
+		assertThat(failures).isEmpty();
+		assertThat(mismatches.get()).isZero();
+	}
+
+	/**
+	 * Test concurrent saves of distinct orders are all persisted.
+	 */
+	@Test
+	public void testConcurrentSavesOfDistinctOrdersAreAllPersisted() {
+		// Setup
+		ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+		// Exercise
+		List<Thread> threads = IntStream.range(0, 10).mapToObj(i -> new Thread(() -> {
+			try {
+				orderDataRepository.save(newOrder(OrderStatus.PENDING));
+			} catch (Throwable e) {
+				failures.add(e);
+			}
+		})).peek(Thread::start).collect(Collectors.toList());
+		await().atMost(30, TimeUnit.SECONDS).until(() -> threads.stream().noneMatch(Thread::isAlive));
+
+		// Verify
+		assertThat(failures).isEmpty();
+		assertThat(orderDataRepository.findByOrderStatus(OrderStatus.PENDING)).hasSize(10);
+		assertThat(orderDataRepository.findAll()).hasSize(ORDER_COUNT + 10);
+	}
+
+	/**
+	 * Test find by id reads run at the same time.
+	 */
+	@Test
+	public void testFindByIdReadsRunAtTheSameTime() {
+		// Setup
+		ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+		ReadBarrier.readers = new CountDownLatch(READER_COUNT);
+
+		// Exercise
+		List<Thread> threads = IntStream.range(0, READER_COUNT).mapToObj(i -> new Thread(() -> {
+			try {
+				orderDataRepository.findById(savedOrderIds.get(i));
+			} catch (Throwable e) {
+				failures.add(e);
+			}
+		})).peek(Thread::start).collect(Collectors.toList());
+		await().atMost(30, TimeUnit.SECONDS).until(() -> threads.stream().noneMatch(Thread::isAlive));
+
+		// Verify
+		assertThat(failures).isEmpty();
+	}
+
+	/**
+	 * Test read throughput with one thread and with one thread per core. The
+	 * throughputs are logged, not compared.
+	 */
+	@Test
+	public void testReadThroughputWithOneThreadAndOneThreadPerCore() {
+		// Setup
+		int cores = Runtime.getRuntime().availableProcessors();
+		measureReadThroughput(cores);
+
+		// Exercise
+		double singleThreadThroughput = measureReadThroughput(1);
+		double multiThreadThroughput = measureReadThroughput(cores);
+
+		// Verify
+		LOGGER.info("findById throughput: {} reads/s with 1 thread, {} reads/s with {} threads", Math.round(
+				singleThreadThroughput), Math.round(multiThreadThroughput), cores);
+		assertThat(orderDataRepository.findAll()).hasSize(ORDER_COUNT);
+	}
+
+	/**
+	 * Runs {@link #READS_PER_RUN} lookups split across the given number of threads
+	 * and returns the measured reads per second.
+	 *
+	 * @param threadCount the number of reader threads
+	 * @return the reads per second
+	 */
+	private double measureReadThroughput(int threadCount) {
+		int readsPerThread = READS_PER_RUN / threadCount;
+		ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+		long start = System.nanoTime();
+		List<Thread> threads = IntStream.range(0, threadCount).mapToObj(t -> new Thread(() -> {
+			try {
+				for (int i = 0; i < readsPerThread; i++) {
+					orderDataRepository.findById(savedOrderIds.get(i % ORDER_COUNT));
+				}
+			} catch (Throwable e) {
+				failures.add(e);
+			}
+		})).peek(Thread::start).collect(Collectors.toList());
+		await().atMost(60, TimeUnit.SECONDS).until(() -> threads.stream().noneMatch(Thread::isAlive));
+		long elapsed = System.nanoTime() - start;
+		assertThat(failures).isEmpty();
+		return readsPerThread * threadCount / (elapsed / 1_000_000_000d);
+	}
+
+	/**
+	 * Creates a new order for the test worker.
+	 *
+	 * @param status the order status
+	 * @return the customer order
+	 */
+	private CustomerOrder newOrder(OrderStatus status) {
+		return new CustomerOrder("Jhon", "1234 Main Street , Apt 101, Springfield, USA 12345", "3401372671",
+				"12-12-2024", "Please be on time", OrderCategory.PLUMBER, status, worker);
+	}
+
+	/**
+	 * Holds every SQL statement, while a latch is set, until the latch has been
+	 * counted down by as many statements as it was created with. A read that
+	 * waits here is inside the repository call, so the latch only opens if that
+	 * many reads are running at the same time.
+	 */
+	public static class ReadBarrier implements StatementInspector {
+
+		private static final long serialVersionUID = 1L;
+
+		/** The readers still expected, or null when statements pass freely. */
+		static volatile CountDownLatch readers;
+
+		@Override
+		public String inspect(String sql) {
+			CountDownLatch latch = readers;
+			if (latch != null) {
+				latch.countDown();
+				try {
+					if (!latch.await(10, TimeUnit.SECONDS)) {
+						throw new IllegalStateException("the reads did not run at the same time");
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return sql;
+		}
+	}
+}
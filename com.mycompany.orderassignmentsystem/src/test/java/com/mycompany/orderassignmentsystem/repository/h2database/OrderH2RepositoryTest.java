@@ -10,14 +10,29 @@
  *
  * Test cases include:
  * - findAll()
+ * - findAllSummaries()
+ * - findSummaries()
  * - save()
+ * - saveAll()
+ * - overwriteAll()
  * - delete()
+ * - deleteAllById()
  * - findById()
  * - findByCustomerName()
+ * - findByCustomerNameSimilarTo()
  * - findByCustomerPhoneNumber()
+ * - findByCustomerPhoneNumberPrefix() / completeCustomerPhoneNumber()
  * - findByDate()
+ * - findByDateRange()
  * - findByOrderCategory()
  * - findByOrderStatus()
+ * - existsPendingOrderForWorker()
+ * - findPage()
+ * - forEachOrder() / forEachOrder(filter)
+ * - countByStatusAndCategory()
+ * - countByWorker()
+ * - countByDate()
+ * - archiveTerminalOrders() / findAll(includeArchived) / findByCustomerName(includeArchived)
  *
  * @see OrderDatabaseRepository
  * @see WorkerDatabaseRepository
@@ -30,11 +45,16 @@
 package com.mycompany.orderassignmentsystem.repository.h2database;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.junit.Assert.fail;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
@@ -45,9 +65,14 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderSearchOptions;
 import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
 import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.OrderSummary;
 import com.mycompany.orderassignmentsystem.model.Worker;
+import com.mycompany.orderassignmentsystem.repository.BatchResult;
+import com.mycompany.orderassignmentsystem.repository.OrderFilter;
+import com.mycompany.orderassignmentsystem.repository.VersionConflictException;
 import com.mycompany.orderassignmentsystem.repository.postgres.OrderDatabaseRepository;
 import com.mycompany.orderassignmentsystem.repository.postgres.WorkerDatabaseRepository;
 
@@ -191,6 +216,79 @@ public class OrderH2RepositoryTest {
 		assertThat(orderDataRepository.findAll()).containsExactly(order1, order2);
 	}
 
+	/**
+	 * Test find all summaries method when database is empty.
+	 */
+	@Test
+	public void testFindAllSummariesMethodWhenDatabaseIsEmpty() {
+		// Setup & Exercise & Verify
+		assertThat(orderDataRepository.findAllSummaries()).isEmpty();
+	}
+
+	/**
+	 * Test find all summaries method when database is not empty.
+	 */
+	@Test
+	public void testFindAllSummariesMethodWhenDatabaseIsNotEmpty() {
+		// Setup
+		CustomerOrder order1 = orderDataRepository.save(new CustomerOrder(CUSTOMER_NAME_1, CUSTOMER_ADDRESS_1,
+				CUSTOMER_PHONE_1, ORDER_APPOINTMENT_DATE_1, ORDER_DESCRIPTION_1, ORDER_CATEGORY_1, ORDER_STATUS_1,
+				worker1));
+		CustomerOrder order2 = orderDataRepository.save(newOrderOn("13-12-2024"));
+
+		// Exercise
+		List<OrderSummary> summaries = orderDataRepository.findAllSummaries();
+
+		// Verify
+		assertThat(summaries).containsExactly(
+				new OrderSummary(order1.getOrderId(), CUSTOMER_NAME_1, ORDER_APPOINTMENT_DATE_1, ORDER_STATUS_1,
+						ORDER_CATEGORY_1, worker1.getWorkerId()),
+				new OrderSummary(order2.getOrderId(), CUSTOMER_NAME_1, "13-12-2024", OrderStatus.COMPLETED,
+						ORDER_CATEGORY_1, worker1.getWorkerId()));
+	}
+
+	/**
+	 * Test find summaries method matches the search option.
+	 */
+	@Test
+	public void testFindSummariesMethodMatchesTheSearchOption() {
+		// Setup
+		Worker worker2 = workerDataRepository.save(new Worker("Alic", "3401372679", ORDER_CATEGORY_1));
+		CustomerOrder order1 = orderDataRepository.save(newOrderOn("12-12-2024"));
+		CustomerOrder order2 = orderDataRepository.save(new CustomerOrder(CUSTOMER_NAME_2, CUSTOMER_ADDRESS_2,
+				CUSTOMER_PHONE_2, "13-12-2024", ORDER_DESCRIPTION_2, ORDER_CATEGORY_1, OrderStatus.PENDING, worker2));
+
+		// Exercise & Verify
+		assertThat(orderDataRepository.findSummaries(OrderSearchOptions.STATUS, OrderStatus.PENDING))
+				.extracting(OrderSummary::getOrderId).containsExactly(order2.getOrderId());
+		assertThat(orderDataRepository.findSummaries(OrderSearchOptions.WORKER_ID, worker1.getWorkerId()))
+				.extracting(OrderSummary::getOrderId).containsExactly(order1.getOrderId());
+		assertThat(orderDataRepository.findSummaries(OrderSearchOptions.DATE, "13-12-2024"))
+				.extracting(OrderSummary::getOrderId).containsExactly(order2.getOrderId());
+		assertThat(orderDataRepository.findSummaries(OrderSearchOptions.CUSTOMER_PHONE, CUSTOMER_PHONE_1))
+				.extracting(OrderSummary::getOrderId).containsExactly(order1.getOrderId());
+		assertThat(orderDataRepository.findSummaries(OrderSearchOptions.CATEGORY, ORDER_CATEGORY_1))
+				.extracting(OrderSummary::getOrderId).containsExactly(order1.getOrderId(), order2.getOrderId());
+	}
+
+	/**
+	 * Test find summaries method when search option is none.
+	 */
+	@Test
+	public void testFindSummariesMethodWhenSearchOptionIsNone() {
+		try {
+			// Setup & Exercise
+			orderDataRepository.findSummaries(OrderSearchOptions.NONE, "");
+
+			// Verify
+			fail("Expected an exception to be thrown");
+
+		} catch (IllegalArgumentException e) {
+			// Verify
+			assertThat(e.getMessage()).isEqualTo("This operation is not allowed");
+		}
+	}
+
 	/**
 	 * Test save method.
 	 */
@@ -253,6 +351,151 @@ public class OrderH2RepositoryTest {
 		}
 	}
 
+	/**
+	 * Test save method when version is stale.
+	 */
+	@Test
+	public void testSaveMethodWhenVersionIsStale() {
+		// Setup
+		CustomerOrder saved = orderDataRepository.save(newOrderOn(ORDER_APPOINTMENT_DATE_1));
+		CustomerOrder first = orderDataRepository.findById(saved.getOrderId());
+		CustomerOrder second = orderDataRepository.findById(saved.getOrderId());
+		first.setOrderDescription(ORDER_DESCRIPTION_2);
+		orderDataRepository.save(first);
+		second.setOrderStatus(OrderStatus.CANCELLED);
+
+		try {
+			// Exercise
+			orderDataRepository.save(second);
+
+			// Verify
+			fail("Expected an exception to be thrown");
+
+		} catch (VersionConflictException e) {
+			// Verify
+			assertThat(e.getMessage()).isEqualTo("failed to create order.");
+		}
+		CustomerOrder stored = orderDataRepository.findById(saved.getOrderId());
+		assertThat(stored.getOrderDescription()).isEqualTo(ORDER_DESCRIPTION_2);
+		assertThat(stored.getOrderStatus()).isEqualTo(OrderStatus.COMPLETED);
+	}
+
+	/**
+	 * Test save method without version of a stored order throws a version
+	 * conflict.
+	 */
+	@Test
+	public void testSaveMethodWithoutVersionOfAStoredOrderThrowsAVersionConflict() {
+		// Setup
+		CustomerOrder saved = orderDataRepository.save(newOrderOn(ORDER_APPOINTMENT_DATE_1));
+		CustomerOrder typed = new CustomerOrder(saved.getOrderId(), CUSTOMER_NAME_2, CUSTOMER_ADDRESS_2,
+				CUSTOMER_PHONE_2, ORDER_APPOINTMENT_DATE_2, ORDER_DESCRIPTION_2, ORDER_CATEGORY_2, ORDER_STATUS_2,
+				worker1);
+
+		try {
+			// Exercise
+			orderDataRepository.save(typed);
+
+			// Verify
+			fail("Expected an exception to be thrown");
+
+		} catch (VersionConflictException e) {
+			// Verify
+			assertThat(e.getMessage()).isEqualTo("failed to create order.");
+		}
+		assertThat(orderDataRepository.findById(saved.getOrderId()).getCustomerName()).isEqualTo(CUSTOMER_NAME_1);
+	}
+
+	/**
+	 * Test save all method across several batches.
+	 */
+	@Test
+	public void testSaveAllMethodAcrossSeveralBatches() {
+		// Setup
+		List<CustomerOrder> orders = new ArrayList<>();
+		for (int i = 0; i < 120; i++) {
+			orders.add(new CustomerOrder(CUSTOMER_NAME_1, CUSTOMER_ADDRESS_1, CUSTOMER_PHONE_1,
+					ORDER_APPOINTMENT_DATE_1, ORDER_DESCRIPTION_1, ORDER_CATEGORY_1, ORDER_STATUS_1, worker1));
+		}
+
+		// Exercise
+		BatchResult<CustomerOrder> result = orderDataRepository.saveAll(orders);
+
+		// Verify
+		assertThat(result.hasFailures()).isFalse();
+		assertThat(result.getSaved()).hasSize(120).extracting(CustomerOrder::getOrderId).doesNotContainNull()
+				.doesNotHaveDuplicates();
+		assertThat(orderDataRepository.findAll()).hasSize(120);
+	}
+
+	/**
+	 * Test save all method when a row fails.
+	 */
+	@Test
+	public void testSaveAllMethodWhenARowFails() {
+		// Setup
+		CustomerOrder order1 = new CustomerOrder(CUSTOMER_NAME_1, CUSTOMER_ADDRESS_1, CUSTOMER_PHONE_1,
+				ORDER_APPOINTMENT_DATE_1, ORDER_DESCRIPTION_1, ORDER_CATEGORY_1, ORDER_STATUS_1, worker1);
+		CustomerOrder invalid = new CustomerOrder(CUSTOMER_NAME_2, CUSTOMER_ADDRESS_2, CUSTOMER_PHONE_2,
+				ORDER_APPOINTMENT_DATE_2, ORDER_DESCRIPTION_2, ORDER_CATEGORY_2, ORDER_STATUS_2,
+				new Worker("Bob", "3401372678", OrderCategory.PLUMBER));
+		CustomerOrder order2 = new CustomerOrder(CUSTOMER_NAME_2, CUSTOMER_ADDRESS_2, CUSTOMER_PHONE_2,
+				ORDER_APPOINTMENT_DATE_2, ORDER_DESCRIPTION_2, ORDER_CATEGORY_2, ORDER_STATUS_2, worker1);
+
+		// Exercise
+		BatchResult<CustomerOrder> result = orderDataRepository.saveAll(Arrays.asList(order1, invalid, order2));
+
+		// Verify
+		assertThat(result.getFailures()).containsOnlyKeys(1);
+		assertThat(orderDataRepository.findAll()).containsExactlyElementsOf(result.getSaved());
+	}
+
+	/**
+	 * Test save all method rejects updates without a version.
+	 */
+	@Test
+	public void testSaveAllMethodRejectsUpdatesWithoutAVersion() {
+		// Setup
+		CustomerOrder order1 = orderDataRepository.save(new CustomerOrder(CUSTOMER_NAME_1, CUSTOMER_ADDRESS_1,
+				CUSTOMER_PHONE_1, ORDER_APPOINTMENT_DATE_1, ORDER_DESCRIPTION_1, ORDER_CATEGORY_1, ORDER_STATUS_1,
+				worker1));
+		CustomerOrder update = new CustomerOrder(order1.getOrderId(), CUSTOMER_NAME_2, CUSTOMER_ADDRESS_1,
+				CUSTOMER_PHONE_1, ORDER_APPOINTMENT_DATE_1, ORDER_DESCRIPTION_1, ORDER_CATEGORY_1, ORDER_STATUS_1,
+				worker1);
+
+		// Exercise
+		BatchResult<CustomerOrder> result = orderDataRepository.saveAll(Arrays.asList(update));
+
+		// Verify
+		assertThat(result.getFailures()).containsOnlyKeys(0);
+		assertThat(orderDataRepository.findAll()).containsExactly(order1);
+	}
+
+	/**
+	 * Test overwrite all method updates orders whatever their version.
+	 */
+	@Test
+	public void testOverwriteAllMethodUpdatesOrdersWhateverTheirVersion() {
+		// Setup
+		CustomerOrder order1 = orderDataRepository.save(new CustomerOrder(CUSTOMER_NAME_1, CUSTOMER_ADDRESS_1,
+				CUSTOMER_PHONE_1, ORDER_APPOINTMENT_DATE_1, ORDER_DESCRIPTION_1, ORDER_CATEGORY_1, ORDER_STATUS_1,
+				worker1));
+		CustomerOrder update = new CustomerOrder(order1.getOrderId(), CUSTOMER_NAME_2, CUSTOMER_ADDRESS_1,
+				CUSTOMER_PHONE_1, ORDER_APPOINTMENT_DATE_1, ORDER_DESCRIPTION_1, ORDER_CATEGORY_1, ORDER_STATUS_1,
+				worker1);
+		update.setVersion(7l);
+
+		// Exercise
+		BatchResult<CustomerOrder> result = orderDataRepository.overwriteAll(Arrays.asList(update));
+
+		// Verify
+		assertThat(result.hasFailures()).isFalse();
+		assertThat(orderDataRepository.findAll()).singleElement().satisfies(order -> {
+			assertThat(order.getOrderId()).isEqualTo(order1.getOrderId());
+			assertThat(order.getCustomerName()).isEqualTo(CUSTOMER_NAME_2);
+			assertThat(order.getVersion()).isEqualTo(1l);
+		});
+	}
 	/**
 	 * Test delete method.
 	 */
@@ -292,6 +535,42 @@ public class OrderH2RepositoryTest {
 
 	}
 
+	/**
+	 * Test delete all by id method with an empty collection.
+	 */
+	@Test
+	public void testDeleteAllByIdMethodWithEmptyCollection() {
+		// Setup & Exercise & Verify
+		assertThat(orderDataRepository.deleteAllById(new ArrayList<>())).isZero();
+	}
+
+	/**
+	 * Test delete all by id method deletes only the given orders across several
+	 * chunks.
+	 */
+	@Test
+	public void testDeleteAllByIdMethodDeletesOnlyTheGivenOrdersAcrossSeveralChunks() {
+		// Setup
+		CustomerOrder order1 = orderDataRepository.save(new CustomerOrder(CUSTOMER_NAME_1, CUSTOMER_ADDRESS_1,
+				CUSTOMER_PHONE_1, ORDER_APPOINTMENT_DATE_1, ORDER_DESCRIPTION_1, ORDER_CATEGORY_1, ORDER_STATUS_1,
+				worker1));
+		CustomerOrder order2 = orderDataRepository.save(new CustomerOrder(CUSTOMER_NAME_2, CUSTOMER_ADDRESS_2,
+				CUSTOMER_PHONE_2, ORDER_APPOINTMENT_DATE_2, ORDER_DESCRIPTION_2, ORDER_CATEGORY_2, ORDER_STATUS_2,
+				worker1));
+		List<Long> orderIds = new ArrayList<>();
+		for (long id = order1.getOrderId() + 10_000; orderIds.size() < 2500; id++) {
+			orderIds.add(id);
+		}
+		orderIds.add(order1.getOrderId());
+
+		// Exercise
+		int deleted = orderDataRepository.deleteAllById(orderIds);
+
+		// Verify
+		assertThat(deleted).isEqualTo(1);
+		assertThat(orderDataRepository.findAll()).containsExactly(order2);
+	}
+
 	/**
 	 * Test find by id method when found.
 	 */
@@ -348,6 +627,29 @@ public class OrderH2RepositoryTest {
 
 	}
 
+	/**
+	 * Test find by customer name similar to method ranks prefix matches by
+	 * similarity.
+	 */
+	@Test
+	public void testFindByCustomerNameSimilarToMethodRanksPrefixMatchesBySimilarity() {
+		// Setup
+		CustomerOrder jhonSmith = orderDataRepository.save(new CustomerOrder("Jhon Smith", CUSTOMER_ADDRESS_1,
+				CUSTOMER_PHONE_1, ORDER_APPOINTMENT_DATE_1, ORDER_DESCRIPTION_1, ORDER_CATEGORY_1,
+				OrderStatus.COMPLETED, worker1));
+		CustomerOrder jhonny = orderDataRepository.save(new CustomerOrder("Jhonny", CUSTOMER_ADDRESS_1,
+				CUSTOMER_PHONE_1, ORDER_APPOINTMENT_DATE_1, ORDER_DESCRIPTION_1, ORDER_CATEGORY_1,
+				OrderStatus.COMPLETED, worker1));
+		orderDataRepository.save(new CustomerOrder(CUSTOMER_NAME_2, CUSTOMER_ADDRESS_1, CUSTOMER_PHONE_1,
+				ORDER_APPOINTMENT_DATE_1, ORDER_DESCRIPTION_1, ORDER_CATEGORY_1, OrderStatus.COMPLETED, worker1));
+
+		// Exercise & Verify
+		assertThat(orderDataRepository.findByCustomerNameSimilarTo("jhon", 20)).containsExactly(jhonny,
+				jhonSmith);
+		assertThat(orderDataRepository.findByCustomerNameSimilarTo("Jhon", 1)).containsExactly(jhonny);
+		assertThat(orderDataRepository.findByCustomerNameSimilarTo("Mario", 20)).isEmpty();
+	}
+
 	/**
 	 * Test find by customer phone number method when found.
 	 */
@@ -378,6 +680,32 @@ public class OrderH2RepositoryTest {
 
 	}
 
+	/**
+	 * Test find by customer phone number prefix method orders by phone number.
+	 */
+	@Test
+	public void testFindByCustomerPhoneNumberPrefixMethodOrdersByPhoneNumber() {
+		// Setup
+		CustomerOrder order2 = orderDataRepository.save(new CustomerOrder(CUSTOMER_NAME_2, CUSTOMER_ADDRESS_1,
+				CUSTOMER_PHONE_2, ORDER_APPOINTMENT_DATE_1, ORDER_DESCRIPTION_1, ORDER_CATEGORY_1,
+				OrderStatus.COMPLETED, worker1));
+		CustomerOrder order1 = orderDataRepository.save(new CustomerOrder(CUSTOMER_NAME_1, CUSTOMER_ADDRESS_1,
+				CUSTOMER_PHONE_1, ORDER_APPOINTMENT_DATE_1, ORDER_DESCRIPTION_1, ORDER_CATEGORY_1,
+				OrderStatus.COMPLETED, worker1));
+		CustomerOrder order3 = orderDataRepository.save(new CustomerOrder(CUSTOMER_NAME_1, CUSTOMER_ADDRESS_1,
+				CUSTOMER_PHONE_1, ORDER_APPOINTMENT_DATE_1, ORDER_DESCRIPTION_1, ORDER_CATEGORY_1,
+				OrderStatus.COMPLETED, worker1));
+
+		// Exercise & Verify
+		assertThat(orderDataRepository.findByCustomerPhoneNumberPrefix("340137267", 10)).containsExactly(order1,
+				order3, order2);
+		assertThat(orderDataRepository.findByCustomerPhoneNumberPrefix("340137267", 1)).containsExactly(order1);
+		assertThat(orderDataRepository.findByCustomerPhoneNumberPrefix("3401372672", 10)).containsExactly(order2);
+		assertThat(orderDataRepository.findByCustomerPhoneNumberPrefix("35", 10)).isEmpty();
+		assertThat(orderDataRepository.completeCustomerPhoneNumber("340", 10)).containsExactly(CUSTOMER_PHONE_1,
+				CUSTOMER_PHONE_2);
+	}
+
 	/**
 	 * Test find by order method when date found.
 	 */
@@ -408,6 +736,44 @@ public class OrderH2RepositoryTest {
 
 	}
 
+	/**
+	 * Test find by date range method when no order in range.
+	 */
+	@Test
+	public void testFindByDateRangeMethodWhenNoOrderInRange() {
+		// Setup
+		orderDataRepository.save(newOrderOn("01-12-2024"));
+
+		// Exercise & Verify
+		assertThat(orderDataRepository.findByDateRange(LocalDate.of(2024, 12, 9), LocalDate.of(2024, 12, 15), null,
+				10)).isEmpty();
+	}
+
+	/**
+	 * Test find by date range method pages through the week in date order.
+	 */
+	@Test
+	public void testFindByDateRangeMethodPagesThroughTheWeekInDateOrder() {
+		// Setup
+		orderDataRepository.save(newOrderOn("08-12-2024"));
+		CustomerOrder friday = orderDataRepository.save(newOrderOn("13-12-2024"));
+		CustomerOrder monday = orderDataRepository.save(newOrderOn("09-12-2024"));
+		CustomerOrder sunday = orderDataRepository.save(newOrderOn("15-12-2024"));
+		CustomerOrder secondMonday = orderDataRepository.save(newOrderOn("09-12-2024"));
+		orderDataRepository.save(newOrderOn("16-12-2024"));
+		LocalDate from = LocalDate.of(2024, 12, 9);
+		LocalDate to = LocalDate.of(2024, 12, 15);
+
+		// Exercise
+		List<CustomerOrder> firstPage = orderDataRepository.findByDateRange(from, to, null, 3);
+		List<CustomerOrder> secondPage = orderDataRepository.findByDateRange(from, to, firstPage.get(2), 3);
+
+		// Verify
+		assertThat(firstPage).containsExactly(monday, secondMonday, friday);
+		assertThat(secondPage).containsExactly(sunday);
+		assertThat(orderDataRepository.findByDateRange(from, to, secondPage.get(0), 3)).isEmpty();
+	}
+
 	/**
 	 * Test find by order order method when category found.
 	 */
@@ -468,4 +834,261 @@ public class OrderH2RepositoryTest {
 
 	}
 
+	/**
+	 * Test exists pending order for worker method.
+	 */
+	@Test
+	public void testExistsPendingOrderForWorkerMethod() {
+		// Setup
+		Worker worker2 = workerDataRepository.save(new Worker("Alic", "3401372679", ORDER_CATEGORY_1));
+		orderDataRepository.save(new CustomerOrder(CUSTOMER_NAME_1, CUSTOMER_ADDRESS_1, CUSTOMER_PHONE_1,
+				ORDER_APPOINTMENT_DATE_1, ORDER_DESCRIPTION_1, ORDER_CATEGORY_1, OrderStatus.PENDING, worker1));
+		orderDataRepository.save(new CustomerOrder(CUSTOMER_NAME_2, CUSTOMER_ADDRESS_2, CUSTOMER_PHONE_2,
+				ORDER_APPOINTMENT_DATE_2, ORDER_DESCRIPTION_2, ORDER_CATEGORY_1, OrderStatus.COMPLETED, worker2));
+
+		// Exercise & Verify
+		assertThat(orderDataRepository.existsPendingOrderForWorker(worker1.getWorkerId())).isTrue();
+		assertThat(orderDataRepository.existsPendingOrderForWorker(worker2.getWorkerId())).isFalse();
+	}
+
+	/**
+	 * Test find page method when database is empty.
+	 */
+	@Test
+	public void testFindPageMethodWhenDatabaseIsEmpty() {
+		// Setup & Exercise & Verify
+		assertThat(orderDataRepository.findPage(null, 10)).isEmpty();
+	}
+
+	/**
+	 * Test find page method returns pages in order id order after the cursor.
+	 */
+	@Test
+	public void testFindPageMethodReturnsPagesAfterTheCursor() {
+		// Setup
+		CustomerOrder order1 = orderDataRepository.save(new CustomerOrder(CUSTOMER_NAME_1, CUSTOMER_ADDRESS_1,
+				CUSTOMER_PHONE_1, ORDER_APPOINTMENT_DATE_1, ORDER_DESCRIPTION_1, ORDER_CATEGORY_1, ORDER_STATUS_1,
+				worker1));
+		CustomerOrder order2 = orderDataRepository.save(new CustomerOrder(CUSTOMER_NAME_2, CUSTOMER_ADDRESS_2,
+				CUSTOMER_PHONE_2, ORDER_APPOINTMENT_DATE_2, ORDER_DESCRIPTION_2, ORDER_CATEGORY_2, ORDER_STATUS_2,
+				worker1));
+		CustomerOrder order3 = orderDataRepository.save(new CustomerOrder(CUSTOMER_NAME_1, CUSTOMER_ADDRESS_1,
+				CUSTOMER_PHONE_1, ORDER_APPOINTMENT_DATE_1, ORDER_DESCRIPTION_1, ORDER_CATEGORY_1, ORDER_STATUS_1,
+				worker1));
+
+		// Exercise
+		List<CustomerOrder> firstPage = orderDataRepository.findPage(null, 2);
+		List<CustomerOrder> secondPage = orderDataRepository.findPage(firstPage.get(1).getOrderId(), 2);
+		List<CustomerOrder> lastPage = orderDataRepository.findPage(secondPage.get(0).getOrderId(), 2);
+
+		// Verify
+		assertThat(firstPage).containsExactly(order1, order2);
+		assertThat(secondPage).containsExactly(order3);
+		assertThat(lastPage).isEmpty();
+	}
+
+	/**
+	 * Test for each order method when database is empty.
+	 */
+	@Test
+	public void testForEachOrderMethodWhenDatabaseIsEmpty() {
+		// Setup
+		List<CustomerOrder> streamed = new ArrayList<>();
+
+		// Exercise
+		orderDataRepository.forEachOrder(streamed::add);
+
+		// Verify
+		assertThat(streamed).isEmpty();
+	}
+
+	/**
+	 * Test for each order method streams all orders in order id order.
+	 */
+	@Test
+	public void testForEachOrderMethodStreamsAllOrders() {
+		// Setup
+		CustomerOrder order1 = orderDataRepository.save(new CustomerOrder(CUSTOMER_NAME_1, CUSTOMER_ADDRESS_1,
+				CUSTOMER_PHONE_1, ORDER_APPOINTMENT_DATE_1, ORDER_DESCRIPTION_1, ORDER_CATEGORY_1, ORDER_STATUS_1,
+				worker1));
+		CustomerOrder order2 = orderDataRepository.save(new CustomerOrder(CUSTOMER_NAME_2, CUSTOMER_ADDRESS_2,
+				CUSTOMER_PHONE_2, ORDER_APPOINTMENT_DATE_2, ORDER_DESCRIPTION_2, ORDER_CATEGORY_2, ORDER_STATUS_2,
+				worker1));
+		List<CustomerOrder> streamed = new ArrayList<>();
+
+		// Exercise
+		orderDataRepository.forEachOrder(streamed::add);
+
+		// Verify
+		assertThat(streamed).containsExactly(order1, order2);
+		assertThat(streamed.get(1).getWorker()).isEqualTo(worker1);
+	}
+
+	/**
+	 * Test for each order method with a filter streams the matching orders.
+	 */
+	@Test
+	public void testForEachOrderMethodWithAFilterStreamsTheMatchingOrders() {
+		// Setup
+		orderDataRepository.save(new CustomerOrder(CUSTOMER_NAME_1, CUSTOMER_ADDRESS_1, CUSTOMER_PHONE_1,
+				ORDER_APPOINTMENT_DATE_1, ORDER_DESCRIPTION_1, ORDER_CATEGORY_1, OrderStatus.COMPLETED, worker1));
+		CustomerOrder order2 = orderDataRepository.save(new CustomerOrder(CUSTOMER_NAME_2, CUSTOMER_ADDRESS_2,
+				CUSTOMER_PHONE_2, "13-12-2024", ORDER_DESCRIPTION_2, ORDER_CATEGORY_2, OrderStatus.COMPLETED,
+				worker1));
+		CustomerOrder order3 = orderDataRepository.save(new CustomerOrder(CUSTOMER_NAME_2, CUSTOMER_ADDRESS_2,
+				CUSTOMER_PHONE_2, "14-12-2024", ORDER_DESCRIPTION_2, ORDER_CATEGORY_2, OrderStatus.PENDING, worker1));
+		List<CustomerOrder> completed = new ArrayList<>();
+		List<CustomerOrder> fromThe13th = new ArrayList<>();
+
+		// Exercise
+		orderDataRepository.forEachOrder(new OrderFilter(OrderStatus.COMPLETED, ORDER_CATEGORY_1,
+				LocalDate.of(2024, 12, 13), LocalDate.of(2024, 12, 31)), completed::add);
+		orderDataRepository.forEachOrder(new OrderFilter(null, null, LocalDate.of(2024, 12, 13), null),
+				fromThe13th::add);
+
+		// Verify
+		assertThat(completed).containsExactly(order2);
+		assertThat(completed.get(0).getWorker()).isEqualTo(worker1);
+		assertThat(fromThe13th).containsExactly(order2, order3);
+	}
+
+	/**
+	 * Test count by status and category method when database is empty.
+	 */
+	@Test
+	public void testCountByStatusAndCategoryMethodWhenDatabaseIsEmpty() {
+		// Exercise
+		Map<OrderStatus, Map<OrderCategory, Long>> counts = orderDataRepository.countByStatusAndCategory();
+
+		// Verify
+		assertThat(counts).containsOnlyKeys(OrderStatus.values());
+		counts.values().forEach(byCategory -> assertThat(byCategory).containsOnlyKeys(OrderCategory.values())
+				.allSatisfy((category, count) -> assertThat(count).isZero()));
+	}
+
+	/**
+	 * Test count by status and category method counts every group.
+	 */
+	@Test
+	public void testCountByStatusAndCategoryMethodCountsEveryGroup() {
+		// Setup
+		orderDataRepository.save(newOrderOn("12-12-2024"));
+		orderDataRepository.save(newOrderOn("13-12-2024"));
+		orderDataRepository.save(new CustomerOrder(CUSTOMER_NAME_2, CUSTOMER_ADDRESS_2, CUSTOMER_PHONE_2,
+				ORDER_APPOINTMENT_DATE_2, ORDER_DESCRIPTION_2, OrderCategory.ELECTRICIAN, OrderStatus.PENDING, worker1));
+
+		// Exercise
+		Map<OrderStatus, Map<OrderCategory, Long>> counts = orderDataRepository.countByStatusAndCategory();
+
+		// Verify
+		assertThat(counts.get(OrderStatus.COMPLETED).get(OrderCategory.PLUMBER)).isEqualTo(2);
+		assertThat(counts.get(OrderStatus.PENDING).get(OrderCategory.ELECTRICIAN)).isEqualTo(1);
+		assertThat(counts.get(OrderStatus.PENDING).get(OrderCategory.PLUMBER)).isZero();
+		assertThat(counts.get(OrderStatus.CANCELLED).get(OrderCategory.ELECTRICIAN)).isZero();
+	}
+
+	/**
+	 * Test count by worker method counts the orders of each worker.
+	 */
+	@Test
+	public void testCountByWorkerMethodCountsTheOrdersOfEachWorker() {
+		// Setup
+		Worker worker2 = workerDataRepository.save(new Worker("Alic", "3401372679", ORDER_CATEGORY_1));
+		workerDataRepository.save(new Worker("Carl", "3401372670", ORDER_CATEGORY_1));
+		orderDataRepository.save(newOrderOn("12-12-2024"));
+		orderDataRepository.save(newOrderOn("13-12-2024"));
+		orderDataRepository.save(new CustomerOrder(CUSTOMER_NAME_2, CUSTOMER_ADDRESS_2, CUSTOMER_PHONE_2,
+				ORDER_APPOINTMENT_DATE_2, ORDER_DESCRIPTION_2, ORDER_CATEGORY_2, ORDER_STATUS_2, worker2));
+
+		// Exercise
+		Map<Long, Long> counts = orderDataRepository.countByWorker();
+
+		// Verify
+		assertThat(counts).containsExactly(entry(worker1.getWorkerId(), 2l), entry(worker2.getWorkerId(), 1l));
+	}
+
+	/**
+	 * Test count by date method counts each day of the range.
+	 */
+	@Test
+	public void testCountByDateMethodCountsEachDayOfTheRange() {
+		// Setup
+		orderDataRepository.save(newOrderOn("08-12-2024"));
+		orderDataRepository.save(newOrderOn("09-12-2024"));
+		orderDataRepository.save(newOrderOn("13-12-2024"));
+		orderDataRepository.save(newOrderOn("09-12-2024"));
+		orderDataRepository.save(newOrderOn("15-12-2024"));
+		orderDataRepository.save(newOrderOn("16-12-2024"));
+
+		// Exercise
+		SortedMap<LocalDate, Long> counts = orderDataRepository.countByDate(LocalDate.of(2024, 12, 9),
+				LocalDate.of(2024, 12, 15));
+
+		// Verify
+		assertThat(counts).containsExactly(entry(LocalDate.of(2024, 12, 9), 2l), entry(LocalDate.of(2024, 12, 13), 1l),
+				entry(LocalDate.of(2024, 12, 15), 1l));
+	}
+
+	/**
+	 * Test archive terminal orders method moves old finished orders.
+	 */
+	@Test
+	public void testArchiveTerminalOrdersMethodMovesOldFinishedOrders() {
+		// Setup
+		CustomerOrder oldCompleted = orderDataRepository.save(newOrderOn("10-12-2024"));
+		CustomerOrder recentCompleted = orderDataRepository.save(newOrderOn("20-12-2024"));
+		CustomerOrder oldPending = orderDataRepository.save(new CustomerOrder(CUSTOMER_NAME_2, CUSTOMER_ADDRESS_2,
+				CUSTOMER_PHONE_2, "10-12-2024", ORDER_DESCRIPTION_2, ORDER_CATEGORY_2, OrderStatus.PENDING, worker1));
+		CustomerOrder oldCancelled = orderDataRepository.save(new CustomerOrder(CUSTOMER_NAME_2, CUSTOMER_ADDRESS_2,
+				CUSTOMER_PHONE_2, "11-12-2024", ORDER_DESCRIPTION_2, ORDER_CATEGORY_2, OrderStatus.CANCELLED, worker1));
+
+		// Exercise
+		int archived = orderDataRepository.archiveTerminalOrders(LocalDate.of(2024, 12, 15));
+
+		// Verify
+		assertThat(archived).isEqualTo(2);
+		assertThat(orderDataRepository.findAll()).extracting(CustomerOrder::getOrderId)
+				.containsExactlyInAnyOrder(recentCompleted.getOrderId(), oldPending.getOrderId());
+		assertThat(orderDataRepository.findById(oldCompleted.getOrderId())).isNull();
+		List<CustomerOrder> all = orderDataRepository.findAll(true);
+		assertThat(all).extracting(CustomerOrder::getOrderId).hasSize(4).endsWith(oldCompleted.getOrderId(),
+				oldCancelled.getOrderId());
+		assertThat(all.get(2)).usingRecursiveComparison().ignoringFields("worker").isEqualTo(oldCompleted);
+		assertThat(all.get(2).getWorker().getWorkerId()).isEqualTo(worker1.getWorkerId());
+		assertThat(orderDataRepository.findByCustomerName(CUSTOMER_NAME_1)).extracting(CustomerOrder::getOrderId)
+				.containsExactly(recentCompleted.getOrderId());
+		assertThat(orderDataRepository.findByCustomerName(CUSTOMER_NAME_1, true))
+				.extracting(CustomerOrder::getOrderId)
+				.containsExactly(recentCompleted.getOrderId(), oldCompleted.getOrderId());
+		assertThat(orderDataRepository.archiveTerminalOrders(LocalDate.of(2024, 12, 15))).isZero();
+	}
+
+	/**
+	 * Test archived orders do not keep their worker from being deleted.
+	 */
+	@Test
+	public void testArchivedOrdersDoNotKeepTheirWorkerFromBeingDeleted() {
+		// Setup
+		CustomerOrder order = orderDataRepository.save(newOrderOn("10-12-2024"));
+		orderDataRepository.archiveTerminalOrders(LocalDate.of(2024, 12, 15));
+
+		// Exercise
+		workerDataRepository.delete(workerDataRepository.findById(worker1.getWorkerId()));
+
+		// Verify
+		List<CustomerOrder> all = orderDataRepository.findAll(true);
+		assertThat(all).extracting(CustomerOrder::getOrderId).containsExactly(order.getOrderId());
+		assertThat(all.get(0).getWorker()).isNull();
+	}
+
+	/**
+	 * Creates a new order for the test worker on the given date.
+	 *
+	 * @param appointmentDate the appointment date
+	 * @return the customer order
+	 */
+	private CustomerOrder newOrderOn(String appointmentDate) {
+		return new CustomerOrder(CUSTOMER_NAME_1, CUSTOMER_ADDRESS_1, CUSTOMER_PHONE_1, appointmentDate,
+				ORDER_DESCRIPTION_1, ORDER_CATEGORY_1, OrderStatus.COMPLETED, worker1);
+	}
 }
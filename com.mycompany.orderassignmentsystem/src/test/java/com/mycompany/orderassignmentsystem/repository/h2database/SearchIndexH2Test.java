@@ -0,0 +1,226 @@
+/*
+ * Index usage tests for the search paths of the repositories with H2 in-memory database.
+ *
+ * Every option of OrderSearchOptions and WorkerSearchOption ends up as an
+ * equality predicate on one column. These tests run EXPLAIN for the SQL
+ * equivalent of each predicate against the schema generated from the entity
+ * mappings and assert that the plan reads through the expected index instead of
+ * scanning the table.
+ *
+ * Test cases include:
+ * - CUSTOMER_NAME, CUSTOMER_PHONE, DATE, CATEGORY, STATUS and WORKER_ID order searches
+ * - the appointment date range search
+ * - the pending order lookup of a worker
+ * - WORKER_NAME, WORKER_PHONE and WORKER_CATEGORY worker searches
+ *
+ * @see CustomerOrder
+ * @see Worker
+ */
+
+package com.mycompany.orderassignmentsystem.repository.h2database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The Class SearchIndexH2Test.
+ */
+public class SearchIndexH2Test {
+
+	/** The Constant PERSISTENCE_UNIT_NAME. */
+	private static final String PERSISTENCE_UNIT_NAME = "OriginalPersistenceUnit";
+
+	/** The Constant TABLE_SCAN. */
+	private static final String TABLE_SCAN = "tableScan";
+
+	/** The properties. */
+	private static Map<String, String> properties = new HashMap<>();
+
+	/** The entity manager factory. */
+	private EntityManagerFactory entityManagerFactory;
+
+	/** The entity manager. */
+	private EntityManager entityManager;
+
+	/**
+	 * On set up.
+	 */
+	@Before
+	public void onSetUp() {
+		properties.put("javax.persistence.jdbc.driver", "org.h2.Driver");
+		properties.put("javax.persistence.jdbc.url", "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+		properties.put("javax.persistence.jdbc.user", "sa");
+		properties.put("javax.persistence.jdbc.password", "");
+		properties.put("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
+		properties.put("hibernate.hbm2ddl.auto", "create-drop");
+		entityManagerFactory = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT_NAME, properties);
+		entityManager = entityManagerFactory.createEntityManager();
+	}
+
+	/**
+	 * On tear down.
+	 */
+	@After
+	public void onTearDown() {
+		entityManager.close();
+		entityManagerFactory.close();
+	}
+
+	/**
+	 * Test customer name search uses index.
+	 */
+	@Test
+	public void testCustomerNameSearchUsesIndex() {
+		// Setup & Exercise
+		String plan = explain("SELECT * FROM CustomerOrder WHERE customer_name = 'Jhon'");
+
+		// Verify
+		assertThat(plan).containsIgnoringCase("idx_customer_order_customer_name");
+	}
+
+	/**
+	 * Test customer phone search uses index.
+	 */
+	@Test
+	public void testCustomerPhoneSearchUsesIndex() {
+		// Setup & Exercise
+		String plan = explain("SELECT * FROM CustomerOrder WHERE customer_phone = '3401372671'");
+
+		// Verify
+		assertThat(plan).containsIgnoringCase("idx_customer_order_customer_phone");
+	}
+
+	/**
+	 * Test date search uses index.
+	 */
+	@Test
+	public void testDateSearchUsesIndex() {
+		// Setup & Exercise
+		String plan = explain("SELECT * FROM CustomerOrder WHERE appointment_date = DATE '2024-12-12'");
+
+		// Verify
+		assertThat(plan).containsIgnoringCase("idx_customer_order_appointment_date");
+	}
+
+	/**
+	 * Test date range search uses index.
+	 */
+	@Test
+	public void testDateRangeSearchUsesIndex() {
+		// Setup & Exercise
+		String plan = explain("SELECT * FROM CustomerOrder WHERE appointment_date BETWEEN DATE '2024-12-09'"
+				+ " AND DATE '2024-12-15' ORDER BY appointment_date, orderId LIMIT 50");
+
+		// Verify
+		assertThat(plan).containsIgnoringCase("idx_customer_order_appointment_date");
+	}
+
+	/**
+	 * Test category search uses index.
+	 */
+	@Test
+	public void testCategorySearchUsesIndex() {
+		// Setup & Exercise
+		String plan = explain("SELECT * FROM CustomerOrder WHERE order_category = 'PLUMBER'");
+
+		// Verify
+		assertThat(plan).containsIgnoringCase("idx_customer_order_order_category");
+	}
+
+	/**
+	 * Test status search uses index.
+	 */
+	@Test
+	public void testStatusSearchUsesIndex() {
+		// Setup & Exercise
+		String plan = explain("SELECT * FROM CustomerOrder WHERE order_status = 'PENDING'");
+
+		// Verify
+		assertThat(plan).containsIgnoringCase("idx_customer_order_order_status");
+	}
+
+	/**
+	 * Test worker id search uses index.
+	 */
+	@Test
+	public void testWorkerIdSearchUsesIndex() {
+		// Setup & Exercise
+		String plan = explain("SELECT * FROM CustomerOrder WHERE worker_workerId = 1");
+
+		// Verify
+		// H2 also indexes the foreign key itself and may pick that index, which
+		// PostgreSQL does not create; either way the table is not scanned
+		assertThat(plan).doesNotContain(TABLE_SCAN);
+	}
+
+	/**
+	 * Test pending order lookup uses index.
+	 */
+	@Test
+	public void testPendingOrderLookupUsesIndex() {
+		// Setup & Exercise
+		String plan = explain(
+				"SELECT orderId FROM CustomerOrder WHERE worker_workerId = 1 AND order_status = 'PENDING' LIMIT 1");
+
+		// Verify
+		assertThat(plan).containsIgnoringCase("idx_customer_order_worker_status");
+	}
+
+	/**
+	 * Test worker name search uses index.
+	 */
+	@Test
+	public void testWorkerNameSearchUsesIndex() {
+		// Setup & Exercise
+		String plan = explain("SELECT * FROM Worker WHERE workerName = 'Bob'");
+
+		// Verify
+		assertThat(plan).containsIgnoringCase("idx_worker_worker_name");
+	}
+
+	/**
+	 * Test worker phone search uses index.
+	 */
+	@Test
+	public void testWorkerPhoneSearchUsesIndex() {
+		// Setup & Exercise
+		String plan = explain("SELECT * FROM Worker WHERE workerPhoneNumber = '3401372678'");
+
+		// Verify
+		assertThat(plan).doesNotContain(TABLE_SCAN);
+	}
+
+	/**
+	 * Test worker category search uses index.
+	 */
+	@Test
+	public void testWorkerCategorySearchUsesIndex() {
+		// Setup & Exercise
+		String plan = explain("SELECT * FROM Worker WHERE workerCategory = 'PLUMBER'");
+
+		// Verify
+		assertThat(plan).containsIgnoringCase("idx_worker_worker_category");
+	}
+
+	/**
+	 * Returns the H2 query plan of the given query.
+	 *
+	 * @param sql the query
+	 * @return the plan
+	 */
+	private String explain(String sql) {
+		String plan = entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult().toString();
+		assertThat(plan).doesNotContain(TABLE_SCAN);
+		return plan;
+	}
+}
@@ -11,11 +11,16 @@
  * Test cases include:
  * - findAll()
  * - findById() 
+ * - findByIdWithoutOrders()
  * - findByName()
+ * - findByNameSimilarTo()
  * - findByOrderCategory()
  * - findByPhoneNumber()
+ * - findByPhoneNumberPrefix() / completePhoneNumber()
  * - save()
+ * - saveAll()
  * - delete()
+ * - deleteAllById()
  *
  * @see WorkerDatabaseRepository
  * @see Worker
@@ -40,7 +45,14 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+import com.mycompany.orderassignmentsystem.model.CustomerOrder;
 import com.mycompany.orderassignmentsystem.model.Worker;
+import com.mycompany.orderassignmentsystem.repository.BatchResult;
+import com.mycompany.orderassignmentsystem.repository.UniqueConstraintException;
+import com.mycompany.orderassignmentsystem.repository.VersionConflictException;
+import com.mycompany.orderassignmentsystem.repository.WorkerRepository;
+import com.mycompany.orderassignmentsystem.repository.postgres.OrderDatabaseRepository;
 import com.mycompany.orderassignmentsystem.repository.postgres.WorkerDatabaseRepository;
 
 /**
@@ -181,6 +193,70 @@ public class WorkerH2RepositoryTest {
 		assertThat(workerDataRepository.findById(worker1.getWorkerId())).isEqualTo(worker1);
 	}
 
+	/**
+	 * Test find by id method fetches the orders of the worker.
+	 */
+	@Test
+	public void testFindByIdMethodFetchesTheOrdersOfTheWorker() {
+		// Setup
+		Worker worker1 = workerDataRepository.save(new Worker(WORKER_NAME_1, WORKER_PHONE_1, WORKER_CATEGORY_1));
+		Worker worker2 = workerDataRepository.save(new Worker(WORKER_NAME_2, WORKER_PHONE_2, WORKER_CATEGORY_2));
+		OrderDatabaseRepository orderDataRepository = new OrderDatabaseRepository(entityManagerFactory);
+		CustomerOrder order1 = orderDataRepository.save(newOrder(worker1, OrderStatus.COMPLETED));
+		CustomerOrder order2 = orderDataRepository.save(newOrder(worker1, OrderStatus.PENDING));
+		orderDataRepository.save(newOrder(worker2, OrderStatus.PENDING));
+
+		// Exercise
+		Worker found = workerDataRepository.findById(worker1.getWorkerId());
+
+		// Verify
+		assertThat(found).isEqualTo(worker1);
+		assertThat(found.getOrders()).containsExactly(order1, order2);
+	}
+
+	/**
+	 * Test find by id without orders method when empty.
+	 */
+	@Test
+	public void testFindByIdWithoutOrdersMethodWhenEmpty() {
+		// Setup & Exercise & Verify
+		assertThat(workerDataRepository.findByIdWithoutOrders(1l)).isNull();
+	}
+
+	/**
+	 * Test find by id without orders method when exception.
+	 */
+	@Test
+	public void testFindByIdWithoutOrdersMethodWhenException() {
+		try {
+			// Setup & Exercise
+			workerDataRepository.findByIdWithoutOrders(null);
+
+			// Verify
+			fail("Expected an exception to be thrown");
+
+		} catch (Exception e) {
+			// Verify
+			assertThat(e.getMessage()).isEqualTo("failed to get worker by id.");
+		}
+	}
+
+	/**
+	 * Test find by id without orders method when not empty.
+	 */
+	@Test
+	public void testFindByIdWithoutOrdersMethodWhenNotEmpty() {
+		// Setup
+		Worker worker1 = workerDataRepository.save(new Worker(WORKER_NAME_1, WORKER_PHONE_1, WORKER_CATEGORY_1));
+
+		// Exercise
+		Worker found = workerDataRepository.findByIdWithoutOrders(worker1.getWorkerId());
+
+		// Verify
+		assertThat(found).isEqualTo(worker1);
+		assertThat(found.getWorkerCategory()).isEqualTo(WORKER_CATEGORY_1);
+	}
+
 	/**
 	 * Test find by name method when empty.
 	 */
@@ -210,6 +286,38 @@ public class WorkerH2RepositoryTest {
 
 	}
 
+	/**
+	 * Test find by name similar to method finds misspelt names.
+	 */
+	@Test
+	public void testFindByNameSimilarToMethodFindsMisspeltNames() {
+		// Setup
+		Worker robert = workerDataRepository.save(new Worker("Robert", WORKER_PHONE_1, WORKER_CATEGORY_1));
+		workerDataRepository.save(new Worker("Roberta", WORKER_PHONE_2, WORKER_CATEGORY_2));
+
+		// Exercise & Verify
+		assertThat(workerDataRepository.findByNameSimilarTo("Robrt", 20)).containsExactly(robert);
+		assertThat(workerDataRepository.findByNameSimilarTo(WORKER_NAME_2, 20)).isEmpty();
+	}
+
+	/**
+	 * Test find by name similar to method follows the writes after the first
+	 * search.
+	 */
+	@Test
+	public void testFindByNameSimilarToMethodFollowsLaterWrites() {
+		// Setup
+		Worker robert = workerDataRepository.save(new Worker("Robert", WORKER_PHONE_1, WORKER_CATEGORY_1));
+		assertThat(workerDataRepository.findByNameSimilarTo("Robrt", 20)).containsExactly(robert);
+
+		// Exercise
+		Worker otherRobert = workerDataRepository.save(new Worker("Robert", WORKER_PHONE_2, WORKER_CATEGORY_2));
+		workerDataRepository.delete(robert);
+
+		// Verify
+		assertThat(workerDataRepository.findByNameSimilarTo("Robrt", 20)).containsExactly(otherRobert);
+	}
+
 	/**
 	 * Test find by category method when empty.
 	 */
@@ -269,6 +377,23 @@ public class WorkerH2RepositoryTest {
 		assertThat(workerDataRepository.findByPhoneNumber(searchText)).isEqualTo(worker1);
 	}
 
+	/**
+	 * Test find by phone number prefix method orders by phone number.
+	 */
+	@Test
+	public void testFindByPhoneNumberPrefixMethodOrdersByPhoneNumber() {
+		// Setup
+		Worker worker2 = workerDataRepository.save(new Worker(WORKER_NAME_2, WORKER_PHONE_2, WORKER_CATEGORY_2));
+		Worker worker1 = workerDataRepository.save(new Worker(WORKER_NAME_1, WORKER_PHONE_1, WORKER_CATEGORY_1));
+
+		// Exercise & Verify
+		assertThat(workerDataRepository.findByPhoneNumberPrefix("340137267", 10)).containsExactly(worker1,
+				worker2);
+		assertThat(workerDataRepository.findByPhoneNumberPrefix("3401372679", 10)).containsExactly(worker2);
+		assertThat(workerDataRepository.findByPhoneNumberPrefix("35", 10)).isEmpty();
+		assertThat(workerDataRepository.completePhoneNumber("340", 1)).containsExactly(WORKER_PHONE_1);
+	}
+
 	/**
 	 * Test save method.
 	 */
@@ -305,6 +430,137 @@ public class WorkerH2RepositoryTest {
 		}
 	}
 
+	/**
+	 * Test save method when the phone number belongs to another worker.
+	 */
+	@Test
+	public void testSaveMethodWhenThePhoneNumberBelongsToAnotherWorker() {
+		// Setup
+		Worker worker1 = workerDataRepository.save(new Worker(WORKER_NAME_1, WORKER_PHONE_1, WORKER_CATEGORY_1));
+
+		try {
+			// Exercise
+			workerDataRepository.save(new Worker(WORKER_NAME_2, WORKER_PHONE_1, WORKER_CATEGORY_2));
+
+			// Verify
+			fail("Expected an exception to be thrown");
+
+		} catch (UniqueConstraintException e) {
+			// Verify
+			assertThat(e.getMessage()).isEqualTo("failed to create worker.");
+			assertThat(e.isViolationOf(WorkerRepository.UNIQUE_PHONE_NUMBER)).isTrue();
+		}
+		assertThat(workerDataRepository.findAll()).containsExactly(worker1);
+	}
+
+	/**
+	 * Test save method when version is stale.
+	 */
+	@Test
+	public void testSaveMethodWhenVersionIsStale() {
+		// Setup
+		Worker saved = workerDataRepository.save(new Worker(WORKER_NAME_1, WORKER_PHONE_1, WORKER_CATEGORY_1));
+		Worker first = workerDataRepository.findByIdWithoutOrders(saved.getWorkerId());
+		Worker second = workerDataRepository.findByIdWithoutOrders(saved.getWorkerId());
+		first.setWorkerName(WORKER_NAME_2);
+		workerDataRepository.save(first);
+		second.setWorkerCategory(WORKER_CATEGORY_2);
+
+		try {
+			// Exercise
+			workerDataRepository.save(second);
+
+			// Verify
+			fail("Expected an exception to be thrown");
+
+		} catch (VersionConflictException e) {
+			// Verify
+			assertThat(e.getMessage()).isEqualTo("failed to create worker.");
+		}
+		Worker stored = workerDataRepository.findByIdWithoutOrders(saved.getWorkerId());
+		assertThat(stored.getWorkerName()).isEqualTo(WORKER_NAME_2);
+		assertThat(stored.getWorkerCategory()).isEqualTo(WORKER_CATEGORY_1);
+	}
+
+	/**
+	 * Test save method without version of a stored worker throws a version
+	 * conflict.
+	 */
+	@Test
+	public void testSaveMethodWithoutVersionOfAStoredWorkerThrowsAVersionConflict() {
+		// Setup
+		Worker saved = workerDataRepository.save(new Worker(WORKER_NAME_1, WORKER_PHONE_1, WORKER_CATEGORY_1));
+
+		try {
+			// Exercise
+			workerDataRepository
+					.save(new Worker(saved.getWorkerId(), WORKER_NAME_2, WORKER_PHONE_1, WORKER_CATEGORY_1));
+
+			// Verify
+			fail("Expected an exception to be thrown");
+
+		} catch (VersionConflictException e) {
+			// Verify
+			assertThat(e.getMessage()).isEqualTo("failed to create worker.");
+		}
+		assertThat(workerDataRepository.findByIdWithoutOrders(saved.getWorkerId()).getWorkerName())
+				.isEqualTo(WORKER_NAME_1);
+	}
+
+	/**
+	 * Test save method keeps the version when orders are assigned.
+	 */
+	@Test
+	public void testSaveMethodKeepsTheVersionWhenOrdersAreAssigned() {
+		// Setup
+		Worker saved = workerDataRepository.save(new Worker(WORKER_NAME_1, WORKER_PHONE_1, WORKER_CATEGORY_1));
+
+		// Exercise
+		new OrderDatabaseRepository(entityManagerFactory).save(newOrder(saved, OrderStatus.PENDING));
+
+		// Verify
+		assertThat(workerDataRepository.findByIdWithoutOrders(saved.getWorkerId()).getVersion())
+				.isEqualTo(saved.getVersion());
+	}
+
+	/**
+	 * Test save all method.
+	 */
+	@Test
+	public void testSaveAllMethod() {
+		// Setup
+		Worker worker1 = new Worker(WORKER_NAME_1, WORKER_PHONE_1, WORKER_CATEGORY_1);
+		Worker worker2 = new Worker(WORKER_NAME_2, WORKER_PHONE_2, WORKER_CATEGORY_2);
+
+		// Exercise
+		BatchResult<Worker> result = workerDataRepository.saveAll(Arrays.asList(worker1, worker2));
+
+		// Verify
+		assertThat(result.hasFailures()).isFalse();
+		assertThat(result.getSaved()).extracting(Worker::getWorkerId).doesNotContainNull();
+		assertThat(workerDataRepository.findAll()).containsExactlyInAnyOrderElementsOf(result.getSaved());
+	}
+
+	/**
+	 * Test save all method when a row fails.
+	 */
+	@Test
+	public void testSaveAllMethodWhenARowFails() {
+		// Setup
+		Worker worker1 = new Worker(WORKER_NAME_1, WORKER_PHONE_1, WORKER_CATEGORY_1);
+		Worker duplicate = new Worker(WORKER_NAME_2, WORKER_PHONE_1, WORKER_CATEGORY_2);
+		Worker worker2 = new Worker(WORKER_NAME_2, WORKER_PHONE_2, WORKER_CATEGORY_2);
+
+		// Exercise
+		BatchResult<Worker> result = workerDataRepository.saveAll(Arrays.asList(worker1, duplicate, worker2));
+
+		// Verify
+		assertThat(result.getFailures()).containsOnlyKeys(1);
+		assertThat(result.getSaved()).hasSize(2);
+		assertThat(workerDataRepository.findAll()).extracting(Worker::getWorkerPhoneNumber)
+				.containsExactlyInAnyOrder(WORKER_PHONE_1, WORKER_PHONE_2);
+	}
+
 	/**
 	 * Test delete method.
 	 */
@@ -341,4 +597,56 @@ public class WorkerH2RepositoryTest {
 		}
 	}
 
+	/**
+	 * Test delete all by id method.
+	 */
+	@Test
+	public void testDeleteAllByIdMethod() {
+		// Setup
+		Worker worker1 = workerDataRepository.save(new Worker(WORKER_NAME_1, WORKER_PHONE_1, WORKER_CATEGORY_1));
+		Worker worker2 = workerDataRepository.save(new Worker(WORKER_NAME_2, WORKER_PHONE_2, WORKER_CATEGORY_2));
+
+		// Exercise
+		int deleted = workerDataRepository.deleteAllById(Arrays.asList(worker1.getWorkerId(), worker1.getWorkerId()));
+
+		// Verify
+		assertThat(deleted).isEqualTo(1);
+		assertThat(workerDataRepository.findAll()).containsExactly(worker2);
+	}
+
+	/**
+	 * Test delete all by id method when a worker still has orders.
+	 */
+	@Test
+	public void testDeleteAllByIdMethodWhenAWorkerStillHasOrders() {
+		// Setup
+		Worker worker1 = workerDataRepository.save(new Worker(WORKER_NAME_1, WORKER_PHONE_1, WORKER_CATEGORY_1));
+		Worker worker2 = workerDataRepository.save(new Worker(WORKER_NAME_2, WORKER_PHONE_2, WORKER_CATEGORY_2));
+		new OrderDatabaseRepository(entityManagerFactory).save(newOrder(worker2, OrderStatus.PENDING));
+
+		try {
+			// Exercise
+			workerDataRepository.deleteAllById(Arrays.asList(worker1.getWorkerId(), worker2.getWorkerId()));
+
+			// Verify
+			fail("Expected an exception to be thrown");
+
+		} catch (IllegalStateException e) {
+			// Verify
+			assertThat(e.getMessage()).isEqualTo("failed to delete workers.");
+			assertThat(workerDataRepository.findAll()).hasSize(2);
+		}
+	}
+
+	/**
+	 * Creates a new order for the given worker.
+	 *
+	 * @param worker the worker
+	 * @param status the order status
+	 * @return the customer order
+	 */
+	private CustomerOrder newOrder(Worker worker, OrderStatus status) {
+		return new CustomerOrder("Jhon", "1234 Main Street , Apt 101, Springfield, USA 12345", "3401372671",
+				"12-12-2024", "Please be on time", worker.getWorkerCategory(), status, worker);
+	}
 }
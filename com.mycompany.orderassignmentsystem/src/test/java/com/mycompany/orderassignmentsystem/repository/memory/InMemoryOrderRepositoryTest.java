@@ -0,0 +1,574 @@
+/*
+ * Unit tests for the InMemoryOrderRepository class.
+ *
+ * These tests verify that the in-memory repository assigns ids and versions,
+ * applies the rules of the database schema, answers every search from its
+ * indexes after inserts, updates and deletes, and writes through to the
+ * database first when it has one, without holding its lock during the database
+ * write. The database is a Mockito mock.
+ *
+ * Methods tested include:
+ * - save()
+ * - delete()
+ * - deleteAllById()
+ * - saveAll()
+ * - findById() / findAll() / findPage()
+ * - findByCustomerName() / findByCustomerNameSimilarTo()
+ * - findByCustomerPhoneNumber() / findByCustomerPhoneNumberPrefix()
+ * - completeCustomerPhoneNumber() / findByDate()
+ * - findByOrderCategory() / findByOrderStatus() / findByDateRange() / forEachOrder(filter)
+ * - findSummaries()
+ * - existsPendingOrderForWorker()
+ * - countByStatusAndCategory() / countByWorker() / countByDate()
+ * - archiveTerminalOrders() / findAll(includeArchived) / findByCustomerName(includeArchived)
+ *
+ * Each test follows a structured approach with three main phases:
+ * 1. Setup: Created environment for the test.
+ * 2. Mocks: Configuring the mock objects (Added separate comment just for better readability).
+ * 3. Exercise: Calling an instance method.
+ * 4. Verify: Verify that the outcome matches the expected behaviour.
+ *
+ * @see InMemoryOrderRepository
+ * @see OrderRepository
+ */
+
+package com.mycompany.orderassignmentsystem.repository.memory;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderSearchOptions;
+import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.OrderSummary;
+import com.mycompany.orderassignmentsystem.model.Worker;
+import com.mycompany.orderassignmentsystem.repository.BatchResult;
+import com.mycompany.orderassignmentsystem.repository.EntityCopies;
+import com.mycompany.orderassignmentsystem.repository.OrderFilter;
+import com.mycompany.orderassignmentsystem.repository.OrderRepository;
+import com.mycompany.orderassignmentsystem.repository.UniqueConstraintException;
+import com.mycompany.orderassignmentsystem.repository.VersionConflictException;
+
+/**
+ * The Class InMemoryOrderRepositoryTest.
+ */
+public class InMemoryOrderRepositoryTest {
+
+	/** The Constant WORKER. */
+	private static final Worker WORKER = new Worker(1l, "Bob", "3401372678", OrderCategory.PLUMBER);
+
+	/** The Constant OTHER_WORKER. */
+	private static final Worker OTHER_WORKER = new Worker(2l, "Alic", "3401372679", OrderCategory.ELECTRICIAN);
+
+	/** The database. */
+	@Mock
+	private OrderRepository database;
+
+	/** The repository. */
+	private InMemoryOrderRepository repository;
+
+	/** The closeable. */
+	private AutoCloseable closeable;
+
+	/**
+	 * Setup.
+	 */
+	@Before
+	public void setup() {
+		closeable = MockitoAnnotations.openMocks(this);
+		repository = new InMemoryOrderRepository();
+	}
+
+	/**
+	 * Release mocks.
+	 *
+	 * @throws Exception the exception
+	 */
+	@After
+	public void releaseMocks() throws Exception {
+		closeable.close();
+	}
+
+	/**
+	 * Test save assigns ids and versions.
+	 */
+	@Test
+	public void testSaveAssignsIdsAndVersions() {
+		// Setup & Exercise
+		CustomerOrder first = repository.save(order(null, "Ibtihaj", "12-01-2024", OrderStatus.PENDING, WORKER));
+		CustomerOrder second = repository.save(order(null, "Naeem", "13-01-2024", OrderStatus.PENDING, OTHER_WORKER));
+		first.setOrderStatus(OrderStatus.COMPLETED);
+		CustomerOrder updated = repository.save(first);
+
+		// Verify
+		assertThat(first.getOrderId()).isEqualTo(1l);
+		assertThat(second.getOrderId()).isEqualTo(2l);
+		assertThat(updated.getVersion()).isEqualTo(1l);
+		assertThat(repository.findById(1l).getOrderStatus()).isEqualTo(OrderStatus.COMPLETED);
+	}
+
+	/**
+	 * Test save when the version is stale.
+	 */
+	@Test
+	public void testSaveWhenTheVersionIsStale() {
+		// Setup
+		CustomerOrder saved = repository.save(order(null, "Ibtihaj", "12-01-2024", OrderStatus.PENDING, WORKER));
+		repository.save(saved);
+
+		// Exercise & Verify
+		assertThatThrownBy(() -> repository.save(saved)).isInstanceOf(VersionConflictException.class)
+				.hasMessage("failed to create order.");
+	}
+
+	/**
+	 * Test save when the version of a stored order is missing.
+	 */
+	@Test
+	public void testSaveWhenTheVersionOfAStoredOrderIsMissing() {
+		// Setup
+		CustomerOrder saved = repository.save(order(null, "Ibtihaj", "12-01-2024", OrderStatus.PENDING, WORKER));
+		saved.setVersion(null);
+
+		// Exercise & Verify
+		assertThatThrownBy(() -> repository.save(saved)).isInstanceOf(VersionConflictException.class)
+				.hasMessage("failed to create order.");
+	}
+
+	/**
+	 * Test save when the worker already has a pending order.
+	 */
+	@Test
+	public void testSaveWhenTheWorkerAlreadyHasAPendingOrder() {
+		// Setup
+		CustomerOrder pending = repository.save(order(null, "Ibtihaj", "12-01-2024", OrderStatus.PENDING, WORKER));
+
+		// Exercise & Verify
+		assertThatThrownBy(() -> repository.save(order(null, "Naeem", "13-01-2024", OrderStatus.PENDING, WORKER)))
+				.isInstanceOfSatisfying(UniqueConstraintException.class, e -> assertThat(
+						e.isViolationOf(OrderRepository.ONE_PENDING_ORDER_PER_WORKER)).isTrue());
+		assertThat(repository.save(pending).getVersion()).isEqualTo(1l);
+		assertThat(repository.existsPendingOrderForWorker(1l)).isTrue();
+		assertThat(repository.existsPendingOrderForWorker(2l)).isFalse();
+	}
+
+	/**
+	 * Test the searches follow updates.
+	 */
+	@Test
+	public void testTheSearchesFollowUpdates() {
+		// Setup
+		CustomerOrder order = repository.save(order(null, "Ibtihaj", "12-01-2024", OrderStatus.PENDING, WORKER));
+		order.setCustomerName("Naeem");
+		order.setAppointmentDate("14-01-2024");
+		order.setOrderStatus(OrderStatus.CANCELLED);
+		order.setOrderCategory(OrderCategory.ELECTRICIAN);
+		order.setWorker(OTHER_WORKER);
+
+		// Exercise
+		repository.save(order);
+
+		// Verify
+		assertThat(repository.findByCustomerName("Ibtihaj")).isEmpty();
+		assertThat(repository.findByCustomerName("Naeem")).containsExactly(order);
+		assertThat(repository.findByCustomerNameSimilarTo("Ibtihaj", 20)).isEmpty();
+		assertThat(repository.findByCustomerNameSimilarTo("Naem", 20)).containsExactly(order);
+		assertThat(repository.findByDate("12-01-2024")).isEmpty();
+		assertThat(repository.findByDate("14-01-2024")).containsExactly(order);
+		assertThat(repository.findByOrderStatus(OrderStatus.PENDING)).isEmpty();
+		assertThat(repository.findByOrderStatus(OrderStatus.CANCELLED)).containsExactly(order);
+		assertThat(repository.findByOrderCategory(OrderCategory.ELECTRICIAN)).containsExactly(order);
+		assertThat(repository.findByCustomerPhoneNumber("3401372678")).containsExactly(order);
+		assertThat(repository.findByCustomerPhoneNumberPrefix("34013", 10)).containsExactly(order);
+		assertThat(repository.completeCustomerPhoneNumber("34013", 10)).containsExactly("3401372678");
+		assertThat(repository.findSummaries(OrderSearchOptions.WORKER_ID, 2l)).containsExactly(new OrderSummary(1l,
+				"Naeem", "14-01-2024", OrderStatus.CANCELLED, OrderCategory.ELECTRICIAN, 2l));
+		assertThat(repository.findSummaries(OrderSearchOptions.WORKER_ID, 1l)).isEmpty();
+	}
+
+	/**
+	 * Test find summaries by every option.
+	 */
+	@Test
+	public void testFindSummariesByEveryOption() {
+		// Setup
+		repository.save(order(null, "Ibtihaj", "12-01-2024", OrderStatus.PENDING, WORKER));
+		OrderSummary summary = new OrderSummary(1l, "Ibtihaj", "12-01-2024", OrderStatus.PENDING,
+				OrderCategory.PLUMBER, 1l);
+
+		// Exercise & Verify
+		assertThat(repository.findSummaries(OrderSearchOptions.ORDER_ID, 1l)).containsExactly(summary);
+		assertThat(repository.findSummaries(OrderSearchOptions.CUSTOMER_NAME, "Ibtihaj")).containsExactly(summary);
+		assertThat(repository.findSummaries(OrderSearchOptions.CUSTOMER_PHONE, "3401372678")).containsExactly(summary);
+		assertThat(repository.findSummaries(OrderSearchOptions.DATE, "12-01-2024")).containsExactly(summary);
+		assertThat(repository.findSummaries(OrderSearchOptions.CATEGORY, OrderCategory.PLUMBER))
+				.containsExactly(summary);
+		assertThat(repository.findSummaries(OrderSearchOptions.STATUS, OrderStatus.PENDING)).containsExactly(summary);
+		assertThat(repository.findSummaries(OrderSearchOptions.ORDER_ID, 2l)).isEmpty();
+		assertThat(repository.findAllSummaries()).containsExactly(summary);
+		assertThatThrownBy(() -> repository.findSummaries(OrderSearchOptions.NONE, null))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage("This operation is not allowed");
+	}
+
+	/**
+	 * Test find by date range pages by date and id.
+	 */
+	@Test
+	public void testFindByDateRangePagesByDateAndId() {
+		// Setup
+		repository.save(order(null, "A", "13-01-2024", OrderStatus.COMPLETED, WORKER));
+		repository.save(order(null, "B", "12-01-2024", OrderStatus.COMPLETED, WORKER));
+		repository.save(order(null, "C", "13-01-2024", OrderStatus.COMPLETED, WORKER));
+		repository.save(order(null, "D", "20-01-2024", OrderStatus.COMPLETED, WORKER));
+		LocalDate from = LocalDate.of(2024, 1, 12);
+		LocalDate to = LocalDate.of(2024, 1, 13);
+
+		// Exercise
+		List<CustomerOrder> first = repository.findByDateRange(from, to, null, 2);
+		List<CustomerOrder> second = repository.findByDateRange(from, to, first.get(1), 2);
+
+		// Verify
+		assertThat(first).extracting(CustomerOrder::getOrderId).containsExactly(2l, 1l);
+		assertThat(second).extracting(CustomerOrder::getOrderId).containsExactly(3l);
+		assertThat(repository.countByDate(from, to)).containsExactly(entry(from, 1l), entry(to, 2l));
+	}
+
+	/**
+	 * Test for each order with a filter uses every criterion.
+	 */
+	@Test
+	public void testForEachOrderWithAFilterUsesEveryCriterion() {
+		// Setup
+		repository.save(order(null, "A", "12-01-2024", OrderStatus.COMPLETED, WORKER));
+		repository.save(order(null, "B", "13-01-2024", OrderStatus.COMPLETED, OTHER_WORKER));
+		repository.save(order(null, "C", "13-01-2024", OrderStatus.PENDING, WORKER));
+		repository.save(order(null, "D", "20-01-2024", OrderStatus.COMPLETED, WORKER));
+		List<CustomerOrder> completedPlumbing = new ArrayList<>();
+		List<CustomerOrder> fromThe13th = new ArrayList<>();
+		List<CustomerOrder> all = new ArrayList<>();
+		List<CustomerOrder> cancelled = new ArrayList<>();
+
+		// Exercise
+		repository.forEachOrder(new OrderFilter(OrderStatus.COMPLETED, OrderCategory.PLUMBER,
+				LocalDate.of(2024, 1, 12), LocalDate.of(2024, 1, 13)), completedPlumbing::add);
+		repository.forEachOrder(new OrderFilter(null, null, LocalDate.of(2024, 1, 13), null), fromThe13th::add);
+		repository.forEachOrder(OrderFilter.ALL, all::add);
+		repository.forEachOrder(new OrderFilter(OrderStatus.CANCELLED, null, null, null), cancelled::add);
+
+		// Verify
+		assertThat(completedPlumbing).extracting(CustomerOrder::getCustomerName).containsExactly("A");
+		assertThat(fromThe13th).extracting(CustomerOrder::getCustomerName).containsExactly("B", "C", "D");
+		assertThat(all).hasSize(4);
+		assertThat(cancelled).isEmpty();
+	}
+
+	/**
+	 * Test find page and the counts.
+	 */
+	@Test
+	public void testFindPageAndTheCounts() {
+		// Setup
+		repository.save(order(null, "A", "12-01-2024", OrderStatus.PENDING, WORKER));
+		repository.save(order(null, "B", "12-01-2024", OrderStatus.COMPLETED, WORKER));
+		repository.save(order(null, "C", "12-01-2024", OrderStatus.PENDING, OTHER_WORKER));
+
+		// Exercise & Verify
+		assertThat(repository.findPage(1l, 5)).extracting(CustomerOrder::getOrderId).containsExactly(2l, 3l);
+		assertThat(repository.countByWorker()).containsExactly(entry(1l, 2l), entry(2l, 1l));
+		assertThat(repository.countByStatusAndCategory().get(OrderStatus.PENDING))
+				.containsEntry(OrderCategory.PLUMBER, 1l).containsEntry(OrderCategory.CARPAINTER, 0l);
+	}
+
+	/**
+	 * Test delete frees the order.
+	 */
+	@Test
+	public void testDeleteFreesTheOrder() {
+		// Setup
+		CustomerOrder first = repository.save(order(null, "A", "12-01-2024", OrderStatus.PENDING, WORKER));
+		repository.save(order(null, "B", "12-01-2024", OrderStatus.COMPLETED, WORKER));
+		repository.save(order(null, "C", "12-01-2024", OrderStatus.COMPLETED, WORKER));
+
+		// Exercise
+		repository.delete(first);
+		int deleted = repository.deleteAllById(asList(2l, 2l, 9l));
+
+		// Verify
+		assertThat(deleted).isEqualTo(1);
+		assertThat(repository.findAll()).extracting(CustomerOrder::getOrderId).containsExactly(3l);
+		assertThat(repository.existsPendingOrderForWorker(1l)).isFalse();
+		assertThat(repository.findByDate("12-01-2024")).extracting(CustomerOrder::getOrderId).containsExactly(3l);
+		assertThatThrownBy(() -> repository.delete(first)).isInstanceOf(VersionConflictException.class)
+				.hasMessage("failed to delete order.");
+	}
+
+	/**
+	 * Test save all reports the failed rows.
+	 */
+	@Test
+	public void testSaveAllReportsTheFailedRows() {
+		// Exercise
+		BatchResult<CustomerOrder> result = repository
+				.saveAll(asList(order(null, "A", "12-01-2024", OrderStatus.PENDING, WORKER),
+						order(null, "B", "12-01-2024", OrderStatus.PENDING, WORKER)));
+
+		// Verify
+		assertThat(result.getSaved()).extracting(CustomerOrder::getOrderId).containsExactly(1l);
+		assertThat(result.getFailures()).containsExactly(entry(1, "failed to create order."));
+	}
+
+	/**
+	 * Test returned orders are copies.
+	 */
+	@Test
+	public void testReturnedOrdersAreCopies() {
+		// Setup
+		repository.save(order(null, "Ibtihaj", "12-01-2024", OrderStatus.PENDING, WORKER));
+
+		// Exercise
+		repository.findById(1l).setCustomerName("Changed");
+		repository.findByOrderStatus(OrderStatus.PENDING).get(0).getWorker().setWorkerName("Changed");
+
+		// Verify
+		CustomerOrder held = repository.findById(1l);
+		assertThat(held.getCustomerName()).isEqualTo("Ibtihaj");
+		assertThat(held.getWorker().getWorkerName()).isEqualTo("Bob");
+	}
+
+	/**
+	 * Test the orders of the database are loaded.
+	 */
+	@Test
+	public void testTheOrdersOfTheDatabaseAreLoaded() {
+		// Mocks
+		CustomerOrder stored = order(7l, "Ibtihaj", "12-01-2024", OrderStatus.PENDING, WORKER);
+		stored.setVersion(3l);
+		doAnswer(invocation -> {
+			invocation.<Consumer<CustomerOrder>>getArgument(0).accept(stored);
+			return null;
+		}).when(database).forEachOrder(any());
+
+		// Exercise
+		repository = new InMemoryOrderRepository(database);
+
+		// Verify
+		assertThat(repository.findById(7l).getVersion()).isEqualTo(3l);
+		assertThat(repository.findByCustomerName("Ibtihaj")).containsExactly(stored);
+	}
+
+	/**
+	 * Test writes go to the database first.
+	 */
+	@Test
+	public void testWritesGoToTheDatabaseFirst() {
+		// Setup
+		repository = new InMemoryOrderRepository(database);
+		CustomerOrder order = order(null, "Ibtihaj", "12-01-2024", OrderStatus.PENDING, WORKER);
+		CustomerOrder saved = order(5l, "Ibtihaj", "12-01-2024", OrderStatus.PENDING, WORKER);
+		CustomerOrder rejected = order(9l, "Naeem", "13-01-2024", OrderStatus.PENDING, OTHER_WORKER);
+
+		// Mocks
+		when(database.save(order)).thenReturn(saved);
+		when(database.save(rejected)).thenThrow(new IllegalStateException("failed to create order."));
+		when(database.deleteAllById(Collections.singletonList(5l))).thenReturn(1);
+
+		// Exercise & Verify
+		assertThat(repository.save(order)).isSameAs(saved);
+		assertThat(repository.findByCustomerName("Ibtihaj")).containsExactly(saved);
+		assertThatThrownBy(() -> repository.save(rejected)).isInstanceOf(IllegalStateException.class);
+		assertThat(repository.findByCustomerName("Naeem")).isEmpty();
+		assertThat(repository.deleteAllById(Collections.singletonList(5l))).isEqualTo(1);
+		assertThat(repository.findAll()).isEmpty();
+		verify(database).deleteAllById(Collections.singletonList(5l));
+	}
+
+	/**
+	 * Test the database write runs outside the lock. The database holds the save
+	 * until the repository has been read and written meanwhile, which only
+	 * succeeds when the lock is not held during the save.
+	 */
+	@Test
+	public void testTheDatabaseWriteRunsOutsideTheLock() {
+		// Setup
+		repository = new InMemoryOrderRepository(database);
+		CustomerOrder slow = order(null, "Ibtihaj", "12-01-2024", OrderStatus.PENDING, WORKER);
+		CustomerOrder fast = order(null, "Naeem", "13-01-2024", OrderStatus.PENDING, OTHER_WORKER);
+		CountDownLatch inDatabase = new CountDownLatch(1);
+		CountDownLatch usedMeanwhile = new CountDownLatch(1);
+		AtomicBoolean notBlocked = new AtomicBoolean();
+
+		// Mocks
+		doAnswer(invocation -> {
+			inDatabase.countDown();
+			notBlocked.set(usedMeanwhile.await(5, TimeUnit.SECONDS));
+			return order(5l, "Ibtihaj", "12-01-2024", OrderStatus.PENDING, WORKER);
+		}).when(database).save(same(slow));
+		when(database.save(same(fast))).thenReturn(order(6l, "Naeem", "13-01-2024", OrderStatus.PENDING, OTHER_WORKER));
+
+		// Exercise
+		Thread writer = new Thread(() -> repository.save(slow));
+		writer.start();
+		await().atMost(5, TimeUnit.SECONDS).until(() -> inDatabase.getCount() == 0);
+		repository.save(fast);
+		List<CustomerOrder> meanwhile = repository.findAll();
+		usedMeanwhile.countDown();
+		await().atMost(10, TimeUnit.SECONDS).until(() -> !writer.isAlive());
+
+		// Verify
+		assertThat(notBlocked.get()).isTrue();
+		assertThat(meanwhile).extracting(CustomerOrder::getOrderId).containsExactly(6l);
+		assertThat(repository.findAll()).extracting(CustomerOrder::getOrderId).containsExactly(5l, 6l);
+	}
+
+	/**
+	 * Test a database write applied late does not undo later writes of the same
+	 * orders: an older version does not replace a newer one, and a deleted order
+	 * does not come back.
+	 */
+	@Test
+	public void testADatabaseWriteAppliedLateDoesNotUndoLaterWrites() {
+		// Setup
+		CustomerOrder first = order(5l, "Ibtihaj", "12-01-2024", OrderStatus.PENDING, WORKER);
+		CustomerOrder second = order(6l, "Naeem", "13-01-2024", OrderStatus.PENDING, OTHER_WORKER);
+		CustomerOrder firstUpdate = order(5l, "Ibtihaj Naeem", "12-01-2024", OrderStatus.PENDING, WORKER);
+		CountDownLatch inDatabase = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		// Mocks
+		doAnswer(invocation -> {
+			invocation.<Consumer<CustomerOrder>>getArgument(0).accept(first);
+			invocation.<Consumer<CustomerOrder>>getArgument(0).accept(second);
+			return null;
+		}).when(database).forEachOrder(any());
+		doAnswer(invocation -> {
+			inDatabase.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			return new BatchResult<>(asList(versioned(first, 1l), versioned(second, 1l)), Collections.emptyMap());
+		}).when(database).saveAll(any());
+		when(database.save(same(firstUpdate))).thenReturn(versioned(firstUpdate, 2l));
+
+		// Exercise
+		repository = new InMemoryOrderRepository(database);
+		Thread writer = new Thread(() -> repository.saveAll(asList(first, second)));
+		writer.start();
+		await().atMost(5, TimeUnit.SECONDS).until(() -> inDatabase.getCount() == 0);
+		repository.save(firstUpdate);
+		repository.delete(second);
+		release.countDown();
+		await().atMost(10, TimeUnit.SECONDS).until(() -> !writer.isAlive());
+
+		// Verify
+		assertThat(repository.findById(5l).getVersion()).isEqualTo(2l);
+		assertThat(repository.findById(5l).getCustomerName()).isEqualTo("Ibtihaj Naeem");
+		assertThat(repository.findById(6l)).isNull();
+	}
+
+	/**
+	 * Test archive terminal orders keeps them out of the default searches.
+	 */
+	@Test
+	public void testArchiveTerminalOrdersKeepsThemOutOfTheDefaultSearches() {
+		// Setup
+		CustomerOrder oldCompleted = repository
+				.save(order(null, "Ibtihaj", "10-01-2024", OrderStatus.COMPLETED, WORKER));
+		CustomerOrder oldPending = repository.save(order(null, "Ibtihaj", "10-01-2024", OrderStatus.PENDING, WORKER));
+		CustomerOrder recentCancelled = repository
+				.save(order(null, "Naeem", "20-01-2024", OrderStatus.CANCELLED, OTHER_WORKER));
+		CustomerOrder oldCancelled = repository
+				.save(order(null, "Naeem", "11-01-2024", OrderStatus.CANCELLED, OTHER_WORKER));
+
+		// Exercise
+		int archived = repository.archiveTerminalOrders(LocalDate.of(2024, 1, 15));
+
+		// Verify
+		assertThat(archived).isEqualTo(2);
+		assertThat(repository.findAll()).containsExactly(oldPending, recentCancelled);
+		assertThat(repository.findByOrderStatus(OrderStatus.CANCELLED)).containsExactly(recentCancelled);
+		assertThat(repository.findById(oldCompleted.getOrderId())).isNull();
+		assertThat(repository.countByWorker()).containsExactly(entry(1l, 1l), entry(2l, 1l));
+		assertThat(repository.findAll(true)).containsExactly(oldPending, recentCancelled, oldCompleted, oldCancelled);
+		assertThat(repository.findByCustomerName("Naeem", true)).containsExactly(recentCancelled, oldCancelled);
+		assertThat(repository.findByCustomerName("Naeem", false)).containsExactly(recentCancelled);
+	}
+
+	/**
+	 * Test archived orders are read from the database.
+	 */
+	@Test
+	public void testArchivedOrdersAreReadFromTheDatabase() {
+		// Setup
+		CustomerOrder completed = order(3l, "Ibtihaj", "10-01-2024", OrderStatus.COMPLETED, WORKER);
+		CustomerOrder pending = order(4l, "Ibtihaj", "10-01-2024", OrderStatus.PENDING, WORKER);
+		CustomerOrder archivedBefore = order(1l, "Ibtihaj", "01-01-2023", OrderStatus.COMPLETED, WORKER);
+
+		// Mocks
+		doAnswer(invocation -> {
+			invocation.<Consumer<CustomerOrder>>getArgument(0).accept(completed);
+			invocation.<Consumer<CustomerOrder>>getArgument(0).accept(pending);
+			return null;
+		}).when(database).forEachOrder(any());
+		when(database.archiveTerminalOrders(LocalDate.of(2024, 1, 15))).thenReturn(2);
+		when(database.findByCustomerName("Ibtihaj", true)).thenReturn(asList(pending, archivedBefore, completed));
+
+		// Exercise
+		repository = new InMemoryOrderRepository(database);
+		int archived = repository.archiveTerminalOrders(LocalDate.of(2024, 1, 15));
+
+		// Verify
+		assertThat(archived).isEqualTo(2);
+		assertThat(repository.findByCustomerName("Ibtihaj")).containsExactly(pending);
+		assertThat(repository.findByCustomerName("Ibtihaj", true)).containsExactly(pending, archivedBefore, completed);
+	}
+
+	/**
+	 * Copies an order with the given version.
+	 *
+	 * @param order   the order
+	 * @param version the version
+	 * @return the copy
+	 */
+	private static CustomerOrder versioned(CustomerOrder order, long version) {
+		CustomerOrder copy = EntityCopies.copy(order);
+		copy.setVersion(version);
+		return copy;
+	}
+
+	/**
+	 * Creates an order of the worker's category.
+	 *
+	 * @param orderId the order id
+	 * @param name    the customer name
+	 * @param date    the appointment date
+	 * @param status  the status
+	 * @param worker  the worker
+	 * @return the order
+	 */
+	private static CustomerOrder order(Long orderId, String name, String date, OrderStatus status, Worker worker) {
+		return new CustomerOrder(orderId, name, "Piazza Luigi Dallapiccola", "3401372678", date, "Description",
+				worker.getWorkerCategory(), status, worker);
+	}
+}
@@ -0,0 +1,246 @@
+/*
+ * Unit tests for the InMemoryWorkerRepository class.
+ *
+ * These tests verify that the in-memory repository assigns ids and versions,
+ * keeps the phone number unique, answers the searches from its indexes, takes
+ * the orders of a worker from the order repository and refuses to delete
+ * workers that still have orders. The database is a Mockito mock.
+ *
+ * Methods tested include:
+ * - save()
+ * - delete()
+ * - deleteAllById()
+ * - saveAll()
+ * - findById() / findByIdWithoutOrders() / findAll()
+ * - findByName() / findByNameSimilarTo() / findByOrderCategory()
+ * - findByPhoneNumber() / findByPhoneNumberPrefix() / completePhoneNumber()
+ *
+ * Each test follows a structured approach with three main phases:
+ * 1. Setup: Created environment for the test.
+ * 2. Mocks: Configuring the mock objects (Added separate comment just for better readability).
+ * 3. Exercise: Calling an instance method.
+ * 4. Verify: Verify that the outcome matches the expected behaviour.
+ *
+ * @see InMemoryWorkerRepository
+ * @see WorkerRepository
+ */
+
+package com.mycompany.orderassignmentsystem.repository.memory;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.Worker;
+import com.mycompany.orderassignmentsystem.repository.BatchResult;
+import com.mycompany.orderassignmentsystem.repository.UniqueConstraintException;
+import com.mycompany.orderassignmentsystem.repository.VersionConflictException;
+import com.mycompany.orderassignmentsystem.repository.WorkerRepository;
+
+/**
+ * The Class InMemoryWorkerRepositoryTest.
+ */
+public class InMemoryWorkerRepositoryTest {
+
+	/** The database. */
+	@Mock
+	private WorkerRepository database;
+
+	/** The orders. */
+	private InMemoryOrderRepository orders;
+
+	/** The repository. */
+	private InMemoryWorkerRepository repository;
+
+	/** The closeable. */
+	private AutoCloseable closeable;
+
+	/**
+	 * Setup.
+	 */
+	@Before
+	public void setup() {
+		closeable = MockitoAnnotations.openMocks(this);
+		orders = new InMemoryOrderRepository();
+		repository = new InMemoryWorkerRepository(orders);
+	}
+
+	/**
+	 * Release mocks.
+	 *
+	 * @throws Exception the exception
+	 */
+	@After
+	public void releaseMocks() throws Exception {
+		closeable.close();
+	}
+
+	/**
+	 * Test save and the searches.
+	 */
+	@Test
+	public void testSaveAndTheSearches() {
+		// Setup
+		Worker bob = repository.save(new Worker("Bob", "3401372678", OrderCategory.PLUMBER));
+		Worker alic = repository.save(new Worker("Alic", "3401372679", OrderCategory.PLUMBER));
+		bob.setWorkerPhoneNumber("3401372670");
+
+		// Exercise
+		Worker updated = repository.save(bob);
+
+		// Verify
+		assertThat(updated.getVersion()).isEqualTo(1l);
+		assertThat(repository.findAll()).containsExactly(bob, alic);
+		assertThat(repository.findByName("Alic")).containsExactly(alic);
+		assertThat(repository.findByNameSimilarTo("ali", 20)).containsExactly(alic);
+		assertThat(repository.findByOrderCategory(OrderCategory.PLUMBER)).containsExactly(bob, alic);
+		assertThat(repository.findByPhoneNumber("3401372678")).isNull();
+		assertThat(repository.findByPhoneNumber("3401372670").getWorkerId()).isEqualTo(1l);
+		assertThat(repository.findByPhoneNumberPrefix("340137267", 10)).containsExactly(bob, alic);
+		assertThat(repository.completePhoneNumber("3401372678", 10)).isEmpty();
+	}
+
+	/**
+	 * Test save when the phone number belongs to another worker.
+	 */
+	@Test
+	public void testSaveWhenThePhoneNumberBelongsToAnotherWorker() {
+		// Setup
+		repository.save(new Worker("Bob", "3401372678", OrderCategory.PLUMBER));
+
+		// Exercise & Verify
+		assertThatThrownBy(() -> repository.save(new Worker("Alic", "3401372678", OrderCategory.PLUMBER)))
+				.isInstanceOfSatisfying(UniqueConstraintException.class,
+						e -> assertThat(e.isViolationOf(WorkerRepository.UNIQUE_PHONE_NUMBER)).isTrue());
+	}
+
+	/**
+	 * Test save when the version is stale.
+	 */
+	@Test
+	public void testSaveWhenTheVersionIsStale() {
+		// Setup
+		Worker saved = repository.save(new Worker("Bob", "3401372678", OrderCategory.PLUMBER));
+		repository.save(saved);
+
+		// Exercise & Verify
+		assertThatThrownBy(() -> repository.save(saved)).isInstanceOf(VersionConflictException.class)
+				.hasMessage("failed to create worker.");
+	}
+
+	/**
+	 * Test save when the version of a stored worker is missing.
+	 */
+	@Test
+	public void testSaveWhenTheVersionOfAStoredWorkerIsMissing() {
+		// Setup
+		Worker saved = repository.save(new Worker("Bob", "3401372678", OrderCategory.PLUMBER));
+		saved.setVersion(null);
+
+		// Exercise & Verify
+		assertThatThrownBy(() -> repository.save(saved)).isInstanceOf(VersionConflictException.class)
+				.hasMessage("failed to create worker.");
+	}
+
+	/**
+	 * Test find by id returns the orders with the current worker.
+	 */
+	@Test
+	public void testFindByIdReturnsTheOrdersWithTheCurrentWorker() {
+		// Setup
+		Worker bob = repository.save(new Worker("Bob", "3401372678", OrderCategory.PLUMBER));
+		orders.save(new CustomerOrder(null, "Ibtihaj", "Piazza Luigi Dallapiccola", "3401372678", "12-01-2024",
+				"Description", OrderCategory.PLUMBER, OrderStatus.PENDING, bob));
+		bob.setWorkerName("Robert");
+
+		// Exercise
+		repository.save(bob);
+
+		// Verify
+		Worker found = repository.findById(1l);
+		assertThat(found.getOrders()).extracting(CustomerOrder::getOrderId).containsExactly(1l);
+		assertThat(orders.findById(1l).getWorker().getWorkerName()).isEqualTo("Robert");
+		assertThat(repository.findByIdWithoutOrders(1l).getOrders()).isEmpty();
+	}
+
+	/**
+	 * Test delete when the worker has orders.
+	 */
+	@Test
+	public void testDeleteWhenTheWorkerHasOrders() {
+		// Setup
+		Worker bob = repository.save(new Worker("Bob", "3401372678", OrderCategory.PLUMBER));
+		Worker alic = repository.save(new Worker("Alic", "3401372679", OrderCategory.PLUMBER));
+		orders.save(new CustomerOrder(null, "Ibtihaj", "Piazza Luigi Dallapiccola", "3401372678", "12-01-2024",
+				"Description", OrderCategory.PLUMBER, OrderStatus.PENDING, bob));
+
+		// Exercise & Verify
+		assertThatThrownBy(() -> repository.delete(bob)).isInstanceOf(IllegalStateException.class)
+				.hasMessage("failed to delete worker.");
+		assertThatThrownBy(() -> repository.deleteAllById(asList(1l, 2l))).isInstanceOf(IllegalStateException.class)
+				.hasMessage("failed to delete workers.");
+		assertThat(repository.findAll()).containsExactly(bob, alic);
+		assertThat(repository.deleteAllById(asList(2l, 3l))).isEqualTo(1);
+		assertThat(repository.findByPhoneNumber("3401372679")).isNull();
+	}
+
+	/**
+	 * Test delete when the worker does not exist.
+	 */
+	@Test
+	public void testDeleteWhenTheWorkerDoesNotExist() {
+		// Exercise & Verify
+		assertThatThrownBy(() -> repository.delete(new Worker(1l, "Bob", "3401372678", OrderCategory.PLUMBER)))
+				.isInstanceOf(VersionConflictException.class).hasMessage("failed to delete worker.");
+	}
+
+	/**
+	 * Test save all reports the failed rows.
+	 */
+	@Test
+	public void testSaveAllReportsTheFailedRows() {
+		// Exercise
+		BatchResult<Worker> result = repository.saveAll(asList(new Worker("Bob", "3401372678", OrderCategory.PLUMBER),
+				new Worker("Alic", "3401372678", OrderCategory.PLUMBER)));
+
+		// Verify
+		assertThat(result.getSaved()).extracting(Worker::getWorkerId).containsExactly(1l);
+		assertThat(result.getFailures()).containsExactly(entry(1, "failed to create worker."));
+	}
+
+	/**
+	 * Test writes go to the database first.
+	 */
+	@Test
+	public void testWritesGoToTheDatabaseFirst() {
+		// Setup
+		Worker stored = new Worker(4l, "Bob", "3401372678", OrderCategory.PLUMBER);
+		Worker worker = new Worker("Alic", "3401372679", OrderCategory.PLUMBER);
+		Worker saved = new Worker(5l, "Alic", "3401372679", OrderCategory.PLUMBER);
+
+		// Mocks
+		when(database.findAll()).thenReturn(asList(stored));
+		when(database.save(worker)).thenReturn(saved);
+
+		// Exercise
+		repository = new InMemoryWorkerRepository(orders, database);
+		repository.save(worker);
+		repository.delete(stored);
+
+		// Verify
+		verify(database).delete(stored);
+		assertThat(repository.findAll()).containsExactly(saved);
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Unit tests for the LongIntHashMap class.
+ *
+ * These tests verify the mappings survive growth of the table and removals
+ * in the middle of a probe sequence.
+ *
+ * Methods tested include:
+ * - put()
+ * - get()
+ * - remove()
+ * - size() / clear()
+ *
+ * Each test follows a structured approach with three main phases:
+ * 1. Setup: Created environment for the test.
+ * 3. Exercise: Calling an instance method.
+ * 4. Verify: Verify that the outcome matches the expected behaviour.
+ *
+ * @see LongIntHashMap
+ */
+
+package com.mycompany.orderassignmentsystem.repository.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+
+/**
+ * The Class LongIntHashMapTest.
+ */
+public class LongIntHashMapTest {
+
+	/**
+	 * Test put and get across growth.
+	 */
+	@Test
+	public void testPutAndGetAcrossGrowth() {
+		// Setup
+		LongIntHashMap map = new LongIntHashMap();
+
+		// Exercise
+		for (int i = 0; i < 1000; i++) {
+			map.put(i * 1024l, i);
+		}
+		map.put(0l, 7);
+
+		// Verify
+		assertThat(map.size()).isEqualTo(1000);
+		assertThat(map.get(0l)).isEqualTo(7);
+		assertThat(map.get(999 * 1024l)).isEqualTo(999);
+		assertThat(map.get(1l)).isEqualTo(LongIntHashMap.MISSING);
+	}
+
+	/**
+	 * Test remove keeps the other keys reachable.
+	 */
+	@Test
+	public void testRemoveKeepsTheOtherKeysReachable() {
+		// Setup
+		LongIntHashMap map = new LongIntHashMap();
+		for (int i = 0; i < 500; i++) {
+			map.put(i, i);
+		}
+
+		// Exercise
+		for (int i = 0; i < 500; i += 2) {
+			assertThat(map.remove(i)).isEqualTo(i);
+		}
+
+		// Verify
+		assertThat(map.size()).isEqualTo(250);
+		for (int i = 0; i < 500; i++) {
+			assertThat(map.get(i)).isEqualTo(i % 2 == 0 ? LongIntHashMap.MISSING : i);
+		}
+		assertThat(map.remove(0)).isEqualTo(LongIntHashMap.MISSING);
+		map.clear();
+		assertThat(map.get(1)).isEqualTo(LongIntHashMap.MISSING);
+	}
+
+	/**
+	 * Test put when the value is negative.
+	 */
+	@Test
+	public void testPutWhenTheValueIsNegative() {
+		// Exercise & Verify
+		assertThatThrownBy(() -> new LongIntHashMap().put(1l, -1)).isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("The value must not be negative.");
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Unit tests for the OrderJournal class.
+ *
+ * These tests verify that journaled orders are read back with all their
+ * fields, that a record torn by a crash is dropped, and that rewriting the
+ * journal replaces its content. The journal is a temporary file.
+ *
+ * Methods tested include:
+ * - append()
+ * - read()
+ * - rewrite()
+ *
+ * Each test follows a structured approach with three main phases:
+ * 1. Setup: Created environment for the test.
+ * 3. Exercise: Calling an instance method.
+ * 4. Verify: Verify that the outcome matches the expected behaviour.
+ *
+ * @see OrderJournal
+ */
+
+package com.mycompany.orderassignmentsystem.repository.memory;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.Worker;
+
+/**
+ * The Class OrderJournalTest.
+ */
+public class OrderJournalTest {
+
+	/** The temporary folder. */
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	/**
+	 * Test appended orders are read back.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testAppendedOrdersAreReadBack() throws IOException {
+		// Setup
+		OrderJournal journal = new OrderJournal(journalFile());
+		CustomerOrder order = new CustomerOrder(1l, "Ibtihaj", "Piazza Luigi Dallapiccola", "3401372678",
+				"12-01-2024", null, OrderCategory.PLUMBER, OrderStatus.COMPLETED,
+				new Worker(2l, "Bob", "3401372679", OrderCategory.PLUMBER));
+		CustomerOrder withoutWorker = new CustomerOrder(3l, "Naeem", "Via Roma", "3401372670", "13-01-2024",
+				"Description", OrderCategory.ELECTRICIAN, OrderStatus.CANCELLED, null);
+
+		// Exercise
+		journal.append(order);
+		journal.append(withoutWorker);
+
+		// Verify
+		assertThat(journal.read()).usingElementComparatorIgnoringFields("worker", "version")
+				.containsExactly(order, withoutWorker);
+		assertThat(journal.read().get(0).getWorker().getWorkerId()).isEqualTo(2l);
+		assertThat(journal.read().get(1).getWorker()).isNull();
+		journal.close();
+	}
+
+	/**
+	 * Test a torn record is dropped.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testATornRecordIsDropped() throws IOException {
+		// Setup
+		Path file = journalFile();
+		OrderJournal journal = new OrderJournal(file);
+		journal.append(order(1l));
+		long intact = Files.size(file);
+		journal.append(order(2l));
+		byte[] bytes = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(bytes, bytes.length - 3), StandardOpenOption.TRUNCATE_EXISTING);
+
+		// Exercise
+		OrderJournal reopened = new OrderJournal(file);
+
+		// Verify
+		assertThat(reopened.read()).extracting(CustomerOrder::getOrderId).containsExactly(1l);
+		assertThat(Files.size(file)).isEqualTo(intact);
+		reopened.append(order(3l));
+		assertThat(reopened.read()).extracting(CustomerOrder::getOrderId).containsExactly(1l, 3l);
+		journal.close();
+		reopened.close();
+	}
+
+	/**
+	 * Test rewrite replaces the content.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testRewriteReplacesTheContent() throws IOException {
+		// Setup
+		OrderJournal journal = new OrderJournal(journalFile());
+		journal.append(order(1l));
+		journal.append(order(2l));
+
+		// Exercise
+		journal.rewrite(asList(order(2l)));
+		journal.append(order(3l));
+
+		// Verify
+		assertThat(journal.read()).extracting(CustomerOrder::getOrderId).containsExactly(2l, 3l);
+		journal.close();
+	}
+
+	/**
+	 * Gets the journal file.
+	 *
+	 * @return the journal file
+	 */
+	private Path journalFile() {
+		return temporaryFolder.getRoot().toPath().resolve("orders.journal");
+	}
+
+	/**
+	 * Creates a completed order.
+	 *
+	 * @param orderId the order id
+	 * @return the order
+	 */
+	private static CustomerOrder order(long orderId) {
+		return new CustomerOrder(orderId, "Ibtihaj", "Piazza Luigi Dallapiccola", "3401372678", "12-01-2024",
+				"Description", OrderCategory.PLUMBER, OrderStatus.COMPLETED, null);
+	}
+}
@@ -0,0 +1,572 @@
+/*
+ * Unit tests for the WriteBehindOrderRepository class.
+ *
+ * These tests verify that updates of existing orders are acknowledged from
+ * memory and the journal, written to the database in batches on the size and
+ * staleness triggers, coalesced per order, written before inserts, deletes and
+ * worker deletes, still buffered while a delete goes through, read back when
+ * the database rejects them, kept while the database is down, and recovered
+ * from the journal after a crash. The database is a Mockito mock, or an H2
+ * database that is shut down, and the journal a temporary file.
+ *
+ * Methods tested include:
+ * - save()
+ * - delete()
+ * - saveAll()
+ * - flush()
+ * - archiveTerminalOrders() / findAll(includeArchived)
+ * - close()
+ * - getPendingCount()
+ *
+ * Each test follows a structured approach with three main phases:
+ * 1. Setup: Created environment for the test.
+ * 2. Mocks: Configuring the mock objects (Added separate comment just for better readability).
+ * 3. Exercise: Calling an instance method.
+ * 4. Verify: Verify that the outcome matches the expected behaviour.
+ *
+ * @see WriteBehindOrderRepository
+ * @see OrderJournal
+ */
+
+package com.mycompany.orderassignmentsystem.repository.memory;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.Worker;
+import com.mycompany.orderassignmentsystem.repository.BatchResult;
+import com.mycompany.orderassignmentsystem.repository.EntityCopies;
+import com.mycompany.orderassignmentsystem.repository.VersionConflictException;
+import com.mycompany.orderassignmentsystem.repository.WorkerRepository;
+import com.mycompany.orderassignmentsystem.repository.postgres.OrderDatabaseRepository;
+import com.mycompany.orderassignmentsystem.repository.postgres.WorkerDatabaseRepository;
+
+/**
+ * The Class WriteBehindOrderRepositoryTest.
+ */
+public class WriteBehindOrderRepositoryTest {
+
+	/** The Constant LONG_STALENESS, never reached by a test. */
+	private static final Duration LONG_STALENESS = Duration.ofHours(1);
+
+	/** The Constant WORKER. */
+	private static final Worker WORKER = new Worker(1l, "Bob", "3401372678", OrderCategory.PLUMBER);
+
+	/** The Constant OTHER_WORKER. */
+	private static final Worker OTHER_WORKER = new Worker(2l, "Alic", "3401372679", OrderCategory.PLUMBER);
+
+	/** The temporary folder. */
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	/** The database. */
+	@Mock
+	private OrderDatabaseRepository database;
+
+	/** The worker database. */
+	@Mock
+	private WorkerRepository workerDatabase;
+
+	/** The entity manager factory of the H2 database, if a test uses one. */
+	private EntityManagerFactory h2Factory;
+
+	/** The worker stored in the H2 database. */
+	private Worker h2Worker;
+
+	/** The journal file. */
+	private Path journalFile;
+
+	/** The last id handed out by the database. */
+	private AtomicLong lastId;
+
+	/** The repository. */
+	private WriteBehindOrderRepository repository;
+
+	/** The closeable. */
+	private AutoCloseable closeable;
+
+	/**
+	 * Setup.
+	 */
+	@Before
+	public void setup() {
+		closeable = MockitoAnnotations.openMocks(this);
+		journalFile = temporaryFolder.getRoot().toPath().resolve("orders.journal");
+		lastId = new AtomicLong();
+		mockDatabase();
+	}
+
+	/**
+	 * Release mocks.
+	 *
+	 * @throws Exception the exception
+	 */
+	@After
+	public void releaseMocks() throws Exception {
+		if (repository != null) {
+			repository.close();
+		}
+		if (h2Factory != null) {
+			h2Factory.close();
+		}
+		closeable.close();
+	}
+
+	/**
+	 * Test updates are buffered until the flush.
+	 */
+	@Test
+	public void testUpdatesAreBufferedUntilTheFlush() {
+		// Setup
+		repository = repository(10, LONG_STALENESS);
+		CustomerOrder order = repository.save(pendingOrder());
+		order.setOrderStatus(OrderStatus.COMPLETED);
+
+		// Exercise
+		CustomerOrder updated = repository.save(order);
+
+		// Verify
+		assertThat(updated.getVersion()).isEqualTo(1l);
+		assertThat(repository.findById(order.getOrderId()).getOrderStatus()).isEqualTo(OrderStatus.COMPLETED);
+		assertThat(repository.getPendingCount()).isEqualTo(1);
+		verify(database, never()).overwriteAll(anyCollection());
+
+		// Exercise
+		repository.flush();
+
+		// Verify
+		List<CustomerOrder> rows = flushedRows();
+		assertThat(rows).singleElement().satisfies(row -> {
+			assertThat(row.getOrderStatus()).isEqualTo(OrderStatus.COMPLETED);
+			assertThat(row.getOrderId()).isEqualTo(order.getOrderId());
+		});
+		assertThat(repository.getPendingCount()).isZero();
+	}
+
+	/**
+	 * Test updates of the same order are written once.
+	 */
+	@Test
+	public void testUpdatesOfTheSameOrderAreWrittenOnce() {
+		// Setup
+		repository = repository(10, LONG_STALENESS);
+		CustomerOrder order = repository.save(pendingOrder());
+		order.setOrderStatus(OrderStatus.CANCELLED);
+		order = repository.save(order);
+		order.setOrderStatus(OrderStatus.COMPLETED);
+		repository.save(order);
+
+		// Exercise
+		repository.flush();
+
+		// Verify
+		assertThat(flushedRows()).extracting(CustomerOrder::getOrderStatus).containsExactly(OrderStatus.COMPLETED);
+	}
+
+	/**
+	 * Test a stale update is rejected.
+	 */
+	@Test
+	public void testAStaleUpdateIsRejected() {
+		// Setup
+		repository = repository(10, LONG_STALENESS);
+		CustomerOrder order = repository.save(pendingOrder());
+		order.setOrderStatus(OrderStatus.COMPLETED);
+		repository.save(order);
+
+		// Exercise & Verify
+		assertThatThrownBy(() -> repository.save(order)).isInstanceOf(VersionConflictException.class);
+		assertThat(repository.getPendingCount()).isEqualTo(1);
+	}
+
+	/**
+	 * Test inserts and deletes write the buffered updates first.
+	 */
+	@Test
+	public void testInsertsAndDeletesWriteTheBufferedUpdatesFirst() {
+		// Setup
+		repository = repository(10, LONG_STALENESS);
+		CustomerOrder order = repository.save(pendingOrder());
+		order.setOrderStatus(OrderStatus.COMPLETED);
+		repository.save(order);
+
+		// Exercise
+		CustomerOrder inserted = repository.save(pendingOrder());
+		repository.delete(inserted);
+
+		// Verify
+		InOrder inOrder = inOrder(database);
+		inOrder.verify(database).overwriteAll(anyCollection());
+		inOrder.verify(database).save(any());
+		inOrder.verify(database).delete(inserted);
+		assertThat(repository.findAll()).extracting(CustomerOrder::getOrderId).containsExactly(1l);
+	}
+
+	/**
+	 * Test updates are buffered while a delete goes through. The database holds
+	 * the delete until another order has been updated, which only succeeds when
+	 * the buffer is not locked during the delete.
+	 */
+	@Test
+	public void testUpdatesAreBufferedWhileADeleteGoesThrough() {
+		// Setup
+		repository = repository(10, LONG_STALENESS);
+		CustomerOrder deleted = repository.save(pendingOrder());
+		CustomerOrder updated = repository.save(pendingOrder());
+		updated.setOrderStatus(OrderStatus.COMPLETED);
+		CountDownLatch inDatabase = new CountDownLatch(1);
+		CountDownLatch bufferedMeanwhile = new CountDownLatch(1);
+		AtomicBoolean notBlocked = new AtomicBoolean();
+
+		// Mocks
+		doAnswer(invocation -> {
+			inDatabase.countDown();
+			notBlocked.set(bufferedMeanwhile.await(5, TimeUnit.SECONDS));
+			return null;
+		}).when(database).delete(deleted);
+
+		// Exercise
+		Thread deleter = new Thread(() -> repository.delete(deleted));
+		deleter.start();
+		await().atMost(5, TimeUnit.SECONDS).until(() -> inDatabase.getCount() == 0);
+		repository.save(updated);
+		bufferedMeanwhile.countDown();
+		await().atMost(10, TimeUnit.SECONDS).until(() -> !deleter.isAlive());
+
+		// Verify
+		assertThat(notBlocked.get()).isTrue();
+		assertThat(repository.getPendingCount()).isEqualTo(1);
+		assertThat(repository.findAll()).extracting(CustomerOrder::getOrderId).containsExactly(updated.getOrderId());
+	}
+
+	/**
+	 * Test a worker delete writes the buffered updates first, so that the
+	 * reassignment of an order away from the worker reaches the database before
+	 * the worker is deleted.
+	 */
+	@Test
+	public void testAWorkerDeleteWritesTheBufferedUpdatesFirst() {
+		// Setup
+		InMemoryOrderRepository memory = new InMemoryOrderRepository(database);
+		repository = new WriteBehindOrderRepository(memory, database, journalFile, 10, LONG_STALENESS);
+		InMemoryWorkerRepository workers = new InMemoryWorkerRepository(memory, workerDatabase, repository::flush);
+		CustomerOrder order = repository.save(pendingOrder());
+		order.setWorker(OTHER_WORKER);
+		repository.save(order);
+
+		// Exercise
+		workers.delete(WORKER);
+
+		// Verify
+		InOrder inOrder = inOrder(database, workerDatabase);
+		inOrder.verify(database).overwriteAll(anyCollection());
+		inOrder.verify(workerDatabase).delete(WORKER);
+		assertThat(flushedRows()).singleElement()
+				.satisfies(row -> assertThat(row.getWorker().getWorkerId()).isEqualTo(OTHER_WORKER.getWorkerId()));
+		assertThat(repository.getPendingCount()).isZero();
+	}
+
+	/**
+	 * Test archiving writes the buffered updates first.
+	 */
+	@Test
+	public void testArchivingWritesTheBufferedUpdatesFirst() {
+		// Setup
+		repository = repository(10, LONG_STALENESS);
+		CustomerOrder order = repository.save(pendingOrder());
+		order.setOrderStatus(OrderStatus.COMPLETED);
+		repository.save(order);
+
+		// Mocks
+		when(database.archiveTerminalOrders(LocalDate.of(2100, 1, 1))).thenReturn(1);
+		when(database.findAll(true)).thenReturn(asList(order));
+
+		// Exercise
+		int archived = repository.archiveTerminalOrders(LocalDate.of(2100, 1, 1));
+
+		// Verify
+		InOrder inOrder = inOrder(database);
+		inOrder.verify(database).overwriteAll(anyCollection());
+		inOrder.verify(database).archiveTerminalOrders(LocalDate.of(2100, 1, 1));
+		assertThat(archived).isEqualTo(1);
+		assertThat(repository.findAll()).isEmpty();
+		assertThat(repository.findAll(true)).containsExactly(order);
+	}
+
+	/**
+	 * Test save all buffers the updates.
+	 */
+	@Test
+	public void testSaveAllBuffersTheUpdates() {
+		// Setup
+		repository = repository(10, LONG_STALENESS);
+		CustomerOrder order = repository.save(pendingOrder());
+		order.setOrderStatus(OrderStatus.COMPLETED);
+		CustomerOrder stale = EntityCopies.copy(order);
+		stale.setVersion(5l);
+
+		// Exercise
+		BatchResult<CustomerOrder> result = repository.saveAll(asList(order, stale));
+
+		// Verify
+		assertThat(result.getSaved()).hasSize(1);
+		assertThat(result.getFailures()).containsOnlyKeys(1);
+		assertThat(repository.getPendingCount()).isEqualTo(1);
+	}
+
+	/**
+	 * Test the batch size triggers a flush.
+	 */
+	@Test
+	public void testTheBatchSizeTriggersAFlush() {
+		// Setup
+		repository = repository(1, LONG_STALENESS);
+		CustomerOrder order = repository.save(pendingOrder());
+		order.setOrderStatus(OrderStatus.COMPLETED);
+
+		// Exercise
+		repository.save(order);
+
+		// Verify
+		await().atMost(10, TimeUnit.SECONDS).until(() -> repository.getPendingCount() == 0);
+		verify(database).overwriteAll(anyCollection());
+	}
+
+	/**
+	 * Test the maximum staleness triggers a flush.
+	 */
+	@Test
+	public void testTheMaximumStalenessTriggersAFlush() {
+		// Setup
+		repository = repository(100, Duration.ofMillis(100));
+		CustomerOrder order = repository.save(pendingOrder());
+		order.setOrderStatus(OrderStatus.COMPLETED);
+
+		// Exercise
+		repository.save(order);
+
+		// Verify
+		await().atMost(10, TimeUnit.SECONDS).until(() -> repository.getPendingCount() == 0);
+	}
+
+	/**
+	 * Test a rejected update is read back from the database.
+	 */
+	@Test
+	public void testARejectedUpdateIsReadBackFromTheDatabase() {
+		// Setup
+		repository = repository(10, LONG_STALENESS);
+		CustomerOrder order = repository.save(pendingOrder());
+		CustomerOrder stored = EntityCopies.copy(order);
+		order.setOrderStatus(OrderStatus.COMPLETED);
+		repository.save(order);
+
+		// Mocks
+		when(database.overwriteAll(anyCollection())).thenAnswer(invocation -> new BatchResult<>(new ArrayList<>(),
+				new LinkedHashMap<>(Collections.singletonMap(0, "constraint violated"))));
+		when(database.findById(order.getOrderId())).thenReturn(stored);
+
+		// Exercise
+		repository.flush();
+
+		// Verify
+		assertThat(repository.getPendingCount()).isZero();
+		assertThat(repository.findById(order.getOrderId()).getOrderStatus()).isEqualTo(OrderStatus.PENDING);
+	}
+
+	/**
+	 * Test a flush keeps the updates buffered while the database is down. The
+	 * database is an H2 database that is shut down after the update.
+	 */
+	@Test
+	public void testAFlushKeepsTheUpdatesBufferedWhileTheDatabaseIsDown() {
+		// Setup
+		OrderDatabaseRepository h2 = h2Database();
+		repository = new WriteBehindOrderRepository(new InMemoryOrderRepository(h2), h2, journalFile, 10,
+				LONG_STALENESS);
+		CustomerOrder order = pendingOrder();
+		order.setWorker(h2Worker);
+		order = repository.save(order);
+		order.setOrderStatus(OrderStatus.COMPLETED);
+		repository.save(order);
+		shutDown(h2Factory);
+
+		// Exercise & Verify
+		assertThatThrownBy(() -> repository.flush()).isInstanceOf(IllegalStateException.class);
+		assertThat(repository.getPendingCount()).isEqualTo(1);
+		assertThat(repository.findById(order.getOrderId()).getOrderStatus()).isEqualTo(OrderStatus.COMPLETED);
+		assertThatThrownBy(() -> repository.close()).isInstanceOf(IllegalStateException.class);
+		repository = null;
+	}
+
+	/**
+	 * Test the journal is kept while the database is down.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testTheJournalIsKeptWhileTheDatabaseIsDown() throws IOException {
+		// Setup
+		WriteBehindOrderRepository crashed = repository(10, LONG_STALENESS);
+		CustomerOrder order = crashed.save(pendingOrder());
+		order.setOrderStatus(OrderStatus.COMPLETED);
+		crashed.save(order);
+		OrderDatabaseRepository h2 = h2Database();
+		shutDown(h2Factory);
+
+		// Exercise & Verify
+		assertThatThrownBy(() -> new WriteBehindOrderRepository(new InMemoryOrderRepository(database), h2,
+				journalFile, 10, LONG_STALENESS)).isInstanceOf(IllegalStateException.class);
+		OrderJournal journal = new OrderJournal(journalFile);
+		assertThat(journal.read()).extracting(CustomerOrder::getOrderStatus).containsExactly(OrderStatus.COMPLETED);
+		journal.close();
+	}
+
+	/**
+	 * Test journaled updates are recovered.
+	 */
+	@Test
+	public void testJournaledUpdatesAreRecovered() {
+		// Setup
+		WriteBehindOrderRepository crashed = repository(10, LONG_STALENESS);
+		CustomerOrder order = crashed.save(pendingOrder());
+		order.setOrderStatus(OrderStatus.COMPLETED);
+		crashed.save(order);
+
+		// Exercise
+		repository = repository(10, LONG_STALENESS);
+
+		// Verify
+		assertThat(flushedRows()).singleElement().satisfies(row -> {
+			assertThat(row.getOrderId()).isEqualTo(order.getOrderId());
+			assertThat(row.getOrderStatus()).isEqualTo(OrderStatus.COMPLETED);
+			assertThat(row.getWorker().getWorkerId()).isEqualTo(WORKER.getWorkerId());
+		});
+		assertThat(repository.findById(order.getOrderId()).getOrderStatus()).isEqualTo(OrderStatus.COMPLETED);
+		assertThat(repository.getPendingCount()).isZero();
+	}
+
+	/**
+	 * Creates a write-behind repository on an empty in-memory repository.
+	 *
+	 * @param batchSize    the batch size
+	 * @param maxStaleness the maximum staleness
+	 * @return the repository
+	 */
+	private WriteBehindOrderRepository repository(int batchSize, Duration maxStaleness) {
+		return new WriteBehindOrderRepository(new InMemoryOrderRepository(database), database, journalFile,
+				batchSize, maxStaleness);
+	}
+
+	/**
+	 * Creates a database repository on an H2 database holding {@link #h2Worker}.
+	 *
+	 * @return the database repository
+	 */
+	private OrderDatabaseRepository h2Database() {
+		Map<String, String> properties = new HashMap<>();
+		properties.put("javax.persistence.jdbc.driver", "org.h2.Driver");
+		properties.put("javax.persistence.jdbc.url", "jdbc:h2:mem:writebehind;DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+		properties.put("javax.persistence.jdbc.user", "sa");
+		properties.put("javax.persistence.jdbc.password", "");
+		properties.put("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
+		properties.put("hibernate.hbm2ddl.auto", "create-drop");
+		h2Factory = Persistence.createEntityManagerFactory("OriginalPersistenceUnit", properties);
+		h2Worker = new WorkerDatabaseRepository(h2Factory).save(new Worker(WORKER.getWorkerName(),
+				WORKER.getWorkerPhoneNumber(), WORKER.getWorkerCategory()));
+		return new OrderDatabaseRepository(h2Factory);
+	}
+
+	/**
+	 * Shuts the H2 database down, as if the database server went away.
+	 *
+	 * @param entityManagerFactory the entity manager factory of the database
+	 */
+	private static void shutDown(EntityManagerFactory entityManagerFactory) {
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		entityManager.getTransaction().begin();
+		entityManager.createNativeQuery("SHUTDOWN").executeUpdate();
+		entityManager.close();
+	}
+
+	/**
+	 * Makes the database accept every write.
+	 */
+	@SuppressWarnings("unchecked")
+	private void mockDatabase() {
+		when(database.save(any())).thenAnswer(invocation -> {
+			CustomerOrder saved = EntityCopies.copy(invocation.<CustomerOrder>getArgument(0));
+			if (saved.getOrderId() == null) {
+				saved.setOrderId(lastId.incrementAndGet());
+			}
+			saved.setVersion(0l);
+			return saved;
+		});
+		when(database.overwriteAll(anyCollection())).thenAnswer(invocation -> new BatchResult<>(
+				new ArrayList<>((Collection<CustomerOrder>) invocation.getArgument(0)), new LinkedHashMap<>()));
+	}
+
+	/**
+	 * Gets the rows of the last write of buffered updates.
+	 *
+	 * @return the rows
+	 */
+	@SuppressWarnings("unchecked")
+	private List<CustomerOrder> flushedRows() {
+		ArgumentCaptor<Collection<CustomerOrder>> rows = ArgumentCaptor.forClass(Collection.class);
+		verify(database).overwriteAll(rows.capture());
+		return new ArrayList<>(rows.getValue());
+	}
+
+	/**
+	 * Creates a new pending order of the worker.
+	 *
+	 * @return the order
+	 */
+	private static CustomerOrder pendingOrder() {
+		return new CustomerOrder(null, "Ibtihaj", "Piazza Luigi Dallapiccola", "3401372678", "12-01-2024",
+				"Description", OrderCategory.PLUMBER, OrderStatus.PENDING, WORKER);
+	}
+}
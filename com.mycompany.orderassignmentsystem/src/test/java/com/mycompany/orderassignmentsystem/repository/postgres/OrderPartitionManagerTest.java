@@ -0,0 +1,81 @@
+/*
+ * Unit tests for the OrderPartitionManager class.
+ *
+ * These tests verify the months that get a partition at start, and the names
+ * and bounds of the monthly partitions, across the end of a year. The
+ * partitioning itself needs PostgreSQL and does nothing on the H2 database.
+ *
+ * Methods tested include:
+ * - upcomingMonths()
+ * - partitionName()
+ * - partitionBounds()
+ * - OrderPartitionManager()
+ *
+ * Each test follows a structured approach with three main phases:
+ * 1. Setup: Created environment for the test.
+ * 3. Exercise: Calling an instance method.
+ * 4. Verify: Verify that the outcome matches the expected behaviour.
+ *
+ * @see OrderPartitionManager
+ */
+
+package com.mycompany.orderassignmentsystem.repository.postgres;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.YearMonth;
+
+import org.junit.Test;
+
+/**
+ * The Class OrderPartitionManagerTest.
+ */
+public class OrderPartitionManagerTest {
+
+	/**
+	 * Test upcoming months start with the current month.
+	 */
+	@Test
+	public void testUpcomingMonthsStartWithTheCurrentMonth() {
+		// Setup
+		YearMonth current = YearMonth.of(2024, 11);
+
+		// Exercise & Verify
+		assertThat(OrderPartitionManager.upcomingMonths(current, 3)).containsExactly(YearMonth.of(2024, 11),
+				YearMonth.of(2024, 12), YearMonth.of(2025, 1), YearMonth.of(2025, 2));
+		assertThat(OrderPartitionManager.upcomingMonths(current, 0)).containsExactly(current);
+	}
+
+	/**
+	 * Test partition name pads the month.
+	 */
+	@Test
+	public void testPartitionNamePadsTheMonth() {
+		// Exercise & Verify
+		assertThat(OrderPartitionManager.partitionName(YearMonth.of(2024, 7))).isEqualTo("customerorder_2024_07");
+		assertThat(OrderPartitionManager.partitionName(YearMonth.of(2024, 12))).isEqualTo("customerorder_2024_12");
+	}
+
+	/**
+	 * Test partition bounds end at the next month.
+	 */
+	@Test
+	public void testPartitionBoundsEndAtTheNextMonth() {
+		// Exercise & Verify
+		assertThat(OrderPartitionManager.partitionBounds(YearMonth.of(2024, 2)))
+				.isEqualTo("FOR VALUES FROM ('2024-02-01') TO ('2024-03-01')");
+		assertThat(OrderPartitionManager.partitionBounds(YearMonth.of(2024, 12)))
+				.isEqualTo("FOR VALUES FROM ('2024-12-01') TO ('2025-01-01')");
+	}
+
+	/**
+	 * Test constructor rejects negative months ahead.
+	 */
+	@Test
+	public void testConstructorRejectsNegativeMonthsAhead() {
+		// Exercise & Verify
+		assertThatThrownBy(() -> new OrderPartitionManager(null, -1)).isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("The number of months ahead cannot be negative.");
+	}
+}
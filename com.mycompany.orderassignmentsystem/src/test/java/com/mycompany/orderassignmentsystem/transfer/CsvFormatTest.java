@@ -0,0 +1,77 @@
+/*
+ * Unit tests for the CsvFormat class.
+ *
+ * These tests verify that lines are split at the commas outside quotes, that
+ * quoted fields keep their commas and doubled quotes, that an unclosed quote
+ * is rejected, and that joined fields are quoted only when needed.
+ *
+ * Methods tested include:
+ * - parse()
+ * - format()
+ *
+ * Each test follows a structured approach with three main phases:
+ * 1. Setup: Created environment for the test.
+ * 3. Exercise: Calling an instance method.
+ * 4. Verify: Verify that the outcome matches the expected behaviour.
+ *
+ * @see CsvFormat
+ */
+
+package com.mycompany.orderassignmentsystem.transfer;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+
+/**
+ * The Class CsvFormatTest.
+ */
+public class CsvFormatTest {
+
+	/**
+	 * Test parse splits at the commas.
+	 */
+	@Test
+	public void testParseSplitsAtTheCommas() {
+		// Exercise & Verify
+		assertThat(CsvFormat.parse("Bob,3401372678,PLUMBER")).containsExactly("Bob", "3401372678", "PLUMBER");
+		assertThat(CsvFormat.parse("Bob,,")).containsExactly("Bob", "", "");
+		assertThat(CsvFormat.parse("")).containsExactly("");
+	}
+
+	/**
+	 * Test parse keeps commas and doubled quotes of quoted fields.
+	 */
+	@Test
+	public void testParseKeepsCommasAndDoubledQuotesOfQuotedFields() {
+		// Exercise & Verify
+		assertThat(CsvFormat.parse("\"Via Roma, 1\",\"Say \"\"hi\"\"\",x"))
+				.containsExactly("Via Roma, 1", "Say \"hi\"", "x");
+	}
+
+	/**
+	 * Test parse rejects an unclosed quote.
+	 */
+	@Test
+	public void testParseRejectsAnUnclosedQuote() {
+		// Exercise & Verify
+		assertThatThrownBy(() -> CsvFormat.parse("\"Via Roma, 1,x")).isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("The line has an unclosed quote.");
+	}
+
+	/**
+	 * Test format quotes only the fields that need it.
+	 */
+	@Test
+	public void testFormatQuotesOnlyTheFieldsThatNeedIt() {
+		// Exercise
+		String line = CsvFormat.format(asList("Bob", null, "Via Roma, 1", "Say \"hi\"", "two\nlines"));
+
+		// Verify
+		assertThat(line).isEqualTo("Bob,,\"Via Roma, 1\",\"Say \"\"hi\"\"\",\"two\nlines\"");
+		assertThat(CsvFormat.parse(CsvFormat.format(asList("Via Roma, 1", "Say \"hi\""))))
+				.containsExactly("Via Roma, 1", "Say \"hi\"");
+	}
+}
@@ -0,0 +1,275 @@
+/*
+ * Unit tests for the CsvImporter class.
+ *
+ * These tests verify that workers and orders are read from CSV files,
+ * validated with the ExtendedValidationConfigurations and written in batches,
+ * and that invalid rows and rows rejected by the repository are reported with
+ * their line number while the other rows are imported. The repositories are
+ * Mockito mocks and the files are temporary.
+ *
+ * Methods tested include:
+ * - importWorkers()
+ * - importOrders()
+ * - CsvImporter()
+ *
+ * Each test follows a structured approach with three main phases:
+ * 1. Setup: Created environment for the test.
+ * 2. Mocks: Configuring the mock objects (Added separate comment just for better readability).
+ * 3. Exercise: Calling an instance method.
+ * 4. Verify: Verify that the outcome matches the expected behaviour.
+ *
+ * @see CsvImporter
+ * @see ImportReport
+ */
+
+package com.mycompany.orderassignmentsystem.transfer;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.mycompany.orderassignmentsystem.controller.utils.extensions.ExtendedValidationConfigurations;
+import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.Worker;
+import com.mycompany.orderassignmentsystem.repository.BatchResult;
+import com.mycompany.orderassignmentsystem.repository.OrderRepository;
+import com.mycompany.orderassignmentsystem.repository.WorkerRepository;
+
+/**
+ * The Class CsvImporterTest.
+ */
+public class CsvImporterTest {
+
+	/** The header of a worker file. */
+	private static final String WORKER_HEADER = "worker_name,worker_phone,worker_category";
+
+	/** The header of an order file. */
+	private static final String ORDER_HEADER = "customer_name,customer_address,customer_phone,appointment_date,"
+			+ "order_description,order_category,order_status,worker_id";
+
+	/** The Constant WORKER. */
+	private static final Worker WORKER = new Worker(1l, "Bob", "3401372678", OrderCategory.PLUMBER);
+
+	/** The temporary folder. */
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	/** The order repository. */
+	@Mock
+	private OrderRepository orderRepository;
+
+	/** The worker repository. */
+	@Mock
+	private WorkerRepository workerRepository;
+
+	/** The importer. */
+	private CsvImporter importer;
+
+	/** The closeable. */
+	private AutoCloseable closeable;
+
+	/**
+	 * Setup.
+	 */
+	@Before
+	public void setup() {
+		closeable = MockitoAnnotations.openMocks(this);
+		importer = new CsvImporter(orderRepository, workerRepository, new ExtendedValidationConfigurations(), 2);
+		when(workerRepository.saveAll(anyCollection()))
+				.thenAnswer(invocation -> new BatchResult<>(new ArrayList<>(invocation.getArgument(0)),
+						Collections.emptyMap()));
+		when(orderRepository.saveAll(anyCollection()))
+				.thenAnswer(invocation -> new BatchResult<>(new ArrayList<>(invocation.getArgument(0)),
+						Collections.emptyMap()));
+		when(workerRepository.findByIdWithoutOrders(1l)).thenReturn(WORKER);
+	}
+
+	/**
+	 * Release mocks.
+	 *
+	 * @throws Exception the exception
+	 */
+	@After
+	public void releaseMocks() throws Exception {
+		closeable.close();
+	}
+
+	/**
+	 * Test import workers writes the rows in batches.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testImportWorkersWritesTheRowsInBatches() throws IOException {
+		// Setup
+		Path file = file(WORKER_HEADER, "Bob,3401372678,plumber", "Alic,3401372679,ELECTRICIAN", "",
+				"\"Carl\",3401372670,PLUMBER");
+
+		// Exercise
+		ImportReport report = importer.importWorkers(file);
+
+		// Verify
+		ArgumentCaptor<Collection<Worker>> batches = ArgumentCaptor.forClass(Collection.class);
+		verify(workerRepository, times(2)).saveAll(batches.capture());
+		assertThat(batches.getAllValues().get(0)).extracting(Worker::getWorkerName).containsExactly("Bob", "Alic");
+		assertThat(batches.getAllValues().get(1)).extracting(Worker::getWorkerCategory)
+				.containsExactly(OrderCategory.PLUMBER);
+		assertThat(report.getImported()).isEqualTo(3);
+		assertThat(report.getRejected()).isZero();
+		assertThat(report.toString()).startsWith(file.getFileName() + ": 3 rows imported, 0 rejected, ");
+	}
+
+	/**
+	 * Test import workers reports invalid rows and continues.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testImportWorkersReportsInvalidRowsAndContinues() throws IOException {
+		// Setup
+		Path file = file(WORKER_HEADER, "Bob,3401372678,PLUMBER", "Alic,12,ELECTRICIAN", "Carl,3401372670",
+				"Dave,3401372671,PILOT", "Erin,3401372672,PLUMBER");
+
+		// Mocks
+		when(workerRepository.saveAll(anyCollection())).thenAnswer(invocation -> {
+			List<Worker> workers = new ArrayList<>(invocation.getArgument(0));
+			return new BatchResult<>(workers.subList(1, workers.size()),
+					Collections.singletonMap(0, "Worker with phone number 3401372678 Already Exists"));
+		});
+
+		// Exercise
+		ImportReport report = importer.importWorkers(file);
+
+		// Verify
+		assertThat(report.getImported()).isEqualTo(1);
+		assertThat(report.getRejected()).isEqualTo(4);
+		assertThat(report.getRejections()).containsExactly(
+				"line 3: The phone number must be 10 characters long. Please provide a valid phone number.",
+				"line 4: Expected 3 fields but found 2.",
+				"line 5: The specified category was not found. Please provide a valid category.",
+				"line 2: Worker with phone number 3401372678 Already Exists");
+	}
+
+	/**
+	 * Test import orders checks the worker of each row.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testImportOrdersChecksTheWorkerOfEachRow() throws IOException {
+		// Setup
+		Path file = file(ORDER_HEADER,
+				"Ibtihaj,\"Via Roma, 1\",3401372678,12-12-2024,Please be on time,PLUMBER,COMPLETED,1",
+				"Naeem,Piazza Duomo,3401372679,13-12-2024,Please be on time,ELECTRICIAN,PENDING,1",
+				"Naeem,Piazza Duomo,3401372679,13-12-2024,Please be on time,PLUMBER,PENDING,2",
+				"Jhon,Piazza Duomo,3401372670,14-12-2024,Please be on time,PLUMBER,pending,1");
+
+		// Exercise
+		ImportReport report = importer.importOrders(file);
+
+		// Verify
+		ArgumentCaptor<Collection<CustomerOrder>> batches = ArgumentCaptor.forClass(Collection.class);
+		verify(orderRepository).saveAll(batches.capture());
+		assertThat(batches.getValue()).extracting(CustomerOrder::getCustomerAddress).containsExactly("Via Roma, 1",
+				"Piazza Duomo");
+		assertThat(batches.getValue()).extracting(CustomerOrder::getOrderStatus).containsExactly(OrderStatus.COMPLETED,
+				OrderStatus.PENDING);
+		assertThat(batches.getValue()).extracting(CustomerOrder::getWorker).containsOnly(WORKER);
+		assertThat(report.getRejections()).containsExactly("line 3: Order and worker categories must align",
+				"line 4: Worker with this ID 2 not found");
+		verify(workerRepository).findByIdWithoutOrders(1l);
+	}
+
+	/**
+	 * Test import rejects a file with other columns.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testImportRejectsAFileWithOtherColumns() throws IOException {
+		// Setup
+		Path file = file("﻿" + WORKER_HEADER, "Bob,3401372678,PLUMBER");
+		Path ordersAsWorkers = file(ORDER_HEADER);
+
+		// Exercise & Verify
+		assertThat(importer.importWorkers(file).getImported()).isEqualTo(1);
+		assertThatThrownBy(() -> importer.importWorkers(ordersAsWorkers)).isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("The first line must name the columns worker_name,worker_phone,worker_category");
+		verify(workerRepository, never()).findByIdWithoutOrders(anyLong());
+	}
+
+	/**
+	 * Test the report keeps only the first rejections.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testTheReportKeepsOnlyTheFirstRejections() throws IOException {
+		// Setup
+		List<String> lines = new ArrayList<>(asList(WORKER_HEADER));
+		for (int i = 0; i < ImportReport.MAX_REPORTED_REJECTIONS + 5; i++) {
+			lines.add("Bob");
+		}
+		Path file = file(lines.toArray(new String[0]));
+
+		// Exercise
+		ImportReport report = importer.importWorkers(file);
+
+		// Verify
+		assertThat(report.getRejected()).isEqualTo(ImportReport.MAX_REPORTED_REJECTIONS + 5);
+		assertThat(report.getRejections()).hasSize(ImportReport.MAX_REPORTED_REJECTIONS);
+		verify(workerRepository, never()).saveAll(anyCollection());
+	}
+
+	/**
+	 * Test constructor when the batch size is not positive.
+	 */
+	@Test
+	public void testConstructorWhenTheBatchSizeIsNotPositive() {
+		// Exercise & Verify
+		assertThatThrownBy(
+				() -> new CsvImporter(orderRepository, workerRepository, new ExtendedValidationConfigurations(), 0))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage("The batch size must be positive.");
+	}
+
+	/**
+	 * Writes a temporary CSV file.
+	 *
+	 * @param lines the lines
+	 * @return the file
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private Path file(String... lines) throws IOException {
+		Path file = temporaryFolder.newFile().toPath();
+		Files.write(file, asList(lines), StandardCharsets.UTF_8);
+		return file;
+	}
+}
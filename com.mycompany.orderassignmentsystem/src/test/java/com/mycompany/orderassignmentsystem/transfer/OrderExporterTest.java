@@ -0,0 +1,199 @@
+/*
+ * Unit tests for the OrderExporter class.
+ *
+ * These tests verify that the orders streamed by the repository for the given
+ * filter are written as CSV lines under a header or as JSON objects, one per
+ * line, with the text escaped, and that a file can be gzipped. The repository
+ * is a Mockito mock and the files are temporary.
+ *
+ * Methods tested include:
+ * - export()
+ *
+ * Each test follows a structured approach with three main phases:
+ * 1. Setup: Created environment for the test.
+ * 2. Mocks: Configuring the mock objects (Added separate comment just for better readability).
+ * 3. Exercise: Calling an instance method.
+ * 4. Verify: Verify that the outcome matches the expected behaviour.
+ *
+ * @see OrderExporter
+ */
+
+package com.mycompany.orderassignmentsystem.transfer;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.Worker;
+import com.mycompany.orderassignmentsystem.repository.OrderFilter;
+import com.mycompany.orderassignmentsystem.repository.OrderRepository;
+
+/**
+ * The Class OrderExporterTest.
+ */
+public class OrderExporterTest {
+
+	/** The Constant FILTER. */
+	private static final OrderFilter FILTER = new OrderFilter(OrderStatus.COMPLETED, null,
+			LocalDate.of(2024, 12, 1), LocalDate.of(2024, 12, 31));
+
+	/** The Constant WORKER. */
+	private static final Worker WORKER = new Worker(1l, "Bob", "3401372678", OrderCategory.PLUMBER);
+
+	/** The temporary folder. */
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	/** The repository. */
+	@Mock
+	private OrderRepository repository;
+
+	/** The exporter. */
+	private OrderExporter exporter;
+
+	/** The closeable. */
+	private AutoCloseable closeable;
+
+	/**
+	 * Setup.
+	 */
+	@Before
+	public void setup() {
+		closeable = MockitoAnnotations.openMocks(this);
+		exporter = new OrderExporter(repository);
+		CustomerOrder first = new CustomerOrder(1l, "Ibtihaj", "Via Roma, 1", "3401372678", "12-12-2024",
+				"Ring \"twice\"\nthen wait", OrderCategory.PLUMBER, OrderStatus.COMPLETED, WORKER);
+		CustomerOrder second = new CustomerOrder(2l, "Naeem", "Piazza Duomo", "3401372679", "13-12-2024",
+				"Please be on time", OrderCategory.PLUMBER, OrderStatus.COMPLETED, null);
+		doAnswer(invocation -> {
+			Consumer<CustomerOrder> action = invocation.getArgument(1);
+			asList(first, second).forEach(action);
+			return null;
+		}).when(repository).forEachOrder(eq(FILTER), any());
+	}
+
+	/**
+	 * Release mocks.
+	 *
+	 * @throws Exception the exception
+	 */
+	@After
+	public void releaseMocks() throws Exception {
+		closeable.close();
+	}
+
+	/**
+	 * Test export writes CSV lines under a header.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testExportWritesCsvLinesUnderAHeader() throws IOException {
+		// Setup
+		StringWriter writer = new StringWriter();
+
+		// Exercise
+		long exported = exporter.export(FILTER, ExportFormat.CSV, writer);
+
+		// Verify
+		assertThat(exported).isEqualTo(2);
+		assertThat(writer.toString()).isEqualTo("order_id,customer_name,customer_address,customer_phone,"
+				+ "appointment_date,order_description,order_category,order_status,worker_id\n"
+				+ "1,Ibtihaj,\"Via Roma, 1\",3401372678,12-12-2024,\"Ring \"\"twice\"\"\nthen wait\",PLUMBER,COMPLETED,1\n"
+				+ "2,Naeem,Piazza Duomo,3401372679,13-12-2024,Please be on time,PLUMBER,COMPLETED,\n");
+	}
+
+	/**
+	 * Test export writes one JSON object per line.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testExportWritesOneJsonObjectPerLine() throws IOException {
+		// Setup
+		StringWriter writer = new StringWriter();
+
+		// Exercise
+		exporter.export(FILTER, ExportFormat.JSONL, writer);
+
+		// Verify
+		assertThat(writer.toString().split("\n")).containsExactly(
+				"{\"order_id\":1,\"customer_name\":\"Ibtihaj\",\"customer_address\":\"Via Roma, 1\","
+						+ "\"customer_phone\":\"3401372678\",\"appointment_date\":\"12-12-2024\","
+						+ "\"order_description\":\"Ring \\\"twice\\\"\\nthen wait\",\"order_category\":\"PLUMBER\","
+						+ "\"order_status\":\"COMPLETED\",\"worker_id\":1}",
+				"{\"order_id\":2,\"customer_name\":\"Naeem\",\"customer_address\":\"Piazza Duomo\","
+						+ "\"customer_phone\":\"3401372679\",\"appointment_date\":\"13-12-2024\","
+						+ "\"order_description\":\"Please be on time\",\"order_category\":\"PLUMBER\","
+						+ "\"order_status\":\"COMPLETED\",\"worker_id\":null}");
+	}
+
+	/**
+	 * Test export to a gzipped file.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testExportToAGzippedFile() throws IOException {
+		// Setup
+		Path file = temporaryFolder.getRoot().toPath().resolve("orders.jsonl.gz");
+		Files.write(file, asList("previous content"));
+
+		// Exercise
+		long exported = exporter.export(FILTER, ExportFormat.JSONL, true, file);
+
+		// Verify
+		List<String> lines;
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+			lines = reader.lines().collect(Collectors.toList());
+		}
+		assertThat(exported).isEqualTo(2);
+		assertThat(lines).hasSize(2);
+		assertThat(lines.get(1)).startsWith("{\"order_id\":2,");
+	}
+
+	/**
+	 * Test export to a plain file.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testExportToAPlainFile() throws IOException {
+		// Setup
+		Path file = temporaryFolder.getRoot().toPath().resolve("orders.csv");
+
+		// Exercise
+		exporter.export(FILTER, ExportFormat.CSV, false, file);
+
+		// Verify
+		assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8))
+				.startsWith("order_id,customer_name").endsWith(",COMPLETED,\n");
+	}
+}
@@ -0,0 +1,176 @@
+/*
+ * Unit tests for the ViewSnapshot class.
+ *
+ * These tests verify that workers and order summaries written to a snapshot
+ * are read back with their ids, versions and fields, that repeated strings
+ * are stored once, and that a file that is not a snapshot or is damaged is
+ * rejected.
+ *
+ * Methods tested include:
+ * - write()
+ * - read()
+ * - writeVarint() / readVarint()
+ *
+ * Each test follows a structured approach with three main phases:
+ * 1. Setup: Created environment for the test.
+ * 3. Exercise: Calling an instance method.
+ * 4. Verify: Verify that the outcome matches the expected behaviour.
+ *
+ * @see ViewSnapshot
+ */
+
+package com.mycompany.orderassignmentsystem.transfer;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
+import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
+import com.mycompany.orderassignmentsystem.model.OrderSummary;
+import com.mycompany.orderassignmentsystem.model.Worker;
+
+/**
+ * The Class ViewSnapshotTest.
+ */
+public class ViewSnapshotTest {
+
+	/** The temporary folder. */
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	/** The snapshot file. */
+	private Path file;
+
+	/**
+	 * Setup.
+	 */
+	@Before
+	public void setup() {
+		file = temporaryFolder.getRoot().toPath().resolve("lists.snapshot");
+	}
+
+	/**
+	 * Test write and read keep every field.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testWriteAndReadKeepEveryField() throws IOException {
+		// Setup
+		Worker worker = new Worker(300l, "Bob", "3401372678", OrderCategory.PLUMBER);
+		worker.setVersion(2l);
+		OrderSummary order = new OrderSummary(100_000l, "Ibtihaj – Naeem", "12-12-2024", OrderStatus.COMPLETED,
+				OrderCategory.PLUMBER, 300l);
+		OrderSummary unassigned = new OrderSummary(100_001l, "Naeem", "13-12-2024", OrderStatus.CANCELLED, null,
+				null);
+		OrderSummary ofAnotherWorker = new OrderSummary(100_002l, "Jhon", null, OrderStatus.PENDING,
+				OrderCategory.ELECTRICIAN, 7l);
+
+		// Exercise
+		ViewSnapshot.write(file, asList(worker), asList(order, unassigned, ofAnotherWorker));
+		ViewSnapshot snapshot = ViewSnapshot.read(file);
+
+		// Verify
+		assertThat(snapshot.getWorkers()).hasSize(1);
+		Worker readWorker = snapshot.getWorkers().get(0);
+		assertThat(readWorker).usingRecursiveComparison().isEqualTo(worker);
+		assertThat(snapshot.getOrders()).containsExactly(order, unassigned, ofAnotherWorker);
+		assertThat(Files.exists(file.resolveSibling(file.getFileName() + ".tmp"))).isFalse();
+	}
+
+	/**
+	 * Test repeated strings are stored once.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testRepeatedStringsAreStoredOnce() throws IOException {
+		// Setup
+		Worker worker = new Worker(1l, "Bob", "3401372678", OrderCategory.PLUMBER);
+		List<OrderSummary> orders = new ArrayList<>();
+		for (long id = 1; id <= 1000; id++) {
+			orders.add(new OrderSummary(id, "Ibtihaj", "12-12-2024", OrderStatus.COMPLETED, OrderCategory.PLUMBER,
+					1l));
+		}
+
+		// Exercise
+		ViewSnapshot.write(file, asList(worker), orders);
+
+		// Verify
+		// at most 2 bytes of id and 1 byte per other field for every order
+		assertThat(Files.size(file)).isLessThan(1000 * 7 + 200);
+		assertThat(ViewSnapshot.read(file).getOrders()).hasSize(1000);
+	}
+
+	/**
+	 * Test read rejects a file that is not a snapshot.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testReadRejectsAFileThatIsNotASnapshot() throws IOException {
+		// Setup
+		Files.write(file, asList("order_id,customer_name"));
+
+		// Exercise & Verify
+		assertThatThrownBy(() -> ViewSnapshot.read(file)).isInstanceOf(IOException.class)
+				.hasMessage("The file is not a snapshot.");
+	}
+
+	/**
+	 * Test read rejects a damaged snapshot.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testReadRejectsADamagedSnapshot() throws IOException {
+		// Setup
+		ViewSnapshot.write(file, asList(new Worker(1l, "Bob", "3401372678", OrderCategory.PLUMBER)),
+				Collections.emptyList());
+		byte[] content = Files.readAllBytes(file);
+		content[content.length - 2] ^= 1;
+		Files.write(file, content);
+
+		// Exercise & Verify
+		assertThatThrownBy(() -> ViewSnapshot.read(file)).isInstanceOf(IOException.class)
+				.hasMessage("The snapshot is damaged.");
+	}
+
+	/**
+	 * Test varints use one byte per seven bits.
+	 */
+	@Test
+	public void testVarintsUseOneBytePerSevenBits() {
+		// Setup
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		// Exercise
+		ViewSnapshot.writeVarint(out, 0);
+		ViewSnapshot.writeVarint(out, 127);
+		ViewSnapshot.writeVarint(out, 128);
+		ViewSnapshot.writeVarint(out, Long.MAX_VALUE);
+		ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+
+		// Verify
+		assertThat(out.size()).isEqualTo(1 + 1 + 2 + 9);
+		assertThat(ViewSnapshot.readVarint(buffer)).isZero();
+		assertThat(ViewSnapshot.readVarint(buffer)).isEqualTo(127);
+		assertThat(ViewSnapshot.readVarint(buffer)).isEqualTo(128);
+		assertThat(ViewSnapshot.readVarint(buffer)).isEqualTo(Long.MAX_VALUE);
+	}
+}
@@ -24,7 +24,9 @@
 package com.mycompany.orderassignmentsystem.view.swing;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 
 import java.util.Arrays;
@@ -42,6 +44,7 @@ import org.assertj.swing.junit.runner.GUITestRunner;
 import org.assertj.swing.junit.testcase.AssertJSwingJUnitTestCase;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -51,6 +54,7 @@ import com.mycompany.orderassignmentsystem.enumerations.OrderCategory;
 import com.mycompany.orderassignmentsystem.enumerations.OrderSearchOptions;
 import com.mycompany.orderassignmentsystem.enumerations.OrderStatus;
 import com.mycompany.orderassignmentsystem.model.CustomerOrder;
+import com.mycompany.orderassignmentsystem.model.OrderSummary;
 import com.mycompany.orderassignmentsystem.model.Worker;
 
 /**
@@ -86,6 +90,9 @@ public class OrderSwingViewTest extends AssertJSwingJUnitTestCase {
 	/** The customer name 1. */
 	private String CUSTOMER_NAME_1 = "Jhon";
 
+	/** The time to wait for the phone number suggestions, in milliseconds. */
+	private static final long TIMEOUT = 5000;
+
 	/** The customer phone 1. */
 	private String CUSTOMER_PHONE_1 = "3401372671";
 
@@ -215,6 +222,9 @@ public class OrderSwingViewTest extends AssertJSwingJUnitTestCase {
 		window.comboBox("cmbWorker").requireEnabled();
 		window.comboBox("cmbSearchBy").requireEnabled();
 
+		// verify check box
+		window.checkBox("chkIncludeArchived").requireEnabled().requireNotSelected();
+
 		// verify buttons using text
 		window.button(JButtonMatcher.withText("Manage Worker")).requireEnabled();
 		window.button(JButtonMatcher.withText("Update")).requireDisabled();
@@ -694,7 +704,7 @@ public class OrderSwingViewTest extends AssertJSwingJUnitTestCase {
 		CustomerOrder order = new CustomerOrder();
 
 		GuiActionRunner.execute(() -> {
-			orderSwingView.getOrderListModel().addElement(order);
+			orderSwingView.getOrderListModel().addElement(OrderSummary.of(order));
 		});
 
 		list.selectItem(0);
@@ -716,9 +726,9 @@ public class OrderSwingViewTest extends AssertJSwingJUnitTestCase {
 		CustomerOrder order2 = new CustomerOrder(ORDER_ID_2, CUSTOMER_NAME_2, CUSTOMER_ADDRESS_2, CUSTOMER_PHONE_2,
 				ORDER_APPOINTMENT_DATE_2, ORDER_DESCRIPTION_2, ORDER_CATEGORY_2, ORDER_STATUS_2, worker2);
 
-		GuiActionRunner.execute(() -> orderSwingView.showAllOrder(Arrays.asList(order1, order2)));
+		GuiActionRunner.execute(() -> orderSwingView.showAllOrder(Arrays.asList(OrderSummary.of(order1), OrderSummary.of(order2))));
 		String[] listContents = window.list("listOrders").contents();
-		assertThat(listContents).containsExactly(order1.toString(), order2.toString());
+		assertThat(listContents).containsExactly(OrderSummary.of(order1).toString(), OrderSummary.of(order2).toString());
 	}
 
 	/**
@@ -732,6 +742,34 @@ public class OrderSwingViewTest extends AssertJSwingJUnitTestCase {
 		assertThat(listContents).containsExactly(worker1.toString(), worker2.toString());
 	}
 
+	/**
+	 * Tests show all workers replaces the workers of the worker combo box.
+	 */
+	@Test
+	public void testsShowAllWorkersReplacesTheWorkersOfTheWorkerComboBox() {
+
+		GuiActionRunner.execute(() -> {
+			orderSwingView.showAllWorkers(Arrays.asList(worker1, worker2));
+			orderSwingView.showAllWorkers(Arrays.asList(worker2));
+		});
+		String[] listContents = window.comboBox("cmbWorker").contents();
+		assertThat(listContents).containsExactly(worker2.toString());
+	}
+
+	/**
+	 * Test show loading blocks the frame until loaded.
+	 */
+	@Test
+	public void testShowLoadingBlocksTheFrameUntilLoaded() {
+		GuiActionRunner.execute(() -> orderSwingView.showLoading("Loading orders and workers..."));
+		window.label("loadingLbl").requireText("Loading orders and workers...");
+		assertThat(orderSwingView.isEnabled()).isFalse();
+
+		GuiActionRunner.execute(() -> orderSwingView.showLoading(null));
+		assertThat(orderSwingView.getGlassPane().isVisible()).isFalse();
+		assertThat(orderSwingView.isEnabled()).isTrue();
+	}
+
 	/**
 	 * Test show error should show the message in the error label.
 	 */
@@ -742,6 +780,16 @@ public class OrderSwingViewTest extends AssertJSwingJUnitTestCase {
 		window.label("showError").requireText("error message: " + order);
 	}
 
+	/**
+	 * Test show conflict error should show the message in the error label.
+	 */
+	@Test
+	public void testShowConflictErrorShouldShowTheMessageInTheErrorLabel() {
+		CustomerOrder order = new CustomerOrder();
+		GuiActionRunner.execute(() -> orderSwingView.showConflictError("error message", order));
+		window.label("showError").requireText("error message: " + order);
+	}
+
 	/**
 	 * Test show search error should show the message in the error label.
 	 */
@@ -773,7 +821,7 @@ public class OrderSwingViewTest extends AssertJSwingJUnitTestCase {
 
 		GuiActionRunner.execute(() -> orderSwingView.orderAdded(order));
 		String[] listContents = window.list("listOrders").contents();
-		assertThat(listContents).containsExactly(order.toString());
+		assertThat(listContents).containsExactly(OrderSummary.of(order).toString());
 		window.label("showError").requireText(" ");
 	}
 
@@ -790,7 +838,7 @@ public class OrderSwingViewTest extends AssertJSwingJUnitTestCase {
 		order.setOrderStatus(OrderStatus.CANCELLED);
 		GuiActionRunner.execute(() -> orderSwingView.orderModified(order));
 		String[] listContents = window.list("listOrders").contents();
-		assertThat(listContents).containsExactly(order.toString());
+		assertThat(listContents).containsExactly(OrderSummary.of(order).toString());
 		window.label("showError").requireText(" ");
 	}
 
@@ -810,7 +858,7 @@ public class OrderSwingViewTest extends AssertJSwingJUnitTestCase {
 		newOrder.setOrderStatus(OrderStatus.PENDING);
 		GuiActionRunner.execute(() -> orderSwingView.orderModified(newOrder));
 		String[] listContents = window.list("listOrders").contents();
-		assertThat(listContents).containsExactly(order.toString());
+		assertThat(listContents).containsExactly(OrderSummary.of(order).toString());
 		window.label("showError").requireText(" ");
 	}
 
@@ -871,7 +919,30 @@ public class OrderSwingViewTest extends AssertJSwingJUnitTestCase {
 
 		GuiActionRunner.execute(() -> orderSwingView.orderRemoved(order1));
 		String[] listContents = window.list("listOrders").contents();
-		assertThat(listContents).containsExactly(order2.toString());
+		assertThat(listContents).containsExactly(OrderSummary.of(order2).toString());
+		window.label("showError").requireText(" ");
+	}
+
+	/**
+	 * Test orders removed should remove all the orders from the list and reset the
+	 * error label.
+	 */
+	@Test
+	public void testOrdersRemovedShouldRemoveAllTheOrdersFromTheListAndResetTheErrorLabel() {
+		CustomerOrder order1 = new CustomerOrder(ORDER_ID_1, CUSTOMER_NAME_1, CUSTOMER_ADDRESS_1, CUSTOMER_PHONE_1,
+				ORDER_APPOINTMENT_DATE_1, ORDER_DESCRIPTION_1, ORDER_CATEGORY_1, ORDER_STATUS_1, worker1);
+
+		CustomerOrder order2 = new CustomerOrder(ORDER_ID_2, CUSTOMER_NAME_2, CUSTOMER_ADDRESS_2, CUSTOMER_PHONE_2,
+				ORDER_APPOINTMENT_DATE_2, ORDER_DESCRIPTION_2, ORDER_CATEGORY_2, ORDER_STATUS_2, worker2);
+
+		GuiActionRunner.execute(() -> {
+			orderSwingView.orderAdded(order1);
+			orderSwingView.orderAdded(order2);
+		});
+
+		GuiActionRunner.execute(() -> orderSwingView.ordersRemoved(Arrays.asList(order1, order2)));
+		String[] listContents = window.list("listOrders").contents();
+		assertThat(listContents).isEmpty();
 		window.label("showError").requireText(" ");
 	}
 
@@ -892,9 +963,9 @@ public class OrderSwingViewTest extends AssertJSwingJUnitTestCase {
 			orderSwingView.orderAdded(order2);
 		});
 
-		GuiActionRunner.execute(() -> orderSwingView.showSearchResultForOrder(Arrays.asList(order2)));
+		GuiActionRunner.execute(() -> orderSwingView.showSearchResultForOrder(Arrays.asList(OrderSummary.of(order2))));
 		String[] listContents = window.list("listOrders").contents();
-		assertThat(listContents).containsExactly(order2.toString());
+		assertThat(listContents).containsExactly(OrderSummary.of(order2).toString());
 		window.label("showSearchErrorLbl").requireText(" ");
 	}
 
@@ -962,6 +1033,28 @@ public class OrderSwingViewTest extends AssertJSwingJUnitTestCase {
 		verify(orderController).createOrUpdateOrder(order, OperationType.UPDATE);
 	}
 
+	/**
+	 * Test update button should send the version of the fetched order.
+	 */
+	@Test
+	public void testUpdateButtonShouldSendTheVersionOfTheFetchedOrder() {
+		CustomerOrder fetched = new CustomerOrder(ORDER_ID_1, CUSTOMER_NAME_1, CUSTOMER_ADDRESS_1, CUSTOMER_PHONE_1,
+				ORDER_APPOINTMENT_DATE_1, ORDER_DESCRIPTION_1, ORDER_CATEGORY_1, ORDER_STATUS_1, worker1);
+		fetched.setVersion(3l);
+		GuiActionRunner.execute(() -> {
+			orderSwingView.showAllWorkers(Arrays.asList(worker1));
+			orderSwingView.showFetchedOrder(fetched);
+		});
+
+		window.textBox("txtCustomerName").deleteText().enterText(CUSTOMER_NAME_2);
+		window.button(JButtonMatcher.withName("btnUpdate")).click();
+
+		ArgumentCaptor<CustomerOrder> captor = ArgumentCaptor.forClass(CustomerOrder.class);
+		verify(orderController).createOrUpdateOrder(captor.capture(), eq(OperationType.UPDATE));
+		assertThat(captor.getValue().getCustomerName()).isEqualTo(CUSTOMER_NAME_2);
+		assertThat(captor.getValue().getVersion()).isEqualTo(3l);
+	}
+
 	/**
 	 * Test fetch button should delegate to order controller fetch order by id.
 	 */
@@ -992,8 +1085,78 @@ public class OrderSwingViewTest extends AssertJSwingJUnitTestCase {
 
 		window.button(JButtonMatcher.withName("btnSearchOrder")).click();
 
-		verify(orderController).searchOrder(Long.toString(ORDER_ID_1), searchOption);
+		verify(orderController).searchOrder(Long.toString(ORDER_ID_1), searchOption, false);
+
+	}
+
+	/**
+	 * Test search order button should pass the include archived check box to the
+	 * order controller.
+	 */
+	@Test
+	public void testSearchOrderButtonShouldPassTheIncludeArchivedCheckBoxToTheOrderController() {
+		window.textBox("txtSearchOrder").enterText(CUSTOMER_NAME_1);
+		window.comboBox("cmbSearchBy").selectItem(OrderSearchOptions.CUSTOMER_NAME.toString());
+		window.checkBox("chkIncludeArchived").check();
+
+		window.button(JButtonMatcher.withName("btnSearchOrder")).click();
+
+		verify(orderController).searchOrder(CUSTOMER_NAME_1, OrderSearchOptions.CUSTOMER_NAME, true);
+	}
+
+	/**
+	 * Test include archived check box should be disabled for search options that
+	 * cannot include archived orders.
+	 */
+	@Test
+	public void testIncludeArchivedCheckBoxShouldBeDisabledForSearchOptionsWithoutArchivedOrders() {
+		window.checkBox("chkIncludeArchived").check();
+		window.textBox("txtSearchOrder").enterText("1");
+		window.comboBox("cmbSearchBy").selectItem(OrderSearchOptions.ORDER_ID.toString());
+		window.checkBox("chkIncludeArchived").requireDisabled();
+
+		window.button(JButtonMatcher.withName("btnSearchOrder")).click();
+		verify(orderController).searchOrder("1", OrderSearchOptions.ORDER_ID, false);
+
+		window.comboBox("cmbSearchBy").selectItem(OrderSearchOptions.CUSTOMER_NAME.toString());
+		window.checkBox("chkIncludeArchived").requireEnabled();
+	}
+
+	/**
+	 * Test include archived check box should delegate to order controller all
+	 * orders.
+	 */
+	@Test
+	public void testIncludeArchivedCheckBoxShouldDelegateToOrderControllerAllOrders() {
+		window.checkBox("chkIncludeArchived").check();
+		verify(orderController).allOrders(true);
+
+		window.checkBox("chkIncludeArchived").uncheck();
+		verify(orderController).allOrders(false);
+	}
+
+	/**
+	 * Test typing a phone number search should delegate to order controller
+	 * suggest customer phone numbers.
+	 */
+	@Test
+	public void testTypingAPhoneNumberSearchShouldDelegateToOrderControllerSuggestCustomerPhoneNumbers() {
+		window.comboBox("cmbSearchBy").selectItem(OrderSearchOptions.CUSTOMER_PHONE.toString());
+		window.textBox("txtSearchOrder").enterText("340");
+
+		verify(orderController, timeout(TIMEOUT)).suggestCustomerPhoneNumbers("340");
+	}
+
+	/**
+	 * Test choosing a phone number suggestion should fill the search text.
+	 */
+	@Test
+	public void testChoosingAPhoneNumberSuggestionShouldFillTheSearchText() {
+		GuiActionRunner.execute(() -> orderSwingView.showPhoneNumberSuggestions(Arrays.asList(CUSTOMER_PHONE_1)));
+
+		window.menuItem("phoneSuggestion" + CUSTOMER_PHONE_1).click();
 
+		window.textBox("txtSearchOrder").requireText(CUSTOMER_PHONE_1);
 	}
 
 	/**
@@ -1012,7 +1175,7 @@ public class OrderSwingViewTest extends AssertJSwingJUnitTestCase {
 		window.comboBox("cmbSearchBy").selectItem(SELECTING_SEARCH_OPTION_INDEX);
 
 		window.button(JButtonMatcher.withName("btnClearSearch")).click();
-		verify(orderController, times(2)).allOrders();
+		verify(orderController, times(2)).allOrders(false);
 	}
 
 	/**
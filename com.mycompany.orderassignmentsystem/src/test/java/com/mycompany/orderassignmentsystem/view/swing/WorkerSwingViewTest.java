@@ -23,6 +23,8 @@ package com.mycompany.orderassignmentsystem.view.swing;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 
 import java.util.Arrays;
@@ -42,6 +44,7 @@ import org.assertj.swing.junit.runner.GUITestRunner;
 import org.assertj.swing.junit.testcase.AssertJSwingJUnitTestCase;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -76,6 +79,9 @@ public class WorkerSwingViewTest extends AssertJSwingJUnitTestCase {
 	/** The worker name 1. */
 	private String WORKER_NAME_1 = "Bob";
 
+	/** The time to wait for the phone number suggestions, in milliseconds. */
+	private static final long TIMEOUT = 5000;
+
 	/** The worker phone 1. */
 	private String WORKER_PHONE_1 = "3401372678";
 
@@ -493,6 +499,17 @@ public class WorkerSwingViewTest extends AssertJSwingJUnitTestCase {
 		window.label("showErrorLbl").requireText("error message: " + worker);
 	}
 
+	/**
+	 * Verify that the "Show Conflict Error" functionality displays the message in
+	 * the error label.
+	 */
+	@Test
+	public void testShowConflictErrorShouldShowTheMessageInTheErrorLabel() {
+		Worker worker = new Worker(WORKER_ID_1, WORKER_NAME_1, WORKER_PHONE_1, WORKER_CATEGORY_1);
+		GuiActionRunner.execute(() -> workerSwingView.showConflictError("error message", worker));
+		window.label("showErrorLbl").requireText("error message: " + worker);
+	}
+
 	/**
 	 * Verify that the "Show Search Worker Error" functionality displays the message
 	 * in the error label.
@@ -674,6 +691,25 @@ public class WorkerSwingViewTest extends AssertJSwingJUnitTestCase {
 		verify(workerController).createOrUpdateWorker(worker, OperationType.UPDATE);
 	}
 
+	/**
+	 * Verify that clicking the "Update" button after a fetch sends the version of
+	 * the fetched worker.
+	 */
+	@Test
+	public void testUpdateButtonShouldSendTheVersionOfTheFetchedWorker() {
+		Worker fetched = new Worker(WORKER_ID_1, WORKER_NAME_1, WORKER_PHONE_1, WORKER_CATEGORY_1);
+		fetched.setVersion(3l);
+		GuiActionRunner.execute(() -> workerSwingView.showFetchedWorker(fetched));
+
+		window.textBox("txtWorkerId").enterText(Long.toString(WORKER_ID_1));
+		window.button(JButtonMatcher.withName("btnUpdate")).click();
+
+		ArgumentCaptor<Worker> captor = ArgumentCaptor.forClass(Worker.class);
+		verify(workerController).createOrUpdateWorker(captor.capture(), eq(OperationType.UPDATE));
+		assertThat(captor.getValue().getWorkerName()).isEqualTo(WORKER_NAME_1);
+		assertThat(captor.getValue().getVersion()).isEqualTo(3l);
+	}
+
 	/**
 	 * Verify that clicking the "Fetch" button delegates to the worker controller to
 	 * fetch a worker by ID.
@@ -709,6 +745,30 @@ public class WorkerSwingViewTest extends AssertJSwingJUnitTestCase {
 
 	}
 
+	/**
+	 * Verify that typing a phone number search delegates to the worker controller
+	 * to suggest worker phone numbers.
+	 */
+	@Test
+	public void testTypingAPhoneNumberSearchShouldDelegateToWorkerControllerSuggestWorkerPhoneNumbers() {
+		window.comboBox("cmbSearchByOptions").selectItem(WorkerSearchOption.WORKER_PHONE_PREFIX.toString());
+		window.textBox("txtSearchWorker").enterText("340");
+
+		verify(workerController, timeout(TIMEOUT)).suggestWorkerPhoneNumbers("340");
+	}
+
+	/**
+	 * Verify that choosing a phone number suggestion fills the search text.
+	 */
+	@Test
+	public void testChoosingAPhoneNumberSuggestionShouldFillTheSearchText() {
+		GuiActionRunner.execute(() -> workerSwingView.showPhoneNumberSuggestions(Arrays.asList(WORKER_PHONE_1)));
+
+		window.menuItem("phoneSuggestion" + WORKER_PHONE_1).click();
+
+		window.textBox("txtSearchWorker").requireText(WORKER_PHONE_1);
+	}
+
 	/**
 	 * Verify that clicking the "Clear Search Worker" button delegates to the worker
 	 * controller to show all workers.